@@ -0,0 +1,139 @@
+package com.dungeonGame;
+
+import com.dungeonGame.database.UserDAO;
+import com.dungeonGame.logic.DisplayManager;
+import com.dungeonGame.logic.GameRandom;
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.MovementLogic;
+import com.dungeonGame.logic.PowerPointManager;
+import com.dungeonGame.logic.SearchActions;
+import com.dungeonGame.logic.mapAndLevelHandler.LevelTransitionHandler;
+import com.dungeonGame.roomContents.PotionActions;
+import com.dungeonGame.roomContents.TeleportationActions;
+import com.dungeonGame.telemetry.EventRing;
+
+/**
+ * The game's shared services, each created the first time it is asked for.
+ *
+ * <p>
+ * The single-player game shares one of each manager and handler instead of every class building its own
+ * copies. Each service sits in its own holder class, which the JVM only initializes on first use: nothing is
+ * built before it is needed, and no locking is needed either.
+ * </p>
+ *
+ * <p>
+ * The services do hold state of that one game: {@link #movementLogic()} owns the game's encounters,
+ * {@link #random()} is the single game's random source, and several services follow the current level in
+ * {@code DungeonMap}. A {@link GameSession} therefore builds its own where that matters, and scratch buffers
+ * are kept per thread or per call, so that sessions sharing a service do not overwrite each other's output.
+ * </p>
+ *
+ * <p>
+ * Classes still keep their services in package-private fields, so tests can swap in their own.
+ * </p>
+ */
+public final class GameServices {
+
+   private GameServices() {
+   }
+
+   private static final class Inventory {
+      static final InventoryManager INSTANCE = new InventoryManager();
+   }
+
+   private static final class PowerPoints {
+      static final PowerPointManager INSTANCE = new PowerPointManager();
+   }
+
+   private static final class Display {
+      static final DisplayManager INSTANCE = new DisplayManager();
+   }
+
+   private static final class Potions {
+      static final PotionActions INSTANCE = new PotionActions();
+   }
+
+   private static final class Teleportation {
+      static final TeleportationActions INSTANCE = new TeleportationActions();
+   }
+
+   private static final class Search {
+      static final SearchActions INSTANCE = new SearchActions();
+   }
+
+   private static final class Movement {
+      static final MovementLogic INSTANCE = new MovementLogic();
+   }
+
+   private static final class LevelTransitions {
+      static final LevelTransitionHandler INSTANCE = new LevelTransitionHandler();
+   }
+
+   private static final class Users {
+      static final UserDAO INSTANCE = new UserDAO();
+   }
+
+   private static final class Randomness {
+      static final GameRandom INSTANCE = new GameRandom();
+   }
+
+   private static final class Events {
+      static final EventRing INSTANCE = EventRing.fromSystemProperties();
+   }
+
+   public static InventoryManager inventoryManager() {
+      return Inventory.INSTANCE;
+   }
+
+   public static PowerPointManager powerPointManager() {
+      return PowerPoints.INSTANCE;
+   }
+
+   public static DisplayManager displayManager() {
+      return Display.INSTANCE;
+   }
+
+   public static PotionActions potionActions() {
+      return Potions.INSTANCE;
+   }
+
+   public static TeleportationActions teleportationActions() {
+      return Teleportation.INSTANCE;
+   }
+
+   public static SearchActions searchActions() {
+      return Search.INSTANCE;
+   }
+
+   public static MovementLogic movementLogic() {
+      return Movement.INSTANCE;
+   }
+
+   public static LevelTransitionHandler levelTransitionHandler() {
+      return LevelTransitions.INSTANCE;
+   }
+
+   public static UserDAO userDAO() {
+      return Users.INSTANCE;
+   }
+
+   /**
+    * Returns the random source of searches, potions, teleports and encounters. Saved games store its state,
+    * so it must be used for every draw that decides how the game goes on.
+    *
+    * @return the shared random source
+    */
+   public static GameRandom random() {
+      return Randomness.INSTANCE;
+   }
+
+   /**
+    * Returns the ring the game publishes its moves, searches, encounters and level transitions to.
+    *
+    * @return the shared event ring
+    */
+   public static EventRing events() {
+      return Events.INSTANCE;
+   }
+
+}
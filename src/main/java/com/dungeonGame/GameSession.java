@@ -0,0 +1,337 @@
+package com.dungeonGame;
+
+import com.dungeonGame.database.SnapshotCodec;
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterIndex;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.encounter.EncounterSession;
+import com.dungeonGame.encounter.EncounterSystems;
+import com.dungeonGame.logic.DisplayManager;
+import com.dungeonGame.logic.GameRandom;
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.MovementLogic;
+import com.dungeonGame.logic.PackedGameState;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.PositionDataHolder;
+import com.dungeonGame.logic.PowerPointManager;
+import com.dungeonGame.logic.SearchActions;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.LevelDescriptor;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+
+/**
+ * One player's game on the current level, played one command at a time.
+ *
+ * <p>
+ * This is the entry point for hosting several players in one JVM. Unlike the console loop in {@link Main},
+ * a session never reads from {@link System#in} and never waits: {@link #handle(String)} applies a single
+ * command and returns everything the game printed in answer, so one thread can serve many sessions.
+ * Each session has its own position, player (with whether they found the Relic), encounters (with whether
+ * the Guardian is beaten), random source and the managers that keep buffers; only the level layout and the
+ * read-only catalogs are shared. A session is not thread-safe; calls for the same
+ * session must not overlap.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Exploring:</b> The movement commands, {@code "look around"}, {@code "inventory"} and {@code "map"},
+ *         as in the console game.</li>
+ *     <li><b>Picking:</b> After looking around, the next command is the number of the thing to pick up.</li>
+ *     <li><b>Encounters:</b> While an encounter runs, every command is passed to it as the player's answer.</li>
+ *     <li><b>Over:</b> The session ends when the player runs out of power points, loses an encounter or
+ *         reaches the exit.</li>
+ * </ul>
+ */
+public class GameSession {
+
+   private enum State {
+      EXPLORING, PICKING, ENCOUNTER, OVER
+   }
+
+   private final PositionDataHolder pm;
+   private final PlayerDataHolder player = new PlayerDataHolder();
+   private final InventoryManager inventoryManager = new InventoryManager();
+   private final DisplayManager displayManager = new DisplayManager();
+   private final SearchActions searchActions;
+   private final PowerPointManager pointManager = GameServices.powerPointManager();
+   private final EncounterSession encounterSession;
+   private final EncounterEntities entities = new EncounterEntities();
+   private final GameRandom random;
+   private final Level level;
+   private final int levelNumber;
+   private final StringBuilder output = new StringBuilder(256);
+   private State state = State.EXPLORING;
+   private int encounter = EncounterIndex.NONE;
+   private SearchActions.Finds finds;
+
+   /**
+    * Starts a game at the entrance of the current level, with encounters of its own.
+    *
+    * @param random the source of the session's encounter rooms, finds, riddles and rewards
+    * @throws IllegalStateException if no level has been loaded
+    */
+   public GameSession(GameRandom random) {
+      this(currentLevel(), DungeonMap.getCurrentLevelNumber(), random);
+   }
+
+   /**
+    * Starts a game at the entrance of a level, with encounters of its own. The game's current level is
+    * left alone, so sessions can be started on several threads at once.
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link EncounterManager#spawnEncounters(Level, int, EncounterEntities, java.util.Random)}</li>
+    *     <li>{@link DungeonMap#describe(Level, int)}</li>
+    *     <li>{@link PositionDataHolder#onLevel(Level)}</li>
+    *     <li>{@link PositionDataHolder#setCurrentPosition(int, int)}</li>
+    * </ul>
+    *
+    * @param level       the level to play
+    * @param levelNumber the level's number, which decides its encounters and finds
+    * @param random      the source of the session's encounter rooms, finds, riddles and rewards
+    */
+   public GameSession(Level level, int levelNumber, GameRandom random) {
+      this.level = level;
+      this.random = random;
+      this.levelNumber = levelNumber;
+      searchActions = new SearchActions(random);
+      encounterSession = new EncounterSession(player, inventoryManager, pointManager, random);
+      pm = PositionDataHolder.onLevel(level);
+      EncounterManager.spawnEncounters(level, levelNumber, entities, random);
+
+      LevelDescriptor descriptor = DungeonMap.describe(level, levelNumber);
+      pm.setCurrentPosition(descriptor.getEntranceX(), descriptor.getEntranceY());
+   }
+
+   private static Level currentLevel() {
+      Level level = DungeonMap.getCurrentLevel();
+      if (level == null) {
+         throw new IllegalStateException("No level has been loaded.");
+      }
+      return level;
+   }
+
+   /**
+    * Shows the room the player starts in.
+    *
+    * @return the text to show the player
+    */
+   public String start() {
+      capture();
+      try {
+         displayManager.displayCurrentRoom(pm, player);
+      } finally {
+         GameUtils.stopCapture();
+      }
+      return flush();
+   }
+
+   /**
+    * Applies one command from the player.
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link MovementLogic#parseDirection(String)}</li>
+    *     <li>{@link SearchActions#search(PlayerDataHolder)}</li>
+    *     <li>{@link SearchActions#pick(PositionDataHolder, PlayerDataHolder, int)}</li>
+    *     <li>{@link EncounterSession#handle(String)}</li>
+    *     <li>{@link DisplayManager#displayCurrentRoom(PositionDataHolder, PlayerDataHolder)}</li>
+    * </ul>
+    *
+    * @param command the line the player typed, without its line break
+    * @return the text to show the player
+    * @throws IllegalStateException if the session is over
+    */
+   public String handle(String command) {
+      if (state == State.OVER) {
+         throw new IllegalStateException("The game is over.");
+      }
+      capture();
+      try {
+         switch (state) {
+            case PICKING -> {
+               searchActions.pick(pm, player, finds, parseChoice(command));
+               finds = null;
+               state = State.EXPLORING;
+               displayManager.displayCurrentRoom(pm, player);
+            }
+            case ENCOUNTER -> {
+               output.append(encounterSession.handle(command));
+               endEncounterIfOver();
+            }
+            default -> explore(command);
+         }
+         if (state != State.OVER && !player.isAlive()) {
+            GameUtils.delayPrint("You have run out of power points.");
+            state = State.OVER;
+         }
+      } finally {
+         GameUtils.stopCapture();
+      }
+      return flush();
+   }
+
+   private void explore(String command) {
+      int direction = MovementLogic.parseDirection(command);
+      if (direction != MovementLogic.NO_DIRECTION) {
+         move(pm.getPlayerX() + MovementLogic.rowStep(direction), pm.getPlayerY() + MovementLogic.columnStep(direction));
+         return;
+      }
+      switch (command.toLowerCase()) {
+         case "look around", "search", "around", "look", "observe" -> {
+            SearchActions.Finds found = searchActions.search(player);
+            if (found.count() > 0) {
+               finds = found;
+               state = State.PICKING;
+            } else {
+               searchActions.pick(pm, player, found, 0);
+            }
+         }
+         case "look inventory", "inventory", "bag", "open inventory", "open bag" -> showInventory();
+         case "map", "show map" -> displayManager.displayMapWithPlayerLocation(pm);
+         default -> GameUtils.delayPrint("Invalid input!");
+      }
+   }
+
+   /**
+    * Moves the player one room, as {@link MovementLogic#handleMovement} does, but triggers the session's
+    * own encounters instead of the shared ones.
+    */
+   private void move(int x, int y) {
+      if (!level.isInBounds(x, y)) {
+         GameUtils.delayPrint("You cannot move outside the map!");
+         return;
+      }
+      if (level.getTile(x, y) == Tile.WALL) {
+         GameUtils.delayPrint("You cannot move through a wall!");
+         return;
+      }
+      pm.setCurrentPosition(x, y);
+      pointManager.deductPowerPoints(player, MovementLogic.MOVE_COST);
+      EncounterSystems.onPlayerMoved(entities);
+
+      if (level.getTile(x, y) == Tile.EXIT) {
+         GameUtils.delayPrint("You have found the exit of the level.");
+         state = State.OVER;
+         return;
+      }
+      encounter = EncounterSystems.claimAt(entities, x, y);
+      if (encounter != EncounterIndex.NONE) {
+         state = State.ENCOUNTER;
+         output.append(encounterSession.begin(entities.getType(encounter)));
+         endEncounterIfOver();
+         return;
+      }
+      displayManager.displayCurrentRoom(pm, player);
+   }
+
+   private void endEncounterIfOver() {
+      if (encounterSession.isWaiting()) {
+         return;
+      }
+      if (encounterSession.isGameOver()) {
+         state = State.OVER;
+         return;
+      }
+      entities.setResolved(encounter, encounterSession.getOption().resolves(entities.getType(encounter)));
+      encounter = EncounterIndex.NONE;
+      state = State.EXPLORING;
+      displayManager.displayCurrentRoom(pm, player);
+   }
+
+   private void showInventory() {
+      GameUtils.printHeader("Inventory");
+      if (player.getInventory().isEmpty()) {
+         GameUtils.delayPrint("Your inventory is empty.");
+         return;
+      }
+      GameUtils.delayPrint("Your Items:");
+      for (String name : player.getInventory()) {
+         GameUtils.delayPrint("- " + name);
+      }
+   }
+
+   /**
+    * Saves the session's game; see {@link SnapshotCodec}. Must not overlap with {@link #handle(String)}.
+    *
+    * @return the snapshot
+    */
+   public byte[] snapshot() {
+      return SnapshotCodec.encode(player, pm, levelNumber, entities, random);
+   }
+
+   /**
+    * Returns the player's situation as a packed word; see {@link PackedGameState}. Unlike
+    * {@link #snapshot()}, this allocates nothing, so a bot can record every step of a game.
+    *
+    * @return the player word
+    */
+   public long packedState() {
+      return PackedGameState.capture(levelNumber, player, pm);
+   }
+
+   /**
+    * Returns which of the session's encounters are resolved, packed; see {@link PackedGameState}.
+    *
+    * @return the encounter word
+    */
+   public long packedEncounters() {
+      return PackedGameState.captureEncounters(entities);
+   }
+
+   private static int parseChoice(String input) {
+      try {
+         return Integer.parseInt(input.trim());
+      } catch (NumberFormatException e) {
+         return -1;
+      }
+   }
+
+   private void capture() {
+      GameUtils.captureOutput(output);
+   }
+
+   private String flush() {
+      String text = output.toString();
+      output.setLength(0);
+      return text;
+   }
+
+   // Getters
+
+   public PlayerDataHolder getPlayer() {
+      return player;
+   }
+
+   public PositionDataHolder getPosition() {
+      return pm;
+   }
+
+   /**
+    * Checks whether the session is waiting for the number of a thing to pick up.
+    *
+    * @return {@code true} after a look around that found something
+    */
+   public boolean isPicking() {
+      return state == State.PICKING;
+   }
+
+   /**
+    * Checks whether an encounter is waiting for the player's answer.
+    *
+    * @return {@code true} while an encounter runs
+    */
+   public boolean isInEncounter() {
+      return state == State.ENCOUNTER;
+   }
+
+   /**
+    * Checks whether the game has ended.
+    *
+    * @return {@code true} once no more commands are accepted
+    */
+   public boolean isOver() {
+      return state == State.OVER;
+   }
+
+}
@@ -13,11 +13,24 @@ public class GameUtils {
     */
    public static final int DEFAULT_PRINT_DELAY = 15;
 
+   /**
+    * When set, nothing is printed; see {@link #setHeadless(boolean)}.
+    */
+   private static volatile boolean headless = Boolean.getBoolean("dungeon.headless");
+
+   /**
+    * Where the current thread's output goes instead of the console, if anywhere; see {@link #captureOutput(StringBuilder)}.
+    */
+   private static final ThreadLocal<StringBuilder> capture = new ThreadLocal<>();
+
    /**
     * Clears the console screen. Works for both Windows and Unix-based systems.
     * Also prints an error message if the console cannot be cleared.
     */
    public static void clearConsole() {
+      if (headless || capture.get() != null) {
+         return;
+      }
       try {
          if (System.getProperty("os.name").contains("Windows")) {
             new ProcessBuilder("cmd", "/c", "cls").inheritIO().start().waitFor();
@@ -41,15 +54,32 @@ public class GameUtils {
       delayPrint(message, DEFAULT_PRINT_DELAY);
    }
 
+   /**
+    * Prints a message, for example one built in a reused {@link StringBuilder}, with the default character delay.
+    *
+    * @param message the message to print
+    */
+   public static void delayPrint(CharSequence message) {
+      delayPrint(message, DEFAULT_PRINT_DELAY);
+   }
+
    /**
     * Prints a message to the console with a specified character delay.
     *
     * @param message the message to print
     * @param delay the delay in milliseconds between each character
     */
-   public static void delayPrint(String message, int delay) {
-      for (char c : message.toCharArray()) {
-         System.out.print(c);
+   public static void delayPrint(CharSequence message, int delay) {
+      StringBuilder target = capture.get();
+      if (target != null) {
+         target.append(message).append('\n');
+         return;
+      }
+      if (headless) {
+         return;
+      }
+      for (int i = 0; i < message.length(); i++) {
+         System.out.print(message.charAt(i));
          try {
             Thread.sleep(DEFAULT_PRINT_DELAY);
          } catch (InterruptedException e) {
@@ -65,11 +95,65 @@ public class GameUtils {
     * @param header the header text to display
     */
    public static void printHeader(String header) {
+      StringBuilder target = capture.get();
+      if (target != null) {
+         target.append(header.toUpperCase()).append('\n');
+         return;
+      }
+      if (headless) {
+         return;
+      }
       System.out.println("==========================================");
       System.out.println(header.toUpperCase());
       System.out.println("==========================================");
    }
 
+   /**
+    * Prints a line at once, without the typing delay; for maps and menus.
+    *
+    * @param line the line to print
+    */
+   public static void printLine(CharSequence line) {
+      StringBuilder target = capture.get();
+      if (target != null) {
+         target.append(line).append('\n');
+      } else if (!headless) {
+         System.out.println(line);
+      }
+   }
+
+   /**
+    * Sends everything the current thread prints through this class to a buffer instead of the console, without
+    * delays, until {@link #stopCapture()}. A game session uses this to collect the text to send to its player.
+    *
+    * @param target the buffer to append the output to
+    */
+   public static void captureOutput(StringBuilder target) {
+      capture.set(target);
+   }
+
+   /**
+    * Sends the current thread's output back to the console.
+    */
+   public static void stopCapture() {
+      capture.remove();
+   }
+
+   /**
+    * Turns console output on or off. A headless game prints nothing and never sleeps between characters,
+    * so it can be driven by tests, benchmarks or a server. Starting the JVM with
+    * {@code -Ddungeon.headless=true} does the same.
+    *
+    * @param headless {@code true} to suppress all output
+    */
+   public static void setHeadless(boolean headless) {
+      GameUtils.headless = headless;
+   }
+
+   public static boolean isHeadless() {
+      return headless;
+   }
+
    /**
     * Waits for the user to press the Enter key before proceeding.
     * This method checks if the {@link Scanner} has a next line available and consumes it.
@@ -0,0 +1,400 @@
+package com.dungeonGame;
+
+import com.dungeonGame.logic.GameRandom;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how many players one JVM can host, by playing many {@link GameSession}s at once.
+ *
+ * <p>
+ * {@code java -cp <classpath> com.dungeonGame.LoadGenerator [clients=1,10,100] [seconds=10] [threads=<cores>]
+ * [script=<file>] [seed=<number>]} runs one step per client count. In each step the clients are shared
+ * round-robin between the threads, and each thread keeps sending its clients one command after another,
+ * the way an event loop serves its connections. A client whose game ends starts a new one.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Commands:</b> Moves, looking around, picking up what was found, opening the inventory and answering
+ *         encounters. Without a script, exploring commands are drawn at random; with one, each client walks
+ *         through the script's lines (one command per line, {@code #} starts a comment) from its own offset and
+ *         starts over at the end. Picks and encounter answers are always drawn at random, since they depend
+ *         on what the game asked.</li>
+ *     <li><b>Report:</b> For every step: the commands per second, the games finished, the errors (commands that
+ *         threw), and the p50, p99 and p99.9 latency of each kind of command.</li>
+ * </ul>
+ */
+public class LoadGenerator {
+
+   /**
+    * The kinds of commands the report tells apart.
+    */
+   enum Kind {
+      MOVE, LOOK_AROUND, PICK, INVENTORY, ENCOUNTER
+   }
+
+   private static final String[] MOVES = {"up", "down", "left", "right"};
+   private static final String[] ANSWERS = {"1", "2", "3", "penny", "a clock", "breath", ""};
+
+   private final int seconds;
+   private final int threads;
+   private final List<String> script;
+   private final long seed;
+
+   /**
+    * Creates a load generator.
+    *
+    * @param seconds how long each step runs
+    * @param threads the number of threads that serve the clients
+    * @param script  the exploring commands to send, or {@code null} to draw them at random
+    * @param seed    the seed of the clients' random choices and encounter rooms
+    */
+   public LoadGenerator(int seconds, int threads, List<String> script, long seed) {
+      this.seconds = seconds;
+      this.threads = threads;
+      this.script = script;
+      this.seed = seed;
+   }
+
+   public static void main(String[] args) throws IOException, InterruptedException {
+      int[] clientCounts = {1, 10, 100};
+      int seconds = 10;
+      int threads = Runtime.getRuntime().availableProcessors();
+      List<String> script = null;
+      long seed = System.nanoTime();
+
+      for (String arg : args) {
+         int split = arg.indexOf('=');
+         if (split < 0) {
+            throw new IllegalArgumentException("Expected key=value, got \"" + arg + "\".");
+         }
+         String value = arg.substring(split + 1);
+         switch (arg.substring(0, split)) {
+            case "clients" -> clientCounts = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+            case "seconds" -> seconds = Integer.parseInt(value);
+            case "threads" -> threads = Integer.parseInt(value);
+            case "script" -> script = readScript(Path.of(value));
+            case "seed" -> seed = Long.parseLong(value);
+            default -> throw new IllegalArgumentException("Unknown option \"" + arg + "\".");
+         }
+      }
+
+      DungeonMap.initialize();
+      DungeonMap.currentLevel = DungeonMap.getLevel(1);
+      DungeonMap.currentLevelNumber = 1;
+      GameUtils.setHeadless(true);
+
+      LoadGenerator generator = new LoadGenerator(seconds, threads, script, seed);
+      for (int clients : clientCounts) {
+         System.out.print(generator.run(clients).format());
+      }
+   }
+
+   static List<String> readScript(Path file) throws IOException {
+      List<String> commands = new ArrayList<>();
+      for (String line : Files.readAllLines(file)) {
+         line = line.strip();
+         if (!line.isEmpty() && !line.startsWith("#")) {
+            commands.add(line);
+         }
+      }
+      if (commands.isEmpty()) {
+         throw new IllegalArgumentException("The script " + file + " has no commands.");
+      }
+      return commands;
+   }
+
+   /**
+    * Runs one step of the ramp.
+    *
+    * @param clients the number of clients to play at once
+    * @return what was measured
+    * @throws InterruptedException if interrupted while waiting for the threads
+    */
+   public Result run(int clients) throws InterruptedException {
+      int threadCount = Math.min(threads, clients);
+      Worker[] workers = new Worker[threadCount];
+      for (int t = 0; t < threadCount; t++) {
+         workers[t] = new Worker();
+      }
+      for (int c = 0; c < clients; c++) {
+         workers[c % threadCount].clients.add(new Client(c, new GameRandom(seed + c)));
+      }
+
+      long start = System.nanoTime();
+      long deadline = start + seconds * 1_000_000_000L;
+      Thread[] running = new Thread[threadCount];
+      for (int t = 0; t < threadCount; t++) {
+         Worker worker = workers[t];
+         running[t] = new Thread(() -> worker.run(deadline), "load-" + t);
+         running[t].start();
+      }
+      for (Thread thread : running) {
+         thread.join();
+      }
+      double elapsed = (System.nanoTime() - start) / 1e9;
+
+      Result result = new Result(clients, elapsed);
+      for (Worker worker : workers) {
+         result.add(worker);
+      }
+      return result;
+   }
+
+   /**
+    * One simulated player: a game, and what to send it next.
+    */
+   private final class Client {
+
+      private final GameRandom random;
+      private int step;
+      private GameSession session;
+
+      Client(int number, GameRandom random) {
+         this.random = random;
+         this.step = number;
+         restart();
+      }
+
+      void restart() {
+         session = new GameSession(DungeonMap.getLevel(1), 1, random);
+         session.start();
+      }
+
+      Kind nextKind() {
+         if (session.isInEncounter()) {
+            return Kind.ENCOUNTER;
+         }
+         if (session.isPicking()) {
+            return Kind.PICK;
+         }
+         if (script != null) {
+            return kindOf(script.get(step % script.size()));
+         }
+         int roll = random.nextInt(10);
+         return roll < 7 ? Kind.MOVE : roll < 9 ? Kind.LOOK_AROUND : Kind.INVENTORY;
+      }
+
+      String nextCommand(Kind kind) {
+         return switch (kind) {
+            case ENCOUNTER -> ANSWERS[random.nextInt(ANSWERS.length)];
+            case PICK -> Integer.toString(1 + random.nextInt(4));
+            default -> script != null ? script.get(step++ % script.size()) : switch (kind) {
+               case LOOK_AROUND -> "look around";
+               case INVENTORY -> "inventory";
+               default -> MOVES[random.nextInt(MOVES.length)];
+            };
+         };
+      }
+   }
+
+   static Kind kindOf(String command) {
+      return switch (command.toLowerCase()) {
+         case "look around", "search", "around", "look", "observe" -> Kind.LOOK_AROUND;
+         case "look inventory", "inventory", "bag", "open inventory", "open bag" -> Kind.INVENTORY;
+         default -> Kind.MOVE;
+      };
+   }
+
+   /**
+    * A thread's share of the clients, and what it measured; nothing in it is shared between threads.
+    */
+   private final class Worker {
+
+      private final List<Client> clients = new ArrayList<>();
+      private final LatencyRecorder[] latencies = new LatencyRecorder[Kind.values().length];
+      private final long[] errors = new long[Kind.values().length];
+      private long finished;
+
+      Worker() {
+         for (int k = 0; k < latencies.length; k++) {
+            latencies[k] = new LatencyRecorder();
+         }
+      }
+
+      void run(long deadline) {
+         while (System.nanoTime() < deadline) {
+            for (Client client : clients) {
+               Kind kind = client.nextKind();
+               String command = client.nextCommand(kind);
+               long start = System.nanoTime();
+               try {
+                  client.session.handle(command);
+                  latencies[kind.ordinal()].record(System.nanoTime() - start);
+               } catch (RuntimeException e) {
+                  errors[kind.ordinal()]++;
+                  client.restart();
+                  continue;
+               }
+               if (client.session.isOver()) {
+                  finished++;
+                  client.restart();
+               }
+            }
+         }
+      }
+   }
+
+   /**
+    * Latencies in nanoseconds, counted in a histogram of fixed size however long the step runs.
+    *
+    * <p>
+    * Latencies below {@value #EXACT} nanoseconds have a bucket each. Above that, every power of two is split
+    * into {@value #SUB_BUCKETS} buckets, so a percentile is at most about 3% above the true latency; the
+    * highest one is exact, since the largest latency is kept on its own.
+    * </p>
+    */
+   public static final class LatencyRecorder {
+
+      private static final int SUB_BITS = 5;
+      private static final int SUB_BUCKETS = 1 << SUB_BITS;
+      private static final int EXACT = 2 * SUB_BUCKETS;
+      private static final int BUCKETS = EXACT + (Long.SIZE - 1 - SUB_BITS - 1) * SUB_BUCKETS;
+
+      private final long[] counts = new long[BUCKETS];
+      private long count;
+      private long max;
+
+      /**
+       * Adds one latency.
+       *
+       * @param nanos the latency in nanoseconds; negative values count as 0
+       */
+      public void record(long nanos) {
+         long value = Math.max(0, nanos);
+         counts[bucketOf(value)]++;
+         count++;
+         max = Math.max(max, value);
+      }
+
+      /**
+       * Adds every latency another recorder holds.
+       *
+       * @param other the recorder to merge in
+       */
+      public void addAll(LatencyRecorder other) {
+         for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+         }
+         count += other.count;
+         max = Math.max(max, other.max);
+      }
+
+      public long count() {
+         return count;
+      }
+
+      /**
+       * Returns a percentile of the recorded latencies.
+       *
+       * @param percentile between 0 and 100
+       * @return the highest latency of the percentile's bucket in nanoseconds, or 0 if nothing was recorded
+       */
+      public long percentile(double percentile) {
+         if (count == 0) {
+            return 0;
+         }
+         long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+         long seen = 0;
+         for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+               return Math.min(max, highestIn(i));
+            }
+         }
+         return max;
+      }
+
+      private static int bucketOf(long value) {
+         if (value < EXACT) {
+            return (int) value;
+         }
+         // The top SUB_BITS + 1 bits of the value, of which the first is always set
+         int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BITS - 1;
+         int top = (int) (value >>> shift);
+         return EXACT + (shift - 1) * SUB_BUCKETS + top - SUB_BUCKETS;
+      }
+
+      private static long highestIn(int bucket) {
+         if (bucket < EXACT) {
+            return bucket;
+         }
+         int shift = (bucket - EXACT) / SUB_BUCKETS + 1;
+         long top = (bucket - EXACT) % SUB_BUCKETS + SUB_BUCKETS;
+         return ((top + 1) << shift) - 1;
+      }
+   }
+
+   /**
+    * What one step of the ramp measured.
+    */
+   public static final class Result {
+
+      private final int clients;
+      private final double seconds;
+      private final LatencyRecorder[] latencies = new LatencyRecorder[Kind.values().length];
+      private final long[] errors = new long[Kind.values().length];
+      private long finished;
+
+      Result(int clients, double seconds) {
+         this.clients = clients;
+         this.seconds = seconds;
+         for (int k = 0; k < latencies.length; k++) {
+            latencies[k] = new LatencyRecorder();
+         }
+      }
+
+      private void add(Worker worker) {
+         for (int k = 0; k < latencies.length; k++) {
+            latencies[k].addAll(worker.latencies[k]);
+            errors[k] += worker.errors[k];
+         }
+         finished += worker.finished;
+      }
+
+      public long getCommands() {
+         long commands = 0;
+         for (LatencyRecorder recorder : latencies) {
+            commands += recorder.count();
+         }
+         return commands + getErrors();
+      }
+
+      public long getErrors() {
+         return Arrays.stream(errors).sum();
+      }
+
+      public long getFinishedGames() {
+         return finished;
+      }
+
+      public double getThroughput() {
+         return getCommands() / seconds;
+      }
+
+      /**
+       * Formats the step as a few lines of text, with latencies in microseconds.
+       *
+       * @return the report
+       */
+      public String format() {
+         StringBuilder report = new StringBuilder();
+         report.append(String.format("%d clients: %.0f commands/s, %d games finished, %d errors%n",
+                 clients, getThroughput(), finished, getErrors()));
+         for (Kind kind : Kind.values()) {
+            LatencyRecorder recorder = latencies[kind.ordinal()];
+            report.append(String.format("  %-12s %9d  p50 %8.1f us  p99 %8.1f us  p99.9 %8.1f us  errors %d%n",
+                    kind, recorder.count(), recorder.percentile(50) / 1e3, recorder.percentile(99) / 1e3,
+                    recorder.percentile(99.9) / 1e3, errors[kind.ordinal()]));
+         }
+         return report.toString();
+      }
+   }
+
+}
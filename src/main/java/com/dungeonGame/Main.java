@@ -1,15 +1,25 @@
 package com.dungeonGame;
 
+import com.dungeonGame.database.AutosaveScheduler;
+import com.dungeonGame.database.SnapshotCodec;
 import com.dungeonGame.database.UserDAO;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.logging.GameLog;
 import com.dungeonGame.logic.InventoryManager;
 import com.dungeonGame.logic.PositionDataHolder;
 import com.dungeonGame.logic.MovementLogic;
 import com.dungeonGame.logic.PlayerDataHolder;
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
 import com.dungeonGame.logic.mapAndLevelHandler.LevelTransitionHandler;
+import com.dungeonGame.telemetry.EventLog;
+import com.dungeonGame.telemetry.EventRing;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class Main {
 
@@ -19,7 +29,7 @@ public class Main {
     * <ul>
     *     <li><b>Initial Setup:</b>
     *         <ul>
-    *             <li>Creates the users table in the database if it does not exist.</li>
+    *             <li>Creates the users table in the database, while the levels load.</li>
     *             <li>Prompts the user for their name and loads existing player data if available.</li>
     *             <li>Initializes a new game if no player data exists.</li>
     *         </ul>
@@ -33,24 +43,22 @@ public class Main {
     *
     * <p><b>Internal Method Calls:</b></p>
     * <ul>
-    *     <li>{@link UserDAO#createNewTable()}</li>
+    *     <li>{@link #prepare()}</li>
     *     <li>{@link UserDAO#getUserByName(String)}</li>
-    *     <li>{@link LevelTransitionHandler#initializeGame(char[][])}</li>
+    *     <li>{@link LevelTransitionHandler#initializeGame(Level)}</li>
+    *     <li>{@link #resume(UserDAO, LevelTransitionHandler, PlayerDataHolder)}</li>
+    *     <li>{@link #subscribeEventLog()}</li>
+    *     <li>{@link AutosaveScheduler#register(String)}</li>
     * </ul>
     */
    public static void main(String[] args) {
 
-      DungeonMap.initialize();
-
-      GameLoop gameLoop = new GameLoop();
-      LevelTransitionHandler levelTransitionHandler = new LevelTransitionHandler();
-      UserDAO userDAO = new UserDAO();
+      UserDAO userDAO = prepare();
+      EventRing.Consumer eventLog = subscribeEventLog();
+      LevelTransitionHandler levelTransitionHandler = GameServices.levelTransitionHandler();
 
       Scanner scanner = new Scanner(System.in);
 
-      // Create users table
-      userDAO.createNewTable();
-
       // Ask the user for their name
       System.out.print("Enter your name: ");
       String playerName = scanner.nextLine();
@@ -65,15 +73,105 @@ public class Main {
          player.setName(playerName);
          userDAO.insertUser(player.getName(), DungeonMap.getCurrentLevelNumber(), player.getPowerPoints(), player.getCurrentRoom(), convertSetToString(player.getInventory()));
       } else {
-         int currentLevelNumber = DungeonMap.getCurrentLevelNumber();
-         char[][] currentLevel = levelTransitionHandler.getLevelByNumber(currentLevelNumber);
-         pm = new PositionDataHolder(currentLevel);
-         // Set a valid starting position
-         pm.setCurrentPosition(1, 1); // Example starting position, adjust as needed
+         pm = resume(userDAO, levelTransitionHandler, player);
       }
 
-      InventoryManager inventoryManager = new InventoryManager();
-      gameLoop.runGameLoop(player, pm, inventoryManager);
+      AutosaveScheduler autosave = AutosaveScheduler.fromSystemProperties(userDAO::saveSnapshot);
+      autosave.start();
+      GameLoop gameLoop = new GameLoop();
+      gameLoop.autosave = autosave.register(player.getName());
+      gameLoop.runGameLoop(player, pm, GameServices.inventoryManager());
+      autosave.close();
+      if (eventLog != null) {
+         eventLog.close();
+      }
+      GameLog.shutdown();
+   }
+
+   /**
+    * Starts writing the game's events to the file named by {@code -Ddungeon.events.log}, if there is one.
+    *
+    * @return the consumer that writes the log, or {@code null} if no log was asked for or it cannot be written
+    */
+   static EventRing.Consumer subscribeEventLog() {
+      String file = System.getProperty("dungeon.events.log");
+      if (file == null) {
+         return null;
+      }
+      try {
+         return GameServices.events().subscribe("log", new EventLog(Path.of(file)));
+      } catch (IOException e) {
+         System.out.println("Cannot write the event log " + file + ": " + e.getMessage());
+         return null;
+      }
+   }
+
+   /**
+    * Does everything the game needs before the first prompt, as far as possible in parallel.
+    *
+    * <ul>
+    *     <li><b>Database:</b> Loading the SQLite driver and creating the users table run on a background
+    *         thread while the levels are loaded.</li>
+    *     <li><b>Services:</b> Everything else is created on first use through {@link GameServices}.</li>
+    * </ul>
+    *
+    * <p><b>Internal Method Calls:</b></p>
+    * <ul>
+    *     <li>{@link UserDAO#createNewTable()}</li>
+    *     <li>{@link DungeonMap#initialize()}</li>
+    *     <li>{@link EncounterManager#startWorldSimulation()}</li>
+    * </ul>
+    *
+    * @return the data access object, with the users table in place
+    */
+   static UserDAO prepare() {
+      UserDAO userDAO = GameServices.userDAO();
+      CompletableFuture<Void> database = CompletableFuture.runAsync(userDAO::createNewTable);
+
+      DungeonMap.initialize();
+      EncounterManager.startWorldSimulation();
+
+      database.join();
+      return userDAO;
+   }
+
+   /**
+    * Puts a returning player back where they left the game.
+    *
+    * <ul>
+    *     <li><b>Snapshot:</b> If the game was saved with a snapshot, everything is restored exactly: room,
+    *         inventory, explored map, encounters and the random source.</li>
+    *     <li><b>Older Saves:</b> Otherwise, or if the snapshot cannot be read, the player starts at the
+    *         entrance of their saved level.</li>
+    * </ul>
+    *
+    * <p><b>Internal Method Calls:</b></p>
+    * <ul>
+    *     <li>{@link UserDAO#getSnapshot(String)}</li>
+    *     <li>{@link SnapshotCodec#decode(byte[], PlayerDataHolder)}</li>
+    *     <li>{@link LevelTransitionHandler#initializePlayerPosition(PositionDataHolder)}</li>
+    * </ul>
+    *
+    * @param userDAO                the data access object
+    * @param levelTransitionHandler the handler that places the player on a level
+    * @param player                 the player as loaded from the users table
+    * @return the player's position manager
+    */
+   static PositionDataHolder resume(UserDAO userDAO, LevelTransitionHandler levelTransitionHandler, PlayerDataHolder player) {
+      byte[] snapshot = userDAO.getSnapshot(player.getName());
+      if (snapshot != null) {
+         try {
+            return SnapshotCodec.decode(snapshot, player);
+         } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + " Starting at the entrance of your level.");
+         }
+      }
+      int currentLevelNumber = DungeonMap.getCurrentLevelNumber();
+      Level currentLevel = levelTransitionHandler.getLevelByNumber(currentLevelNumber);
+      PositionDataHolder pm = new PositionDataHolder(currentLevel);
+      levelTransitionHandler.setCurrentLevelDirectly(currentLevel, currentLevelNumber);
+      levelTransitionHandler.initializePlayerPosition(pm);
+      return pm;
    }
 
    /**
@@ -96,9 +194,14 @@ public class Main {
    public static class GameLoop {
 
 
-      MovementLogic movementLogic = new MovementLogic();
-      LevelTransitionHandler levelTransitionHandler = new LevelTransitionHandler();
-      UserDAO userDAO = new UserDAO();
+      MovementLogic movementLogic = GameServices.movementLogic();
+      LevelTransitionHandler levelTransitionHandler = GameServices.levelTransitionHandler();
+      UserDAO userDAO = GameServices.userDAO();
+
+      /**
+       * Saves the game in the background while it is played, or {@code null} to save only on exit.
+       */
+      AutosaveScheduler.Entry autosave;
 
       /**
        * Executes the main game loop where the player can interact with the dungeon.
@@ -115,15 +218,25 @@ public class Main {
        *         <ul>
        *             <li>Invalid moves display an error message.</li>
        *             <li>Encounters and level transitions are handled as the player progresses.</li>
+       *             <li>Before every prompt the {@link com.dungeonGame.encounter.WorldSimulation} learns where the
+       *                 player stands, so moving encounters keep off the player's room.</li>
+       *             <li>After every command the game's snapshot goes to the {@link #autosave} entry, which
+       *                 saves it in the background if it changed.</li>
+       *             <li>When the player dies or finishes the game, the saved snapshot is deleted, so the
+       *                 next game starts from the player's last save on exit.</li>
        *         </ul>
        *     </li>
        * </ul>
        *
        * <b>Internal Method Calls:</b>
        * <ul>
+       *     <li>{@link com.dungeonGame.encounter.WorldSimulation#setPlayerPosition(int, int, int)}</li>
        *     <li>{@link MovementLogic#handleMovement(PositionDataHolder, PlayerDataHolder, String, com.dungeonGame.logic.InventoryManager)}</li>
        *     <li>{@link LevelTransitionHandler#isOnExit(PositionDataHolder)}</li>
        *     <li>{@link UserDAO#updateUser(String, int, int, String, String)}</li>
+       *     <li>{@link SnapshotCodec#encode(PlayerDataHolder, PositionDataHolder)}</li>
+       *     <li>{@link AutosaveScheduler.Entry#update(byte[], boolean)}</li>
+       *     <li>{@link AutosaveScheduler.Entry#discard()}</li>
        *     <li>{@link LevelTransitionHandler#handleGameOver()}</li>
        * </ul>
        *
@@ -135,28 +248,47 @@ public class Main {
          boolean gameRunning = true;
 
          while (gameRunning && player.isAlive()) {
-            GameUtils.delayPrint("\nEnter your move(up, down, left, right, look around, inventory, exit): ");
+            EncounterManager.getWorldSimulation().setPlayerPosition(DungeonMap.getCurrentLevelNumber(),
+                    pm.getPlayerX(), pm.getPlayerY());
+            GameUtils.delayPrint("\nEnter your move(up, down, left, right, look around, inventory, map, walk to exit, goto <room>, exit): ");
             String userInput = scanner.nextLine().toLowerCase();
 
             GameUtils.clearConsole();
 
             if (userInput.equals("exit")) {
                userDAO.updateUser(player.getName(), DungeonMap.getCurrentLevelNumber(), player.getPowerPoints(), player.getCurrentRoom(), convertSetToString(player.getInventory()));
+               byte[] snapshot = SnapshotCodec.encode(player, pm);
+               if (autosave != null) {
+                  // Written after any autosave that is still running, so an older snapshot cannot win
+                  autosave.update(snapshot, false);
+                  autosave.unregister();
+               } else {
+                  userDAO.saveSnapshot(player.getName(), snapshot);
+               }
                System.out.println("Game saved. Exiting...");
                gameRunning = false;
                continue;
             }
 
-            if (movementLogic.handleMovement(pm, player, userInput, inventoryManager)) {
-               if (levelTransitionHandler.isOnExit(pm)) {
-                  gameRunning = levelTransitionHandler.handleLevelTransition(player, pm);
-               }
+            boolean moved = movementLogic.handleMovement(pm, player, userInput, inventoryManager);
+            if (moved && levelTransitionHandler.isOnExit(pm)) {
+               gameRunning = levelTransitionHandler.handleLevelTransition(player, pm);
             }
 
             if (!player.isAlive()) {
                LevelTransitionHandler.handleGameOver();
                gameRunning = false;
             }
+            if (!gameRunning) {
+               // A lost or finished game must not be resumed; the player starts again from their last exit
+               if (autosave != null) {
+                  autosave.discard();
+               } else {
+                  userDAO.saveSnapshot(player.getName(), null);
+               }
+            } else if (autosave != null) {
+               autosave.update(SnapshotCodec.encode(player, pm), moved);
+            }
          }
 
          GameUtils.delayPrint("Thank you for playing the Dungeon Game!\n");
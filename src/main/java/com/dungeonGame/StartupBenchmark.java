@@ -0,0 +1,117 @@
+package com.dungeonGame;
+
+import com.dungeonGame.encounter.EncounterCatalog;
+import com.dungeonGame.encounter.RiddleBank;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the time from launching the game to its first prompt, and trains the class-data sharing
+ * archive that shortens it.
+ *
+ * <ul>
+ *     <li><b>Benchmark:</b> {@code java -cp <classpath> com.dungeonGame.StartupBenchmark [runs] [archive]}
+ *         starts the game {@code runs} times (10 by default) in fresh JVMs and reports how long each took
+ *         to print "Enter your name: ". If an archive is given, every run is repeated with it, so the two
+ *         can be compared.</li>
+ *     <li><b>Training:</b> {@code StartupBenchmark train} runs the game's startup once and exits; run it
+ *         with {@code -XX:ArchiveClassesAtExit=<archive>} to record the classes it loads. The {@code appcds}
+ *         Maven profile does this.</li>
+ * </ul>
+ *
+ * <p>
+ * The games are started in a temporary directory, so the benchmark never touches the real save file.
+ * </p>
+ */
+public class StartupBenchmark {
+
+   private static final byte[] FIRST_PROMPT = "Enter your name: ".getBytes(StandardCharsets.UTF_8);
+   private static final int DEFAULT_RUNS = 10;
+
+   public static void main(String[] args) throws IOException, InterruptedException {
+      if (args.length > 0 && args[0].equals("train")) {
+         train();
+         return;
+      }
+      int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+      String archive = args.length > 1 ? args[1] : null;
+
+      Path directory = Files.createTempDirectory("dungeon-startup");
+      report("Default", measure(directory, runs, null));
+      if (archive != null) {
+         report("AppCDS", measure(directory, runs, "-XX:SharedArchiveFile=" + Path.of(archive).toAbsolutePath()));
+      }
+   }
+
+   /**
+    * Runs the startup path the way the game does, then loads what the first encounters need, so a
+    * training run archives those classes as well.
+    */
+   private static void train() {
+      Main.prepare();
+      EncounterCatalog.getDefault();
+      RiddleBank.getDefault();
+      GameServices.movementLogic();
+      GameServices.levelTransitionHandler();
+   }
+
+   /**
+    * Starts the game in fresh JVMs and times each one until its first prompt.
+    *
+    * @param directory the working directory of the games
+    * @param runs      the number of games to start
+    * @param jvmOption an extra JVM option, or {@code null}
+    * @return the times in milliseconds, sorted
+    */
+   private static double[] measure(Path directory, int runs, String jvmOption) throws IOException, InterruptedException {
+      List<String> command = new ArrayList<>();
+      command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+      if (jvmOption != null) {
+         command.add(jvmOption);
+      }
+      command.addAll(List.of("-cp", System.getProperty("java.class.path"), Main.class.getName()));
+
+      double[] millis = new double[runs];
+      for (int run = 0; run < runs; run++) {
+         long start = System.nanoTime();
+         Process game = new ProcessBuilder(command)
+                 .directory(directory.toFile())
+                 .redirectErrorStream(true)
+                 .start();
+         try {
+            awaitPrompt(game.getInputStream());
+            millis[run] = (System.nanoTime() - start) / 1_000_000.0;
+         } finally {
+            game.destroy();
+            game.waitFor();
+         }
+      }
+      Arrays.sort(millis);
+      return millis;
+   }
+
+   private static void awaitPrompt(InputStream out) throws IOException {
+      int matched = 0;
+      int b;
+      while ((b = out.read()) != -1) {
+         matched = b == FIRST_PROMPT[matched] ? matched + 1 : (b == FIRST_PROMPT[0] ? 1 : 0);
+         if (matched == FIRST_PROMPT.length) {
+            return;
+         }
+      }
+      throw new IOException("The game exited before its first prompt.");
+   }
+
+   private static void report(String name, double[] millis) {
+      System.out.printf("%-8s time to first prompt over %d runs: min %.1f ms, median %.1f ms, max %.1f ms%n",
+              name, millis.length, millis[0], millis[millis.length / 2], millis[millis.length - 1]);
+   }
+
+}
@@ -0,0 +1,369 @@
+package com.dungeonGame.database;
+
+import com.dungeonGame.logging.GameLog;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saves running games in the background, every so often or every so many moves, and only when they changed.
+ *
+ * <p>
+ * The game thread hands each game's latest snapshot to its {@link Entry} after every command, which costs a
+ * comparison and a few atomic updates; everything else happens on two daemon threads. The scheduler thread
+ * decides which games are due, and the writer thread passes their snapshots to the {@link Store}.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Dirty Tracking:</b> A snapshot equal to the previous one does not count as a change, so looking at
+ *         the map or the inventory never causes a save. A game that has not changed since its last save is
+ *         skipped.</li>
+ *     <li><b>Timing:</b> The interval is cut into slots of about {@value #TICK_MILLIS} ms (at most
+ *         {@value #MAX_SLOTS} slots), games are dealt round-robin into the slots, and the scheduler visits one
+ *         slot per tick. Every game is therefore considered once per interval, and the saves of thousands of
+ *         games are spread evenly over it instead of all landing at once.</li>
+ *     <li><b>Moves:</b> A game that has moved {@code movesPerSave} times since its last save is saved on the
+ *         next visit of the scheduler, whatever its slot.</li>
+ *     <li><b>Back-Pressure:</b> At most {@code maxPendingSaves} saves wait for the store at a time. When the
+ *         store lags, due games are deferred rather than queued; they stay dirty, and their newest snapshot
+ *         is saved once the store has caught up. A game is never queued twice, and the game thread never
+ *         waits.</li>
+ *     <li><b>Game Over:</b> A game that ends is {@linkplain Entry#discard() discarded}: its saved snapshot is
+ *         deleted after any save still running, so the player starts again from their last save on exit.</li>
+ * </ul>
+ */
+public class AutosaveScheduler implements AutoCloseable {
+
+   /**
+    * Writes a game's snapshot to wherever games are kept.
+    */
+   @FunctionalInterface
+   public interface Store {
+
+      /**
+       * Saves a snapshot, replacing the game's previous one.
+       *
+       * @param name     the name of the player
+       * @param snapshot the game as written by {@link SnapshotCodec}, or {@code null} to delete the game's
+       *                 snapshot because the game is over
+       * @throws Exception if the snapshot could not be saved; the game stays dirty and is tried again
+       */
+      void save(String name, byte[] snapshot) throws Exception;
+   }
+
+   /**
+    * How often the scheduler visits a slot, unless the interval needs more than {@link #MAX_SLOTS} slots.
+    */
+   static final int TICK_MILLIS = 100;
+
+   /**
+    * The most slots an interval is cut into.
+    */
+   static final int MAX_SLOTS = 4096;
+
+   // Handed over by Entry#discard() in place of a snapshot, so the deletion is ordered like any other save
+   private static final byte[] DISCARDED = new byte[0];
+
+   private static final System.Logger LOG = GameLog.getLogger(AutosaveScheduler.class);
+
+   private final Store store;
+   private final long tickNanos;
+   private final int movesPerSave;
+   private final int maxPendingSaves;
+
+   private final List<Set<Entry>> slots;
+   private final AtomicInteger nextSlot = new AtomicInteger();
+   private final Queue<Entry> moved = new ConcurrentLinkedQueue<>();
+   private final AtomicInteger pending = new AtomicInteger();
+
+   private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+           task -> daemon(task, "autosave-scheduler"));
+   private final ExecutorService writer = Executors.newSingleThreadExecutor(task -> daemon(task, "autosave-writer"));
+   private int slot;
+   private boolean started;
+
+   private final AtomicLong saved = new AtomicLong();
+   private final AtomicLong deferred = new AtomicLong();
+   private final AtomicLong failed = new AtomicLong();
+
+   /**
+    * Creates a scheduler; nothing is saved until {@link #start()}.
+    *
+    * @param store           where the snapshots are written
+    * @param interval        how often each changed game is saved
+    * @param movesPerSave    after how many moves a changed game is saved early
+    * @param maxPendingSaves how many saves may wait for the store at once
+    * @throws IllegalArgumentException if a number is not positive
+    */
+   public AutosaveScheduler(Store store, Duration interval, int movesPerSave, int maxPendingSaves) {
+      if (interval.isNegative() || interval.isZero() || movesPerSave <= 0 || maxPendingSaves <= 0) {
+         throw new IllegalArgumentException("The interval, moves per save and pending saves must be positive.");
+      }
+      this.store = store;
+      int slotCount = (int) Math.max(1, Math.min(MAX_SLOTS, interval.toMillis() / TICK_MILLIS));
+      this.tickNanos = Math.max(1, interval.toNanos() / slotCount);
+      this.movesPerSave = movesPerSave;
+      this.maxPendingSaves = maxPendingSaves;
+      List<Set<Entry>> sets = new ArrayList<>(slotCount);
+      for (int i = 0; i < slotCount; i++) {
+         sets.add(ConcurrentHashMap.newKeySet());
+      }
+      this.slots = List.copyOf(sets);
+   }
+
+   /**
+    * Creates a scheduler configured by {@code -Ddungeon.autosave.seconds} (30 by default),
+    * {@code -Ddungeon.autosave.moves} (20) and {@code -Ddungeon.autosave.pending} (64).
+    *
+    * @param store where the snapshots are written
+    * @return the scheduler, not started yet
+    */
+   public static AutosaveScheduler fromSystemProperties(Store store) {
+      return new AutosaveScheduler(store,
+              Duration.ofSeconds(Long.getLong("dungeon.autosave.seconds", 30L)),
+              Integer.getInteger("dungeon.autosave.moves", 20),
+              Integer.getInteger("dungeon.autosave.pending", 64));
+   }
+
+   private static Thread daemon(Runnable task, String name) {
+      Thread thread = new Thread(task, name);
+      thread.setDaemon(true);
+      return thread;
+   }
+
+   /**
+    * Starts visiting the slots in the background.
+    *
+    * @throws IllegalStateException if the scheduler was already started
+    */
+   public synchronized void start() {
+      if (started) {
+         throw new IllegalStateException("The autosave scheduler is already running.");
+      }
+      started = true;
+      scheduler.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+   }
+
+   /**
+    * Starts tracking a game.
+    *
+    * @param name the name the game is saved under
+    * @return the game's entry, to hand snapshots to
+    */
+   public Entry register(String name) {
+      Entry entry = new Entry(name, Math.floorMod(nextSlot.getAndIncrement(), slots.size()));
+      slots.get(entry.slot).add(entry);
+      return entry;
+   }
+
+   /**
+    * Saves the due games of the current slot and the games that moved enough; runs on the scheduler thread.
+    */
+   private void tick() {
+      for (Entry entry; (entry = moved.poll()) != null; ) {
+         entry.movedQueued.set(false);
+         submit(entry);
+      }
+      for (Entry entry : slots.get(slot)) {
+         submit(entry);
+      }
+      slot = (slot + 1) % slots.size();
+   }
+
+   private void submit(Entry entry) {
+      if (!entry.isDirty() || !entry.saving.compareAndSet(false, true)) {
+         return;
+      }
+      if (pending.incrementAndGet() > maxPendingSaves) {
+         pending.decrementAndGet();
+         entry.saving.set(false);
+         deferred.incrementAndGet();
+         return;
+      }
+      enqueue(entry);
+   }
+
+   /**
+    * Hands a game, already counted as pending and marked as saving, to the writer thread.
+    */
+   private void enqueue(Entry entry) {
+      try {
+         writer.execute(() -> write(entry));
+      } catch (RejectedExecutionException e) {
+         // The scheduler has been closed
+         pending.decrementAndGet();
+         entry.saving.set(false);
+      }
+   }
+
+   private void write(Entry entry) {
+      long version = entry.version.get();
+      byte[] snapshot = entry.latest;
+      int moves = entry.moves.get();
+      boolean written = false;
+      try {
+         store.save(entry.name, snapshot == DISCARDED ? null : snapshot);
+         entry.savedVersion = version;
+         entry.moves.addAndGet(-moves);
+         saved.incrementAndGet();
+         written = true;
+      } catch (Exception e) {
+         failed.incrementAndGet();
+         LOG.log(System.Logger.Level.WARNING, "Autosave failed name=" + entry.name, e);
+      } finally {
+         entry.saving.set(false);
+         // A game that left while this save ran may have changed since; its last snapshot must not be lost
+         if (written && entry.unregistered && entry.isDirty() && entry.saving.compareAndSet(false, true)) {
+            pending.incrementAndGet();
+            enqueue(entry);
+         }
+         pending.decrementAndGet();
+      }
+   }
+
+   /**
+    * Stops the background threads and saves every game that is still dirty, waiting for the store up to
+    * the given time.
+    *
+    * @param timeout how long to wait for the last saves
+    * @return {@code true} if every save finished in time
+    * @throws InterruptedException if interrupted while waiting
+    */
+   public boolean close(Duration timeout) throws InterruptedException {
+      long deadline = System.nanoTime() + timeout.toNanos();
+      scheduler.shutdownNow();
+      scheduler.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      for (Set<Entry> entries : slots) {
+         for (Entry entry : entries) {
+            entry.unregister();
+         }
+      }
+      // Saves of games that changed while being saved are queued again by the writer, so wait for those too
+      while (pending.get() > 0 && System.nanoTime() < deadline) {
+         Thread.sleep(1);
+      }
+      writer.shutdown();
+      return writer.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+   }
+
+   /**
+    * Stops the scheduler, waiting up to five seconds for the last saves.
+    */
+   @Override
+   public void close() {
+      try {
+         close(Duration.ofSeconds(5));
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   // Statistics
+
+   public long getSavedCount() {
+      return saved.get();
+   }
+
+   /**
+    * Returns how often a due game was put off because the store was behind.
+    *
+    * @return the number of deferred saves
+    */
+   public long getDeferredCount() {
+      return deferred.get();
+   }
+
+   public long getFailedCount() {
+      return failed.get();
+   }
+
+   /**
+    * One game tracked by the scheduler. {@link #update(byte[], boolean)} is called by the game's thread;
+    * everything else in the entry is read and written by the scheduler's threads.
+    */
+   public final class Entry {
+
+      private final String name;
+      private final int slot;
+      private volatile byte[] latest;
+      private final AtomicLong version = new AtomicLong();
+      private volatile long savedVersion;
+      private final AtomicInteger moves = new AtomicInteger();
+      private final AtomicBoolean movedQueued = new AtomicBoolean();
+      private final AtomicBoolean saving = new AtomicBoolean();
+      private volatile boolean unregistered;
+
+      private Entry(String name, int slot) {
+         this.name = name;
+         this.slot = slot;
+      }
+
+      /**
+       * Hands over the game's snapshot after a command. The game counts as changed only if the snapshot
+       * differs from the previous one. Snapshots of a {@linkplain #discard() discarded} game are ignored.
+       *
+       * @param snapshot the game as written by {@link SnapshotCodec}; not modified afterwards
+       * @param moved    whether the command moved the player
+       */
+      public void update(byte[] snapshot, boolean moved) {
+         if (latest == DISCARDED || Arrays.equals(snapshot, latest)) {
+            return;
+         }
+         latest = snapshot;
+         version.incrementAndGet();
+         if (moved && moves.incrementAndGet() >= movesPerSave && movedQueued.compareAndSet(false, true)) {
+            AutosaveScheduler.this.moved.add(this);
+         }
+      }
+
+      /**
+       * Checks whether the game changed since it was last saved.
+       *
+       * @return {@code true} if there is a snapshot that has not been saved
+       */
+      public boolean isDirty() {
+         return latest != null && version.get() != savedVersion;
+      }
+
+      /**
+       * Stops tracking the game, for example when the player leaves. A dirty game is saved one last time.
+       */
+      public void unregister() {
+         unregistered = true;
+         slots.get(slot).remove(this);
+         if (isDirty() && saving.compareAndSet(false, true)) {
+            pending.incrementAndGet();
+            enqueue(this);
+         }
+      }
+
+      /**
+       * Stops tracking a game that is over, because the player died or finished it, and deletes its saved
+       * snapshot once any save still running is done. A snapshot of a finished game is never resumed.
+       */
+      public void discard() {
+         latest = DISCARDED;
+         version.incrementAndGet();
+         unregister();
+      }
+
+      public String getName() {
+         return name;
+      }
+   }
+
+}
@@ -1,5 +1,7 @@
 package com.dungeonGame.database;
 
+import com.dungeonGame.logging.GameLog;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -10,6 +12,8 @@ import java.sql.SQLException;
  */
 public class SQLiteConnection {
 
+   private static final System.Logger LOG = GameLog.getLogger(SQLiteConnection.class);
+
    /**
     * Establishes a connection to the SQLite database.
     *
@@ -20,9 +24,9 @@ public class SQLiteConnection {
       try {
          String URL = "jdbc:sqlite:game.db";
          conn = DriverManager.getConnection(URL);
-         System.out.println("Connection to SQLite has been established.");
+         LOG.log(System.Logger.Level.DEBUG, "Connected url={0}", URL);
       } catch (SQLException e) {
-         System.out.println(e.getMessage());
+         LOG.log(System.Logger.Level.ERROR, "Cannot connect to the database", e);
       }
       return conn;
    }
@@ -0,0 +1,390 @@
+package com.dungeonGame.database;
+
+import com.dungeonGame.GameServices;
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.logic.GameRandom;
+import com.dungeonGame.logic.Inventory;
+import com.dungeonGame.logic.Item;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.PositionDataHolder;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.VisibilityState;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves the whole state of a game as a compact array of bytes, and restores it exactly.
+ *
+ * <p>
+ * A snapshot holds everything that decides how the game goes on: the level and the player's room, power
+ * points and inventory with stack sizes, the explored part of the map, every encounter with its room, flags,
+ * cooldown and heading, whether the Relic has been found and the Guardian beaten, and the state of the
+ * game's {@link GameServices#random()}, which also moves the encounters of the
+ * {@link com.dungeonGame.encounter.WorldSimulation}. A restored game therefore plays on exactly as the saved one
+ * would have.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Format:</b> Big-endian, starting with the magic number {@value #MAGIC} and a version byte.
+ *         Encoding and decoding are single passes over a {@link ByteBuffer} sized up front.</li>
+ *     <li><b>Versions:</b> A snapshot of an unknown version is rejected rather than guessed at; a new version
+ *         must keep decoding the older ones. Version 2 stores the explored map page by page (see
+ *         {@link Level#getPageCount()}), so a snapshot of a huge level only holds the pages the player has seen;
+ *         version 1 stored one bit per cell of the level.</li>
+ * </ul>
+ */
+public final class SnapshotCodec {
+
+   /**
+    * The first four bytes of every snapshot, "DGSS".
+    */
+   public static final int MAGIC = 0x44475353;
+
+   /**
+    * The version written by {@link #encode(PlayerDataHolder, PositionDataHolder)}.
+    */
+   public static final byte VERSION = 2;
+
+   /**
+    * The version that stored the explored map as one run of bits over the whole level.
+    */
+   private static final byte FLAT_EXPLORED_VERSION = 1;
+
+   private static final int RELIC_FOUND = 1;
+   private static final int GUARDIAN_DEFEATED = 1 << 1;
+
+   // Type, room row and column, flags, cooldown and heading
+   private static final int ENTITY_BYTES = 1 + 4 + 4 + 1 + 4 + 1;
+
+   private static final Item[] ITEMS = Item.values();
+   private static final EncounterType[] TYPES = EncounterType.values();
+
+   private static final EncounterManager.EncounterState encounterState = new EncounterManager().getEncounterState();
+
+   /**
+    * Private constructor to prevent instantiation of the {@code SnapshotCodec} utility class.
+    */
+   private SnapshotCodec() {
+   }
+
+   /**
+    * Saves the current game.
+    *
+    * @param player the player's data, including inventory and power points
+    * @param pm     the player's position manager
+    * @return the snapshot
+    */
+   public static byte[] encode(PlayerDataHolder player, PositionDataHolder pm) {
+      return encode(player, pm, DungeonMap.getCurrentLevelNumber(), encounterState.getEntities(), GameServices.random());
+   }
+
+   /**
+    * Saves a game that keeps its own encounters and random source, such as a
+    * {@link com.dungeonGame.GameSession}. The snapshot is restored like any other.
+    *
+    * @param player      the player's data, including inventory and power points
+    * @param pm          the player's position manager
+    * @param levelNumber the number of the level the player is on
+    * @param entities    the encounters of the game
+    * @param random      the random source of the game
+    * @return the snapshot
+    */
+   public static byte[] encode(PlayerDataHolder player, PositionDataHolder pm, int levelNumber,
+                               EncounterEntities entities, GameRandom random) {
+      Inventory inventory = player.getInventory();
+      List<byte[]> otherItems = new ArrayList<>(0);
+      int size = 4 + 1 + 1 + 2 + 4 + 4 + 4 + 8 + 8 + ITEMS.length + 1;
+      for (String name : inventory) {
+         if (Item.fromName(name) == null) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            otherItems.add(bytes);
+            size += 2 + bytes.length;
+         }
+      }
+      VisibilityState visibility = pm.getVisibility();
+      List<long[]> exploredPages = new ArrayList<>(0);
+      List<Integer> exploredPageNumbers = new ArrayList<>(0);
+      size += 4;
+      for (int page = 0; page < visibility.getPageCount(); page++) {
+         long[] bits = visibility.getExploredPage(page);
+         if (bits.length > 0) {
+            exploredPageNumbers.add(page);
+            exploredPages.add(bits);
+            size += 4 + 4 + 8 * bits.length;
+         }
+      }
+
+      entities.getLock().lock();
+      try {
+         int count = entities.size();
+         size += 4 + count * ENTITY_BYTES;
+
+         ByteBuffer out = ByteBuffer.allocate(size);
+         out.putInt(MAGIC);
+         out.put(VERSION);
+         int flags = (player.isRelicFound() ? RELIC_FOUND : 0) | (guardianDefeated(entities) ? GUARDIAN_DEFEATED : 0);
+         out.put((byte) flags);
+         out.putShort((short) levelNumber);
+         out.putInt(pm.getPlayerX());
+         out.putInt(pm.getPlayerY());
+         out.putInt(player.getPowerPoints());
+         out.putLong(random.getState());
+
+         out.putLong(inventory.getMask());
+         for (Item item : ITEMS) {
+            out.put((byte) inventory.count(item));
+         }
+         out.put((byte) otherItems.size());
+         for (byte[] name : otherItems) {
+            out.putShort((short) name.length);
+            out.put(name);
+         }
+
+         out.putInt(exploredPages.size());
+         for (int i = 0; i < exploredPages.size(); i++) {
+            long[] bits = exploredPages.get(i);
+            out.putInt(exploredPageNumbers.get(i));
+            out.putInt(bits.length);
+            for (long word : bits) {
+               out.putLong(word);
+            }
+         }
+
+         out.putInt(count);
+         for (int id = 0; id < count; id++) {
+            out.put((byte) entities.getType(id).ordinal());
+            out.putInt(entities.getRoomX(id));
+            out.putInt(entities.getRoomY(id));
+            out.put((byte) ((entities.isResolved(id) ? EncounterEntities.RESOLVED : 0)
+                    | (entities.hasFlag(id, EncounterEntities.TRIGGERED) ? EncounterEntities.TRIGGERED : 0)));
+            out.putInt(entities.getCooldown(id));
+            out.put((byte) entities.getHeading(id));
+         }
+         return out.array();
+      } finally {
+         entities.getLock().unlock();
+      }
+   }
+
+   private static boolean guardianDefeated(EncounterEntities entities) {
+      for (int id = 0; id < entities.size(); id++) {
+         if (entities.getType(id) == EncounterType.GUARDIAN && entities.isResolved(id)) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Restores a saved game: the level becomes the current level, the player gets the saved power points and
+    * inventory, and the encounters, flags and random source are put back as they were.
+    *
+    * <ul>
+    *     <li><b>All or Nothing:</b> The whole snapshot is read and checked before anything is restored, so a
+    *         damaged snapshot leaves the player, level, encounters and random source as they were.</li>
+    * </ul>
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link PositionDataHolder#setCurrentPosition(int, int)}</li>
+    *     <li>{@link VisibilityState#addExploredPage(int, long[])}</li>
+    *     <li>{@link VisibilityState#addExploredBits(long[])}</li>
+    *     <li>{@link EncounterEntities#spawn(EncounterType, int, int)}</li>
+    *     <li>{@link EncounterManager#simulateLevel(int, Level, EncounterEntities)}</li>
+    * </ul>
+    *
+    * @param snapshot a snapshot made by {@link #encode(PlayerDataHolder, PositionDataHolder)}
+    * @param player   the player to restore into; the name is kept
+    * @return the player's position manager, on the saved level
+    * @throws IllegalArgumentException if the bytes are not a snapshot, are of an unknown version, are cut
+    *                                  short, name a level, room, item count or encounter that does not exist,
+    *                                  or hold a player who is out of power points
+    */
+   public static PositionDataHolder decode(byte[] snapshot, PlayerDataHolder player) {
+      ByteBuffer in = ByteBuffer.wrap(snapshot);
+      int flags;
+      int levelNumber;
+      Level level;
+      int x;
+      int y;
+      int powerPoints;
+      long randomState;
+      long mask;
+      int[] itemCounts = new int[ITEMS.length];
+      String[] otherItems;
+      int[] exploredPageNumbers;
+      long[][] explored;
+      int count;
+      byte[] types;
+      int[] roomXs;
+      int[] roomYs;
+      byte[] entityFlags;
+      int[] cooldowns;
+      byte[] headings;
+      try {
+         if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a saved game.");
+         }
+         byte version = in.get();
+         if (version != VERSION && version != FLAT_EXPLORED_VERSION) {
+            throw new IllegalArgumentException("Unsupported saved game version " + version + ".");
+         }
+         flags = in.get();
+         levelNumber = in.getShort() & 0xFFFF;
+         if (levelNumber < 1 || levelNumber > DungeonMap.getLevelCount()) {
+            throw damaged("level " + levelNumber + " does not exist");
+         }
+         level = DungeonMap.getLevel(levelNumber);
+         x = in.getInt();
+         y = in.getInt();
+         if (!level.isWalkable(x, y)) {
+            throw damaged("the player is not in a room");
+         }
+         powerPoints = in.getInt();
+         if (powerPoints <= 0) {
+            throw damaged("the player has no power points left");
+         }
+         randomState = in.getLong();
+
+         mask = in.getLong();
+         for (int i = 0; i < ITEMS.length; i++) {
+            itemCounts[i] = in.get();
+            if (itemCounts[i] < 0 || itemCounts[i] > Inventory.MAX_STACK) {
+               throw damaged("a stack of " + itemCounts[i] + " " + ITEMS[i].getDisplayName());
+            }
+         }
+         otherItems = new String[in.get() & 0xFF];
+         for (int i = 0; i < otherItems.length; i++) {
+            byte[] name = new byte[in.getShort() & 0xFFFF];
+            in.get(name);
+            otherItems[i] = new String(name, StandardCharsets.UTF_8);
+         }
+
+         if (version == FLAT_EXPLORED_VERSION) {
+            exploredPageNumbers = new int[]{-1};
+            explored = new long[][]{readExploredWords(in, level.size())};
+         } else {
+            int pages = in.getInt();
+            if (pages < 0 || pages > in.remaining() / 8) {
+               throw damaged("the explored map does not fit");
+            }
+            exploredPageNumbers = new int[pages];
+            explored = new long[pages][];
+            for (int i = 0; i < pages; i++) {
+               exploredPageNumbers[i] = in.getInt();
+               if (exploredPageNumbers[i] < 0 || exploredPageNumbers[i] >= level.getPageCount()
+                       || (i > 0 && exploredPageNumbers[i] <= exploredPageNumbers[i - 1])) {
+                  throw damaged("the explored map names page " + exploredPageNumbers[i]);
+               }
+               explored[i] = readExploredWords(in, level.getPageSize());
+            }
+         }
+
+         count = in.getInt();
+         if (count < 0 || count > in.remaining() / ENTITY_BYTES) {
+            throw damaged("the encounters do not fit");
+         }
+         types = new byte[count];
+         roomXs = new int[count];
+         roomYs = new int[count];
+         entityFlags = new byte[count];
+         cooldowns = new int[count];
+         headings = new byte[count];
+         for (int i = 0; i < count; i++) {
+            types[i] = in.get();
+            roomXs[i] = in.getInt();
+            roomYs[i] = in.getInt();
+            entityFlags[i] = in.get();
+            cooldowns[i] = in.getInt();
+            headings[i] = in.get();
+            if (types[i] < 0 || types[i] >= TYPES.length) {
+               throw damaged("unknown encounter " + types[i]);
+            }
+            if (!level.isWalkable(roomXs[i], roomYs[i])) {
+               throw damaged("an encounter is not in a room");
+            }
+         }
+         if (in.hasRemaining()) {
+            throw damaged(in.remaining() + " bytes too many");
+         }
+      } catch (BufferUnderflowException e) {
+         throw new IllegalArgumentException("The saved game is damaged: it is cut short.", e);
+      }
+
+      // Everything is checked; from here on nothing can fail halfway
+      PositionDataHolder pm = new PositionDataHolder(level);
+      GameServices.levelTransitionHandler().setCurrentLevelDirectly(level, levelNumber);
+      pm.setCurrentPosition(x, y);
+      player.setPowerPoints(powerPoints);
+
+      Inventory inventory = player.getInventory();
+      inventory.clear();
+      for (int i = 0; i < ITEMS.length; i++) {
+         if ((mask & ITEMS[i].mask()) != 0 && itemCounts[i] > 0) {
+            inventory.add(ITEMS[i], itemCounts[i]);
+         }
+      }
+      for (String name : otherItems) {
+         inventory.add(name);
+      }
+      for (int i = 0; i < explored.length; i++) {
+         if (exploredPageNumbers[i] == -1) {
+            pm.getVisibility().addExploredBits(explored[i]);
+         } else {
+            pm.getVisibility().addExploredPage(exploredPageNumbers[i], explored[i]);
+         }
+      }
+
+      EncounterEntities entities = encounterState.getEntities();
+      entities.getLock().lock();
+      try {
+         entities.clear(count);
+         for (int i = 0; i < count; i++) {
+            int id = entities.spawn(TYPES[types[i]], roomXs[i], roomYs[i]);
+            entities.setFlag(id, EncounterEntities.RESOLVED, (entityFlags[i] & EncounterEntities.RESOLVED) != 0);
+            entities.setFlag(id, EncounterEntities.TRIGGERED, (entityFlags[i] & EncounterEntities.TRIGGERED) != 0);
+            entities.setCooldown(id, cooldowns[i]);
+            entities.setHeading(id, headings[i]);
+         }
+      } finally {
+         entities.getLock().unlock();
+      }
+      EncounterManager.simulateLevel(levelNumber, level, entities);
+
+      // The Guardian's own resolved flag, restored above, says whether it was beaten
+      player.setRelicFound((flags & RELIC_FOUND) != 0);
+      GameServices.random().setState(randomState);
+      return pm;
+   }
+
+   /**
+    * Reads a word count and the words of explored bits, checking that they fit in the snapshot and stay
+    * within the given number of bits.
+    */
+   private static long[] readExploredWords(ByteBuffer in, int bitLimit) {
+      int words = in.getInt();
+      if (words < 0 || words > in.remaining() / 8) {
+         throw damaged("the explored map does not fit");
+      }
+      long[] bits = new long[words];
+      for (int i = 0; i < words; i++) {
+         bits[i] = in.getLong();
+      }
+      if (words > 0 && 64L * words - Long.numberOfLeadingZeros(bits[words - 1]) > bitLimit) {
+         throw damaged("the explored map reaches past the level");
+      }
+      return bits;
+   }
+
+   private static IllegalArgumentException damaged(String reason) {
+      return new IllegalArgumentException("The saved game is damaged: " + reason + ".");
+   }
+
+}
@@ -1,15 +1,18 @@
 package com.dungeonGame.database;
 
+import com.dungeonGame.GameServices;
+import com.dungeonGame.logging.GameLog;
 import com.dungeonGame.logic.PlayerDataHolder;
 import com.dungeonGame.logic.PositionDataHolder;
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
 import com.dungeonGame.logic.mapAndLevelHandler.LevelTransitionHandler;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Collections;
+import java.sql.Types;
 
 /**
  * Data Access Object (DAO) class for managing user data in the SQLite database.
@@ -18,7 +21,9 @@ import java.util.Collections;
 public class UserDAO {
 
    SQLiteConnection sqliteConnection = new SQLiteConnection();
-   LevelTransitionHandler levelTransitionHandler = new LevelTransitionHandler();
+   LevelTransitionHandler levelTransitionHandler = GameServices.levelTransitionHandler();
+
+   private static final System.Logger LOG = GameLog.getLogger(UserDAO.class);
 
    /**
     * Creates the "users" table in the database if it does not already exist.
@@ -30,7 +35,9 @@ public class UserDAO {
     *   <li>{@code power_points} - INTEGER</li>
     *   <li>{@code current_room} - TEXT</li>
     *   <li>{@code inventory} - TEXT</li>
+    *   <li>{@code snapshot} - BLOB, the whole game as written by {@link SnapshotCodec}</li>
     * </ul>
+    * A table from before the {@code snapshot} column existed gets the column added.
     */
    public void createNewTable() {
       String sql = """
@@ -40,15 +47,31 @@ public class UserDAO {
                current_level INTEGER,
                power_points INTEGER,
                current_room TEXT,
-               inventory TEXT
+               inventory TEXT,
+               snapshot BLOB
               );""";
 
       try (Connection conn = sqliteConnection.connect();
            PreparedStatement stmt = conn.prepareStatement(sql)) {
          stmt.execute();
-         //System.out.println("Table 'users' has been created.");
+         addSnapshotColumn(conn);
+         LOG.log(System.Logger.Level.DEBUG, "Users table ready");
       } catch (SQLException e) {
-         System.out.println(e.getMessage());
+         LOG.log(System.Logger.Level.ERROR, "Cannot create the users table", e);
+      }
+   }
+
+   private void addSnapshotColumn(Connection conn) throws SQLException {
+      try (PreparedStatement columns = conn.prepareStatement("PRAGMA table_info(users)");
+           ResultSet rs = columns.executeQuery()) {
+         while (rs.next()) {
+            if (rs.getString("name").equals("snapshot")) {
+               return;
+            }
+         }
+      }
+      try (PreparedStatement alter = conn.prepareStatement("ALTER TABLE users ADD COLUMN snapshot BLOB")) {
+         alter.execute();
       }
    }
 
@@ -72,9 +95,9 @@ public class UserDAO {
          pstmt.setString(4, currentRoom);
          pstmt.setString(5, inventory);
          pstmt.executeUpdate();
-         System.out.println("User has been inserted.");
+         LOG.log(System.Logger.Level.DEBUG, "User inserted name={0} level={1}", name, currentLevelNumber);
       } catch (SQLException e) {
-         System.out.println(e.getMessage());
+         LOG.log(System.Logger.Level.ERROR, "Cannot insert user " + name, e);
       }
    }
 
@@ -98,9 +121,9 @@ public class UserDAO {
          pstmt.setString(4, inventory);
          pstmt.setString(5, name);
          pstmt.executeUpdate();
-         System.out.println("User has been updated.");
+         LOG.log(System.Logger.Level.DEBUG, "User updated name={0} level={1}", name, currentLevelNumber);
       } catch (SQLException e) {
-         System.out.println(e.getMessage());
+         LOG.log(System.Logger.Level.ERROR, "Cannot update user " + name, e);
       }
    }
 
@@ -123,25 +146,71 @@ public class UserDAO {
             player = new PlayerDataHolder();
             player.setName(rs.getString("name"));
             int currentLevelNumber = rs.getInt("current_level");
-            //System.out.println("Retrieved level number: " + currentLevelNumber); // Debug statement
-            if (currentLevelNumber < 1 || currentLevelNumber > 3) {
-               System.out.println("Invalid level number retrieved, setting to default level 1.");
+            if (!DungeonMap.levels.hasLevel(currentLevelNumber)) {
+               LOG.log(System.Logger.Level.WARNING, "Saved level does not exist, starting at level 1 name={0} level={1}",
+                       name, currentLevelNumber);
                currentLevelNumber = 1; // Set to default level 1 if invalid
             }
-            char[][] currentLevel = levelTransitionHandler.getLevelByNumber(currentLevelNumber);
+            Level currentLevel = levelTransitionHandler.getLevelByNumber(currentLevelNumber);
             PositionDataHolder pm = new PositionDataHolder(currentLevel);
             DungeonMap.setCurrentLevel(pm, currentLevel, currentLevelNumber, levelTransitionHandler);
             player.setPowerPoints(rs.getInt("power_points"));
             player.setCurrentRoom(rs.getString("current_room"));
-            player.setInventory(Collections.singleton(rs.getString("inventory")));
+            player.setInventory(rs.getString("inventory"));
          } else {
-            //System.out.println("No user found with name: " + name); // Debug statement
+            LOG.log(System.Logger.Level.DEBUG, "No user found name={0}", name);
          }
       } catch (SQLException e) {
-         System.out.println(e.getMessage());
+         LOG.log(System.Logger.Level.ERROR, "Cannot load user " + name, e);
       }
 
       return player;
    }
 
-}
\ No newline at end of file
+   /**
+    * Stores a snapshot of a user's whole game, replacing the previous one.
+    *
+    * @param name     the name of the user
+    * @param snapshot the game as written by {@link SnapshotCodec#encode(PlayerDataHolder, PositionDataHolder)},
+    *                 or {@code null} to delete it
+    */
+   public void saveSnapshot(String name, byte[] snapshot) {
+      String sql = "UPDATE users SET snapshot = ? WHERE name = ?";
+
+      try (Connection conn = sqliteConnection.connect();
+           PreparedStatement pstmt = conn.prepareStatement(sql)) {
+         if (snapshot == null) {
+            pstmt.setNull(1, Types.BLOB);
+         } else {
+            pstmt.setBytes(1, snapshot);
+         }
+         pstmt.setString(2, name);
+         pstmt.executeUpdate();
+         LOG.log(System.Logger.Level.DEBUG, "Snapshot saved name={0} bytes={1}", name,
+                 snapshot == null ? 0 : snapshot.length);
+      } catch (SQLException e) {
+         LOG.log(System.Logger.Level.ERROR, "Cannot save the snapshot of " + name, e);
+      }
+   }
+
+   /**
+    * Retrieves the snapshot of a user's game.
+    *
+    * @param name the name of the user
+    * @return the snapshot, or {@code null} if the user is unknown or was saved before snapshots existed
+    */
+   public byte[] getSnapshot(String name) {
+      String sql = "SELECT snapshot FROM users WHERE name = ?";
+
+      try (Connection conn = sqliteConnection.connect();
+           PreparedStatement pstmt = conn.prepareStatement(sql)) {
+         pstmt.setString(1, name);
+         ResultSet rs = pstmt.executeQuery();
+         return rs.next() ? rs.getBytes("snapshot") : null;
+      } catch (SQLException e) {
+         LOG.log(System.Logger.Level.ERROR, "Cannot load the snapshot of " + name, e);
+         return null;
+      }
+   }
+
+}
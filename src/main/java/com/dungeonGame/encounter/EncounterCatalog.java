@@ -0,0 +1,227 @@
+package com.dungeonGame.encounter;
+
+import com.dungeonGame.logic.Item;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The text, options and numbers of every encounter, read from JSON once and compiled into immutable
+ * {@link EncounterDefinition}s.
+ *
+ * <p>
+ * The game uses {@link #getDefault()}, which reads the file named by the {@value #FILE_PROPERTY} system
+ * property if it is set, or the {@value #RESOURCE} file bundled with the game. Rebalancing an encounter
+ * only means editing that file. All validation happens while compiling: unknown encounter types, effects
+ * or item names and missing default options fail at startup, not in the middle of an encounter.
+ * </p>
+ */
+public final class EncounterCatalog {
+
+   /**
+    * System property naming a JSON file that replaces the bundled catalog.
+    */
+   public static final String FILE_PROPERTY = "dungeon.encounters";
+
+   /**
+    * Class path resource of the bundled catalog.
+    */
+   public static final String RESOURCE = "encounters.json";
+
+   /**
+    * A riddle, the answer shown to a player who gets it wrong, in lower case, and any other answers the
+    * Mad Scientist accepts. Answers are matched by {@link RiddleBank}.
+    *
+    * @param question the riddle
+    * @param answer   the answer
+    * @param accepted other accepted answers, possibly empty
+    */
+   public record Riddle(String question, String answer, List<String> accepted) {
+   }
+
+   // The JSON layout, as read by Gson
+
+   private record CatalogJson(Integer version, Map<String, DefinitionJson> encounters, List<Riddle> riddles) {
+   }
+
+   private record DefinitionJson(String title, Boolean clearScreen, Boolean waitForEnter, List<String> intro,
+                                 List<String> openers, String menuIntro, String defaultIntro, String prompt,
+                                 String invalidChoice, String defaultOption, List<OptionJson> options) {
+   }
+
+   private record OptionJson(String id, String label, Boolean listed, List<String> requires, List<String> consumes,
+                             String effect, Integer amount, Integer threshold, Integer reward,
+                             String message, String successMessage, String failureMessage) {
+   }
+
+   private final int version;
+   private final EncounterDefinition[] definitions;
+   private final List<Riddle> riddles;
+
+   private EncounterCatalog(int version, EncounterDefinition[] definitions, List<Riddle> riddles) {
+      this.version = version;
+      this.definitions = definitions;
+      this.riddles = riddles;
+   }
+
+   /**
+    * Holds the game's catalog; loaded the first time it is needed.
+    */
+   private static final class DefaultHolder {
+      static final EncounterCatalog INSTANCE = loadDefault();
+   }
+
+   /**
+    * Returns the catalog used by the game.
+    *
+    * @return the default catalog
+    * @throws IllegalStateException if the catalog is missing or invalid
+    */
+   public static EncounterCatalog getDefault() {
+      return DefaultHolder.INSTANCE;
+   }
+
+   private static EncounterCatalog loadDefault() {
+      String file = System.getProperty(FILE_PROPERTY);
+      try {
+         if (file != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+               return load(reader);
+            }
+         }
+         InputStream in = EncounterCatalog.class.getClassLoader().getResourceAsStream(RESOURCE);
+         if (in == null) {
+            throw new IllegalStateException("The encounter catalog " + RESOURCE + " is missing.");
+         }
+         try (Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return load(reader);
+         }
+      } catch (IOException e) {
+         throw new UncheckedIOException("Could not read the encounter catalog.", e);
+      }
+   }
+
+   /**
+    * Reads and compiles a catalog.
+    *
+    * @param reader the JSON text
+    * @return the compiled catalog
+    * @throws IllegalStateException if the JSON is malformed or describes an invalid catalog
+    */
+   public static EncounterCatalog load(Reader reader) {
+      CatalogJson json;
+      try {
+         json = new Gson().fromJson(reader, CatalogJson.class);
+      } catch (JsonParseException e) {
+         throw new IllegalStateException("The encounter catalog is not valid JSON: " + e.getMessage(), e);
+      }
+      if (json == null || json.encounters() == null) {
+         throw new IllegalStateException("The encounter catalog has no encounters.");
+      }
+
+      EncounterDefinition[] definitions = new EncounterDefinition[EncounterType.values().length];
+      for (Map.Entry<String, DefinitionJson> entry : json.encounters().entrySet()) {
+         EncounterType type = parse(EncounterType.class, entry.getKey(), "encounter type");
+         definitions[type.ordinal()] = compile(type, entry.getValue());
+      }
+      for (EncounterType type : EncounterType.values()) {
+         if (definitions[type.ordinal()] == null) {
+            throw new IllegalStateException("The encounter catalog does not describe " + type + ".");
+         }
+      }
+
+      List<Riddle> riddles = new ArrayList<>();
+      for (Riddle riddle : orEmpty(json.riddles())) {
+         if (riddle.question() == null || riddle.answer() == null) {
+            throw new IllegalStateException("Every riddle needs a question and an answer.");
+         }
+         riddles.add(new Riddle(riddle.question(), riddle.answer().trim().toLowerCase(Locale.ROOT),
+                 List.copyOf(orEmpty(riddle.accepted()))));
+      }
+      return new EncounterCatalog(json.version() == null ? 1 : json.version(), definitions, List.copyOf(riddles));
+   }
+
+   private static EncounterDefinition compile(EncounterType type, DefinitionJson json) {
+      List<EncounterOption> options = new ArrayList<>();
+      for (OptionJson option : orEmpty(json.options())) {
+         if (option.id() == null) {
+            throw new IllegalStateException(type + " has an option without an id.");
+         }
+         EncounterEffect effect = option.effect() == null
+                 ? EncounterEffect.NONE
+                 : parse(EncounterEffect.class, option.effect(), "effect");
+         options.add(new EncounterOption(option.id(), option.label() == null ? option.id() : option.label(),
+                 option.listed() == null || option.listed(), checkItems(type, orEmpty(option.requires())),
+                 checkItems(type, orEmpty(option.consumes())), effect,
+                 orZero(option.amount()), orZero(option.threshold()), orZero(option.reward()),
+                 option.message(), option.successMessage(), option.failureMessage()));
+      }
+      if (options.isEmpty()) {
+         throw new IllegalStateException(type + " has no options.");
+      }
+      return new EncounterDefinition(type, json.title() == null ? type.name() : json.title(),
+              Boolean.TRUE.equals(json.clearScreen()), Boolean.TRUE.equals(json.waitForEnter()),
+              orEmpty(json.intro()), orEmpty(json.openers()), json.menuIntro(), json.defaultIntro(),
+              json.prompt() == null ? "\nEnter the number: " : json.prompt(), json.invalidChoice(),
+              options, json.defaultOption());
+   }
+
+   private static List<String> checkItems(EncounterType type, List<String> items) {
+      for (String item : items) {
+         if (Item.fromName(item) == null) {
+            throw new IllegalStateException(type + " refers to an unknown item '" + item + "'.");
+         }
+      }
+      return items;
+   }
+
+   private static <E extends Enum<E>> E parse(Class<E> enumType, String name, String what) {
+      try {
+         return Enum.valueOf(enumType, name);
+      } catch (IllegalArgumentException e) {
+         throw new IllegalStateException("Unknown " + what + " '" + name + "' in the encounter catalog.", e);
+      }
+   }
+
+   private static <T> List<T> orEmpty(List<T> list) {
+      return list == null ? List.of() : list;
+   }
+
+   private static int orZero(Integer value) {
+      return value == null ? 0 : value;
+   }
+
+   // Getters
+
+   public int getVersion() {
+      return version;
+   }
+
+   /**
+    * Returns the definition of an encounter type.
+    *
+    * @param type the kind of encounter
+    * @return its compiled definition
+    */
+   public EncounterDefinition get(EncounterType type) {
+      return definitions[type.ordinal()];
+   }
+
+   public List<Riddle> getRiddles() {
+      return riddles;
+   }
+
+}
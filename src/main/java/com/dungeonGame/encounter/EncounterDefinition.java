@@ -0,0 +1,128 @@
+package com.dungeonGame.encounter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compiled description of one kind of encounter: its text and its options.
+ *
+ * <ul>
+ *     <li><b>Menu:</b> If the player can pick at least one option that needs items, the listed options they
+ *         can afford are shown as a numbered menu. An invalid choice plays the default option.</li>
+ *     <li><b>Default:</b> Otherwise the default option plays right away, without a menu.</li>
+ * </ul>
+ *
+ * <p>Definitions are immutable and built once by {@link EncounterCatalog}; options are found by id through
+ * a map built at the same time.</p>
+ */
+public final class EncounterDefinition {
+
+   private final EncounterType type;
+   private final String title;
+   private final boolean clearScreen;
+   private final boolean waitForEnter;
+   private final List<String> intro;
+   private final List<String> openers;
+   private final String menuIntro;
+   private final String defaultIntro;
+   private final String prompt;
+   private final String invalidChoice;
+   private final List<EncounterOption> options;
+   private final Map<String, EncounterOption> optionsById;
+   private final EncounterOption defaultOption;
+
+   EncounterDefinition(EncounterType type, String title, boolean clearScreen, boolean waitForEnter,
+                       List<String> intro, List<String> openers, String menuIntro, String defaultIntro,
+                       String prompt, String invalidChoice, List<EncounterOption> options, String defaultOptionId) {
+      this.type = type;
+      this.title = title;
+      this.clearScreen = clearScreen;
+      this.waitForEnter = waitForEnter;
+      this.intro = List.copyOf(intro);
+      this.openers = List.copyOf(openers);
+      this.menuIntro = menuIntro;
+      this.defaultIntro = defaultIntro;
+      this.prompt = prompt;
+      this.invalidChoice = invalidChoice;
+      this.options = List.copyOf(options);
+
+      Map<String, EncounterOption> byId = new HashMap<>();
+      for (EncounterOption option : options) {
+         if (byId.put(option.getId(), option) != null) {
+            throw new IllegalStateException(type + " has two options with the id '" + option.getId() + "'.");
+         }
+      }
+      this.optionsById = Map.copyOf(byId);
+      this.defaultOption = optionsById.get(defaultOptionId);
+      if (defaultOption == null) {
+         throw new IllegalStateException(type + " has no option '" + defaultOptionId + "' to use as its default.");
+      }
+   }
+
+   // Getters
+
+   public EncounterType getType() {
+      return type;
+   }
+
+   public String getTitle() {
+      return title;
+   }
+
+   public boolean isClearScreen() {
+      return clearScreen;
+   }
+
+   public boolean isWaitForEnter() {
+      return waitForEnter;
+   }
+
+   public List<String> getIntro() {
+      return intro;
+   }
+
+   /**
+    * Returns the lines the encounter may open with; one is picked at random each time.
+    *
+    * @return the openers, possibly empty
+    */
+   public List<String> getOpeners() {
+      return openers;
+   }
+
+   public String getMenuIntro() {
+      return menuIntro;
+   }
+
+   public String getDefaultIntro() {
+      return defaultIntro;
+   }
+
+   public String getPrompt() {
+      return prompt;
+   }
+
+   public String getInvalidChoice() {
+      return invalidChoice;
+   }
+
+   public List<EncounterOption> getOptions() {
+      return options;
+   }
+
+   public EncounterOption getDefaultOption() {
+      return defaultOption;
+   }
+
+   /**
+    * Finds an option by its id.
+    *
+    * @param id the option's id
+    * @return the option, or {@code null} if there is none with that id
+    */
+   public EncounterOption getOption(String id) {
+      return optionsById.get(id);
+   }
+
+}
@@ -0,0 +1,309 @@
+package com.dungeonGame.encounter;
+
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.PowerPointManager;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One playthrough of an {@link EncounterDefinition}, written as a state machine that never waits for input.
+ *
+ * <ul>
+ *     <li><b>Start:</b> {@link #start()} tells the encounter's story and stops at the first question, or plays
+ *         the default option right away if there is nothing to choose.</li>
+ *     <li><b>Input:</b> Each {@link #handle(String)} takes one line the player typed, applies it and returns
+ *         as soon as the next line is needed; {@link #getPrompt()} says what is being asked.</li>
+ *     <li><b>End:</b> The dialog is over once {@link #isDone()}; {@link #getEffect()} tells how it ended.</li>
+ * </ul>
+ *
+ * <p>
+ * Because the dialog returns between inputs, the caller decides where input comes from: the console
+ * driver in {@link Encounters#play(EncounterDefinition, PlayerDataHolder, InventoryManager)} reads it from
+ * {@link System#in}, while {@link EncounterSession} feeds it whatever a remote player sends, so no thread
+ * waits inside game logic. Everything the encounter says goes to its {@link Output}. The riddles, openers
+ * and rewards are drawn from the random source the dialog is given, so a session with its own
+ * {@link com.dungeonGame.logic.GameRandom} plays the same encounters again when it is replayed.
+ * </p>
+ */
+public final class EncounterDialog {
+
+   /**
+    * What the dialog is waiting for.
+    */
+   public enum State {
+
+      /**
+       * Not started yet.
+       */
+      NEW,
+
+      /**
+       * The number of a menu option.
+       */
+      CHOOSING,
+
+      /**
+       * The answer to a riddle.
+       */
+      ANSWERING,
+
+      /**
+       * Any line, to acknowledge the outcome.
+       */
+      CONTINUING,
+
+      /**
+       * Nothing; the encounter is over.
+       */
+      DONE
+   }
+
+   /**
+    * Receives what the encounter says.
+    */
+   public interface Output {
+
+      /**
+       * Tells a line of the story.
+       *
+       * @param line the line
+       */
+      void say(String line);
+
+      /**
+       * Shows a line of a menu.
+       *
+       * @param line the line
+       */
+      void show(String line);
+   }
+
+   static final String ANSWER_PROMPT = "Your Answer: ";
+   static final String CONTINUE_PROMPT = "Press Enter to continue...";
+
+   private final EncounterDefinition definition;
+   private final PlayerDataHolder player;
+   private final InventoryManager inventoryManager;
+   private final PowerPointManager pointManager;
+   private final Random random;
+   private final Output output;
+   private final EncounterOption[] offered;
+   private int offeredCount;
+   private State state = State.NEW;
+   private EncounterOption chosen;
+   private int riddle;
+
+   /**
+    * Creates a dialog; nothing happens until {@link #start()}.
+    *
+    * @param definition       the encounter to play
+    * @param player           the player's data, including inventory and power points
+    * @param inventoryManager the inventory manager to check and use the player's items with
+    * @param pointManager     the manager that deducts the player's power points
+    * @param random           the source of the opener, the riddle and any rewards
+    * @param output           receives everything the encounter says
+    */
+   public EncounterDialog(EncounterDefinition definition, PlayerDataHolder player, InventoryManager inventoryManager,
+                          PowerPointManager pointManager, Random random, Output output) {
+      this.definition = definition;
+      this.player = player;
+      this.inventoryManager = inventoryManager;
+      this.pointManager = pointManager;
+      this.random = random;
+      this.output = output;
+      this.offered = new EncounterOption[definition.getOptions().size()];
+   }
+
+   /**
+    * Tells the encounter's introduction and offers the options the player can afford.
+    *
+    * <ul>
+    *     <li><b>Menu:</b> If the player can afford an option that needs items, every listed option they can
+    *         afford is shown and the dialog waits for a choice.</li>
+    *     <li><b>Default:</b> Otherwise the definition's default option plays right away.</li>
+    * </ul>
+    *
+    * @throws IllegalStateException if the dialog has already started
+    */
+   public void start() {
+      if (state != State.NEW) {
+         throw new IllegalStateException("The encounter has already started.");
+      }
+      List<String> openers = definition.getOpeners();
+      if (!openers.isEmpty()) {
+         output.say(openers.get(random.nextInt(openers.size())));
+      }
+      for (String line : definition.getIntro()) {
+         output.say(line);
+      }
+
+      boolean itemOption = false;
+      for (EncounterOption option : definition.getOptions()) {
+         if (option.isListed() && option.isAvailable(player, inventoryManager)) {
+            offered[offeredCount++] = option;
+            itemOption |= option.needsItems();
+         }
+      }
+      if (!itemOption) {
+         if (definition.getDefaultIntro() != null) {
+            output.say(definition.getDefaultIntro());
+         }
+         choose(definition.getDefaultOption());
+         return;
+      }
+
+      if (definition.getMenuIntro() != null) {
+         output.say(definition.getMenuIntro());
+      }
+      for (int i = 0; i < offeredCount; i++) {
+         output.show((i + 1) + ". " + offered[i].getLabel());
+      }
+      state = State.CHOOSING;
+   }
+
+   /**
+    * Applies one line of input and carries on until the next line is needed.
+    *
+    * <ul>
+    *     <li><b>Choosing:</b> The number of an offered option plays it; anything else plays the default.</li>
+    *     <li><b>Answering:</b> The answer is checked by the {@link RiddleBank}.</li>
+    *     <li><b>Continuing:</b> Any line ends the dialog.</li>
+    * </ul>
+    *
+    * @param input the line the player typed, without its line break
+    * @throws IllegalStateException if the dialog is not waiting for input
+    */
+   public void handle(String input) {
+      switch (state) {
+         case CHOOSING -> {
+            int choice = parseChoice(input);
+            if (choice >= 1 && choice <= offeredCount) {
+               choose(offered[choice - 1]);
+            } else {
+               if (definition.getInvalidChoice() != null) {
+                  output.say(definition.getInvalidChoice());
+               }
+               choose(definition.getDefaultOption());
+            }
+         }
+         case ANSWERING -> answer(input);
+         case CONTINUING -> state = State.DONE;
+         case NEW, DONE -> throw new IllegalStateException("The encounter is not waiting for input.");
+      }
+   }
+
+   private static int parseChoice(String input) {
+      try {
+         return Integer.parseInt(input.trim());
+      } catch (NumberFormatException e) {
+         return -1;
+      }
+   }
+
+   private void choose(EncounterOption option) {
+      chosen = option;
+      for (String item : option.getConsumedItems()) {
+         inventoryManager.useItem(player, item);
+      }
+      if (option.getMessage() != null) {
+         output.say(option.getMessage());
+      }
+
+      switch (option.getEffect()) {
+         case DAMAGE -> pointManager.deductPowerPoints(player, option.getAmount());
+         case RIDDLE -> {
+            RiddleBank bank = RiddleBank.getDefault();
+            if (bank.size() > 0) {
+               riddle = random.nextInt(bank.size());
+               output.say(bank.getQuestion(riddle));
+               state = State.ANSWERING;
+               return;
+            }
+         }
+         case FIGHT -> {
+            if (player.getPowerPoints() > option.getThreshold()) {
+               output.say(option.getSuccessMessage());
+               inventoryManager.giveRandomItems(player, option.getReward(), random, output::say);
+            } else {
+               output.say(option.getFailureMessage());
+               pointManager.deductPowerPoints(player, option.getAmount());
+               inventoryManager.clearInventory(player);
+            }
+         }
+         case REWARD -> inventoryManager.giveRandomItems(player, option.getReward(), random, output::say);
+         case NONE, WIN, LOSE -> {
+            // Nothing beyond the option's message; the caller settles wins and losses
+         }
+      }
+      finish();
+   }
+
+   private void answer(String input) {
+      RiddleBank bank = RiddleBank.getDefault();
+      if (bank.accepts(riddle, input)) {
+         output.say(chosen.getSuccessMessage());
+      } else {
+         pointManager.deductPowerPoints(player, chosen.getAmount());
+         output.say(chosen.getFailureMessage().replace("{answer}", bank.getAnswer(riddle)));
+      }
+      finish();
+   }
+
+   private void finish() {
+      state = definition.isWaitForEnter() ? State.CONTINUING : State.DONE;
+   }
+
+   // Getters
+
+   public EncounterDefinition getDefinition() {
+      return definition;
+   }
+
+   public State getState() {
+      return state;
+   }
+
+   /**
+    * Checks whether the encounter is over.
+    *
+    * @return {@code true} once the dialog needs no more input
+    */
+   public boolean isDone() {
+      return state == State.DONE;
+   }
+
+   /**
+    * Returns what the dialog is asking for.
+    *
+    * @return the prompt, or {@code null} if the dialog is not waiting for input
+    */
+   public String getPrompt() {
+      return switch (state) {
+         case CHOOSING -> definition.getPrompt();
+         case ANSWERING -> ANSWER_PROMPT;
+         case CONTINUING -> CONTINUE_PROMPT;
+         case NEW, DONE -> null;
+      };
+   }
+
+   /**
+    * Returns the effect of the option that was played.
+    *
+    * @return the effect, or {@code null} while no option has been chosen
+    */
+   public EncounterEffect getEffect() {
+      return chosen == null ? null : chosen.getEffect();
+   }
+
+   /**
+    * Returns the option that was played.
+    *
+    * @return the option, or {@code null} while no option has been chosen
+    */
+   public EncounterOption getOption() {
+      return chosen;
+   }
+
+}
@@ -0,0 +1,45 @@
+package com.dungeonGame.encounter;
+
+/**
+ * What happens when the player picks an {@link EncounterOption}, after its items have been used up
+ * and its message has been shown.
+ */
+public enum EncounterEffect {
+
+   /**
+    * Nothing more; the encounter is over.
+    */
+   NONE,
+
+   /**
+    * The player loses {@link EncounterOption#getAmount()} power points.
+    */
+   DAMAGE,
+
+   /**
+    * The player answers a riddle and loses {@link EncounterOption#getAmount()} power points if wrong.
+    */
+   RIDDLE,
+
+   /**
+    * The player wins if they have more than {@link EncounterOption#getThreshold()} power points and gets
+    * {@link EncounterOption#getReward()} random items; otherwise they lose {@link EncounterOption#getAmount()}
+    * power points and all their items.
+    */
+   FIGHT,
+
+   /**
+    * The player gets {@link EncounterOption#getReward()} random items.
+    */
+   REWARD,
+
+   /**
+    * The encounter is defeated for good.
+    */
+   WIN,
+
+   /**
+    * The game is over.
+    */
+   LOSE
+}
@@ -0,0 +1,325 @@
+package com.dungeonGame.encounter;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stores the encounter entities of the current level as parallel primitive arrays.
+ *
+ * <p>
+ * Every entity is an {@code int} id, and its components live at that index in one array per component:
+ * room coordinates, {@link EncounterType}, state flags and a cooldown in moves. Systems such as
+ * {@link EncounterSystems} walk these arrays in tight loops, and an {@link EncounterIndex} finds the
+ * entity in a room without scanning. Adding an encounter type only needs a new {@link EncounterType}
+ * constant, never new fields here.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Ids:</b> Ids run from {@code 0} to {@link #size()} - 1. Despawning an entity moves the last
+ *         entity into its slot, so ids are only stable until the next {@link #despawn(int)}.</li>
+ *     <li><b>Threads:</b> The store is not thread-safe by itself. The player's moves and the
+ *         {@link WorldSimulation} tick both hold {@link #getLock()} while they use it.</li>
+ * </ul>
+ */
+public class EncounterEntities {
+
+   /**
+    * State flag: the encounter is over and will not trigger again.
+    */
+   public static final byte RESOLVED = 1;
+
+   /**
+    * State flag: the encounter has been triggered at least once.
+    */
+   public static final byte TRIGGERED = 1 << 1;
+
+   private static final EncounterType[] TYPES = EncounterType.values();
+
+   private int[] roomX;
+   private int[] roomY;
+   private byte[] types;
+   private byte[] flags;
+   private int[] cooldowns;
+
+   /**
+    * Direction of travel for patrolling encounters, as an index into {@link WorldSimulation}'s directions.
+    */
+   private byte[] headings;
+   private int count;
+
+   /**
+    * Number of entities whose cooldown is above zero, so the cooldown pass can be skipped when there are none.
+    */
+   private int coolingDown;
+
+   private EncounterIndex rooms;
+
+   private final ReentrantLock lock = new ReentrantLock();
+
+   /**
+    * Creates an empty store sized for a handful of encounters.
+    */
+   public EncounterEntities() {
+      this(8);
+   }
+
+   /**
+    * Creates an empty store sized for the expected number of encounters.
+    *
+    * @param expectedEncounters how many encounters will be spawned
+    */
+   public EncounterEntities(int expectedEncounters) {
+      allocate(Math.max(4, expectedEncounters));
+   }
+
+   /**
+    * Removes every entity, making room for the expected number of new ones.
+    *
+    * @param expectedEncounters how many encounters are about to be spawned
+    */
+   public void clear(int expectedEncounters) {
+      allocate(Math.max(4, expectedEncounters));
+   }
+
+   /**
+    * Places a new, unresolved encounter in a room. An encounter already in that room is despawned first.
+    *
+    * @param type the kind of encounter
+    * @param x    the row of the room
+    * @param y    the column of the room
+    * @return the id of the new entity
+    */
+   public int spawn(EncounterType type, int x, int y) {
+      int existing = rooms.get(x, y);
+      if (existing != EncounterIndex.NONE) {
+         despawn(existing);
+      }
+      if (count == types.length) {
+         grow(count * 2);
+      }
+      int id = count++;
+      roomX[id] = x;
+      roomY[id] = y;
+      types[id] = (byte) type.ordinal();
+      flags[id] = 0;
+      cooldowns[id] = 0;
+      headings[id] = 0;
+      rooms.put(x, y, id);
+      return id;
+   }
+
+   /**
+    * Removes an entity. The last entity takes over its id.
+    *
+    * @param id the entity to remove
+    */
+   public void despawn(int id) {
+      checkId(id);
+      rooms.remove(roomX[id], roomY[id]);
+      if (cooldowns[id] > 0) {
+         coolingDown--;
+      }
+      int last = --count;
+      if (id != last) {
+         roomX[id] = roomX[last];
+         roomY[id] = roomY[last];
+         types[id] = types[last];
+         flags[id] = flags[last];
+         cooldowns[id] = cooldowns[last];
+         headings[id] = headings[last];
+         rooms.put(roomX[id], roomY[id], id);
+      }
+   }
+
+   /**
+    * Moves an entity to another room, keeping its other components. An encounter already in that room
+    * is despawned first.
+    *
+    * @param id the entity to move
+    * @param x  the row of the new room
+    * @param y  the column of the new room
+    * @return the entity's id afterwards, which changes only if it had to fill the gap left by the despawned encounter
+    */
+   public int relocate(int id, int x, int y) {
+      checkId(id);
+      int occupant = rooms.get(x, y);
+      if (occupant == id) {
+         return id;
+      }
+      if (occupant != EncounterIndex.NONE) {
+         despawn(occupant);
+         if (id == count) {
+            // This entity was the last one and took over the despawned entity's id
+            id = occupant;
+         }
+      }
+      rooms.remove(roomX[id], roomY[id]);
+      roomX[id] = x;
+      roomY[id] = y;
+      rooms.put(x, y, id);
+      return id;
+   }
+
+   /**
+    * Finds the entity in a room.
+    *
+    * @param x the row
+    * @param y the column
+    * @return the entity id, or {@link EncounterIndex#NONE} if the room is empty
+    */
+   public int at(int x, int y) {
+      return rooms.get(x, y);
+   }
+
+   /**
+    * Returns the number of entities.
+    *
+    * @return the entity count
+    */
+   public int size() {
+      return count;
+   }
+
+   /**
+    * Returns the lock that guards this store against the {@link WorldSimulation} tick.
+    *
+    * @return the store's lock
+    */
+   public ReentrantLock getLock() {
+      return lock;
+   }
+
+   // Component access
+
+   public EncounterType getType(int id) {
+      checkId(id);
+      return TYPES[types[id]];
+   }
+
+   public int getRoomX(int id) {
+      checkId(id);
+      return roomX[id];
+   }
+
+   public int getRoomY(int id) {
+      checkId(id);
+      return roomY[id];
+   }
+
+   public boolean hasFlag(int id, byte flag) {
+      checkId(id);
+      return (flags[id] & flag) != 0;
+   }
+
+   public void setFlag(int id, byte flag, boolean set) {
+      checkId(id);
+      flags[id] = (byte) (set ? flags[id] | flag : flags[id] & ~flag);
+   }
+
+   public boolean isResolved(int id) {
+      return hasFlag(id, RESOLVED);
+   }
+
+   public void setResolved(int id, boolean resolved) {
+      setFlag(id, RESOLVED, resolved);
+   }
+
+   public int getHeading(int id) {
+      checkId(id);
+      return headings[id];
+   }
+
+   public void setHeading(int id, int heading) {
+      checkId(id);
+      headings[id] = (byte) heading;
+   }
+
+   public int getCooldown(int id) {
+      checkId(id);
+      return cooldowns[id];
+   }
+
+   /**
+    * Sets how many moves must pass before an encounter can trigger again.
+    *
+    * @param id    the entity
+    * @param moves the cooldown in moves; {@code 0} means it can trigger right away
+    */
+   public void setCooldown(int id, int moves) {
+      checkId(id);
+      int value = Math.max(0, moves);
+      if (cooldowns[id] > 0) {
+         coolingDown--;
+      }
+      if (value > 0) {
+         coolingDown++;
+      }
+      cooldowns[id] = value;
+   }
+
+   /**
+    * Lowers every running cooldown by one move, in a single pass over the cooldown array.
+    */
+   void tickCooldowns() {
+      if (coolingDown == 0) {
+         return;
+      }
+      int stillCooling = 0;
+      int[] values = cooldowns;
+      for (int i = 0; i < count; i++) {
+         int value = values[i];
+         if (value > 0) {
+            values[i] = --value;
+            if (value > 0) {
+               stillCooling++;
+            }
+         }
+      }
+      coolingDown = stillCooling;
+   }
+
+   /**
+    * Counts the entities of a type that are not resolved yet, in a single pass over the type and flag arrays.
+    *
+    * @param type the kind of encounter
+    * @return the number of unresolved entities of that type
+    */
+   public int countUnresolved(EncounterType type) {
+      byte code = (byte) type.ordinal();
+      int unresolved = 0;
+      for (int i = 0; i < count; i++) {
+         if (types[i] == code && (flags[i] & RESOLVED) == 0) {
+            unresolved++;
+         }
+      }
+      return unresolved;
+   }
+
+   private void allocate(int capacity) {
+      roomX = new int[capacity];
+      roomY = new int[capacity];
+      types = new byte[capacity];
+      flags = new byte[capacity];
+      cooldowns = new int[capacity];
+      headings = new byte[capacity];
+      count = 0;
+      coolingDown = 0;
+      rooms = new EncounterIndex(capacity);
+   }
+
+   private void grow(int capacity) {
+      roomX = Arrays.copyOf(roomX, capacity);
+      roomY = Arrays.copyOf(roomY, capacity);
+      types = Arrays.copyOf(types, capacity);
+      flags = Arrays.copyOf(flags, capacity);
+      cooldowns = Arrays.copyOf(cooldowns, capacity);
+      headings = Arrays.copyOf(headings, capacity);
+   }
+
+   private void checkId(int id) {
+      if (id < 0 || id >= count) {
+         throw new IndexOutOfBoundsException("No encounter entity with id " + id + " (" + count + " entities).");
+      }
+   }
+
+}
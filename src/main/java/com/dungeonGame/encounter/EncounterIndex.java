@@ -0,0 +1,196 @@
+package com.dungeonGame.encounter;
+
+import java.util.Arrays;
+
+/**
+ * A spatial hash from room coordinates to the id of the encounter entity placed there
+ * (see {@link EncounterEntities}).
+ *
+ * <p>
+ * Each room is packed into a single {@code long} key ({@code x} in the high half, {@code y} in the
+ * low half) and stored in an open-addressing table with linear probing. Looking up the player's
+ * room is a hash and usually one probe, however many encounters the level holds. The table grows
+ * when it is more than half full, and removal shifts later entries back so no tombstones build up.
+ * </p>
+ *
+ * <p>A room holds at most one encounter. The table only stores primitives, so it creates no garbage
+ * while the player moves.</p>
+ */
+public class EncounterIndex {
+
+   /**
+    * Marks an empty slot; no room packs to this value because it would need {@code x = y = -1}.
+    */
+   private static final long EMPTY = -1L;
+
+   /**
+    * Returned by {@link #get(int, int)} and friends when a room holds no encounter.
+    */
+   public static final int NONE = -1;
+
+   private long[] keys;
+   private int[] values;
+   private int size;
+
+   /**
+    * Creates an empty index sized for a handful of encounters.
+    */
+   public EncounterIndex() {
+      this(8);
+   }
+
+   /**
+    * Creates an empty index sized for the expected number of encounters.
+    *
+    * @param expectedEncounters how many encounters will be added
+    */
+   public EncounterIndex(int expectedEncounters) {
+      int capacity = Integer.highestOneBit(Math.max(4, expectedEncounters) * 2 - 1) << 1;
+      keys = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      values = new int[capacity];
+   }
+
+   /**
+    * Packs a room's coordinates into a single key.
+    *
+    * @param x the row
+    * @param y the column
+    * @return the packed key
+    */
+   public static long pack(int x, int y) {
+      return ((long) x << 32) | (y & 0xFFFFFFFFL);
+   }
+
+   /**
+    * Returns the number of encounters in the index.
+    *
+    * @return the encounter count
+    */
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Places an encounter in a room, replacing any encounter already there.
+    *
+    * @param x         the row
+    * @param y         the column
+    * @param encounter the id of the encounter entity
+    * @return the id that was replaced, or {@link #NONE}
+    */
+   public int put(int x, int y, int encounter) {
+      if ((size + 1) * 2 > keys.length) {
+         resize(keys.length * 2);
+      }
+      long key = pack(x, y);
+      int mask = keys.length - 1;
+      int slot = slot(key, mask);
+      while (keys[slot] != EMPTY) {
+         if (keys[slot] == key) {
+            int previous = values[slot];
+            values[slot] = encounter;
+            return previous;
+         }
+         slot = (slot + 1) & mask;
+      }
+      keys[slot] = key;
+      values[slot] = encounter;
+      size++;
+      return NONE;
+   }
+
+   /**
+    * Looks up the encounter in a room.
+    *
+    * @param x the row
+    * @param y the column
+    * @return the id of the encounter in that room, or {@link #NONE}
+    */
+   public int get(int x, int y) {
+      long key = pack(x, y);
+      int mask = keys.length - 1;
+      int slot = slot(key, mask);
+      long found;
+      while ((found = keys[slot]) != EMPTY) {
+         if (found == key) {
+            return values[slot];
+         }
+         slot = (slot + 1) & mask;
+      }
+      return NONE;
+   }
+
+   /**
+    * Removes the encounter from a room.
+    *
+    * @param x the row
+    * @param y the column
+    * @return the id of the removed encounter, or {@link #NONE} if the room was empty
+    */
+   public int remove(int x, int y) {
+      long key = pack(x, y);
+      int mask = keys.length - 1;
+      int slot = slot(key, mask);
+      while (keys[slot] != key) {
+         if (keys[slot] == EMPTY) {
+            return NONE;
+         }
+         slot = (slot + 1) & mask;
+      }
+      int removed = values[slot];
+
+      // Shift later entries of the same probe run back into the gap
+      int gap = slot;
+      int next = (gap + 1) & mask;
+      while (keys[next] != EMPTY) {
+         int home = slot(keys[next], mask);
+         if (((next - home) & mask) >= ((next - gap) & mask)) {
+            keys[gap] = keys[next];
+            values[gap] = values[next];
+            gap = next;
+         }
+         next = (next + 1) & mask;
+      }
+      keys[gap] = EMPTY;
+      values[gap] = NONE;
+      size--;
+      return removed;
+   }
+
+   /**
+    * Removes every encounter.
+    */
+   public void clear() {
+      Arrays.fill(keys, EMPTY);
+      size = 0;
+   }
+
+   private void resize(int capacity) {
+      long[] oldKeys = keys;
+      int[] oldValues = values;
+      keys = new long[capacity];
+      Arrays.fill(keys, EMPTY);
+      values = new int[capacity];
+      int mask = capacity - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+         if (oldKeys[i] != EMPTY) {
+            int slot = slot(oldKeys[i], mask);
+            while (keys[slot] != EMPTY) {
+               slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+         }
+      }
+   }
+
+   /**
+    * Spreads a packed key over the table; neighbouring rooms land in different slots.
+    */
+   private static int slot(long key, int mask) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32)) & mask;
+   }
+
+}
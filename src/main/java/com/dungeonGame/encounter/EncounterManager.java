@@ -1,16 +1,21 @@
 package com.dungeonGame.encounter;
 
+import com.dungeonGame.GameServices;
 import com.dungeonGame.logic.InventoryManager;
 import com.dungeonGame.logic.PositionDataHolder;
 import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.mapAndLevelHandler.CellIndex;
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logging.GameLog;
+import com.dungeonGame.telemetry.EventRing;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 public class EncounterManager {
 
-   private final Encounters.LostExplorerEncounterManager lostExplorerEncounterManager = new Encounters.LostExplorerEncounterManager();
-
    /**
     * Manages the state of encounters in the dungeon.
     *
@@ -24,6 +29,13 @@ public class EncounterManager {
     */
    private static final EncounterState encounterState = new EncounterState();
 
+   /**
+    * Logs where the encounters are after every move at {@code DEBUG}; see {@link GameLog}.
+    */
+   private static final System.Logger LOG = GameLog.getLogger(EncounterManager.class);
+
+   EventRing events = GameServices.events();
+
    /**
     * Retrieves the current state of encounters in the dungeon.
     *
@@ -39,13 +51,78 @@ public class EncounterManager {
       return encounterState;
    }
 
+   /**
+    * Moves the wandering and patrolling encounters of the current level between the player's moves.
+    */
+   private static final WorldSimulation worldSimulation = new WorldSimulation();
+
+   /**
+    * Retrieves the simulation that moves the encounters of the current level.
+    *
+    * @return the shared {@link WorldSimulation}
+    */
+   public static WorldSimulation getWorldSimulation() {
+      return worldSimulation;
+   }
+
+   /**
+    * System property that decides which levels move their encounters in real time: {@code auto} (the
+    * default) for levels with at least {@value #WORLD_SIMULATION_MIN_ROOMS} plain rooms, {@code on} for
+    * every level, or {@code off} for none.
+    */
+   public static final String WORLD_SIMULATION_PROPERTY = "dungeon.world.simulation";
+
+   /**
+    * Number of plain rooms from which a level's encounters move in real time under the {@code auto} setting.
+    * On smaller levels, such as the bundled ones, they stay where they were placed, so an encounter is
+    * where the player last saw it.
+    */
+   public static final int WORLD_SIMULATION_MIN_ROOMS = 1024;
+
+   /**
+    * Starts moving encounters in the background at {@link WorldSimulation#DEFAULT_TICKS_PER_SECOND},
+    * unless {@value #WORLD_SIMULATION_PROPERTY} is {@code off}. Until this is called, encounters stay where
+    * they were placed.
+    */
+   public static void startWorldSimulation() {
+      if (!"off".equals(System.getProperty(WORLD_SIMULATION_PROPERTY))) {
+         worldSimulation.start(WorldSimulation.DEFAULT_TICKS_PER_SECOND);
+      }
+   }
+
+   /**
+    * Makes a level the one the {@link WorldSimulation} moves, if the {@value #WORLD_SIMULATION_PROPERTY}
+    * setting lets its encounters move; otherwise no level is simulated.
+    *
+    * @param levelNumber the level's number
+    * @param level       the level grid used for collisions
+    * @param entities    the level's encounters
+    */
+   public static void simulateLevel(int levelNumber, Level level, EncounterEntities entities) {
+      worldSimulation.clearLevels();
+      String setting = System.getProperty(WORLD_SIMULATION_PROPERTY, "auto");
+      boolean moves = switch (setting) {
+         case "on" -> true;
+         case "off" -> false;
+         default -> level.getCellIndex(CellIndex.Category.ROOM).size() >= WORLD_SIMULATION_MIN_ROOMS;
+      };
+      if (moves) {
+         worldSimulation.addLevel(levelNumber, level, entities);
+      }
+   }
+
+   /**
+    * Number of plain rooms per additional trap on large levels; small levels get no extra traps.
+    */
+   private static final int ROOMS_PER_EXTRA_TRAP = 64;
+
    /**
     * Assigns encounters to specific rooms in the current dungeon level.
     *
     * <ul>
     *     <li><b>Encounters Assigned:</b>
     *         <ul>
-    *             <li>Trap: Always assigned.</li>
+    *             <li>Trap: Always assigned, plus one extra trap for every {@value #ROOMS_PER_EXTRA_TRAP} rooms.</li>
     *             <li>Mad Scientist: Always assigned.</li>
     *             <li>Lost Explorer: Assigned only in Level 2.</li>
     *             <li>Guardian: Assigned only in Level 3.</li>
@@ -54,187 +131,132 @@ public class EncounterManager {
     *     <li><b>Assignment Rules:</b>
     *         <ul>
     *             <li>Encounters cannot overlap with each other or non-walkable areas like walls ('W').</li>
-    *             <li>The Guardian is placed in a walkable room (' ') in Level 3.</li>
+    *             <li>Encounters are never placed on the entrance ('E') or the exit ('X').</li>
+    *             <li>Throws an {@link IllegalStateException} if the level has fewer rooms than required encounters.</li>
     *         </ul>
     *     </li>
     *     <li><b>Reset States:</b>
     *         <ul>
-    *             <li>Resets encounter states (e.g., trap encountered, Mad Scientist encountered).</li>
-    *             <li>Resets the Guardian's completion state.</li>
+    *             <li>Replaces the encounters of the previous level, so every encounter starts unresolved and
+    *                 the Guardian undefeated.</li>
     *         </ul>
     *     </li>
+    *     <li><b>Simulation:</b> The level replaces the previous one in the {@link WorldSimulation}, if it is
+    *         large enough (see {@link #simulateLevel(int, Level, EncounterEntities)}).</li>
     * </ul>
     *
     * <b>Internal Method Calls:</b>
     * <ul>
-    *     <li>{@link #getValidEncounterRoom(char[][], Random)}</li>
+    *     <li>{@link Level#getCellIndex(CellIndex.Category)}</li>
     *     <li>{@link DungeonMap#getCurrentLevelNumber()}</li>
-    *     <li>{@link EncounterState#setTrapRoom(int, int)}</li>
-    *     <li>{@link EncounterState#setMadScientistRoom(int, int)}</li>
-    *     <li>{@link EncounterState#setExplorerRoom(int, int)}</li>
-    *     <li>{@link EncounterState#setGuardianRoom(int, int)}</li>
+    *     <li>{@link #spawnEncounters(Level, int, EncounterEntities, Random)}</li>
+    *     <li>{@link #simulateLevel(int, Level, EncounterEntities)}</li>
     * </ul>
     *
-    * @param level the current dungeon level represented as a 2D character array
+    * @param level the current dungeon level
+    * @throws IllegalStateException if there are not enough free rooms for the encounters
     */
-   public void assignEncounters(char[][] level) {
-      Random random = new Random();
-      int[] trap = getValidEncounterRoom(level, random);
-      encounterState.setTrapRoom(trap[0], trap[1]);
-
-      int[] madScientist;
-      do {
-         madScientist = getValidEncounterRoom(level, random);
-      } while (madScientist[0] == encounterState.getTrapRoomX() && madScientist[1] == encounterState.getTrapRoomY());
-      encounterState.setMadScientistRoom(madScientist[0], madScientist[1]);
-
-      // Debugging
-      //System.out.println("Final Trap Room: (" + encounterState.getTrapRoomX() + ", " + encounterState.getTrapRoomY() + ")");
-      //System.out.println("Final Mad Scientist Room: (" + encounterState.getMadScientistRoomX() + ", " + encounterState.getMadScientistRoomY() + ")");
-
-      if (DungeonMap.currentLevel != null && DungeonMap.getCurrentLevelNumber() == 2) {
-         int[] explorer;
-         do {
-            explorer = getValidEncounterRoom(level, random);
-         } while ((explorer[0] == encounterState.getTrapRoomX() && explorer[1] == encounterState.getTrapRoomY()) ||
-                 (explorer[0] == encounterState.getMadScientistRoomX() && explorer[1] == encounterState.getMadScientistRoomY()));
-         encounterState.setExplorerRoom(explorer[0], explorer[1]);
-      }
+   public void assignEncounters(Level level) {
+      int levelNumber = DungeonMap.currentLevel != null ? DungeonMap.getCurrentLevelNumber() : 0;
+      EncounterEntities entities = encounterState.getEntities();
+      spawnEncounters(level, levelNumber, entities, GameServices.random());
 
-      if (DungeonMap.getCurrentLevelNumber() == 3) {
-         int[] guardian;
-         do {
-            guardian = getValidEncounterRoom(level, random);
-         } while ((guardian[0] == encounterState.getTrapRoomX() && guardian[1] == encounterState.getTrapRoomY()) ||
-                 (guardian[0] == encounterState.getMadScientistRoomX() && guardian[1] == encounterState.getMadScientistRoomY()) ||
-                 level[guardian[0]][guardian[1]] != ' '); // Ensure the room is walkable
-         encounterState.setGuardianRoom(guardian[0], guardian[1]);
-         //System.out.println("Assigned Guardian Room: (" + guardian[0] + ", " + guardian[1] + ")");
-      }
-
-
-      encounterState.setTrapEncountered(false);
-      encounterState.setMadScientistEncountered(false);
-      if (DungeonMap.currentLevel != null && DungeonMap.getCurrentLevelNumber() == 2) {
-         encounterState.setExplorerEncountered(false);
-      }
-      EncounterState.setGuardianEncounterCompleted(false);
+      simulateLevel(levelNumber, level, entities);
    }
 
    /**
-    * Finds a valid room for placing an encounter within the current dungeon level.
+    * Replaces the encounters in a store with a fresh set for a level, following the rules of
+    * {@link #assignEncounters(Level)}. Game sessions use this to give each player encounters of their own.
     *
-    * <ul>
-    *     <li><b>Valid Room Conditions:</b>
-    *         <ul>
-    *             <li>The room must be within the boundaries of the map.</li>
-    *             <li>The room must not be a wall ('W').</li>
-    *             <li>The room must not be an entrance ('E') or an exit ('X').</li>
-    *         </ul>
-    *     </li>
-    *     <li><b>Constraints:</b>
-    *         <ul>
-    *             <li>Limits the number of attempts to find a valid room to avoid infinite loops.</li>
-    *             <li>Throws an {@link IllegalStateException} if no valid room is found after 100 attempts.</li>
-    *         </ul>
-    *     </li>
-    * </ul>
-    *
-    * <b>Internal Method Calls:</b>
-    * <ul>
-    *     <li>{@link #isValidEncounterRoom(char[][], int, int)}</li>
-    * </ul>
-    *
-    * @param level the current dungeon level represented as a 2D character array
-    * @param random a {@link Random} instance used to generate random positions
-    * @return an array containing the x and y coordinates of a valid room
-    * @throws IllegalStateException if no valid room is found after 100 attempts
+    * @param level       the level to place the encounters in
+    * @param levelNumber the level's number, which decides the extra encounters
+    * @param entities    the store to fill
+    * @param random      the source of the encounter rooms
+    * @throws IllegalStateException if there are not enough free rooms for the encounters
     */
-   private int[] getValidEncounterRoom(char[][] level, Random random) {
-      int attempts = 0; // Limit attempts to avoid infinite loops
-      int x, y;
-
-      do {
-         x = random.nextInt(level.length);
-         y = random.nextInt(level[0].length);
-         attempts++;
-         //System.out.println("Checking Guardian Room (" + x + ", " + y + "): " + level[x][y] + " -> " + (isValidEncounterRoom(level, x, y) ? "VALID" : "INVALID"));
-         if (attempts > 100) {
-            throw new IllegalStateException("Failed to find a valid room for Guardian after 100 attempts.");
+   public static void spawnEncounters(Level level, int levelNumber, EncounterEntities entities, Random random) {
+      CellIndex rooms = level.getCellIndex(CellIndex.Category.ROOM);
+
+      List<EncounterType> required = new ArrayList<>();
+      required.add(EncounterType.TRAP);
+      required.add(EncounterType.MAD_SCIENTIST);
+      if (levelNumber == 2) {
+         required.add(EncounterType.LOST_EXPLORER);
+      }
+      if (levelNumber == 3) {
+         required.add(EncounterType.GUARDIAN);
+      }
+      if (required.size() > rooms.size()) {
+         throw new IllegalStateException("Failed to find a free room for an encounter: "
+                 + required.size() + " encounters need rooms, but the level only has " + rooms.size() + ".");
+      }
+      int extraTraps = Math.min(rooms.size() / ROOMS_PER_EXTRA_TRAP, rooms.size() - required.size());
+
+      int[] cells = rooms.sampleDistinct(random, required.size() + extraTraps);
+      entities.getLock().lock();
+      try {
+         entities.clear(cells.length);
+         for (int i = 0; i < cells.length; i++) {
+            EncounterType type = i < required.size() ? required.get(i) : EncounterType.TRAP;
+            entities.spawn(type, level.rowOf(cells[i]), level.columnOf(cells[i]));
          }
-      } while (!isValidEncounterRoom(level, x, y));
-
-      return new int[]{x, y};
+      } finally {
+         entities.getLock().unlock();
+      }
    }
 
    /**
-    * Determines if a specific room in the dungeon is valid for placing an encounter.
+    * Checks whether the player has entered a room with an encounter
+    * and triggers the appropriate encounter.
     *
     * <ul>
-    *     <li><b>Valid Room Conditions:</b>
-    *         <ul>
-    *             <li>The room must not be a wall ('W').</li>
-    *             <li>The room must not be an entrance ('E').</li>
-    *             <li>The room must not be an exit ('X').</li>
-    *         </ul>
-    *     </li>
-    *     <li><b>Usage:</b> Used by the {@link #getValidEncounterRoom(char[][], Random)} method to validate candidate rooms.</li>
+    *     <li><b>Lookup:</b> The player's room is looked up in the level's {@link EncounterIndex}, so the cost
+    *         does not depend on how many encounters the level holds.</li>
+    *     <li><b>Repeats:</b> Traps, the Mad Scientist and the Lost Explorer trigger once. The Guardian triggers
+    *         every time until it has been defeated.</li>
+    *     <li><b>Simulation:</b> Encounters do not move while the check, and any encounter it starts, is running.</li>
+    *     <li><b>Events:</b> How a triggered encounter ended is published to {@link GameServices#events()}.</li>
     * </ul>
     *
-    * @param level the current dungeon level represented as a 2D character array
-    * @param x the x-coordinate of the room
-    * @param y the y-coordinate of the room
-    * @return {@code true} if the room is valid for placing an encounter, {@code false} otherwise
-    */
-   private boolean isValidEncounterRoom(char[][] level, int x, int y) {
-      //System.out.println("Checking room (" + x + ", " + y + "): " + level[x][y] + " -> " + (isValid ? "VALID" : "INVALID"));
-      return level[x][y] != 'W' && level[x][y] != 'X' && level[x][y] != 'E';
-   }
-
-   /**
-    * Checks whether the player has entered a room with an encounter
-    * and triggers the appropriate encounter.
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link EncounterSystems#onPlayerMoved(EncounterEntities)}</li>
+    *     <li>{@link EncounterSystems#triggerAt(EncounterEntities, int, int, PlayerDataHolder, InventoryManager)}</li>
+    *     <li>{@link EventRing#publishEncounter(int, int, int, int, EncounterType, boolean)}</li>
+    * </ul>
     *
     * @param pm the player's position manager
     * @param player the player's data holder
     */
    public void checkForEncounters(PositionDataHolder pm, PlayerDataHolder player, InventoryManager inventoryManager) {
 
-      // Trap encounter once per level
-      if (!encounterState.isTrapEncountered() &&
-              pm.getPlayerX() == encounterState.getTrapRoomX() && pm.getPlayerY() == encounterState.getTrapRoomY()) {
-         System.out.println("Triggering Trap Encounter");
-         Encounters.trap(player);
-         encounterState.setTrapEncountered(true);
-      }
-
-      // Mad Scientist encounter once per level
-      if (!encounterState.isMadScientistEncountered() &&
-              pm.getPlayerX() == encounterState.getMadScientistRoomX() && pm.getPlayerY() == encounterState.getMadScientistRoomY()) {
-         Encounters.madScientist(player);
-         encounterState.setMadScientistEncountered(true);
-      }
-
-      // Lost Explorer only once in level 2
-      if (DungeonMap.getCurrentLevelNumber() == 2 &&
-              !encounterState.isExplorerEncountered() &&
-              pm.getPlayerX() == encounterState.getExplorerRoomX() && pm.getPlayerY() == encounterState.getExplorerRoomY()) {
-         lostExplorerEncounterManager.lostExplorerEncounter(player);
-         encounterState.setExplorerEncountered(true);
-      }
+      EncounterEntities entities = encounterState.getEntities();
+      entities.getLock().lock();
+      try {
+         EncounterSystems.onPlayerMoved(entities);
+         int x = pm.getPlayerX();
+         int y = pm.getPlayerY();
+         int id = entities.at(x, y);
+         EncounterType type = id == EncounterIndex.NONE ? null : entities.getType(id);
+         if (EncounterSystems.triggerAt(entities, x, y, player, inventoryManager)) {
+            // Ids change when an encounter despawns, so look the room up again
+            int after = entities.at(x, y);
+            events.publishEncounter(DungeonMap.getCurrentLevelNumber(), x, y, player.getPowerPoints(), type,
+                    after != EncounterIndex.NONE && entities.isResolved(after));
+         }
 
-      // Guardian encounter in level 3:
-      if (DungeonMap.getCurrentLevelNumber() == 3 &&
-              !encounterState.isGuardianEncounterCompleted() && // If completed, no more Guardian
-              pm.getPlayerX() == encounterState.getGuardianRoomX() && pm.getPlayerY() == encounterState.getGuardianRoomY()) {
-         // Guardian can happen multiple times if a player chooses to flee
-         // Only if a player wins (Encounters code sets pm.setGuardianEncounterCompleted(true)) does it stop.
-         Encounters.GuardianEncounterManager.guardianEncounter(player, inventoryManager);
-         // If guardianEncounterCompleted is set to true inside guardianEncounter, next time won't trigger.
+         // Checked first, so a move with debugging off does not even build the parameters
+         if (LOG.isLoggable(System.Logger.Level.DEBUG)) {
+            LOG.log(System.Logger.Level.DEBUG,
+                    "Encounters checked player=({0},{1}) trap=({2},{3}) trapResolved={4} madScientist=({5},{6}) madScientistResolved={7}",
+                    pm.getPlayerX(), pm.getPlayerY(),
+                    encounterState.getTrapRoomX(), encounterState.getTrapRoomY(), encounterState.isTrapEncountered(),
+                    encounterState.getMadScientistRoomX(), encounterState.getMadScientistRoomY(),
+                    encounterState.isMadScientistEncountered());
+         }
+      } finally {
+         entities.getLock().unlock();
       }
-      System.out.println("Player position: (" + pm.getPlayerX() + ", " + pm.getPlayerY() + ")");
-      System.out.println("Trap Room: (" + encounterState.getTrapRoomX() + ", " + encounterState.getTrapRoomY() + "), Encountered: " + encounterState.isTrapEncountered());
-      System.out.println("Mad Scientist Room: (" + encounterState.getMadScientistRoomX() + ", " + encounterState.getMadScientistRoomY() + "), Encountered: " + encounterState.isMadScientistEncountered());
 
    }
 
@@ -242,41 +264,52 @@ public class EncounterManager {
     * Inner class to manage the state of encounters, including their locations
     * and whether they have been encountered.
     * <p>
-    * Includes getter and setter methods for tracking the state and coordinates of
-    * encounters, such as traps, Mad Scientists, Lost Explorers, and the Guardian.
+    * The encounters of the current level are entities in an {@link EncounterEntities} store, so a level
+    * may hold any number of them. The first encounter of each {@link EncounterType} is also reachable
+    * through the named getters and setters below (for example {@link #getTrapRoomX()}), which describe
+    * that encounter.
     * <p>
     * These methods allow checking and updating the occurrence status and the
     * positions of each encounter.</p>
     */
    public static class EncounterState {
 
-      private boolean trapEncountered;
-      private boolean madScientistEncountered;
-      private boolean explorerEncountered;
-      private static boolean guardianEncounterCompleted;
+      /**
+       * Encounters of the current level.
+       */
+      private final EncounterEntities entities = new EncounterEntities();
+
+      /**
+       * Returns the encounter entities of the current level.
+       *
+       * @return the entity store
+       */
+      public EncounterEntities getEntities() {
+         return entities;
+      }
 
-      private int trapRoomX;
-      private int trapRoomY;
-      private int madScientistRoomX;
-      private int madScientistRoomY;
-      private int explorerRoomX;
-      private int explorerRoomY;
-      private int guardianRoomX;
-      private int guardianRoomY;
+      /**
+       * Returns the number of encounters on the current level.
+       *
+       * @return the encounter count
+       */
+      public int getEncounterCount() {
+         return entities.size();
+      }
 
       /**
        * Gets whether the trap encounter has occurred.
        *
        * @return {@code true} if the trap encounter has occurred, {@code false} otherwise
        */
-      public boolean isTrapEncountered() { return trapEncountered; }
+      public boolean isTrapEncountered() { return isResolved(EncounterType.TRAP); }
 
       /**
        * Sets whether the trap encounter has occurred.
        *
        * @param encountered {@code true} if the trap encounter has occurred
        */
-      public void setTrapEncountered(boolean encountered) { trapEncountered = encountered; }
+      public void setTrapEncountered(boolean encountered) { setResolved(EncounterType.TRAP, encountered); }
 
       /*
        * General note: The following getter and setter methods provide access to the
@@ -284,40 +317,84 @@ public class EncounterManager {
        * the current game state dynamically.
        */
 
-      public boolean isMadScientistEncountered() { return madScientistEncountered; }
-      public void setMadScientistEncountered(boolean encountered) { madScientistEncountered = encountered; }
+      public boolean isMadScientistEncountered() { return isResolved(EncounterType.MAD_SCIENTIST); }
+      public void setMadScientistEncountered(boolean encountered) { setResolved(EncounterType.MAD_SCIENTIST, encountered); }
+
+      public boolean isExplorerEncountered() { return isResolved(EncounterType.LOST_EXPLORER); }
+      public void setExplorerEncountered(boolean encountered) { setResolved(EncounterType.LOST_EXPLORER, encountered); }
+
+      /**
+       * Gets whether the Guardian has been defeated; it stays unresolved until then.
+       *
+       * @return {@code true} if the Guardian's encounter is resolved
+       */
+      public boolean isGuardianEncounterCompleted() { return isResolved(EncounterType.GUARDIAN); }
+      public void setGuardianEncounterCompleted(boolean completed) { setResolved(EncounterType.GUARDIAN, completed); }
+
+      public int getTrapRoomX() { return roomX(EncounterType.TRAP); }
+      public int getTrapRoomY() { return roomY(EncounterType.TRAP); }
+      public void setTrapRoom(int x, int y) { move(EncounterType.TRAP, x, y); }
+
+      public int getMadScientistRoomX() { return roomX(EncounterType.MAD_SCIENTIST); }
+      public int getMadScientistRoomY() { return roomY(EncounterType.MAD_SCIENTIST); }
+      public void setMadScientistRoom(int x, int y) { move(EncounterType.MAD_SCIENTIST, x, y); }
 
-      public boolean isExplorerEncountered() { return explorerEncountered; }
-      public void setExplorerEncountered(boolean encountered) { explorerEncountered = encountered; }
+      public int getExplorerRoomX() { return roomX(EncounterType.LOST_EXPLORER); }
+      public int getExplorerRoomY() { return roomY(EncounterType.LOST_EXPLORER); }
+      public void setExplorerRoom(int x, int y) { move(EncounterType.LOST_EXPLORER, x, y); }
 
-      public boolean isGuardianEncounterCompleted() { return guardianEncounterCompleted; }
-      public static void setGuardianEncounterCompleted(boolean completed) { guardianEncounterCompleted = completed; }
+      public int getGuardianRoomX() { return roomX(EncounterType.GUARDIAN); }
+      public int getGuardianRoomY() { return roomY(EncounterType.GUARDIAN); }
+      public void setGuardianRoom(int x, int y) { move(EncounterType.GUARDIAN, x, y); }
 
-      public int getTrapRoomX() { return trapRoomX; }
-      public int getTrapRoomY() { return trapRoomY; }
-      public void setTrapRoom(int x, int y) {
-         trapRoomX = x;
-         trapRoomY = y;
+      /**
+       * Finds the first entity of a type, in id order.
+       *
+       * @return the entity id, or {@link EncounterIndex#NONE}
+       */
+      private int first(EncounterType type) {
+         for (int id = 0; id < entities.size(); id++) {
+            if (entities.getType(id) == type) {
+               return id;
+            }
+         }
+         return EncounterIndex.NONE;
       }
 
-      public int getMadScientistRoomX() { return madScientistRoomX; }
-      public int getMadScientistRoomY() { return madScientistRoomY; }
-      public void setMadScientistRoom(int x, int y) { madScientistRoomX = x; madScientistRoomY = y; }
+      private boolean isResolved(EncounterType type) {
+         int id = first(type);
+         return id != EncounterIndex.NONE && entities.isResolved(id);
+      }
 
-      public int getExplorerRoomX() { return explorerRoomX; }
-      public int getExplorerRoomY() { return explorerRoomY; }
-      public void setExplorerRoom(int x, int y) {
-         this.explorerRoomX = x;
-         this.explorerRoomY = y;
+      private void setResolved(EncounterType type, boolean resolved) {
+         int id = first(type);
+         if (id != EncounterIndex.NONE) {
+            entities.setResolved(id, resolved);
+         }
       }
 
-      public int getGuardianRoomX() { return guardianRoomX; }
-      public int getGuardianRoomY() { return guardianRoomY; }
-      public void setGuardianRoom(int x, int y) {
-         this.guardianRoomX = x;
-         this.guardianRoomY = y;
+      private int roomX(EncounterType type) {
+         int id = first(type);
+         return id == EncounterIndex.NONE ? 0 : entities.getRoomX(id);
+      }
+
+      private int roomY(EncounterType type) {
+         int id = first(type);
+         return id == EncounterIndex.NONE ? 0 : entities.getRoomY(id);
+      }
+
+      /**
+       * Moves the first encounter of a type to another room, creating it if the level has none.
+       */
+      private void move(EncounterType type, int x, int y) {
+         int id = first(type);
+         if (id == EncounterIndex.NONE) {
+            entities.spawn(type, x, y);
+         } else {
+            entities.relocate(id, x, y);
+         }
       }
 
    }
 
-}
+}
\ No newline at end of file
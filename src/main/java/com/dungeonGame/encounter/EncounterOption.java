@@ -0,0 +1,203 @@
+package com.dungeonGame.encounter;
+
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.PlayerDataHolder;
+
+import java.util.List;
+
+/**
+ * One choice the player can make in an encounter, compiled from the {@link EncounterCatalog}.
+ *
+ * <p>Options are immutable. Item names are checked against the item registry when the catalog is
+ * compiled, and the {@code {amount}} placeholders of the messages are filled in once, so playing an
+ * option does no parsing.</p>
+ *
+ * <p>The effect of an option on the player is described once, by {@link #outcome(int, boolean)} and
+ * {@link #resolves(EncounterType)}, for everything that plays encounters without an {@link EncounterDialog}.</p>
+ */
+public final class EncounterOption {
+
+   /**
+    * What playing an option does to the player once its consumed items are gone.
+    *
+    * @param powerPoints   the power points gained, negative for a loss
+    * @param losesAllItems whether every item the player holds is taken
+    * @param rewardDraws   the number of random items the player gets
+    * @param losesGame     whether the game is over
+    */
+   public record Outcome(int powerPoints, boolean losesAllItems, int rewardDraws, boolean losesGame) {
+   }
+
+   private static final Outcome NOTHING = new Outcome(0, false, 0, false);
+
+   private final String id;
+   private final String label;
+   private final boolean listed;
+   private final List<String> requiredItems;
+   private final List<String> consumedItems;
+   private final EncounterEffect effect;
+   private final int amount;
+   private final int threshold;
+   private final int reward;
+   private final String message;
+   private final String successMessage;
+   private final String failureMessage;
+
+   /**
+    * The outcomes of winning and of losing the option's fight or riddle; the same for other effects.
+    */
+   private final Outcome success;
+   private final Outcome failure;
+
+   EncounterOption(String id, String label, boolean listed, List<String> requiredItems, List<String> consumedItems,
+                   EncounterEffect effect, int amount, int threshold, int reward,
+                   String message, String successMessage, String failureMessage) {
+      this.id = id;
+      this.label = label;
+      this.listed = listed;
+      this.requiredItems = List.copyOf(requiredItems);
+      this.consumedItems = List.copyOf(consumedItems);
+      this.effect = effect;
+      this.amount = amount;
+      this.threshold = threshold;
+      this.reward = reward;
+      this.message = fill(message, amount);
+      this.successMessage = fill(successMessage, amount);
+      this.failureMessage = fill(failureMessage, amount);
+      this.success = switch (effect) {
+         case NONE, WIN, RIDDLE -> NOTHING;
+         case DAMAGE -> new Outcome(-amount, false, 0, false);
+         case FIGHT, REWARD -> new Outcome(0, false, reward, false);
+         case LOSE -> new Outcome(0, false, 0, true);
+      };
+      this.failure = switch (effect) {
+         case RIDDLE -> new Outcome(-amount, false, 0, false);
+         case FIGHT -> new Outcome(-amount, true, 0, false);
+         default -> success;
+      };
+   }
+
+   private static String fill(String text, int amount) {
+      return text == null ? null : text.replace("{amount}", Integer.toString(amount));
+   }
+
+   // Getters
+
+   public String getId() {
+      return id;
+   }
+
+   public String getLabel() {
+      return label;
+   }
+
+   /**
+    * Checks whether the option is shown in the encounter's menu. Unlisted options only run as the
+    * encounter's default.
+    *
+    * @return {@code true} if the option can be picked from the menu
+    */
+   public boolean isListed() {
+      return listed;
+   }
+
+   public List<String> getRequiredItems() {
+      return requiredItems;
+   }
+
+   public List<String> getConsumedItems() {
+      return consumedItems;
+   }
+
+   public EncounterEffect getEffect() {
+      return effect;
+   }
+
+   public int getAmount() {
+      return amount;
+   }
+
+   public int getThreshold() {
+      return threshold;
+   }
+
+   public int getReward() {
+      return reward;
+   }
+
+   /**
+    * Returns the message shown when the option is picked.
+    *
+    * @return the message, or {@code null} if there is none
+    */
+   public String getMessage() {
+      return message;
+   }
+
+   public String getSuccessMessage() {
+      return successMessage;
+   }
+
+   /**
+    * Returns the message shown when a fight or riddle is lost. A riddle's message still contains the
+    * {@code {answer}} placeholder.
+    *
+    * @return the message, or {@code null} if there is none
+    */
+   public String getFailureMessage() {
+      return failureMessage;
+   }
+
+   /**
+    * Returns what playing the option does to the player, as {@link EncounterDialog} plays it.
+    *
+    * @param powerPoints    the player's power points when the option is picked, which decide a fight
+    * @param riddleAnswered whether a riddle is answered correctly; ignored for other effects
+    * @return the outcome; the same instance for the same result, so nothing is allocated
+    */
+   public Outcome outcome(int powerPoints, boolean riddleAnswered) {
+      boolean succeeded = switch (effect) {
+         case RIDDLE -> riddleAnswered;
+         case FIGHT -> powerPoints > threshold;
+         default -> true;
+      };
+      return succeeded ? success : failure;
+   }
+
+   /**
+    * Checks whether playing the option ends an encounter for good. The Guardian keeps blocking its room
+    * until the player beats it; every other encounter is over after one play.
+    *
+    * @param type the type of the encounter
+    * @return {@code true} if the encounter is resolved afterwards
+    */
+   public boolean resolves(EncounterType type) {
+      return type != EncounterType.GUARDIAN || effect == EncounterEffect.WIN;
+   }
+
+   /**
+    * Checks whether the option needs any items.
+    *
+    * @return {@code true} if the option has required items
+    */
+   public boolean needsItems() {
+      return !requiredItems.isEmpty();
+   }
+
+   /**
+    * Checks whether the player holds every item the option requires.
+    *
+    * @param player           the player's data
+    * @param inventoryManager the inventory manager to ask
+    * @return {@code true} if the option can be picked
+    */
+   public boolean isAvailable(PlayerDataHolder player, InventoryManager inventoryManager) {
+      for (String item : requiredItems) {
+         if (!inventoryManager.hasItem(player, item)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+}
@@ -0,0 +1,156 @@
+package com.dungeonGame.encounter;
+
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.PowerPointManager;
+
+import java.util.Random;
+
+/**
+ * A remote player's side of the encounters: plays {@link EncounterDialog}s one input at a time and collects
+ * what they say as text to send back.
+ *
+ * <p>
+ * A session never waits. {@link #begin(EncounterType)} and {@link #handle(String)} return as soon as the
+ * encounter needs the player's next line, so one event-loop thread can serve any number of sessions by
+ * calling {@code handle} whenever a line arrives for one of them. A session is not thread-safe; calls for
+ * the same session must not overlap. Every draw an encounter makes comes from the random source the session
+ * is given, so sessions do not disturb each other's riddles and rewards.
+ * </p>
+ */
+public class EncounterSession {
+
+   private final PlayerDataHolder player;
+   private final InventoryManager inventoryManager;
+   private final PowerPointManager pointManager;
+   private final Random random;
+   private final StringBuilder pending = new StringBuilder();
+   private final EncounterDialog.Output output = new EncounterDialog.Output() {
+      @Override
+      public void say(String line) {
+         pending.append(line).append('\n');
+      }
+
+      @Override
+      public void show(String line) {
+         pending.append(line).append('\n');
+      }
+   };
+   private EncounterDialog dialog;
+   private boolean gameOver;
+
+   /**
+    * Creates a session for a player.
+    *
+    * @param player           the player's data, including inventory and power points
+    * @param inventoryManager the inventory manager to check and use the player's items with
+    * @param pointManager     the manager that deducts the player's power points
+    * @param random           the source of the encounters' riddles, openers and rewards
+    */
+   public EncounterSession(PlayerDataHolder player, InventoryManager inventoryManager, PowerPointManager pointManager,
+                           Random random) {
+      this.player = player;
+      this.inventoryManager = inventoryManager;
+      this.pointManager = pointManager;
+      this.random = random;
+   }
+
+   /**
+    * Starts an encounter from the {@link EncounterCatalog}.
+    *
+    * @param type the kind of encounter
+    * @return the text to show the player, ending with the prompt if the encounter waits for input
+    * @throws IllegalStateException if an encounter is already running
+    */
+   public String begin(EncounterType type) {
+      return begin(EncounterCatalog.getDefault().get(type));
+   }
+
+   /**
+    * Starts an encounter.
+    *
+    * @param definition the encounter to play
+    * @return the text to show the player, ending with the prompt if the encounter waits for input
+    * @throws IllegalStateException if an encounter is already running
+    */
+   public String begin(EncounterDefinition definition) {
+      if (isWaiting()) {
+         throw new IllegalStateException("An encounter is already running.");
+      }
+      pending.append(definition.getTitle().toUpperCase()).append('\n');
+      dialog = new EncounterDialog(definition, player, inventoryManager, pointManager, random, output);
+      dialog.start();
+      return flush();
+   }
+
+   /**
+    * Passes one line from the player to the running encounter.
+    *
+    * @param input the line, without its line break
+    * @return the text to show the player, ending with the prompt if the encounter still waits for input
+    * @throws IllegalStateException if no encounter is waiting for input
+    */
+   public String handle(String input) {
+      if (!isWaiting()) {
+         throw new IllegalStateException("No encounter is waiting for input.");
+      }
+      dialog.handle(input);
+      return flush();
+   }
+
+   private String flush() {
+      if (dialog.isDone()) {
+         EncounterEffect effect = dialog.getEffect();
+         if (effect == EncounterEffect.LOSE) {
+            gameOver = true;
+            pending.append("GAME OVER\n");
+         }
+      } else {
+         pending.append(dialog.getPrompt());
+      }
+      String text = pending.toString();
+      pending.setLength(0);
+      return text;
+   }
+
+   /**
+    * Checks whether an encounter is waiting for the player's next line.
+    *
+    * @return {@code true} if {@link #handle(String)} may be called
+    */
+   public boolean isWaiting() {
+      return dialog != null && !dialog.isDone();
+   }
+
+   /**
+    * Checks whether an encounter ended the game.
+    *
+    * @return {@code true} once the player has lost
+    */
+   public boolean isGameOver() {
+      return gameOver;
+   }
+
+   /**
+    * Returns how the last encounter ended.
+    *
+    * @return the effect of the option that was played, or {@code null} if no option has been played yet
+    */
+   public EncounterEffect getEffect() {
+      return dialog == null ? null : dialog.getEffect();
+   }
+
+   /**
+    * Returns the option the last encounter ended with.
+    *
+    * @return the option that was played, or {@code null} if no option has been played yet
+    */
+   public EncounterOption getOption() {
+      return dialog == null ? null : dialog.getOption();
+   }
+
+   public PlayerDataHolder getPlayer() {
+      return player;
+   }
+
+}
@@ -0,0 +1,86 @@
+package com.dungeonGame.encounter;
+
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.PlayerDataHolder;
+
+/**
+ * The systems that update {@link EncounterEntities}.
+ *
+ * <p>Each system is a plain loop or lookup over the entity arrays; none of them keeps state of its own.</p>
+ */
+public final class EncounterSystems {
+
+   /**
+    * Private constructor to prevent instantiation of the {@code EncounterSystems} utility class.
+    */
+   private EncounterSystems() {
+   }
+
+   /**
+    * Advances the encounters by one player move: every running cooldown goes down by one.
+    *
+    * @param entities the encounters of the current level
+    */
+   public static void onPlayerMoved(EncounterEntities entities) {
+      entities.tickCooldowns();
+   }
+
+   /**
+    * Triggers the encounter in the player's room, if there is one that is ready.
+    *
+    * <ul>
+    *     <li><b>Ready:</b> The encounter is not resolved and its cooldown has run out.</li>
+    *     <li><b>Consequences:</b> The type's {@link EncounterType.Behaviour} runs; the entity is marked as
+    *         triggered, and as resolved if the behaviour says it is over.</li>
+    * </ul>
+    *
+    * @param entities         the encounters of the current level
+    * @param x                the player's row
+    * @param y                the player's column
+    * @param player           the player's data
+    * @param inventoryManager the inventory manager passed on to the encounter
+    * @return {@code true} if an encounter was triggered
+    */
+   public static boolean triggerAt(EncounterEntities entities, int x, int y,
+                                   PlayerDataHolder player, InventoryManager inventoryManager) {
+      int id = entities.at(x, y);
+      if (id == EncounterIndex.NONE || entities.isResolved(id) || entities.getCooldown(id) > 0) {
+         return false;
+      }
+      EncounterType type = entities.getType(id);
+      boolean over = type.getBehaviour().run(player, inventoryManager);
+
+      // The behaviour may have changed the store (for example by spawning), so look the entity up again
+      id = entities.at(x, y);
+      if (id != EncounterIndex.NONE && entities.getType(id) == type) {
+         entities.setFlag(id, EncounterEntities.TRIGGERED, true);
+         entities.setResolved(id, over);
+      }
+      return true;
+   }
+
+   /**
+    * Claims the encounter in the player's room for a caller that plays it itself, for example through an
+    * {@link EncounterSession}, instead of running the type's {@link EncounterType.Behaviour}.
+    *
+    * <ul>
+    *     <li><b>Ready:</b> As for {@link #triggerAt(EncounterEntities, int, int, PlayerDataHolder, InventoryManager)}.</li>
+    *     <li><b>Consequences:</b> The entity is marked as triggered. The caller marks it resolved once the
+    *         encounter is over for good.</li>
+    * </ul>
+    *
+    * @param entities the encounters of the level
+    * @param x        the player's row
+    * @param y        the player's column
+    * @return the id of the claimed entity, or {@link EncounterIndex#NONE} if no encounter is ready there
+    */
+   public static int claimAt(EncounterEntities entities, int x, int y) {
+      int id = entities.at(x, y);
+      if (id == EncounterIndex.NONE || entities.isResolved(id) || entities.getCooldown(id) > 0) {
+         return EncounterIndex.NONE;
+      }
+      entities.setFlag(id, EncounterEntities.TRIGGERED, true);
+      return id;
+   }
+
+}
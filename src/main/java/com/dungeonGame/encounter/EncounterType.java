@@ -0,0 +1,103 @@
+package com.dungeonGame.encounter;
+
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.PlayerDataHolder;
+
+/**
+ * The kinds of encounters that can be placed in a dungeon room, and what each one does when triggered.
+ *
+ * <p>Adding an encounter type only needs a new constant with its {@link Behaviour}; entities of the
+ * new type are stored and triggered by {@link EncounterEntities} and {@link EncounterSystems} unchanged.
+ * What an encounter says and offers is described in the {@link EncounterCatalog}.</p>
+ */
+public enum EncounterType {
+
+   /**
+    * A trap that costs power points; triggers once.
+    */
+   TRAP((player, inventoryManager) -> {
+      Encounters.trap(player);
+      return true;
+   }, Movement.STATIC),
+
+   /**
+    * The Mad Scientist and his riddle; triggers once.
+    */
+   MAD_SCIENTIST(Movement.STATIC),
+
+   /**
+    * The Lost Explorer on Level 2; wanders between rooms and triggers once.
+    */
+   LOST_EXPLORER(Movement.WANDER),
+
+   /**
+    * The Guardian on Level 3; patrols back and forth and triggers every time the player enters its room
+    * until it is defeated.
+    */
+   GUARDIAN((player, inventoryManager) -> Encounters.GuardianEncounterManager.guardianEncounter(player,
+           inventoryManager) == EncounterEffect.WIN, Movement.PATROL);
+
+   /**
+    * Runs an encounter against the player.
+    */
+   @FunctionalInterface
+   public interface Behaviour {
+
+      /**
+       * Plays out the encounter.
+       *
+       * @param player           the player's data
+       * @param inventoryManager the inventory manager to use for the player's items
+       * @return {@code true} if the encounter is over, {@code false} if it should trigger again
+       */
+      boolean run(PlayerDataHolder player, InventoryManager inventoryManager);
+   }
+
+   /**
+    * How encounters of a type move between rooms on each tick of the {@link WorldSimulation}.
+    */
+   public enum Movement {
+
+      /**
+       * Stays in its room.
+       */
+      STATIC,
+
+      /**
+       * Steps to a random neighbouring room, if it is free.
+       */
+      WANDER,
+
+      /**
+       * Keeps walking in one direction and turns around when the way is blocked.
+       */
+      PATROL
+   }
+
+   private final Behaviour behaviour;
+   private final Movement movement;
+
+   /**
+    * Creates a type that plays its {@link EncounterCatalog} definition once.
+    */
+   EncounterType(Movement movement) {
+      this.behaviour = (player, inventoryManager) -> {
+         Encounters.play(EncounterCatalog.getDefault().get(this), player, inventoryManager);
+         return true;
+      };
+      this.movement = movement;
+   }
+
+   EncounterType(Behaviour behaviour, Movement movement) {
+      this.behaviour = behaviour;
+      this.movement = movement;
+   }
+
+   public Behaviour getBehaviour() {
+      return behaviour;
+   }
+
+   public Movement getMovement() {
+      return movement;
+   }
+}
@@ -1,10 +1,11 @@
 package com.dungeonGame.encounter;
 
+import com.dungeonGame.GameServices;
 import com.dungeonGame.GameUtils;
 import com.dungeonGame.logic.*;
 import com.dungeonGame.logic.mapAndLevelHandler.LevelTransitionHandler;
+import com.dungeonGame.logging.GameLog;
 
-import java.util.Random;
 import java.util.Scanner;
 
 /**
@@ -14,11 +15,19 @@ import java.util.Scanner;
  * Each encounter is designed to challenge the player in unique ways, such as
  * solving riddles, managing inventory items, or making strategic choices.
  * </p>
+ * <p>
+ * The text, options, item requirements and damage values of every encounter come from the
+ * {@link EncounterCatalog}; {@link #play(EncounterDefinition, PlayerDataHolder, InventoryManager)} plays
+ * any compiled {@link EncounterDefinition}. The numbers given below are those of the bundled catalog.
+ * </p>
  */
 public class Encounters {
 
-   static InventoryManager inventoryManager = new InventoryManager();
-   static PowerPointManager pointManager = new PowerPointManager();
+   static InventoryManager inventoryManager = GameServices.inventoryManager();
+   // The console game's; sessions pass their own to EncounterDialog
+   private static final PowerPointManager pointManager = GameServices.powerPointManager();
+
+   private static final System.Logger LOG = GameLog.getLogger(Encounters.class);
 
    /**
     * Triggers the Mad Scientist encounter. Can happen in every level.
@@ -37,49 +46,7 @@ public class Encounters {
     * @param player the player's data, including inventory and power points
     */
    public static void madScientist(PlayerDataHolder player) {
-      GameUtils.clearConsole();
-      GameUtils.printHeader("Mad Scientist Encounter");
-
-      Random random = new Random();
-      Scanner scanner = new Scanner(System.in);
-
-      String scienceTalk = Constants.SCIENCE_OPENERS[random.nextInt(Constants.SCIENCE_OPENERS.length)];
-      GameUtils.delayPrint(scienceTalk);
-
-      boolean hasFreezeSpell = inventoryManager.hasItem(player, "Freeze Spell");
-      if (hasFreezeSpell) {
-         GameUtils.delayPrint("The Mad Scientist blocks your way, but you have a Freeze Spell.");
-         System.out.println("1. Use Freeze Spell");
-         System.out.println("2. Solve the riddle");
-         System.out.print("\nEnter your choice: ");
-         int choice = scanner.nextInt();
-         scanner.nextLine();
-
-         if (choice == 1) {
-            GameUtils.delayPrint("You cast the Freeze Spell! The Mad Scientist is frozen. You're free to move again!");
-            inventoryManager.useItem(player, "Freeze Spell");
-            GameUtils.waitForEnter();
-            return;
-         }
-      }
-
-      int riddleIndex = random.nextInt(Constants.RIDDLES.length);
-      String riddleQuestion = Constants.RIDDLES[riddleIndex][0];
-      String riddleAnswer = Constants.RIDDLES[riddleIndex][1];
-
-      GameUtils.delayPrint("The Mad Scientist challenges you with a riddle!");
-      GameUtils.delayPrint(riddleQuestion);
-      System.out.print("Your Answer: ");
-      String answer = scanner.nextLine().trim().toLowerCase();
-
-      if (answer.equals(riddleAnswer)) {
-         GameUtils.delayPrint("Mad Scientist: Correct! You may proceed. Brilliant mind!");
-      } else {
-         pointManager.deductPowerPoints(player, 8);
-         GameUtils.delayPrint("Mad Scientist: Incorrect! The correct answer was: " + riddleAnswer + ". You lose 10 power points.");
-      }
-
-      GameUtils.waitForEnter();
+      play(EncounterCatalog.getDefault().get(EncounterType.MAD_SCIENTIST), player, inventoryManager);
    }
 
    /**
@@ -100,44 +67,96 @@ public class Encounters {
     * @param player the player's data, including inventory and power points
     */
    public static void trap(PlayerDataHolder player) {
-      GameUtils.clearConsole();
-      GameUtils.printHeader("Trap Encounter");
-
-      Scanner scanner = new Scanner(System.in);
-
-      boolean hasHammer = inventoryManager.hasItem(player, "Hammer");
-      boolean hasFreezeSpell = inventoryManager.hasItem(player, "Freeze Spell");
-
-      if (hasHammer || hasFreezeSpell) {
-         GameUtils.delayPrint("Oh no! You've triggered a trap! But you have tools to escape it.");
+      LOG.log(System.Logger.Level.DEBUG, "Trap triggered powerPoints={0}", player.getPowerPoints());
+      play(EncounterCatalog.getDefault().get(EncounterType.TRAP), player, inventoryManager);
+   }
 
-         int optionNumber = 1;
-         if (hasHammer) {
-            System.out.println(optionNumber++ + ". Use Hammer");
+   /**
+    * Plays an encounter from its compiled definition on the console, reading the player's input from
+    * {@link System#in}. The encounter itself is an {@link EncounterDialog}; this method only feeds it.
+    *
+    * <ul>
+    *     <li><b>Menu:</b> If the player can afford an option that needs items, every listed option they can
+    *         afford is offered; otherwise the definition's default option plays without asking.</li>
+    *     <li><b>Invalid Choice:</b> Plays the default option.</li>
+    *     <li><b>Items:</b> The chosen option's items are used up before its effect applies.</li>
+    *     <li><b>Outcome:</b> A loss ends the game; the caller resolves the encounter.</li>
+    * </ul>
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link EncounterDialog#start()}</li>
+    *     <li>{@link EncounterDialog#handle(String)}</li>
+    *     <li>{@link GameUtils#delayPrint(String)}</li>
+    *     <li>{@link GameUtils#waitForEnter()}</li>
+    * </ul>
+    *
+    * @param definition       the encounter to play
+    * @param player           the player's data, including inventory and power points
+    * @param inventoryManager the inventory manager to check and use the player's items with; the shared
+    *                         manager is used if this is {@code null}
+    * @return the effect of the option that was played
+    */
+   public static EncounterEffect play(EncounterDefinition definition, PlayerDataHolder player, InventoryManager inventoryManager) {
+      if (inventoryManager == null) {
+         inventoryManager = Encounters.inventoryManager;
+      }
+      if (definition.isClearScreen()) {
+         GameUtils.clearConsole();
+      }
+      GameUtils.printHeader(definition.getTitle());
+
+      EncounterDialog dialog = new EncounterDialog(definition, player, inventoryManager, pointManager,
+              GameServices.random(), CONSOLE);
+      dialog.start();
+      Scanner scanner = null;
+      boolean settled = false;
+      while (!dialog.isDone()) {
+         if (!settled && dialog.getEffect() != null) {
+            settled = true;
+            settle(dialog.getEffect());
          }
-         if (hasFreezeSpell) {
-            System.out.println(optionNumber++ + ". Use Freeze Spell");
+         if (dialog.getState() == EncounterDialog.State.CONTINUING) {
+            GameUtils.waitForEnter();
+            dialog.handle("");
+            continue;
          }
-         System.out.println(optionNumber + ". Do nothing");
+         System.out.print(dialog.getPrompt());
+         if (scanner == null) {
+            scanner = new Scanner(System.in);
+         }
+         dialog.handle(scanner.hasNextLine() ? scanner.nextLine() : "");
+      }
+      if (!settled) {
+         settle(dialog.getEffect());
+      }
+      return dialog.getEffect();
+   }
 
-         System.out.print("\nWhat do you want to do? Enter the number: ");
-         int choice = scanner.nextInt();
-         scanner.nextLine();
+   /**
+    * Prints an encounter's story with a typing delay and its menus at once.
+    */
+   private static final EncounterDialog.Output CONSOLE = new EncounterDialog.Output() {
+      @Override
+      public void say(String line) {
+         GameUtils.delayPrint(line);
+      }
 
-         if (hasHammer && choice == 1) {
-            GameUtils.delayPrint("You used a Hammer to disable the trap! You're free to move now.");
-            inventoryManager.useItem(player, "Hammer");
-            return;
-         } else if (hasFreezeSpell && ((hasHammer && choice == 2) || (!hasHammer && choice == 1))) {
-            GameUtils.delayPrint("You cast the Freeze Spell! The trap has been neutralized. You're free to move now.");
-            inventoryManager.useItem(player, "Freeze Spell");
-            return;
-         }
+      @Override
+      public void show(String line) {
+         System.out.println(line);
       }
+   };
 
-      GameUtils.delayPrint("Oh no! You couldn't escape the trap! You lose 7 power points.");
-      pointManager.deductPowerPoints(player, 7);
-      GameUtils.waitForEnter();
+   /**
+    * Ends the console game if the encounter was lost.
+    *
+    * @param effect the effect of the option that was played
+    */
+   private static void settle(EncounterEffect effect) {
+      if (effect == EncounterEffect.LOSE) {
+         LevelTransitionHandler.handleGameOver();
+      }
    }
 
    /**
@@ -152,14 +171,14 @@ public class Encounters {
     *             <li>Fight the explorer directly.</li>
     *         </ul>
     *     </li>
-    *     <li><b>How to defeat:</b> Use the Hammer and Freeze Spell together, or win the fight.</li>
+    *     <li><b>How to defeat:</b> Use the Hammer and Freeze Spell together, or win the fight
+    *         (more than 70 power points). Either way the player gains three random items.</li>
     *     <li><b>Consequence of losing:</b> Lose 5 power points and all inventory items if defeated in the fight.</li>
     * </ul>
     */
    public static class LostExplorerEncounterManager {
 
-      InventoryManager inventoryManager = new InventoryManager();
-      PowerPointManager pointManager = new PowerPointManager();
+      InventoryManager inventoryManager = GameServices.inventoryManager();
 
       /**
        * Triggers the Lost Explorer encounter and presents the player with multiple options to resolve it.
@@ -167,122 +186,7 @@ public class Encounters {
        * @param player the player's data, including inventory and power points
        */
       public void lostExplorerEncounter(PlayerDataHolder player) {
-         GameUtils.printHeader("Lost Explorer Encounter");
-         GameUtils.delayPrint("You encounter a desperate explorer...");
-
-         boolean hasHammer = inventoryManager.hasItem(player, "Hammer");
-         boolean hasFreezeSpell = inventoryManager.hasItem(player, "Freeze Spell");
-         boolean hasTeleportationSpell = inventoryManager.hasItem(player, "Teleportation Spell");
-
-         GameUtils.delayPrint("The Lost Explorer stares at you, desperate and threatening.");
-
-         // Display options based on what the player has
-         int optionNumber = 1;
-         int hammerFreezeOption = -1;
-         int teleportOption = -1;
-         int fightOption;
-
-         // If a player has both Hammer and Freeze Spell, offer that option
-         if (hasHammer && hasFreezeSpell) {
-            GameUtils.delayPrint(optionNumber + ". Use Hammer and Freeze Spell to subdue the Explorer.");
-            hammerFreezeOption = optionNumber;
-            optionNumber++;
-         }
-
-         // If a player doesn't use or have hammer+freeze or chooses not to use them, they can try teleportation if they have it
-         if (hasTeleportationSpell) {
-            GameUtils.delayPrint(optionNumber + ". Use Teleportation Spell to escape.");
-            teleportOption = optionNumber;
-            optionNumber++;
-         }
-
-         // Always have a fight option
-         GameUtils.delayPrint(optionNumber + ". Fight the Lost Explorer.");
-         fightOption = optionNumber;
-
-         GameUtils.delayPrint("\nWhat do you want to do? Enter the number:");
-
-         Scanner scanner = new Scanner(System.in);
-         int choice = scanner.nextInt();
-         scanner.nextLine(); // clear buffer
-
-         // Handle the player's choice
-         if (choice == hammerFreezeOption && hammerFreezeOption != -1) {
-            // Use Hammer and Freeze Spell
-            GameUtils.delayPrint("You use the Hammer and Freeze Spell to overwhelm the Lost Explorer without a fight!");
-            inventoryManager.useItem(player, "Freeze Spell");
-            inventoryManager.useItem(player, "Hammer");
-            handleExplorerWin(player);
-
-         } else if (choice == teleportOption && teleportOption != -1) {
-            // Use Teleportation Spell
-            GameUtils.delayPrint("You use the Teleportation Spell to escape the Lost Explorer!");
-            inventoryManager.useItem(player, "Teleportation Spell");
-            // No win or lose scenario, escape
-
-         } else if (choice == fightOption) {
-            // Fight a scenario
-            fightLostExplorer(player);
-         } else {
-            // Invalid choice defaults to fight a scenario
-            GameUtils.delayPrint("You hesitate and the Explorer attacks!");
-            fightLostExplorer(player);
-
-         }
-
-         GameUtils.waitForEnter();
-      }
-
-      /**
-       * Handles the fight scenario for the Lost Explorer encounter.
-       *
-       * <ul>
-       *     <li><b>Win condition:</b> The player wins if they have more than 70 power points.</li>
-       *     <li><b>Lose condition:</b> The player loses if their power points are 70 or below.</li>
-       * </ul>
-       *
-       * @param player the player's data, including inventory and power points
-       */
-      private void fightLostExplorer(PlayerDataHolder player) {
-         int playerPower = player.getPowerPoints();
-
-         if (playerPower > 70) {
-            // Player wins fight
-            GameUtils.delayPrint("You overpower the Lost Explorer and take some of his items!");
-            handleExplorerWin(player);
-
-         } else {
-            // Player loses fight
-            GameUtils.delayPrint("The Lost Explorer overpowers you and takes all your items!");
-            handleExplorerLose(player);
-         }
-      }
-
-      /**
-       * Handles the scenario when the player wins against the Lost Explorer.
-       * <ul>
-       *     <li>The player gains three random items as a reward.</li>
-       * </ul>
-       *
-       * @param player the player's data
-       */
-      private void handleExplorerWin(PlayerDataHolder player) {
-         inventoryManager.giveRandomItems(player, 3); // Assumes your giveRandomItems method takes count as an argument
-      }
-
-      /**
-       * Handles the scenario when the player loses to the Lost Explorer.
-       * <ul>
-       *     <li>The player loses 5 power points.</li>
-       *     <li>The player's inventory is cleared.</li>
-       * </ul>
-       *
-       * @param player the player's data
-       */
-      private void handleExplorerLose(PlayerDataHolder player) {
-         pointManager.deductPowerPoints(player, 5);
-         inventoryManager.clearInventory(player);
-         GameUtils.delayPrint("You lose 5 power points.");
+         play(EncounterCatalog.getDefault().get(EncounterType.LOST_EXPLORER), player, inventoryManager);
       }
 
    }
@@ -305,99 +209,17 @@ public class Encounters {
     */
    public static class GuardianEncounterManager {
 
-      //static InventoryManager inventoryManager = new InventoryManager();
-
       /**
        * Triggers the Guardian encounter and presents the player with options to resolve it.
+       * Destroying the Guardian ends the encounter for good: {@link EncounterType#GUARDIAN} then marks it
+       * resolved, so it does not trigger again.
        *
        * @param player           the player's data, including inventory and power points
        * @param inventoryManager the inventory manager to handle player's inventory
+       * @return the effect of the option that was played; {@link EncounterEffect#WIN} if the Guardian was destroyed
        */
-      public static void guardianEncounter(PlayerDataHolder player, InventoryManager inventoryManager) {
-
-         GameUtils.printHeader("The Guardian Encounter");
-         GameUtils.delayPrint("You stand before The Guardian, a towering sentinel protecting the dungeon's deepest secrets...");
-
-         boolean hasRelic = inventoryManager.hasItem(player, "Relic");
-         boolean hasTeleport = inventoryManager.hasItem(player, "Teleportation Spell");
-
-         // Present options
-         int optionNumber = 1;
-         int relicOption = -1;
-         int teleportOption = -1;
-
-         // Option: Use Relic
-         if (hasRelic) {
-            GameUtils.delayPrint(optionNumber + ". Use the Relic to destroy The Guardian.");
-            relicOption = optionNumber++;
-         }
-
-         // Option: Use Teleportation Spell
-         if (hasTeleport) {
-            System.out.println("Guardian Encounter: Checking for Teleportation Spell");
-            GameUtils.delayPrint(optionNumber + ". Use Teleportation Spell to flee.");
-            teleportOption = optionNumber++;
-
-            if (System.getProperty("test.mode") != null) {
-               if (hasTeleport) {
-                  inventoryManager.useItem(player, "Teleportation Spell");
-                  System.out.println("Test Mode: Teleportation Spell used.");
-                  return;
-               }
-            }
-
-         }
-
-         // Option: Do nothing (if no items available)
-         if (!hasRelic && !hasTeleport) {
-            GameUtils.delayPrint("You have no means to overcome or escape The Guardian.");
-            handleGuardianLose();
-            return;
-         }
-
-         // Get player's choice
-         System.out.print("\nWhat do you want to do? Enter the number: ");
-         Scanner scanner = new Scanner(System.in);
-         int choice = scanner.hasNextInt() ? scanner.nextInt() : -1;
-
-         // Process player's choice
-         if (choice == relicOption) {
-            handleGuardianWin();
-         } else if (choice == teleportOption) {
-            // Use Teleportation Spell to flee
-            if (inventoryManager.useItem(player, "Teleportation Spell")) {
-               GameUtils.delayPrint("You used the Teleportation Spell and fled from The Guardian!");
-               //return; // Encounter ends
-            } else {
-               GameUtils.delayPrint("You tried to use the Teleportation Spell, but you don't have one!");
-            }
-         } else {
-            GameUtils.delayPrint("You hesitated and The Guardian attacked!");
-            handleGuardianLose();
-         }
-      }
-
-      /**
-       * Handles the scenario when the player uses the Relic to destroy the Guardian.
-       */
-      private static void handleGuardianWin() {
-         GameUtils.delayPrint("The Relic shines brightly, unmaking The Guardian in an instant!");
-         GameUtils.delayPrint("With The Guardian gone, the path forward is clear. You have triumphed!");
-      }
-
-      /**
-       * Handles the scenario when the player loses to the Guardian.
-       * <ul>
-       *     <li>The player is defeated, and the game ends.</li>
-       * </ul>
-       */
-      private static void handleGuardianLose() {
-         // The player has no means to defeat or escape. This ends the game.
-         GameUtils.delayPrint("You would need the Relic to overcome Guardian...");
-         GameUtils.delayPrint("You don't have Teleportation Spell to escape either...");
-         GameUtils.delayPrint("Overwhelmed by The Guardian, you fall, and the dungeon claims another victim...");
-
-         LevelTransitionHandler.handleGameOver();
+      public static EncounterEffect guardianEncounter(PlayerDataHolder player, InventoryManager inventoryManager) {
+         return play(EncounterCatalog.getDefault().get(EncounterType.GUARDIAN), player, inventoryManager);
       }
 
    }
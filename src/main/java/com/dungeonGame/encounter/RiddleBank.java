@@ -0,0 +1,367 @@
+package com.dungeonGame.encounter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The Mad Scientist's riddles and the answers he accepts, stored in one compact binary image.
+ *
+ * <ul>
+ *     <li><b>Normalized answers:</b> Answers are compared after {@link #normalize(String)}, which ignores
+ *         case, punctuation, the articles "a", "an" and "the" and simple plurals, so "An egg", "Egg." and
+ *         "eggs" all match "egg".</li>
+ *     <li><b>Hash index:</b> Every accepted answer is normalized once, when the bank is built, and stored
+ *         as a 64-bit hash of the riddle number and the answer in an open-addressing table. Checking an
+ *         answer normalizes the player's input and probes that table; it does not depend on the size of
+ *         the bank.</li>
+ *     <li><b>Memory-mapped:</b> A bank file written by {@link #write(List, Path)} is opened with
+ *         {@link #open(Path)}, which maps it instead of reading it. Questions are only decoded when
+ *         a riddle is asked, so a bank with thousands of riddles costs almost nothing at startup.</li>
+ * </ul>
+ *
+ * <p>
+ * The game uses {@link #getDefault()}: the file named by the {@value #FILE_PROPERTY} system property if it
+ * is set, or otherwise the riddles of the {@link EncounterCatalog}. Bank files are built from a
+ * tab-separated list of riddles by running this class:
+ * {@code java com.dungeonGame.encounter.RiddleBank riddles.tsv riddles.bank}.
+ * </p>
+ *
+ * <p>
+ * Image layout, big-endian: the header ({@link #MAGIC}, format version, riddle count, slot count), one
+ * {@code int} offset per riddle, the slot table of {@code long} hashes (zero marks a free slot), and the
+ * strings: per riddle the question and the display answer, each as an unsigned {@code short} length
+ * followed by UTF-8 bytes.
+ * </p>
+ */
+public final class RiddleBank {
+
+   /**
+    * System property naming a bank file that replaces the catalog's riddles.
+    */
+   public static final String FILE_PROPERTY = "dungeon.riddles";
+
+   /**
+    * First four bytes of every bank image: "RDLB".
+    */
+   public static final int MAGIC = 0x52444C42;
+
+   private static final int FORMAT_VERSION = 1;
+   private static final int HEADER_BYTES = 16;
+   private static final List<String> ARTICLES = List.of("a", "an", "the");
+
+   private final ByteBuffer image;
+   private final int riddleCount;
+   private final int slotMask;
+   private final int slotsStart;
+
+   private RiddleBank(ByteBuffer image) {
+      if (image.limit() < HEADER_BYTES || image.getInt(0) != MAGIC) {
+         throw new IllegalStateException("Not a riddle bank.");
+      }
+      if (image.getInt(4) != FORMAT_VERSION) {
+         throw new IllegalStateException("Unsupported riddle bank version " + image.getInt(4) + ".");
+      }
+      int slots = image.getInt(12);
+      if (Integer.bitCount(slots) != 1) {
+         throw new IllegalStateException("The riddle bank is corrupt.");
+      }
+      this.image = image;
+      this.riddleCount = image.getInt(8);
+      this.slotMask = slots - 1;
+      this.slotsStart = HEADER_BYTES + riddleCount * Integer.BYTES;
+   }
+
+   /**
+    * Holds the game's bank; built or mapped the first time a riddle is asked.
+    */
+   private static final class DefaultHolder {
+      static final RiddleBank INSTANCE = loadDefault();
+   }
+
+   /**
+    * Returns the bank used by the game.
+    *
+    * @return the default bank
+    * @throws IllegalStateException if the bank file is invalid
+    */
+   public static RiddleBank getDefault() {
+      return DefaultHolder.INSTANCE;
+   }
+
+   private static RiddleBank loadDefault() {
+      String file = System.getProperty(FILE_PROPERTY);
+      if (file != null) {
+         try {
+            return open(Path.of(file));
+         } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the riddle bank " + file + ".", e);
+         }
+      }
+      return of(EncounterCatalog.getDefault().getRiddles());
+   }
+
+   /**
+    * Builds a bank in memory.
+    *
+    * @param riddles the riddles
+    * @return the bank
+    */
+   public static RiddleBank of(List<EncounterCatalog.Riddle> riddles) {
+      return new RiddleBank(build(riddles));
+   }
+
+   /**
+    * Maps a bank file written by {@link #write(List, Path)}. The file must not change while it is mapped.
+    *
+    * @param file the bank file
+    * @return the bank
+    * @throws IOException           if the file cannot be read
+    * @throws IllegalStateException if the file is not a riddle bank
+    */
+   public static RiddleBank open(Path file) throws IOException {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+         return new RiddleBank(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      }
+   }
+
+   /**
+    * Writes a bank file.
+    *
+    * @param riddles the riddles
+    * @param file    the file to write
+    * @throws IOException if the file cannot be written
+    */
+   public static void write(List<EncounterCatalog.Riddle> riddles, Path file) throws IOException {
+      ByteBuffer image = build(riddles);
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING)) {
+         while (image.hasRemaining()) {
+            channel.write(image);
+         }
+      }
+   }
+
+   /**
+    * Builds a bank file from a tab-separated riddle list: one riddle per line, the question followed by
+    * the answer and any other accepted answers. Empty lines and lines starting with {@code #} are skipped.
+    *
+    * @param args the source file and the bank file to write
+    * @throws IOException if a file cannot be read or written
+    */
+   public static void main(String[] args) throws IOException {
+      if (args.length != 2) {
+         System.err.println("Usage: RiddleBank <riddles.tsv> <riddles.bank>");
+         System.exit(2);
+      }
+      List<EncounterCatalog.Riddle> riddles = new ArrayList<>();
+      try (BufferedReader reader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) {
+               continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length < 2) {
+               throw new IllegalStateException("A riddle needs a question and an answer: " + line);
+            }
+            riddles.add(new EncounterCatalog.Riddle(fields[0], fields[1],
+                    List.of(Arrays.copyOfRange(fields, 2, fields.length))));
+         }
+      }
+      write(riddles, Path.of(args[1]));
+      System.out.println("Wrote " + riddles.size() + " riddles to " + args[1] + ".");
+   }
+
+   private static ByteBuffer build(List<EncounterCatalog.Riddle> riddles) {
+      int answers = 0;
+      List<byte[]> strings = new ArrayList<>(riddles.size() * 2);
+      int stringBytes = 0;
+      for (EncounterCatalog.Riddle riddle : riddles) {
+         answers += 1 + riddle.accepted().size();
+         for (String text : List.of(riddle.question(), riddle.answer())) {
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            if (utf8.length > 0xFFFF) {
+               throw new IllegalStateException("A riddle is too long: " + text.substring(0, 40) + "...");
+            }
+            strings.add(utf8);
+            stringBytes += Short.BYTES + utf8.length;
+         }
+      }
+      // At most half full, so probe sequences stay short
+      int slots = Integer.highestOneBit(Math.max(1, answers) * 2 - 1) << 1;
+      int slotsStart = HEADER_BYTES + riddles.size() * Integer.BYTES;
+      int stringsStart = slotsStart + slots * Long.BYTES;
+
+      ByteBuffer image = ByteBuffer.allocate(stringsStart + stringBytes);
+      image.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(riddles.size()).putInt(slots);
+
+      int offset = stringsStart;
+      for (int i = 0; i < riddles.size(); i++) {
+         image.putInt(HEADER_BYTES + i * Integer.BYTES, offset);
+         offset += 2 * Short.BYTES + strings.get(2 * i).length + strings.get(2 * i + 1).length;
+      }
+      for (int i = 0; i < riddles.size(); i++) {
+         EncounterCatalog.Riddle riddle = riddles.get(i);
+         insert(image, slotsStart, slots - 1, hash(i, normalize(riddle.answer())));
+         for (String accepted : riddle.accepted()) {
+            insert(image, slotsStart, slots - 1, hash(i, normalize(accepted)));
+         }
+      }
+      image.position(stringsStart);
+      for (byte[] utf8 : strings) {
+         image.putShort((short) utf8.length).put(utf8);
+      }
+      return image.flip();
+   }
+
+   private static void insert(ByteBuffer image, int slotsStart, int slotMask, long hash) {
+      for (int slot = (int) hash & slotMask; ; slot = (slot + 1) & slotMask) {
+         long stored = image.getLong(slotsStart + slot * Long.BYTES);
+         if (stored == hash) {
+            return;
+         }
+         if (stored == 0) {
+            image.putLong(slotsStart + slot * Long.BYTES, hash);
+            return;
+         }
+      }
+   }
+
+   /**
+    * Reduces an answer to the form it is compared in: lower case, letters and digits only, without the
+    * articles "a", "an" and "the" and with simple English plurals made singular.
+    *
+    * <p>The articles are kept if the answer is nothing but articles.</p>
+    *
+    * @param answer the answer as typed
+    * @return the normalized answer, or an empty string if there is nothing left
+    */
+   public static String normalize(String answer) {
+      String[] words = answer.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+");
+      StringBuilder normalized = new StringBuilder(answer.length());
+      boolean onlyArticles = true;
+      for (String word : words) {
+         if (!word.isEmpty() && !ARTICLES.contains(word)) {
+            onlyArticles = false;
+            break;
+         }
+      }
+      for (String word : words) {
+         if (word.isEmpty() || (!onlyArticles && ARTICLES.contains(word))) {
+            continue;
+         }
+         if (!normalized.isEmpty()) {
+            normalized.append(' ');
+         }
+         normalized.append(stem(word));
+      }
+      return normalized.toString();
+   }
+
+   private static String stem(String word) {
+      int length = word.length();
+      if (length > 4 && word.endsWith("ies")) {
+         return word.substring(0, length - 3) + "y";
+      }
+      // "glasses", "boxes", "matches": the singular has no final "e"; "horses" and "shoes" keep theirs
+      if (length > 3 && (word.endsWith("sses") || word.endsWith("xes") || word.endsWith("zes")
+              || word.endsWith("ches") || word.endsWith("shes"))) {
+         return word.substring(0, length - 2);
+      }
+      if (length > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")
+              && !word.endsWith("is")) {
+         return word.substring(0, length - 1);
+      }
+      return word;
+   }
+
+   private static long hash(int riddle, String normalized) {
+      long hash = 0xCBF29CE484222325L;
+      for (int i = 0; i < normalized.length(); i++) {
+         hash = (hash ^ normalized.charAt(i)) * 0x100000001B3L;
+      }
+      hash ^= riddle * 0x9E3779B97F4A7C15L;
+      hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+      hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+      hash ^= hash >>> 33;
+      return hash == 0 ? 1 : hash;
+   }
+
+   /**
+    * Checks an answer to a riddle. Two answers are told apart by a 64-bit hash, so a wrong answer is
+    * accepted only in the astronomically unlikely case of a collision.
+    *
+    * @param riddle the riddle's number
+    * @param answer the answer as typed
+    * @return {@code true} if the answer is accepted
+    */
+   public boolean accepts(int riddle, String answer) {
+      checkIndex(riddle);
+      long hash = hash(riddle, normalize(answer));
+      for (int slot = (int) hash & slotMask; ; slot = (slot + 1) & slotMask) {
+         long stored = image.getLong(slotsStart + slot * Long.BYTES);
+         if (stored == hash) {
+            return true;
+         }
+         if (stored == 0) {
+            return false;
+         }
+      }
+   }
+
+   /**
+    * Returns the number of riddles.
+    *
+    * @return the riddle count
+    */
+   public int size() {
+      return riddleCount;
+   }
+
+   /**
+    * Decodes a riddle's question.
+    *
+    * @param riddle the riddle's number
+    * @return the question
+    */
+   public String getQuestion(int riddle) {
+      return readString(image.getInt(HEADER_BYTES + checkIndex(riddle) * Integer.BYTES));
+   }
+
+   /**
+    * Decodes the answer shown when a riddle is answered wrongly.
+    *
+    * @param riddle the riddle's number
+    * @return the answer
+    */
+   public String getAnswer(int riddle) {
+      int questionAt = image.getInt(HEADER_BYTES + checkIndex(riddle) * Integer.BYTES);
+      return readString(questionAt + Short.BYTES + Short.toUnsignedInt(image.getShort(questionAt)));
+   }
+
+   private int checkIndex(int riddle) {
+      if (riddle < 0 || riddle >= riddleCount) {
+         throw new IndexOutOfBoundsException("No riddle " + riddle + " in a bank of " + riddleCount + ".");
+      }
+      return riddle;
+   }
+
+   private String readString(int at) {
+      int length = Short.toUnsignedInt(image.getShort(at));
+      byte[] utf8 = new byte[length];
+      image.get(at + Short.BYTES, utf8);
+      return new String(utf8, StandardCharsets.UTF_8);
+   }
+
+}
@@ -0,0 +1,310 @@
+package com.dungeonGame.encounter;
+
+import com.dungeonGame.GameServices;
+import com.dungeonGame.logging.GameLog;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves the encounters of every active level at a fixed tick rate, independently of the player's moves.
+ *
+ * <p>
+ * Each tick walks the {@link EncounterEntities} of every registered level and moves the encounters whose
+ * {@link EncounterType.Movement} is not {@link EncounterType.Movement#STATIC STATIC}. Collisions use the
+ * level grid and the store's room index: an encounter only steps into a plain room ({@link Tile#ROOM})
+ * that holds no other encounter and not the player, so it never walks through walls, onto the entrance or
+ * the exit, into another encounter, or onto the player (see {@link #setPlayerPosition(int, int, int)}). Every step is a constant number of array reads and index updates, so a tick costs
+ * time proportional to the number of encounters and stays within the tick period with tens of thousands.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Batches:</b> Entities are moved {@value #BATCH_SIZE} at a time, each batch under the store's
+ *         lock. If the player holds the lock (for example during an encounter dialog), the rest of that
+ *         level is skipped for this tick instead of waiting, so the tick rate is kept.</li>
+ *     <li><b>Statistics:</b> The duration of every tick is recorded; see {@link #getStats()}.</li>
+ *     <li><b>Randomness:</b> The game's simulation draws from {@link GameServices#random()}, whose state a saved
+ *         game keeps, together with every encounter's room and heading.</li>
+ * </ul>
+ */
+public class WorldSimulation {
+
+   /**
+    * Tick rate used by the game.
+    */
+   public static final int DEFAULT_TICKS_PER_SECOND = 4;
+
+   /**
+    * Number of entities moved per lock acquisition.
+    */
+   public static final int BATCH_SIZE = 4096;
+
+   private static final System.Logger LOG = GameLog.getLogger(WorldSimulation.class);
+
+   /**
+    * Row and column offsets of the four directions; a heading is an index into these arrays.
+    */
+   private static final int[] DX = {-1, 0, 1, 0};
+   private static final int[] DY = {0, 1, 0, -1};
+
+   /**
+    * Value of {@link #player} while no player has been placed.
+    */
+   private static final long NO_PLAYER = -1;
+
+   /**
+    * A level and its encounters.
+    */
+   private record World(Level level, EncounterEntities entities) {
+   }
+
+   /**
+    * A snapshot of the tick timings.
+    *
+    * @param ticks           number of ticks run
+    * @param lastTickNanos   duration of the most recent tick
+    * @param maxTickNanos    duration of the slowest tick
+    * @param totalTickNanos  duration of all ticks together
+    * @param overruns        ticks that took longer than the tick period
+    * @param skippedBatches  batches skipped because the player held a store's lock
+    */
+   public record Stats(long ticks, long lastTickNanos, long maxTickNanos, long totalTickNanos,
+                       long overruns, long skippedBatches) {
+
+      /**
+       * Returns the average tick duration.
+       *
+       * @return the mean duration in nanoseconds, or {@code 0} before the first tick
+       */
+      public long averageTickNanos() {
+         return ticks == 0 ? 0 : totalTickNanos / ticks;
+      }
+   }
+
+   private final Map<Integer, World> worlds = new ConcurrentHashMap<>();
+   private final Random random;
+
+   /**
+    * The player's level number and cell, packed as {@code levelNumber << 32 | cell} so both are read at
+    * once, or {@link #NO_PLAYER}.
+    */
+   private volatile long player = NO_PLAYER;
+
+   private ScheduledExecutorService executor;
+   private long periodNanos = TimeUnit.SECONDS.toNanos(1) / DEFAULT_TICKS_PER_SECOND;
+
+   // Written only by the tick thread, read by anyone through getStats()
+   private volatile Stats stats = new Stats(0, 0, 0, 0, 0, 0);
+
+   /**
+    * Creates a simulation with no levels that draws its moves from the game's random source.
+    */
+   public WorldSimulation() {
+      this(GameServices.random());
+   }
+
+   /**
+    * Creates a simulation with no levels that draws its moves from the given random source.
+    *
+    * @param random the random source for wandering encounters
+    */
+   public WorldSimulation(Random random) {
+      this.random = random;
+   }
+
+   /**
+    * Registers a level, replacing any level registered under the same number.
+    *
+    * @param levelNumber the level's number
+    * @param level       the level grid used for collisions
+    * @param entities    the level's encounters
+    */
+   public void addLevel(int levelNumber, Level level, EncounterEntities entities) {
+      worlds.put(levelNumber, new World(level, entities));
+   }
+
+   /**
+    * Stops simulating a level.
+    *
+    * @param levelNumber the level's number
+    */
+   public void removeLevel(int levelNumber) {
+      worlds.remove(levelNumber);
+   }
+
+   /**
+    * Stops simulating every level.
+    */
+   public void clearLevels() {
+      worlds.clear();
+   }
+
+   /**
+    * Returns the number of levels being simulated.
+    *
+    * @return the level count
+    */
+   public int getLevelCount() {
+      return worlds.size();
+   }
+
+   /**
+    * Records where the player stands, so that no encounter moves onto them.
+    *
+    * @param levelNumber the number of the player's level
+    * @param x           the player's row
+    * @param y           the player's column
+    */
+   public void setPlayerPosition(int levelNumber, int x, int y) {
+      World world = worlds.get(levelNumber);
+      if (world == null || !world.level().isInBounds(x, y)) {
+         player = NO_PLAYER;
+         return;
+      }
+      player = (long) levelNumber << 32 | world.level().index(x, y);
+   }
+
+   /**
+    * Starts ticking on a background daemon thread at a fixed rate. Does nothing if already running.
+    *
+    * @param ticksPerSecond the tick rate
+    * @throws IllegalArgumentException if the rate is not positive
+    */
+   public synchronized void start(int ticksPerSecond) {
+      if (ticksPerSecond <= 0) {
+         throw new IllegalArgumentException("Tick rate must be positive: " + ticksPerSecond);
+      }
+      if (executor != null) {
+         return;
+      }
+      periodNanos = TimeUnit.SECONDS.toNanos(1) / ticksPerSecond;
+      executor = Executors.newSingleThreadScheduledExecutor(task -> {
+         Thread thread = new Thread(task, "world-tick");
+         thread.setDaemon(true);
+         return thread;
+      });
+      executor.scheduleAtFixedRate(this::safeTick, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+   }
+
+   /**
+    * Stops the background ticking. Does nothing if not running.
+    */
+   public synchronized void stop() {
+      if (executor != null) {
+         executor.shutdownNow();
+         executor = null;
+      }
+   }
+
+   /**
+    * Checks whether the simulation is ticking in the background.
+    *
+    * @return {@code true} between {@link #start(int)} and {@link #stop()}
+    */
+   public synchronized boolean isRunning() {
+      return executor != null;
+   }
+
+   /**
+    * Returns the tick timings so far.
+    *
+    * @return the current statistics
+    */
+   public Stats getStats() {
+      return stats;
+   }
+
+   /**
+    * Runs one tick: moves the encounters of every registered level and records how long it took.
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link #moveBatch(Level, EncounterEntities, int, int, int)}</li>
+    * </ul>
+    */
+   public void tick() {
+      long start = System.nanoTime();
+      long skipped = 0;
+      long player = this.player;
+      for (Map.Entry<Integer, World> entry : worlds.entrySet()) {
+         World world = entry.getValue();
+         EncounterEntities entities = world.entities();
+         int playerCell = player != NO_PLAYER && (int) (player >>> 32) == entry.getKey() ? (int) player : -1;
+         ReentrantLock lock = entities.getLock();
+         for (int from = 0; ; from += BATCH_SIZE) {
+            if (!lock.tryLock()) {
+               skipped++;
+               break;
+            }
+            try {
+               if (from >= entities.size()) {
+                  break;
+               }
+               moveBatch(world.level(), entities, from, Math.min(from + BATCH_SIZE, entities.size()), playerCell);
+            } finally {
+               lock.unlock();
+            }
+         }
+      }
+      long duration = System.nanoTime() - start;
+
+      Stats previous = stats;
+      stats = new Stats(previous.ticks() + 1, duration, Math.max(previous.maxTickNanos(), duration),
+              previous.totalTickNanos() + duration, previous.overruns() + (duration > periodNanos ? 1 : 0),
+              previous.skippedBatches() + skipped);
+   }
+
+   /**
+    * Keeps the scheduled task alive if a tick fails; an exception would otherwise cancel every later tick.
+    */
+   private void safeTick() {
+      try {
+         tick();
+      } catch (RuntimeException e) {
+         LOG.log(System.Logger.Level.WARNING, "World tick failed", e);
+      }
+   }
+
+   /**
+    * Moves the mobile, unresolved encounters with ids in {@code [from, to)}. Moving into an empty room keeps
+    * an entity's id, so the ids of the batch stay valid while it runs. The player's cell, or {@code -1},
+    * counts as occupied.
+    */
+   private void moveBatch(Level level, EncounterEntities entities, int from, int to, int playerCell) {
+      for (int id = from; id < to; id++) {
+         EncounterType.Movement movement = entities.getType(id).getMovement();
+         if (movement == EncounterType.Movement.STATIC || entities.isResolved(id)) {
+            continue;
+         }
+         int x = entities.getRoomX(id);
+         int y = entities.getRoomY(id);
+         if (movement == EncounterType.Movement.WANDER) {
+            int heading = random.nextInt(DX.length);
+            if (isFree(level, entities, x + DX[heading], y + DY[heading], playerCell)) {
+               entities.relocate(id, x + DX[heading], y + DY[heading]);
+            }
+         } else {
+            int heading = entities.getHeading(id);
+            if (isFree(level, entities, x + DX[heading], y + DY[heading], playerCell)) {
+               entities.relocate(id, x + DX[heading], y + DY[heading]);
+            } else {
+               // Turn around; the patrol continues the other way on the next tick
+               entities.setHeading(id, (heading + 2) % DX.length);
+            }
+         }
+      }
+   }
+
+   private static boolean isFree(Level level, EncounterEntities entities, int x, int y, int playerCell) {
+      return level.isInBounds(x, y) && level.getTile(x, y) == Tile.ROOM && level.index(x, y) != playerCell
+              && entities.at(x, y) == EncounterIndex.NONE;
+   }
+
+}
@@ -0,0 +1,753 @@
+package com.dungeonGame.env;
+
+import com.dungeonGame.encounter.EncounterCatalog;
+import com.dungeonGame.encounter.EncounterDefinition;
+import com.dungeonGame.encounter.EncounterEffect;
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterIndex;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.encounter.EncounterOption;
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.logic.GameRandom;
+import com.dungeonGame.logic.Item;
+import com.dungeonGame.logic.LootTable;
+import com.dungeonGame.logic.LootTables;
+import com.dungeonGame.logic.MovementLogic;
+import com.dungeonGame.logic.PackedGameState;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.SearchActions;
+import com.dungeonGame.logic.mapAndLevelHandler.CellIndex;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A batch of games on one level, stepped together, for training agents without the console.
+ *
+ * <p>
+ * Each environment is one player on the level with encounters of their own. {@link #reset()} starts every
+ * game afresh; {@link #step(int[])} applies one action per environment. Both write the results into arrays
+ * that are allocated once, when the batch is created, and overwritten by every call: the tiles around each
+ * player, their power points and item bits, what they are asked to choose, the reward and whether the game
+ * is over. The environments are split between a fixed set of worker threads, and the calling thread works
+ * on the first share itself. Stepping allocates nothing beyond placing the encounters of a new game.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Rules:</b> As in the game, played through a {@link PackedGameState} per environment: moves cost
+ *         {@value MovementLogic#MOVE_COST} power points, looking around finds things from the level's
+ *         {@link LootTables#searchTable(int) search table}, Cakes, Sandwiches and Teleportation Spells can be
+ *         used, and encounters play the options of the {@link EncounterCatalog}. Encounters stay where they
+ *         were placed, and a riddle is answered correctly with a fixed chance.</li>
+ *     <li><b>Choices:</b> After looking around, and when an encounter offers a menu, the environment waits for
+ *         a {@link #CHOOSE_1 choice}; any other action is a wrong answer, as typing it in the game would be:
+ *         the things found are left behind, or the encounter's default option plays.</li>
+ *     <li><b>Rewards:</b> The step that reaches the exit is rewarded with the power points left; every other
+ *         step earns nothing. A game's total reward is thus what {@link com.dungeonGame.logic.solver.LevelSolver}
+ *         maximises.</li>
+ *     <li><b>End of a Game:</b> A game ends at the exit, when the power points run out, when the Guardian wins,
+ *         or, {@link #isTruncated(int) truncated}, after {@link Settings#maxSteps()} steps. Its environment is
+ *         reset in the same step, so the observation already shows the next game.</li>
+ *     <li><b>Randomness:</b> Environment {@code i} draws from its own generator seeded with {@code seed + i},
+ *         so the same actions give the same games whatever the number of threads.</li>
+ * </ul>
+ */
+public final class VectorEnv implements AutoCloseable {
+
+   // Actions
+
+   public static final int UP = 0;
+   public static final int DOWN = 1;
+   public static final int LEFT = 2;
+   public static final int RIGHT = 3;
+   public static final int LOOK_AROUND = 4;
+   public static final int EAT_CAKE = 5;
+   public static final int EAT_SANDWICH = 6;
+   public static final int TELEPORT = 7;
+
+   /**
+    * Picks the first thing offered; {@code CHOOSE_1 + k} picks thing {@code k + 1}, up to {@link #MAX_CHOICES}.
+    */
+   public static final int CHOOSE_1 = 8;
+
+   /**
+    * The most things an environment offers to choose from at once.
+    */
+   public static final int MAX_CHOICES = 3;
+
+   /**
+    * The number of actions; actions are {@code 0} to {@code ACTION_COUNT - 1}.
+    */
+   public static final int ACTION_COUNT = CHOOSE_1 + MAX_CHOICES;
+
+   // What an environment waits for, as written to phases()
+
+   public static final byte EXPLORING = 0;
+   public static final byte PICKING = 1;
+   public static final byte ENCOUNTER = 2;
+
+   /**
+    * The code of a tile outside the level in the tile window; other tiles have their {@link Tile#getCode()}.
+    */
+   public static final byte OUTSIDE = -1;
+
+   private static final int POTION_POWER_POINTS = 5;
+
+   /**
+    * How the games are played.
+    *
+    * @param windowRadius  how many rooms the tile window reaches in every direction from the player
+    * @param maxSteps      the steps after which a game is cut short
+    * @param riddleSuccess the chance of answering a riddle correctly
+    */
+   public record Settings(int windowRadius, int maxSteps, double riddleSuccess) {
+
+      /**
+       * A 5 by 5 window, 500 steps, and riddles answered correctly half the time.
+       */
+      public static final Settings DEFAULT = new Settings(2, 500, 0.5);
+
+      public Settings {
+         if (windowRadius < 0 || maxSteps <= 0 || !(riddleSuccess >= 0 && riddleSuccess <= 1)) {
+            throw new IllegalArgumentException("Invalid settings: " + windowRadius + ", " + maxSteps + ", "
+                    + riddleSuccess + ".");
+         }
+      }
+   }
+
+   private final int count;
+   private final int levelNumber;
+   private final Settings settings;
+   private final int rows;
+   private final int columns;
+   private final byte[] tileCodes;
+   private final int[] rooms;
+   private final int entrance;
+   private final Level level;
+   private final EncounterCatalog catalog = EncounterCatalog.getDefault();
+   private final LootTable<String> searchTable;
+   private final LootTable<Item> rewards = LootTables.explorerRewards();
+   private final int relicEntry;
+   private final int startPowerPoints = new PlayerDataHolder().getPowerPoints();
+   private final int side;
+
+   // Game state, one entry per environment
+   private final long[] states;
+   private final EncounterEntities[] entities;
+   private final GameRandom[] randoms;
+   private final int[] steps;
+   private final boolean[] relicFound;
+   private final int[] waitingEncounter;
+   private final int[] found;
+   private final EncounterOption[] offered;
+
+   // Observations, overwritten by every reset and step
+   private final byte[] tiles;
+   private final int[] powerPoints;
+   private final long[] items;
+   private final byte[] phases;
+   private final int[] choiceCounts;
+   private final float[] rewardsOut;
+   private final boolean[] done;
+   private final boolean[] truncated;
+
+   // Workers
+   private final int[] shareStart;
+   private final int[][] scratch;
+   private final Thread[] workers;
+   private final Phaser started;
+   private final Phaser finished;
+   private volatile int[] actions;
+   private volatile boolean resetting;
+   private volatile boolean closed;
+   private volatile RuntimeException failure;
+
+   /**
+    * Creates a batch of environments; call {@link #reset()} before the first step.
+    *
+    * @param level       the level every game is played on
+    * @param levelNumber the level's number, which decides its encounters and search loot
+    * @param count       the number of environments
+    * @param threads     the number of threads to step them on, including the caller's
+    * @param seed        the seed of the first environment's random generator
+    * @param settings    how the games are played
+    * @throws IllegalArgumentException if the count or thread count is not positive, or the level has no entrance
+    */
+   public VectorEnv(Level level, int levelNumber, int count, int threads, long seed, Settings settings) {
+      if (count <= 0 || threads <= 0) {
+         throw new IllegalArgumentException("Need at least one environment and one thread, got " + count
+                 + " and " + threads + ".");
+      }
+      this.level = level;
+      this.levelNumber = levelNumber;
+      this.count = count;
+      this.settings = settings;
+      rows = level.getRows();
+      columns = level.getColumns();
+      entrance = level.find(Tile.ENTRANCE);
+      if (entrance == -1) {
+         throw new IllegalArgumentException("Level " + levelNumber + " has no entrance.");
+      }
+      // Copied once, so stepping never touches the level
+      tileCodes = new byte[level.size()];
+      for (int cell = 0; cell < tileCodes.length; cell++) {
+         tileCodes[cell] = level.getTileAt(cell).getCode();
+      }
+      // Built here, so the threads placing encounters only read the cached index
+      CellIndex roomIndex = level.getCellIndex(CellIndex.Category.ROOM);
+      rooms = new int[roomIndex.size()];
+      int room = 0;
+      for (int cell = 0; cell < tileCodes.length; cell++) {
+         if (roomIndex.contains(cell)) {
+            rooms[room++] = cell;
+         }
+      }
+      searchTable = LootTables.searchTable(levelNumber);
+      relicEntry = searchTable.indexOf(Item.RELIC.getDisplayName());
+      side = 2 * settings.windowRadius() + 1;
+
+      states = new long[count];
+      entities = new EncounterEntities[count];
+      randoms = new GameRandom[count];
+      steps = new int[count];
+      relicFound = new boolean[count];
+      waitingEncounter = new int[count];
+      found = new int[count * SearchActions.MAX_FINDS];
+      offered = new EncounterOption[count * MAX_CHOICES];
+      for (int i = 0; i < count; i++) {
+         entities[i] = new EncounterEntities();
+         randoms[i] = new GameRandom(seed + i);
+      }
+
+      tiles = new byte[count * side * side];
+      powerPoints = new int[count];
+      items = new long[count];
+      phases = new byte[count];
+      choiceCounts = new int[count];
+      rewardsOut = new float[count];
+      done = new boolean[count];
+      truncated = new boolean[count];
+
+      int shares = Math.min(threads, count);
+      shareStart = new int[shares + 1];
+      scratch = new int[shares][LootTable.MAX_ENTRIES];
+      for (int s = 0; s <= shares; s++) {
+         shareStart[s] = (int) ((long) count * s / shares);
+      }
+      started = new Phaser(shares);
+      finished = new Phaser(shares);
+      workers = new Thread[shares - 1];
+      for (int s = 1; s < shares; s++) {
+         int share = s;
+         workers[s - 1] = new Thread(() -> work(share), "env-" + s);
+         workers[s - 1].setDaemon(true);
+         workers[s - 1].start();
+      }
+   }
+
+   /**
+    * Runs a quick throughput test: {@code java -cp <classpath> com.dungeonGame.env.VectorEnv [envs=4096]
+    * [steps=1000] [threads=<cores>] [level=1]} steps a batch with random actions and prints the steps per second.
+    *
+    * @param args the options
+    */
+   public static void main(String[] args) {
+      int envs = 4096;
+      int stepCount = 1000;
+      int threads = Runtime.getRuntime().availableProcessors();
+      int levelNumber = 1;
+      for (String arg : args) {
+         int split = arg.indexOf('=');
+         if (split < 0) {
+            throw new IllegalArgumentException("Expected key=value, got \"" + arg + "\".");
+         }
+         int value = Integer.parseInt(arg.substring(split + 1));
+         switch (arg.substring(0, split)) {
+            case "envs" -> envs = value;
+            case "steps" -> stepCount = value;
+            case "threads" -> threads = value;
+            case "level" -> levelNumber = value;
+            default -> throw new IllegalArgumentException("Unknown option \"" + arg + "\".");
+         }
+      }
+
+      DungeonMap.initialize();
+      GameRandom policy = new GameRandom(1);
+      int[] actions = new int[envs];
+      try (VectorEnv env = new VectorEnv(DungeonMap.getLevel(levelNumber), levelNumber, envs, threads, 1,
+              Settings.DEFAULT)) {
+         env.reset();
+         long games = 0;
+         double reward = 0;
+         long start = System.nanoTime();
+         for (int step = 0; step < stepCount; step++) {
+            for (int i = 0; i < envs; i++) {
+               actions[i] = policy.nextInt(ACTION_COUNT);
+            }
+            env.step(actions);
+            for (int i = 0; i < envs; i++) {
+               if (env.done[i]) {
+                  games++;
+                  reward += env.rewardsOut[i];
+               }
+            }
+         }
+         double seconds = (System.nanoTime() - start) / 1e9;
+         System.out.printf("%d environments, %d threads: %.0f steps/s, %d games, %.1f average reward%n",
+                 envs, threads, (double) envs * stepCount / seconds, games, games == 0 ? 0 : reward / games);
+      }
+   }
+
+   // Batch API
+
+   /**
+    * Starts a new game in every environment and writes the first observations.
+    */
+   public void reset() {
+      resetting = true;
+      run(null);
+   }
+
+   /**
+    * Applies one action in every environment and writes the observations, rewards and done flags.
+    *
+    * @param actions one action per environment, from {@code 0} to {@link #ACTION_COUNT}{@code - 1}
+    * @throws IllegalArgumentException if there is not one action per environment, or an action is unknown
+    */
+   public void step(int[] actions) {
+      if (actions.length != count) {
+         throw new IllegalArgumentException(count + " environments but " + actions.length + " actions.");
+      }
+      resetting = false;
+      run(actions);
+   }
+
+   private void run(int[] batch) {
+      if (closed) {
+         throw new IllegalStateException("The environments have been closed.");
+      }
+      actions = batch;
+      failure = null;
+      started.arriveAndAwaitAdvance();
+      RuntimeException own = null;
+      try {
+         stepShare(0);
+      } catch (RuntimeException e) {
+         own = e;
+      }
+      finished.arriveAndAwaitAdvance();
+      RuntimeException thrown = own != null ? own : failure;
+      if (thrown != null) {
+         throw thrown;
+      }
+   }
+
+   private void work(int share) {
+      while (true) {
+         started.arriveAndAwaitAdvance();
+         if (closed) {
+            return;
+         }
+         try {
+            stepShare(share);
+         } catch (RuntimeException e) {
+            failure = e;
+         }
+         finished.arriveAndAwaitAdvance();
+      }
+   }
+
+   private void stepShare(int share) {
+      int[] batch = actions;
+      boolean fresh = resetting;
+      int[] drawn = scratch[share];
+      for (int i = shareStart[share]; i < shareStart[share + 1]; i++) {
+         if (fresh) {
+            resetOne(i);
+            rewardsOut[i] = 0;
+            done[i] = false;
+            truncated[i] = false;
+         } else {
+            stepOne(i, batch[i], drawn);
+         }
+         observe(i);
+      }
+   }
+
+   /**
+    * Stops the worker threads; the environments cannot be stepped afterwards.
+    */
+   @Override
+   public void close() {
+      if (closed) {
+         return;
+      }
+      closed = true;
+      started.arriveAndAwaitAdvance();
+      for (Thread worker : workers) {
+         try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+      }
+   }
+
+   // One environment
+
+   private void resetOne(int i) {
+      states[i] = PackedGameState.pack(levelNumber, level.rowOf(entrance), level.columnOf(entrance),
+              startPowerPoints, 0);
+      EncounterManager.spawnEncounters(level, levelNumber, entities[i], randoms[i]);
+      steps[i] = 0;
+      relicFound[i] = false;
+      phases[i] = EXPLORING;
+      choiceCounts[i] = 0;
+      waitingEncounter[i] = EncounterIndex.NONE;
+   }
+
+   private void stepOne(int i, int action, int[] drawn) {
+      if (action < 0 || action >= ACTION_COUNT) {
+         throw new IllegalArgumentException("Unknown action " + action + " for environment " + i + ".");
+      }
+      boolean lost = false;
+      int choice = action - CHOOSE_1;
+      switch (phases[i]) {
+         case PICKING -> {
+            if (choice >= 0 && choice < choiceCounts[i]) {
+               pick(i, found[i * SearchActions.MAX_FINDS + choice]);
+            }
+            phases[i] = EXPLORING;
+            choiceCounts[i] = 0;
+         }
+         case ENCOUNTER -> {
+            int id = waitingEncounter[i];
+            EncounterDefinition definition = catalog.get(entities[i].getType(id));
+            EncounterOption option = choice >= 0 && choice < choiceCounts[i]
+                    ? offered[i * MAX_CHOICES + choice] : definition.getDefaultOption();
+            phases[i] = EXPLORING;
+            choiceCounts[i] = 0;
+            lost = play(i, id, option, drawn);
+         }
+         default -> lost = explore(i, action, drawn);
+      }
+
+      long state = states[i];
+      steps[i]++;
+      float reward = 0;
+      boolean over = lost || !PackedGameState.isAlive(state);
+      // Games start at the entrance and spells only lead to plain rooms, so the exit is always walked into
+      if (!over && tileCodes[cellOf(state)] == Tile.EXIT.getCode()) {
+         reward = PackedGameState.powerPoints(state);
+         over = true;
+      }
+      boolean cut = !over && steps[i] >= settings.maxSteps();
+      rewardsOut[i] = reward;
+      done[i] = over || cut;
+      truncated[i] = cut;
+      if (over || cut) {
+         resetOne(i);
+      }
+   }
+
+   /**
+    * Applies an action while exploring.
+    *
+    * @return {@code true} if an encounter ended the game
+    */
+   private boolean explore(int i, int action, int[] drawn) {
+      long state = states[i];
+      switch (action) {
+         case UP, DOWN, LEFT, RIGHT -> {
+            int x = PackedGameState.x(state) + MovementLogic.rowStep(action);
+            int y = PackedGameState.y(state) + MovementLogic.columnStep(action);
+            if (x < 0 || x >= rows || y < 0 || y >= columns || tileCodes[x * columns + y] == Tile.WALL.getCode()) {
+               return false;
+            }
+            states[i] = PackedGameState.move(state, action);
+            if (tileCodes[x * columns + y] == Tile.EXIT.getCode()) {
+               return false;
+            }
+            return enter(i, x, y, drawn);
+         }
+         case LOOK_AROUND -> {
+            long excluded = relicEntry >= 0 && relicFound[i] ? 1L << relicEntry : 0;
+            int things = searchTable.sampleDistinct(randoms[i], excluded, drawn,
+                    randoms[i].nextInt(SearchActions.MAX_FINDS) + 1);
+            System.arraycopy(drawn, 0, found, i * SearchActions.MAX_FINDS, things);
+            if (things > 0) {
+               phases[i] = PICKING;
+               choiceCounts[i] = things;
+            }
+         }
+         case EAT_CAKE, EAT_SANDWICH -> {
+            Item food = action == EAT_CAKE ? Item.CAKE : Item.SANDWICH;
+            if (PackedGameState.has(state, food)) {
+               states[i] = PackedGameState.addPowerPoints(PackedGameState.withoutItem(state, food),
+                       food.getPowerPointEffect());
+            }
+         }
+         case TELEPORT -> {
+            if (PackedGameState.has(state, Item.TELEPORTATION_SPELL)) {
+               teleport(i, PackedGameState.withoutItem(state, Item.TELEPORTATION_SPELL));
+            }
+         }
+         default -> {
+            // A choice with nothing to choose from, like a number typed while exploring
+         }
+      }
+      return false;
+   }
+
+   /**
+    * A Teleportation Spell takes the player to a random plain room other than their own, as
+    * {@link com.dungeonGame.roomContents.TeleportationActions} does; it is used up even if it fizzles.
+    */
+   private void teleport(int i, long state) {
+      int cell = cellOf(state);
+      boolean inRoom = tileCodes[cell] == Tile.ROOM.getCode();
+      int targets = rooms.length - (inRoom ? 1 : 0);
+      if (targets == 0) {
+         states[i] = state;
+         return;
+      }
+      // Rooms are sorted, so skipping the player's own room keeps every other room equally likely
+      int pick = randoms[i].nextInt(targets);
+      int target = rooms[pick];
+      if (inRoom && target >= cell) {
+         target = rooms[pick + 1];
+      }
+      states[i] = PackedGameState.withPosition(state, target / columns, target % columns);
+   }
+
+   /**
+    * Triggers the encounter in a room the player moved into, if there is one that is not resolved.
+    *
+    * @return {@code true} if the encounter ended the game
+    */
+   private boolean enter(int i, int x, int y, int[] drawn) {
+      EncounterEntities encounters = entities[i];
+      int id = encounters.at(x, y);
+      if (id == EncounterIndex.NONE || encounters.isResolved(id)) {
+         return false;
+      }
+      EncounterDefinition definition = catalog.get(encounters.getType(id));
+      long held = PackedGameState.items(states[i]);
+      int offers = 0;
+      boolean itemOption = false;
+      List<EncounterOption> options = definition.getOptions();
+      for (int o = 0; o < options.size() && offers < MAX_CHOICES; o++) {
+         EncounterOption option = options.get(o);
+         if (option.isListed() && affords(option, held)) {
+            offered[i * MAX_CHOICES + offers++] = option;
+            itemOption |= option.needsItems();
+         }
+      }
+      if (!itemOption) {
+         return play(i, id, definition.getDefaultOption(), drawn);
+      }
+      phases[i] = ENCOUNTER;
+      choiceCounts[i] = offers;
+      waitingEncounter[i] = id;
+      return false;
+   }
+
+   private static boolean affords(EncounterOption option, long held) {
+      for (String name : option.getRequiredItems()) {
+         Item item = Item.fromName(name);
+         if (item == null || (held & item.mask()) == 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Plays an encounter option on environment {@code i}, drawing a riddle's answer from its random source.
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link EncounterOption#outcome(int, boolean)}</li>
+    *     <li>{@link EncounterOption#resolves(EncounterType)}</li>
+    * </ul>
+    *
+    * @return {@code true} if the option lost the game
+    */
+   private boolean play(int i, int id, EncounterOption option, int[] drawn) {
+      long state = states[i];
+      for (String name : option.getConsumedItems()) {
+         Item item = Item.fromName(name);
+         if (item != null) {
+            state = PackedGameState.withoutItem(state, item);
+         }
+      }
+      GameRandom random = randoms[i];
+      // Only a riddle draws its answer, so the other effects leave the random sequence as it was
+      boolean answered = option.getEffect() != EncounterEffect.RIDDLE || random.nextDouble() < settings.riddleSuccess();
+      EncounterOption.Outcome outcome = option.outcome(PackedGameState.powerPoints(state), answered);
+      state = PackedGameState.addPowerPoints(state, outcome.powerPoints());
+      if (outcome.losesAllItems()) {
+         state = PackedGameState.withoutItems(state);
+      }
+      if (outcome.rewardDraws() > 0) {
+         state = reward(state, outcome.rewardDraws(), random, drawn);
+      }
+      states[i] = state;
+      EncounterEntities encounters = entities[i];
+      encounters.setResolved(id, option.resolves(encounters.getType(id)));
+      waitingEncounter[i] = EncounterIndex.NONE;
+      return outcome.losesGame();
+   }
+
+   private long reward(long state, int amount, GameRandom random, int[] drawn) {
+      long held = 0;
+      for (int e = 0; e < rewards.size(); e++) {
+         if (PackedGameState.has(state, rewards.get(e))) {
+            held |= 1L << e;
+         }
+      }
+      int given = rewards.sampleDistinct(random, held, drawn, Math.min(amount, drawn.length));
+      for (int k = 0; k < given; k++) {
+         state = PackedGameState.withItem(state, rewards.get(drawn[k]));
+      }
+      return state;
+   }
+
+   /**
+    * Picks up a thing found by looking around, as {@link SearchActions#pick} does. A potion is drunk on the
+    * spot: like {@link com.dungeonGame.roomContents.PotionActions}, it costs or gives 5 power points, or only
+    * clears the view, with equal chance.
+    */
+   private void pick(int i, int entry) {
+      long state = states[i];
+      String thing = searchTable.get(entry);
+      if (thing.equals(LootTables.POTION)) {
+         int potion = randoms[i].nextInt(3);
+         if (potion < 2) {
+            states[i] = PackedGameState.addPowerPoints(state, potion == 0 ? -POTION_POWER_POINTS : POTION_POWER_POINTS);
+         }
+         return;
+      }
+      Item item = Item.fromName(thing);
+      if (item == Item.RELIC) {
+         relicFound[i] = true;
+      }
+      // Something already held is left behind
+      states[i] = PackedGameState.withItem(state, item);
+   }
+
+   private int cellOf(long state) {
+      return PackedGameState.x(state) * columns + PackedGameState.y(state);
+   }
+
+   private void observe(int i) {
+      long state = states[i];
+      int radius = settings.windowRadius();
+      int px = PackedGameState.x(state);
+      int py = PackedGameState.y(state);
+      int out = i * side * side;
+      for (int x = px - radius; x <= px + radius; x++) {
+         boolean rowInside = x >= 0 && x < rows;
+         for (int y = py - radius; y <= py + radius; y++) {
+            tiles[out++] = rowInside && y >= 0 && y < columns ? tileCodes[x * columns + y] : OUTSIDE;
+         }
+      }
+      powerPoints[i] = PackedGameState.powerPoints(state);
+      items[i] = PackedGameState.items(state);
+   }
+
+   // Observations
+
+   public int getCount() {
+      return count;
+   }
+
+   /**
+    * Returns the side of the square tile window around each player.
+    *
+    * @return {@code 2 * windowRadius + 1}
+    */
+   public int getWindowSide() {
+      return side;
+   }
+
+   /**
+    * Returns the tiles around every player: environment {@code i}'s window starts at
+    * {@code i * side * side} and is stored row by row, with the player in the middle. Tiles are
+    * {@link Tile#getCode()} codes, or {@link #OUTSIDE}.
+    *
+    * @return the shared tile array, overwritten by every reset and step
+    */
+   public byte[] tiles() {
+      return tiles;
+   }
+
+   public int[] powerPoints() {
+      return powerPoints;
+   }
+
+   /**
+    * Returns every player's item bits, as in {@link Item#mask()}.
+    *
+    * @return the shared item array, overwritten by every reset and step
+    */
+   public long[] items() {
+      return items;
+   }
+
+   /**
+    * Returns what every environment waits for: {@link #EXPLORING}, {@link #PICKING} or {@link #ENCOUNTER}.
+    *
+    * @return the shared phase array, overwritten by every reset and step
+    */
+   public byte[] phases() {
+      return phases;
+   }
+
+   /**
+    * Returns how many things every environment offers to choose from, as {@link #CHOOSE_1} and on.
+    *
+    * @return the shared array of choice counts, overwritten by every reset and step
+    */
+   public int[] choiceCounts() {
+      return choiceCounts;
+   }
+
+   public float[] rewards() {
+      return rewardsOut;
+   }
+
+   /**
+    * Returns which games ended in the last step; their environments have already been reset.
+    *
+    * @return the shared array of done flags, overwritten by every reset and step
+    */
+   public boolean[] done() {
+      return done;
+   }
+
+   /**
+    * Checks whether a game ended in the last step only because it ran out of steps.
+    *
+    * @param i the environment
+    * @return {@code true} if the game was cut short
+    */
+   public boolean isTruncated(int i) {
+      return truncated[i];
+   }
+
+   /**
+    * Returns the full state of an environment's player, for logging or replay.
+    *
+    * @param i the environment
+    * @return the player word; see {@link PackedGameState}
+    */
+   public long getState(int i) {
+      return states[i];
+   }
+
+}
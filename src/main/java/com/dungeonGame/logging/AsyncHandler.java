@@ -0,0 +1,113 @@
+package com.dungeonGame.logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * Writes log records on a background thread, so logging never makes the game wait for the console or a file.
+ *
+ * <p>
+ * Records are put in a bounded queue and passed on, in order, to the target handler by a daemon thread,
+ * which also formats them. The thread takes whatever has queued up in one go and flushes the target once
+ * per batch.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Parameters:</b> Messages are formatted on the background thread, after {@code log} has returned,
+ *         so parameters must not change afterwards; numbers and strings are safe.</li>
+ *     <li><b>Full Queue:</b> When the target cannot keep up, new records are dropped and counted
+ *         ({@link #getDroppedCount()}) instead of blocking the caller.</li>
+ *     <li><b>Closing:</b> {@link #close()} writes what is still queued, then closes the target.</li>
+ * </ul>
+ */
+public class AsyncHandler extends Handler {
+
+   /**
+    * The number of records that may wait for the target unless the constructor says otherwise.
+    */
+   public static final int DEFAULT_CAPACITY = 8192;
+
+   private final Handler target;
+   private final BlockingQueue<LogRecord> queue;
+   private final Thread writer;
+   private final AtomicLong dropped = new AtomicLong();
+   private volatile boolean closed;
+
+   /**
+    * Starts passing records on to a handler.
+    *
+    * @param target   the handler that writes the records
+    * @param capacity how many records may wait for the target
+    */
+   public AsyncHandler(Handler target, int capacity) {
+      this.target = target;
+      this.queue = new ArrayBlockingQueue<>(capacity);
+      this.writer = new Thread(this::drain, "log-writer");
+      this.writer.setDaemon(true);
+      this.writer.start();
+   }
+
+   @Override
+   public void publish(LogRecord record) {
+      if (closed || !isLoggable(record)) {
+         return;
+      }
+      if (!queue.offer(record)) {
+         dropped.incrementAndGet();
+      }
+   }
+
+   private void drain() {
+      try {
+         while (!closed || !queue.isEmpty()) {
+            LogRecord record = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (record == null) {
+               continue;
+            }
+            do {
+               target.publish(record);
+            } while ((record = queue.poll()) != null);
+            target.flush();
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   /**
+    * Waits briefly for the queued records to be written, then flushes the target.
+    */
+   @Override
+   public void flush() {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+      while (!queue.isEmpty() && System.nanoTime() < deadline) {
+         Thread.onSpinWait();
+      }
+      target.flush();
+   }
+
+   @Override
+   public void close() {
+      closed = true;
+      try {
+         writer.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+      target.close();
+   }
+
+   /**
+    * Returns how many records were dropped because the queue was full.
+    *
+    * @return the number of dropped records
+    */
+   public long getDroppedCount() {
+      return dropped.get();
+   }
+
+}
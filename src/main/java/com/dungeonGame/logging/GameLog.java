@@ -0,0 +1,191 @@
+package com.dungeonGame.logging;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * The game's loggers: {@link System.Logger}s with levels per package, written by an {@link AsyncHandler}.
+ *
+ * <p>
+ * Classes get their logger with {@link #getLogger(Class)} and log diagnostics at {@code DEBUG}, problems at
+ * {@code WARNING} or {@code ERROR}. What the player is meant to read is still printed through
+ * {@link com.dungeonGame.GameUtils}. Lines look like
+ * {@code 2026-01-01T12:00:00Z DEBUG com.dungeonGame.database.UserDAO - User updated name=Alice level=2}.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Levels:</b> Game loggers log at {@code INFO} and above unless {@code -Ddungeon.log=<level>} says
+ *         otherwise ({@code -Ddungeon.debug=true} is short for {@code DEBUG}). A package or class can have a
+ *         level of its own, for example {@code -Ddungeon.log.com.dungeonGame.encounter=DEBUG}. Levels are
+ *         named as in {@link System.Logger.Level}: {@code ALL}, {@code TRACE}, {@code DEBUG}, {@code INFO},
+ *         {@code WARNING}, {@code ERROR} and {@code OFF}.</li>
+ *     <li><b>Output:</b> Standard error, or the file named by {@code -Ddungeon.log.file=<file>}, written on a
+ *         background thread.</li>
+ *     <li><b>Cost:</b> A message below its logger's level is discarded after one comparison. Messages with
+ *         parameters or suppliers are only formatted if they are logged, and then on the background thread.
+ *         On hot paths, guard calls with {@link System.Logger#isLoggable(System.Logger.Level)}, so not even
+ *         the parameter array is built.</li>
+ * </ul>
+ */
+public final class GameLog {
+
+   /**
+    * The logger every game logger inherits its level and output from.
+    */
+   public static final String ROOT = "com.dungeonGame";
+
+   private static final String PREFIX = "dungeon.log.";
+
+   /**
+    * JUL forgets the level of a logger nobody references, so the configured ones are kept here.
+    */
+   private static final Map<String, Logger> configured = new ConcurrentHashMap<>();
+
+   private static final AsyncHandler handler;
+
+   static {
+      handler = configure(System.getProperties());
+   }
+
+   /**
+    * Private constructor to prevent instantiation of the {@code GameLog} utility class.
+    */
+   private GameLog() {
+   }
+
+   /**
+    * Returns the logger of a class.
+    *
+    * @param type the class that logs
+    * @return its logger, named after the class
+    */
+   public static System.Logger getLogger(Class<?> type) {
+      return System.getLogger(type.getName());
+   }
+
+   /**
+    * Changes the level of a package or class, and of everything below it without a level of its own.
+    *
+    * @param name  a package or class name, such as {@code "com.dungeonGame.encounter"}
+    * @param level the new level, or {@code null} to inherit the level from above again
+    */
+   public static void setLevel(String name, System.Logger.Level level) {
+      Logger logger = configured.computeIfAbsent(name, Logger::getLogger);
+      logger.setLevel(level == null ? null : toJul(level));
+   }
+
+   /**
+    * Writes what is still queued and closes the output; later messages are discarded.
+    */
+   public static void shutdown() {
+      handler.close();
+   }
+
+   private static AsyncHandler configure(Properties properties) {
+      Logger root = Logger.getLogger(ROOT);
+      configured.put(ROOT, root);
+      root.setUseParentHandlers(false);
+
+      List<String> problems = new ArrayList<>();
+      String rootLevel = properties.getProperty("dungeon.log",
+              Boolean.parseBoolean(properties.getProperty("dungeon.debug")) ? "DEBUG" : "INFO");
+      root.setLevel(parse(rootLevel, Level.INFO, "dungeon.log", problems));
+      for (String key : properties.stringPropertyNames()) {
+         if (key.startsWith(PREFIX) && !key.equals(PREFIX + "file")) {
+            String name = key.substring(PREFIX.length());
+            configured.computeIfAbsent(name, Logger::getLogger)
+                    .setLevel(parse(properties.getProperty(key), null, key, problems));
+         }
+      }
+
+      Handler target = new ConsoleHandler();
+      String file = properties.getProperty(PREFIX + "file");
+      if (file != null) {
+         try {
+            target = new FileHandler(file, true);
+         } catch (IOException e) {
+            problems.add("Cannot write the log file " + file + ": " + e.getMessage());
+         }
+      }
+      target.setLevel(Level.ALL);
+      target.setFormatter(new LineFormatter());
+      AsyncHandler async = new AsyncHandler(target, AsyncHandler.DEFAULT_CAPACITY);
+      root.addHandler(async);
+
+      for (String problem : problems) {
+         root.warning(problem);
+      }
+      return async;
+   }
+
+   private static Level parse(String value, Level fallback, String key, List<String> problems) {
+      try {
+         return toJul(System.Logger.Level.valueOf(value.trim().toUpperCase()));
+      } catch (IllegalArgumentException e) {
+         problems.add("Unknown log level " + key + "=" + value + ".");
+         return fallback;
+      }
+   }
+
+   private static Level toJul(System.Logger.Level level) {
+      return switch (level) {
+         case ALL -> Level.ALL;
+         case TRACE -> Level.FINER;
+         case DEBUG -> Level.FINE;
+         case INFO -> Level.INFO;
+         case WARNING -> Level.WARNING;
+         case ERROR -> Level.SEVERE;
+         case OFF -> Level.OFF;
+      };
+   }
+
+   private static String nameOf(Level level) {
+      int value = level.intValue();
+      if (value >= Level.SEVERE.intValue()) {
+         return "ERROR";
+      } else if (value >= Level.WARNING.intValue()) {
+         return "WARNING";
+      } else if (value >= Level.INFO.intValue()) {
+         return "INFO";
+      } else if (value >= Level.FINE.intValue()) {
+         return "DEBUG";
+      }
+      return "TRACE";
+   }
+
+   /**
+    * Formats a record as one line: time, level, logger and message, followed by the stack trace of a
+    * logged exception.
+    */
+   private static final class LineFormatter extends Formatter {
+
+      @Override
+      public String format(LogRecord record) {
+         StringBuilder line = new StringBuilder(128);
+         line.append(record.getInstant()).append(' ')
+                 .append(nameOf(record.getLevel())).append(' ')
+                 .append(record.getLoggerName()).append(" - ")
+                 .append(formatMessage(record)).append(System.lineSeparator());
+         if (record.getThrown() != null) {
+            StringWriter trace = new StringWriter();
+            record.getThrown().printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+         }
+         return line.toString();
+      }
+   }
+
+}
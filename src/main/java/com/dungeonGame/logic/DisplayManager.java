@@ -1,12 +1,13 @@
 package com.dungeonGame.logic;
 
+import com.dungeonGame.GameServices;
 import com.dungeonGame.GameUtils;
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import com.dungeonGame.logic.mapAndLevelHandler.VisibilityState;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Scanner;
-import java.util.Set;
 
 /**
  * Handles the display of game-related information, including the current room,
@@ -17,7 +18,14 @@ import java.util.Set;
  */
 public class DisplayManager {
 
-   InventoryManager inventoryManager = new InventoryManager();
+   InventoryManager inventoryManager = GameServices.inventoryManager();
+
+   /**
+    * Each thread's buffer for the lines this manager prints, so that
+    * {@link #displayCurrentRoom(PositionDataHolder, PlayerDataHolder)}, which runs after every move, allocates
+    * nothing, and sessions played on other threads cannot overwrite a line half-way.
+    */
+   private static final ThreadLocal<StringBuilder> LINE = ThreadLocal.withInitial(() -> new StringBuilder(128));
 
    /**
     * Displays information about the current room, including surroundings,
@@ -38,7 +46,7 @@ public class DisplayManager {
     *     <li>{@link GameUtils#clearConsole()}</li>
     *     <li>{@link GameUtils#printHeader(String)}</li>
     *     <li>{@link GameUtils#delayPrint(String)}</li>
-    *     <li>{@link #checkCompactSurrounding(String, int, int)}</li>
+    *     <li>{@link #appendCompactSurrounding(StringBuilder, String, int, int)}</li>
     * </ul>
     *
     * @param pm     the player's position manager
@@ -52,30 +60,38 @@ public class DisplayManager {
       int py = pm.getPlayerY();
       int levelNum = DungeonMap.getCurrentLevelNumber();
 
-      char row = (char) ('A' + px);
-      int column = py + 1;
-
-      GameUtils.delayPrint("You are in Level " + levelNum + " Room " + row + column + ".");
+      StringBuilder line = LINE.get();
+      line.setLength(0);
+      line.append("You are in Level ").append(levelNum).append(" Room ");
+      Level.appendRoomName(line, px, py).append('.');
+      GameUtils.delayPrint(line);
       GameUtils.delayPrint("You have a long way to go.");
 
-      String surroundings = "Surroundings: " +
-              checkCompactSurrounding("left", px, py - 1) + ", " +
-              checkCompactSurrounding("right", px, py + 1) + ", " +
-              checkCompactSurrounding("ahead", px - 1, py) + ", " +
-              checkCompactSurrounding("behind", px + 1, py);
-
-      GameUtils.delayPrint(surroundings);
-      GameUtils.delayPrint("Current Power Points: " + player.getPowerPoints());
+      line.setLength(0);
+      line.append("Surroundings: ");
+      appendCompactSurrounding(line, "left", px, py - 1);
+      line.append(", ");
+      appendCompactSurrounding(line, "right", px, py + 1);
+      line.append(", ");
+      appendCompactSurrounding(line, "ahead", px - 1, py);
+      line.append(", ");
+      appendCompactSurrounding(line, "behind", px + 1, py);
+      GameUtils.delayPrint(line);
+
+      line.setLength(0);
+      line.append("Current Power Points: ").append(player.getPowerPoints());
+      GameUtils.delayPrint(line);
       GameUtils.delayPrint("What do you want to do?");
    }
 
    /**
-    * Displays the current level map with the player's location marked.
+    * Displays the parts of the current level map the player has explored, with the player's location marked.
     *
     * <ul>
     *     <li><b>Details Shown:</b>
     *         <ul>
-    *             <li>Walls, entrances, exits, and other rooms.</li>
+    *             <li>Walls, entrances, exits, and other rooms the player has seen.</li>
+    *             <li>Unexplored tiles as {@code ?}.</li>
     *             <li>The player's current position marked as {@code [P]}.</li>
     *         </ul>
     *     </li>
@@ -90,41 +106,43 @@ public class DisplayManager {
     */
    public void displayMapWithPlayerLocation(PositionDataHolder pm) {
       GameUtils.printHeader("Current Level Map");
-      char[][] level = DungeonMap.getCurrentLevel();
-      for (int i = 0; i < level.length; i++) {
-         for (int j = 0; j < level[i].length; j++) {
+      Level level = DungeonMap.getCurrentLevel();
+      VisibilityState visibility = pm.getVisibility();
+      StringBuilder line = LINE.get();
+      for (int i = 0; i < level.getRows(); i++) {
+         line.setLength(0);
+         for (int j = 0; j < level.getColumns(); j++) {
             if (i == pm.getPlayerX() && j == pm.getPlayerY()) {
-               System.out.print("[P] ");
+               line.append("[P] ");
+            } else if (visibility.isExplored(i, j)) {
+               line.append(level.getTile(i, j).getSymbol()).append(' ');
             } else {
-               System.out.print(level[i][j] + " ");
+               line.append("? ");
             }
          }
-         System.out.println();
+         GameUtils.printLine(line);
       }
       //GameUtils.waitForEnter();
    }
 
    /**
-    * Provides a concise description of the surroundings relative to the player's position.
+    * Appends a concise description of the surroundings relative to the player's position to a line,
+    * for example {@code "Wall to the left"}.
     *
+    * @param line      the line being built
     * @param direction the direction being checked (e.g., "left", "right")
     * @param x         the x-coordinate of the location to check
     * @param y         the y-coordinate of the location to check
-    * @return a string description of the surroundings in the specified direction
     */
-   private String checkCompactSurrounding(String direction, int x, int y) {
-      char[][] level = DungeonMap.getCurrentLevel();
-      if (x < 0 || x >= level.length || y < 0 || y >= level[0].length) {
-         return "Wall to the " + direction;
-      }
-
-      char cell = level[x][y];
-      return switch (cell) {
-         case 'W' -> "Wall to the " + direction;
-         case 'X' -> "Exit to the " + direction;
-         case 'E' -> "Entrance to the " + direction;
-         default -> "Room to the " + direction;
-      };
+   private void appendCompactSurrounding(StringBuilder line, String direction, int x, int y) {
+      Level level = DungeonMap.getCurrentLevel();
+      Tile cell = level.isInBounds(x, y) ? level.getTile(x, y) : Tile.WALL;
+      line.append(switch (cell) {
+         case WALL -> "Wall";
+         case EXIT -> "Exit";
+         case ENTRANCE -> "Entrance";
+         case ROOM -> "Room";
+      }).append(" to the ").append(direction);
    }
 
    /**
@@ -133,7 +151,7 @@ public class DisplayManager {
     * <ul>
     *     <li><b>Details Shown:</b>
     *         <ul>
-    *             <li>All items in the player's inventory.</li>
+    *             <li>All items in the player's inventory, with the size of each stack.</li>
     *             <li>Options for using specific items, such as potions or spells.</li>
     *         </ul>
     *     </li>
@@ -145,7 +163,7 @@ public class DisplayManager {
     *     <li>{@link GameUtils#printHeader(String)}</li>
     *     <li>{@link GameUtils#delayPrint(String)}</li>
     *     <li>{@link GameUtils#waitForEnter()}</li>
-    *     <li>{@link InventoryManager#handleInventoryItemUse(String, PlayerDataHolder, PositionDataHolder)}</li>
+    *     <li>{@link InventoryManager#handleInventoryItemUse(Item, PlayerDataHolder, PositionDataHolder)}</li>
     * </ul>
     *
     * @param player the player's data, including inventory
@@ -155,7 +173,7 @@ public class DisplayManager {
       GameUtils.clearConsole();
       GameUtils.printHeader("Inventory");
 
-      Set<String> inventory = player.getInventory();
+      Inventory inventory = player.getInventory();
       if (inventory.isEmpty()) {
          GameUtils.delayPrint("Your inventory is empty.");
          GameUtils.waitForEnter();
@@ -163,40 +181,32 @@ public class DisplayManager {
       }
 
       GameUtils.delayPrint("Your Items:");
-      for (String item : inventory) {
-         GameUtils.delayPrint("- " + item);
+      for (String name : inventory) {
+         Item item = Item.fromName(name);
+         int count = item == null ? 1 : inventory.count(item);
+         GameUtils.delayPrint("- " + name + (count > 1 ? " x" + count : ""));
       }
 
-      List<String> usableItems = new ArrayList<>();
-      boolean hasTeleport = inventoryManager.hasItem(player, "Teleportation Spell");
-      boolean hasCake = inventoryManager.hasItem(player, "Cake");
-      boolean hasSandwich = inventoryManager.hasItem(player, "Sandwich");
-
-      if (hasTeleport) {
-         usableItems.add("Teleportation Spell");
-      }
-      if (hasCake) {
-         usableItems.add("Cake (+3 Power Points)");
-      }
-      if (hasSandwich) {
-         usableItems.add("Sandwich (+5 Power Points)");
-      }
+      // The usable items are the set bits of one mask, in registry order
+      long usable = inventory.getUsableMask();
+      int usableCount = Long.bitCount(usable);
 
-      if (!usableItems.isEmpty()) {
+      if (usableCount > 0) {
          GameUtils.delayPrint("\nYou have usable items. Do you want to use one?");
-         for (int i = 0; i < usableItems.size(); i++) {
-            GameUtils.delayPrint((i + 1) + ". " + usableItems.get(i));
+         Item[] usableItems = new Item[usableCount];
+         for (int i = 0; usable != 0; i++, usable &= usable - 1) {
+            usableItems[i] = Item.byOrdinal(Long.numberOfTrailingZeros(usable));
+            GameUtils.delayPrint((i + 1) + ". " + usableItems[i].getMenuLabel());
          }
-         GameUtils.delayPrint((usableItems.size() + 1) + ". Exit Inventory");
+         GameUtils.delayPrint((usableCount + 1) + ". Exit Inventory");
 
          System.out.print("\nChoose an item to use (Enter the number): ");
          Scanner scanner = new Scanner(System.in);
          int choice = scanner.nextInt();
          scanner.nextLine(); // Clear buffer
 
-         if (choice > 0 && choice <= usableItems.size()) {
-            String selectedItem = usableItems.get(choice - 1);
-            inventoryManager.handleInventoryItemUse(selectedItem, player, pm);
+         if (choice > 0 && choice <= usableCount) {
+            inventoryManager.handleInventoryItemUse(usableItems[choice - 1], player, pm);
          } else {
             GameUtils.delayPrint("Exiting inventory.");
          }
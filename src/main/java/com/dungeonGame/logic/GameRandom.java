@@ -0,0 +1,82 @@
+package com.dungeonGame.logic;
+
+import java.io.Serial;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The game's random source, whose state can be saved and restored.
+ *
+ * <p>
+ * It draws the same numbers as {@link Random} with the same seed, but keeps its 48-bit state where a saved
+ * game can read it ({@link #getState()}) and put it back ({@link #setState(long)}), so a resumed game finds
+ * the same items and meets the same encounters as it would have without the break. Like {@link Random} it
+ * may be shared between threads.
+ * </p>
+ */
+public final class GameRandom extends Random {
+
+   @Serial
+   private static final long serialVersionUID = 1L;
+
+   private static final long MULTIPLIER = 0x5DEECE66DL;
+   private static final long ADDEND = 0xBL;
+   private static final long MASK = (1L << 48) - 1;
+
+   private final AtomicLong state = new AtomicLong();
+
+   /**
+    * Creates a random source with an unpredictable seed.
+    */
+   public GameRandom() {
+      this(System.nanoTime() ^ Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L);
+   }
+
+   /**
+    * Creates a random source that draws the same numbers as {@code new Random(seed)}.
+    *
+    * @param seed the seed
+    */
+   public GameRandom(long seed) {
+      setSeed(seed);
+   }
+
+   @Override
+   public void setSeed(long seed) {
+      // Random's constructor calls this before the state field is assigned
+      if (state != null) {
+         state.set((seed ^ MULTIPLIER) & MASK);
+      }
+      super.setSeed(seed);
+   }
+
+   @Override
+   protected int next(int bits) {
+      long current;
+      long next;
+      do {
+         current = state.get();
+         next = (current * MULTIPLIER + ADDEND) & MASK;
+      } while (!state.compareAndSet(current, next));
+      return (int) (next >>> (48 - bits));
+   }
+
+   /**
+    * Returns the current state, from which {@link #setState(long)} continues the same sequence.
+    *
+    * @return the 48-bit state
+    */
+   public long getState() {
+      return state.get();
+   }
+
+   /**
+    * Continues the sequence from a state returned by {@link #getState()}.
+    *
+    * @param state the 48-bit state
+    */
+   public void setState(long state) {
+      this.state.set(state & MASK);
+   }
+
+}
@@ -0,0 +1,262 @@
+package com.dungeonGame.logic;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A player's inventory: which {@link Item}s they carry, and how many of each.
+ *
+ * <p>
+ * Held items are bits in a single {@code long} and stack sizes are a small {@code byte} array indexed by
+ * item ordinal, so checking for an item is one bit test and the whole inventory takes a few bytes.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>String API:</b> The inventory is also a {@code Set<String>} of display names, so existing code
+ *         keeps working. As the {@link Set} contract requires, {@link #add(String)} and {@link #remove(Object)}
+ *         add or remove an item as a whole; stacks are changed through {@link #add(Item)} and
+ *         {@link #removeOne(Item)}.</li>
+ *     <li><b>Unknown Names:</b> Names that are not in the {@link Item} registry are kept in a separate set,
+ *         created only when the first one is added.</li>
+ * </ul>
+ */
+public final class Inventory extends AbstractSet<String> {
+
+   /**
+    * The largest stack of a single item.
+    */
+   public static final int MAX_STACK = 99;
+
+   private static final int ITEM_COUNT = Item.values().length;
+
+   private long mask;
+   private final byte[] counts = new byte[ITEM_COUNT];
+   private Set<String> others;
+
+   /**
+    * Creates an empty inventory.
+    */
+   public Inventory() {
+   }
+
+   /**
+    * Creates an inventory holding one of each of the named items.
+    *
+    * @param items the display names of the items
+    */
+   public Inventory(Collection<String> items) {
+      addAll(items);
+   }
+
+   /**
+    * Checks whether the inventory holds an item.
+    *
+    * @param item the item
+    * @return {@code true} if at least one is held
+    */
+   public boolean has(Item item) {
+      return (mask & item.mask()) != 0;
+   }
+
+   /**
+    * Returns how many of an item are held.
+    *
+    * @param item the item
+    * @return the stack size, {@code 0} if none is held
+    */
+   public int count(Item item) {
+      return counts[item.ordinal()];
+   }
+
+   /**
+    * Adds one of an item to its stack.
+    *
+    * @param item the item
+    * @return {@code true} if the item was not held before
+    */
+   public boolean add(Item item) {
+      return add(item, 1);
+   }
+
+   /**
+    * Adds several of an item to its stack, up to {@value #MAX_STACK}.
+    *
+    * @param item   the item
+    * @param amount how many to add
+    * @return {@code true} if the item was not held before
+    * @throws IllegalArgumentException if the amount is not positive
+    */
+   public boolean add(Item item, int amount) {
+      if (amount <= 0) {
+         throw new IllegalArgumentException("Amount must be positive: " + amount);
+      }
+      int index = item.ordinal();
+      boolean added = counts[index] == 0;
+      counts[index] = (byte) Math.min(MAX_STACK, counts[index] + amount);
+      mask |= item.mask();
+      return added;
+   }
+
+   /**
+    * Takes one of an item from its stack.
+    *
+    * @param item the item
+    * @return {@code true} if one was held and has been taken
+    */
+   public boolean removeOne(Item item) {
+      int index = item.ordinal();
+      if (counts[index] == 0) {
+         return false;
+      }
+      if (--counts[index] == 0) {
+         mask &= ~item.mask();
+      }
+      return true;
+   }
+
+   /**
+    * Removes a whole stack.
+    *
+    * @param item the item
+    * @return {@code true} if the item was held
+    */
+   public boolean removeStack(Item item) {
+      boolean held = has(item);
+      counts[item.ordinal()] = 0;
+      mask &= ~item.mask();
+      return held;
+   }
+
+   /**
+    * Returns the bits of the held items; see {@link Item#mask()}.
+    *
+    * @return the bitmask of held items
+    */
+   public long getMask() {
+      return mask;
+   }
+
+   /**
+    * Returns the bits of the held items that can be used from the inventory menu.
+    *
+    * @return the bitmask of held, usable items
+    */
+   public long getUsableMask() {
+      return mask & Item.USABLE_MASK;
+   }
+
+   // Set<String> view
+
+   @Override
+   public boolean contains(Object o) {
+      if (!(o instanceof String name)) {
+         return false;
+      }
+      Item item = Item.fromName(name);
+      if (item != null) {
+         return has(item);
+      }
+      return others != null && others.contains(name);
+   }
+
+   @Override
+   public boolean add(String name) {
+      Item item = Item.fromName(name);
+      if (item != null) {
+         return !has(item) && add(item);
+      }
+      if (others == null) {
+         others = new HashSet<>(4);
+      }
+      return others.add(name);
+   }
+
+   @Override
+   public boolean remove(Object o) {
+      if (!(o instanceof String name)) {
+         return false;
+      }
+      Item item = Item.fromName(name);
+      if (item != null) {
+         return removeStack(item);
+      }
+      return others != null && others.remove(name);
+   }
+
+   @Override
+   public void clear() {
+      mask = 0;
+      Arrays.fill(counts, (byte) 0);
+      others = null;
+   }
+
+   @Override
+   public int size() {
+      return Long.bitCount(mask) + (others == null ? 0 : others.size());
+   }
+
+   @Override
+   public boolean isEmpty() {
+      return mask == 0 && (others == null || others.isEmpty());
+   }
+
+   /**
+    * Iterates over the display names of the held items in registry order, then over any unknown names.
+    *
+    * @return an iterator that supports {@link Iterator#remove()}
+    */
+   @Override
+   public Iterator<String> iterator() {
+      return new Iterator<>() {
+         private long remaining = mask;
+         private Item last;
+         private Iterator<String> rest;
+
+         @Override
+         public boolean hasNext() {
+            return remaining != 0 || rest().hasNext();
+         }
+
+         @Override
+         public String next() {
+            if (remaining != 0) {
+               int ordinal = Long.numberOfTrailingZeros(remaining);
+               remaining &= remaining - 1;
+               last = Item.byOrdinal(ordinal);
+               return last.getDisplayName();
+            }
+            last = null;
+            if (!rest().hasNext()) {
+               throw new NoSuchElementException();
+            }
+            return rest.next();
+         }
+
+         @Override
+         public void remove() {
+            if (last != null) {
+               removeStack(last);
+               last = null;
+            } else if (rest != null) {
+               rest.remove();
+            } else {
+               throw new IllegalStateException();
+            }
+         }
+
+         private Iterator<String> rest() {
+            if (rest == null) {
+               rest = others == null ? Collections.emptyIterator() : others.iterator();
+            }
+            return rest;
+         }
+      };
+   }
+
+}
@@ -1,15 +1,17 @@
 package com.dungeonGame.logic;
 
+import com.dungeonGame.GameServices;
 import com.dungeonGame.GameUtils;
 import com.dungeonGame.roomContents.TeleportationActions;
 
-import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
 /**
  * Manages the player's inventory, including adding, removing, and using items.
  * <p>
  * This class also includes methods for random item generation and relic-specific logic.
+ * Items can be named by their {@link Item} constant or, for older code, by their display name.
  * </p>
  */
 public class InventoryManager {
@@ -24,6 +26,16 @@ public class InventoryManager {
       player.getInventory().add(itemName);
    }
 
+   /**
+    * Adds one of an item to the player's inventory, stacking it with any already held.
+    *
+    * @param player the player's data, including inventory
+    * @param item   the item to add
+    */
+   public void addItem(PlayerDataHolder player, Item item) {
+      player.getInventory().add(item);
+   }
+
    /**
     * Checks if the player's inventory contains a specific item.
     *
@@ -36,16 +48,42 @@ public class InventoryManager {
    }
 
    /**
-    * Removes a specific item from the player's inventory if it exists.
+    * Checks if the player's inventory contains a specific item.
+    *
+    * @param player the player's data, including inventory
+    * @param item   the item to check
+    * @return {@code true} if at least one is held, {@code false} otherwise
+    */
+   public boolean hasItem(PlayerDataHolder player, Item item) {
+      return player.getInventory().has(item);
+   }
+
+   /**
+    * Removes one of a specific item from the player's inventory if it exists.
     *
     * @param player   the player's data, including inventory
     * @param itemName the name of the item to remove
     * @return {@code true} if the item was removed, {@code false} otherwise
     */
    public boolean useItem(PlayerDataHolder player, String itemName) {
+      Item item = Item.fromName(itemName);
+      if (item != null) {
+         return useItem(player, item);
+      }
       return player.getInventory().remove(itemName);
    }
 
+   /**
+    * Removes one of a specific item from the player's inventory if it exists.
+    *
+    * @param player the player's data, including inventory
+    * @param item   the item to remove
+    * @return {@code true} if the item was removed, {@code false} otherwise
+    */
+   public boolean useItem(PlayerDataHolder player, Item item) {
+      return player.getInventory().removeOne(item);
+   }
+
    /**
     * Clears all items from the player's inventory.
     *
@@ -55,10 +93,15 @@ public class InventoryManager {
       player.getInventory().clear();
    }
 
+   /**
+    * Random source shared by calls that do not supply their own.
+    */
+   private static final Random RANDOM = GameServices.random();
+
    /**
     * Generates and adds a specified number of random non-potion items to the player's inventory.
     *
-    * <p>This method uses a default {@link Random} instance to generate items.</p>
+    * <p>This method uses a shared default {@link Random} instance to generate items.</p>
     *
     * <ul>
     *     <li>{@link #giveRandomItems(PlayerDataHolder, int, Random)}</li>
@@ -69,35 +112,81 @@ public class InventoryManager {
     * @param amount the number of random items to generate
     */
    public void giveRandomItems(PlayerDataHolder player, int amount) {
-      giveRandomItems(player, amount, new Random());
+      giveRandomItems(player, amount, RANDOM);
    }
 
    /**
     * Generates and adds a specified number of random non-potion items to the player's inventory.
     * A custom {@link Random} instance can be provided for testing or customization.
-    * <p>
+    *
+    * <ul>
+    *     <li><b>Choice:</b> Items are drawn from {@link LootTables#explorerRewards()} by rarity, without
+    *         replacement and never an item the player already holds.</li>
+    *     <li><b>Termination:</b> If the player already holds all but a few of the items, only those few are
+    *         given; the method never retries, so it always finishes.</li>
+    * </ul>
+    *
     * <b>Internal Method Calls:</b>
     * <ul>
-    *     <li>{@link #addItem(PlayerDataHolder, String)}</li>
-    *     <li>{@link #hasItem(PlayerDataHolder, String)}</li>
+    *     <li>{@link LootTables#heldEntries(LootTable, Inventory)}</li>
+    *     <li>{@link LootTable#sampleDistinct(Random, long, int[], int)}</li>
+    *     <li>{@link #addItem(PlayerDataHolder, Item)}</li>
     *     <li>{@link GameUtils#delayPrint(String)}</li>
     * </ul>
     *
     * @param player the player's data, including inventory
     * @param amount the number of random items to generate
     * @param random the {@link Random} instance to use for item generation
+    * @return the number of items given
     */
-   public void giveRandomItems(PlayerDataHolder player, int amount, Random random) {
-      List<String> nonPotionItems = List.of("Teleportation Spell", "Freeze Spell", "Cake", "Sandwich", "Hammer");
-      int itemsAdded = 0;
-      while (itemsAdded < amount) {
-         String randomItem = nonPotionItems.get(random.nextInt(nonPotionItems.size()));
-         if (!hasItem(player, randomItem)) {
-            addItem(player, randomItem);
-            GameUtils.delayPrint("You received: " + randomItem);
-            itemsAdded++;
+   public int giveRandomItems(PlayerDataHolder player, int amount, Random random) {
+      return giveRandomItems(player, amount, random, GameUtils::delayPrint);
+   }
+
+   /**
+    * Generates random items like {@link #giveRandomItems(PlayerDataHolder, int, Random)}, but announces each
+    * item through the given callback instead of the console, for example to a player's session.
+    *
+    * @param player   the player's data, including inventory
+    * @param amount   the number of random items to generate
+    * @param random   the {@link Random} instance to use for item generation
+    * @param announce receives one message per item given
+    * @return the number of items given
+    */
+   public int giveRandomItems(PlayerDataHolder player, int amount, Random random, Consumer<String> announce) {
+      LootTable<Item> rewards = LootTables.explorerRewards();
+      long held = LootTables.heldEntries(rewards, player.getInventory());
+      int[] drawnItems = new int[Math.max(0, Math.min(amount, LootTable.MAX_ENTRIES))];
+      int given = rewards.sampleDistinct(random, held, drawnItems, drawnItems.length);
+      for (int i = 0; i < given; i++) {
+         Item item = rewards.get(drawnItems[i]);
+         addItem(player, item);
+         announce.accept("You received: " + item.getDisplayName());
+      }
+      return given;
+   }
+
+   /**
+    * Handles the usage of an inventory item chosen by its menu label, for example {@code "Cake (+3 Power Points)"}.
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link Item#getMenuLabel()}</li>
+    *     <li>{@link #handleInventoryItemUse(Item, PlayerDataHolder, PositionDataHolder)}</li>
+    * </ul>
+    *
+    * @param selectedItem the menu label of the item to use
+    * @param player       the player's data, including inventory
+    * @param pm           the player's position manager
+    */
+   public void handleInventoryItemUse(String selectedItem, PlayerDataHolder player, PositionDataHolder pm) {
+      for (Item item : Item.values()) {
+         if (item.isUsable() && item.getMenuLabel().equals(selectedItem)) {
+            handleInventoryItemUse(item, player, pm);
+            return;
          }
       }
+      // no default action
    }
 
    /**
@@ -106,86 +195,42 @@ public class InventoryManager {
     * <ul>
     *     <li><b>Supported Items:</b>
     *         <ul>
-    *             <li>{@code "Teleportation Spell"} - Teleports the player to a random location.</li>
-    *             <li>{@code "Cake"} - Restores 3 power points.</li>
-    *             <li>{@code "Sandwich"} - Restores 5 power points.</li>
+    *             <li>{@link Item#TELEPORTATION_SPELL} - Teleports the player to a random location.</li>
+    *             <li>Food such as {@link Item#CAKE} and {@link Item#SANDWICH} - Restores the item's
+    *                 {@linkplain Item#getPowerPointEffect() power point effect}.</li>
     *         </ul>
     *     </li>
+    *     <li><b>Other Items:</b> Items that are not {@linkplain Item#isUsable() usable} have no effect here.</li>
     * </ul>
     *
     * <b>Internal Method Calls:</b>
     * <ul>
-    *     <li>{@link #useItem(PlayerDataHolder, String)}</li>
+    *     <li>{@link #useItem(PlayerDataHolder, Item)}</li>
     *     <li>{@link TeleportationActions#useTeleportationSpell(PositionDataHolder)}</li>
     *     <li>{@link PowerPointManager#addPowerPoints(PlayerDataHolder, int)}</li>
     * </ul>
     *
-    * @param selectedItem the name of the item to use
-    * @param player       the player's data, including inventory
-    * @param pm           the player's position manager
+    * @param item   the item to use
+    * @param player the player's data, including inventory
+    * @param pm     the player's position manager
     */
-   public void handleInventoryItemUse(String selectedItem, PlayerDataHolder player, PositionDataHolder pm) {
-
-      TeleportationActions teleportationActions = new TeleportationActions();
-      PowerPointManager pointManager = new PowerPointManager();
-
-      switch (selectedItem) {
-         case "Teleportation Spell":
-            if (useItem(player, "Teleportation Spell")) {
-               GameUtils.delayPrint("You used the Teleportation Spell!");
-               teleportationActions.useTeleportationSpell(pm);
-            } else {
-               GameUtils.delayPrint("You don't have a Teleportation Spell anymore.");
-            }
-            break;
-         case "Cake (+3 Power Points)":
-            if (useItem(player, "Cake")) {
-               GameUtils.delayPrint("You ate the Cake and gained 3 Power Points!");
-               pointManager.addPowerPoints(player, 3);
-            } else {
-               GameUtils.delayPrint("You don't have a Cake anymore.");
-            }
-            break;
-         case "Sandwich (+5 Power Points)":
-            if (useItem(player, "Sandwich")) {
-               GameUtils.delayPrint("You ate the Sandwich and gained 5 Power Points!");
-               pointManager.addPowerPoints(player, 5);
-            } else {
-               GameUtils.delayPrint("You don't have a Sandwich anymore.");
-            }
-            break;
-         default:
-            // no default action
-            break;
+   public void handleInventoryItemUse(Item item, PlayerDataHolder player, PositionDataHolder pm) {
+      if (!item.isUsable()) {
+         return;
       }
-   }
-
-   /**
-    * An inner class that handles logic related to the Relic, a unique item in the game.
-    */
-   public static class RelicManager {
-
-      /**
-       * Tracks whether the player has found the relic. Initially set to {@code false}.
-       */
-      private static boolean relicFound = false;
-
-      /**
-       * Checks if the relic has been found.
-       *
-       * @return {@code true} if the relic has been found, {@code false} otherwise
-       */
-      public static boolean isRelicFound() {
-         return relicFound;
+      String name = item.getDisplayName();
+      if (!useItem(player, item)) {
+         GameUtils.delayPrint("You don't have a " + name + " anymore.");
+         return;
       }
 
-      /**
-       * Marks the relic as found, ensuring it will not appear again in the game.
-       */
-      public static void markRelicFound() {
-         relicFound = true;
+      if (item == Item.TELEPORTATION_SPELL) {
+         GameUtils.delayPrint("You used the Teleportation Spell!");
+         GameServices.teleportationActions().useTeleportationSpell(pm);
+      } else {
+         GameUtils.delayPrint("You ate the " + name + " and gained " + item.getPowerPointEffect() + " Power Points!");
+         GameServices.powerPointManager().addPowerPoints(player, item.getPowerPointEffect());
       }
-
    }
 
 }
@@ -0,0 +1,145 @@
+package com.dungeonGame.logic;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The registry of items a player can carry, with the metadata the game needs about each one.
+ *
+ * <p>
+ * Every item has a fixed bit ({@link #mask()}) so an {@link Inventory} can store which items it holds
+ * in a single {@code long}. Items are still known to players, saves and older code by their display
+ * names; {@link #fromName(String)} translates a name back to its item.
+ * </p>
+ */
+public enum Item {
+
+   TELEPORTATION_SPELL("Teleportation Spell", true, 0, Rarity.RARE),
+   FREEZE_SPELL("Freeze Spell", false, 0, Rarity.UNCOMMON),
+   CAKE("Cake", true, 3, Rarity.COMMON),
+   SANDWICH("Sandwich", true, 5, Rarity.COMMON),
+   HAMMER("Hammer", false, 0, Rarity.UNCOMMON),
+   RELIC("Relic", false, 0, Rarity.UNIQUE);
+
+   /**
+    * How often an item turns up.
+    */
+   public enum Rarity {
+      COMMON,
+      UNCOMMON,
+      RARE,
+
+      /**
+       * Exists once per game.
+       */
+      UNIQUE
+   }
+
+   /**
+    * Lookup table from display name to item, built once.
+    */
+   private static final Map<String, Item> BY_NAME = new HashMap<>();
+
+   /**
+    * Lookup table from ordinal to item, avoiding the array copy made by {@link #values()}.
+    */
+   private static final Item[] BY_ORDINAL = values();
+
+   /**
+    * Bits of every item that can be used from the inventory menu.
+    */
+   static final long USABLE_MASK;
+
+   static {
+      if (BY_ORDINAL.length > Long.SIZE) {
+         throw new ExceptionInInitializerError("An inventory bitmask holds at most " + Long.SIZE + " items.");
+      }
+      long usable = 0;
+      for (Item item : BY_ORDINAL) {
+         BY_NAME.put(item.displayName, item);
+         if (item.usable) {
+            usable |= item.mask();
+         }
+      }
+      USABLE_MASK = usable;
+   }
+
+   private final String displayName;
+   private final boolean usable;
+   private final int powerPointEffect;
+   private final Rarity rarity;
+
+   Item(String displayName, boolean usable, int powerPointEffect, Rarity rarity) {
+      this.displayName = displayName;
+      this.usable = usable;
+      this.powerPointEffect = powerPointEffect;
+      this.rarity = rarity;
+   }
+
+   // Getters
+
+   public String getDisplayName() {
+      return displayName;
+   }
+
+   /**
+    * Checks whether the item can be used from the inventory menu.
+    *
+    * @return {@code true} for items with an effect outside encounters
+    */
+   public boolean isUsable() {
+      return usable;
+   }
+
+   /**
+    * Returns the power points gained by using the item.
+    *
+    * @return the power point change, {@code 0} for items without one
+    */
+   public int getPowerPointEffect() {
+      return powerPointEffect;
+   }
+
+   public Rarity getRarity() {
+      return rarity;
+   }
+
+   /**
+    * Returns the label shown for the item in the inventory menu, for example {@code "Cake (+3 Power Points)"}.
+    *
+    * @return the menu label
+    */
+   public String getMenuLabel() {
+      return powerPointEffect == 0 ? displayName : displayName + " (+" + powerPointEffect + " Power Points)";
+   }
+
+   /**
+    * Returns the item's bit in an inventory bitmask.
+    *
+    * @return a {@code long} with exactly one bit set
+    */
+   public long mask() {
+      return 1L << ordinal();
+   }
+
+   /**
+    * Finds an item by its display name.
+    *
+    * @param name the display name, for example {@code "Freeze Spell"}
+    * @return the item, or {@code null} if no item has that name
+    */
+   public static Item fromName(String name) {
+      return BY_NAME.get(name);
+   }
+
+   /**
+    * Finds an item by its ordinal.
+    *
+    * @param ordinal the item's position in the registry
+    * @return the item
+    */
+   static Item byOrdinal(int ordinal) {
+      return BY_ORDINAL[ordinal];
+   }
+
+}
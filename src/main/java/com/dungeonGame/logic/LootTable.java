@@ -0,0 +1,233 @@
+package com.dungeonGame.logic;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A fixed set of loot entries with weights, compiled once into an alias-method sampler.
+ *
+ * <p>
+ * Building the table splits the weights into {@code n} equal columns, each holding at most two entries
+ * (Vose's alias method). Drawing an entry is then one random column and one biased coin flip, whatever the
+ * weights are. Tables are immutable, so one table can be shared by every search in the game.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Exclusions:</b> Entries are numbered by their position, and a set of entries is a {@code long}
+ *         bitmask, so a table holds at most {@value #MAX_ENTRIES} entries.</li>
+ *     <li><b>Without Replacement:</b> {@link #sampleDistinct(Random, long, int[], int)} draws each pick with one
+ *         alias draw; only if that lands on an excluded entry does it fall back to one scan of the weights.
+ *         It never retries, so it always finishes, and it allocates nothing.</li>
+ * </ul>
+ *
+ * @param <T> the type of the entries
+ */
+public final class LootTable<T> {
+
+   /**
+    * The largest number of entries a table can hold.
+    */
+   public static final int MAX_ENTRIES = Long.SIZE;
+
+   private final Object[] entries;
+   private final double[] weights;
+   private final double totalWeight;
+
+   /**
+    * Probability of keeping each column's own entry instead of its alias.
+    */
+   private final double[] probability;
+   private final int[] alias;
+
+   /**
+    * Compiles a table.
+    *
+    * @param entries the entries
+    * @param weights the weight of each entry, in the same order; they need not add up to anything
+    * @throws IllegalArgumentException if the sizes differ, there are no or too many entries, or a weight
+    *                                  is negative, not finite, or all weights are zero
+    */
+   public LootTable(List<T> entries, double... weights) {
+      int n = entries.size();
+      if (n != weights.length) {
+         throw new IllegalArgumentException(n + " entries but " + weights.length + " weights.");
+      }
+      if (n == 0 || n > MAX_ENTRIES) {
+         throw new IllegalArgumentException("A loot table needs 1 to " + MAX_ENTRIES + " entries, not " + n + ".");
+      }
+      double total = 0;
+      for (double weight : weights) {
+         if (!(weight >= 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Invalid loot weight: " + weight);
+         }
+         total += weight;
+      }
+      if (total == 0) {
+         throw new IllegalArgumentException("At least one loot weight must be positive.");
+      }
+      this.entries = entries.toArray();
+      this.weights = weights.clone();
+      this.totalWeight = total;
+      this.probability = new double[n];
+      this.alias = new int[n];
+
+      // Scale the weights so the average column is 1, then pair each light column with a heavy one
+      double[] scaled = new double[n];
+      Deque<Integer> small = new ArrayDeque<>();
+      Deque<Integer> large = new ArrayDeque<>();
+      for (int i = 0; i < n; i++) {
+         scaled[i] = weights[i] * n / total;
+         (scaled[i] < 1 ? small : large).push(i);
+      }
+      while (!small.isEmpty() && !large.isEmpty()) {
+         int light = small.pop();
+         int heavy = large.pop();
+         probability[light] = scaled[light];
+         alias[light] = heavy;
+         scaled[heavy] = scaled[heavy] + scaled[light] - 1;
+         (scaled[heavy] < 1 ? small : large).push(heavy);
+      }
+      // Whatever is left is 1 up to rounding
+      while (!large.isEmpty()) {
+         int i = large.pop();
+         probability[i] = 1;
+         alias[i] = i;
+      }
+      while (!small.isEmpty()) {
+         int i = small.pop();
+         probability[i] = 1;
+         alias[i] = i;
+      }
+   }
+
+   /**
+    * Returns the number of entries.
+    *
+    * @return the entry count
+    */
+   public int size() {
+      return entries.length;
+   }
+
+   /**
+    * Returns an entry by its position.
+    *
+    * @param index the entry's position
+    * @return the entry
+    */
+   @SuppressWarnings("unchecked")
+   public T get(int index) {
+      return (T) entries[index];
+   }
+
+   /**
+    * Returns the weight an entry was given.
+    *
+    * @param index the entry's position
+    * @return its weight
+    */
+   public double getWeight(int index) {
+      return weights[index];
+   }
+
+   /**
+    * Returns the position of an entry.
+    *
+    * @param entry the entry to find
+    * @return its position, or {@code -1} if it is not in the table
+    */
+   public int indexOf(T entry) {
+      for (int i = 0; i < entries.length; i++) {
+         if (entries[i].equals(entry)) {
+            return i;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * Draws one entry with probability proportional to its weight.
+    *
+    * @param random the random source
+    * @return the position of the drawn entry
+    */
+   public int sample(Random random) {
+      int column = random.nextInt(entries.length);
+      return random.nextDouble() < probability[column] ? column : alias[column];
+   }
+
+   /**
+    * Draws one entry, never one of the excluded entries.
+    *
+    * <ul>
+    *     <li><b>Distribution:</b> Proportional to the weights of the entries that are not excluded.</li>
+    *     <li><b>Cost:</b> One alias draw; one scan of the weights only when that draw is excluded.</li>
+    * </ul>
+    *
+    * @param random   the random source
+    * @param excluded bitmask of entry positions that must not be drawn
+    * @return the position of the drawn entry, or {@code -1} if every entry with weight is excluded
+    */
+   public int sample(Random random, long excluded) {
+      int drawn = sample(random);
+      if ((excluded & (1L << drawn)) == 0) {
+         return drawn;
+      }
+      // Rejected: draw exactly once from the remaining weight instead of retrying
+      double remaining = 0;
+      for (int i = 0; i < weights.length; i++) {
+         if ((excluded & (1L << i)) == 0) {
+            remaining += weights[i];
+         }
+      }
+      if (remaining <= 0) {
+         return -1;
+      }
+      double target = random.nextDouble() * remaining;
+      int last = -1;
+      for (int i = 0; i < weights.length; i++) {
+         if ((excluded & (1L << i)) == 0 && weights[i] > 0) {
+            last = i;
+            target -= weights[i];
+            if (target < 0) {
+               return i;
+            }
+         }
+      }
+      return last;
+   }
+
+   /**
+    * Draws several different entries, skipping the excluded ones.
+    *
+    * @param random   the random source
+    * @param excluded bitmask of entry positions that must not be drawn
+    * @param out      receives the positions of the drawn entries, in draw order
+    * @param count    how many entries to draw
+    * @return how many entries were drawn; fewer than {@code count} only if the table ran out
+    */
+   public int sampleDistinct(Random random, long excluded, int[] out, int count) {
+      int drawn = 0;
+      while (drawn < count) {
+         int index = sample(random, excluded);
+         if (index < 0) {
+            break;
+         }
+         out[drawn++] = index;
+         excluded |= 1L << index;
+      }
+      return drawn;
+   }
+
+   /**
+    * Returns the total weight of the table.
+    *
+    * @return the sum of all weights
+    */
+   public double getTotalWeight() {
+      return totalWeight;
+   }
+
+}
@@ -0,0 +1,122 @@
+package com.dungeonGame.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The loot tables of the game, compiled once when the class is loaded.
+ *
+ * <ul>
+ *     <li><b>Weights:</b> Each item is weighted by its {@link Item.Rarity}; see {@link #weightOf(Item.Rarity)}.</li>
+ *     <li><b>Search Loot:</b> What the player can find when looking around. Level 3 adds the Relic; the other
+ *         levels share one table.</li>
+ *     <li><b>Explorer Rewards:</b> What the Lost Explorer hands out after being defeated.</li>
+ * </ul>
+ */
+public final class LootTables {
+
+   /**
+    * The search entry that stands for a random potion, drunk on the spot.
+    */
+   public static final String POTION = "Potion";
+
+   /**
+    * Weight of a potion in the search tables, the same as a common item.
+    */
+   private static final double POTION_WEIGHT = 4;
+
+   /**
+    * The level whose search table contains the Relic.
+    */
+   private static final int RELIC_LEVEL = 3;
+
+   private static final Item[] FINDABLE_ITEMS = {
+           Item.TELEPORTATION_SPELL, Item.FREEZE_SPELL, Item.CAKE, Item.SANDWICH, Item.HAMMER
+   };
+
+   private static final LootTable<String> SEARCH = searchTable(false);
+   private static final LootTable<String> RELIC_LEVEL_SEARCH = searchTable(true);
+   private static final LootTable<Item> EXPLORER_REWARDS = itemTable(FINDABLE_ITEMS);
+
+   /**
+    * Private constructor to prevent instantiation of the {@code LootTables} utility class.
+    */
+   private LootTables() {
+   }
+
+   /**
+    * Returns the table of things the player can find by looking around on a level.
+    *
+    * @param levelNumber the level being searched
+    * @return the level's search table; entries are item display names or {@link #POTION}
+    */
+   public static LootTable<String> searchTable(int levelNumber) {
+      return levelNumber == RELIC_LEVEL ? RELIC_LEVEL_SEARCH : SEARCH;
+   }
+
+   /**
+    * Returns the table of items the Lost Explorer gives as a reward.
+    *
+    * @return the reward table
+    */
+   public static LootTable<Item> explorerRewards() {
+      return EXPLORER_REWARDS;
+   }
+
+   /**
+    * Returns the loot weight of a rarity.
+    *
+    * @param rarity the rarity
+    * @return the relative weight; rarer items weigh less
+    */
+   public static double weightOf(Item.Rarity rarity) {
+      return switch (rarity) {
+         case COMMON -> 4;
+         case UNCOMMON -> 3;
+         case RARE -> 2;
+         case UNIQUE -> 2;
+      };
+   }
+
+   /**
+    * Builds a bitmask of the table entries the player already holds.
+    *
+    * @param table     an item table
+    * @param inventory the player's inventory
+    * @return a bitmask of entry positions, for the {@code excluded} parameter of {@link LootTable}'s samplers
+    */
+   public static long heldEntries(LootTable<Item> table, Inventory inventory) {
+      long held = 0;
+      for (int i = 0; i < table.size(); i++) {
+         if (inventory.has(table.get(i))) {
+            held |= 1L << i;
+         }
+      }
+      return held;
+   }
+
+   private static LootTable<String> searchTable(boolean withRelic) {
+      List<String> entries = new ArrayList<>();
+      List<Double> weights = new ArrayList<>();
+      for (Item item : FINDABLE_ITEMS) {
+         entries.add(item.getDisplayName());
+         weights.add(weightOf(item.getRarity()));
+      }
+      entries.add(POTION);
+      weights.add(POTION_WEIGHT);
+      if (withRelic) {
+         entries.add(Item.RELIC.getDisplayName());
+         weights.add(weightOf(Item.RELIC.getRarity()));
+      }
+      return new LootTable<>(entries, weights.stream().mapToDouble(Double::doubleValue).toArray());
+   }
+
+   private static LootTable<Item> itemTable(Item[] items) {
+      double[] weights = new double[items.length];
+      for (int i = 0; i < items.length; i++) {
+         weights[i] = weightOf(items[i].getRarity());
+      }
+      return new LootTable<>(List.of(items), weights);
+   }
+
+}
@@ -1,8 +1,14 @@
 package com.dungeonGame.logic;
 
+import com.dungeonGame.GameServices;
 import com.dungeonGame.GameUtils;
 import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.logic.mapAndLevelHandler.DistanceField;
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import com.dungeonGame.logic.solver.LevelSolver;
+import com.dungeonGame.telemetry.EventRing;
 
 /**
  * Handles player movement within the dungeon. Processes user commands to move
@@ -10,12 +16,18 @@ import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
  */
 public class MovementLogic {
 
-   PowerPointManager pointManager = new PowerPointManager();
-   SearchActions searchActions = new SearchActions();
-   DisplayManager displayManager = new DisplayManager();
+   PowerPointManager pointManager = GameServices.powerPointManager();
+   SearchActions searchActions = GameServices.searchActions();
+   DisplayManager displayManager = GameServices.displayManager();
    EncounterManager encounterManager = new EncounterManager();
+   EventRing events = GameServices.events();
    //EncounterManager.EncounterState encounterState = encounterManager.getEncounterState();
 
+   /**
+    * Each thread's buffer for the "Player moved" message printed on every move, so moving allocates nothing.
+    */
+   private static final ThreadLocal<StringBuilder> MESSAGE = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
    /**
     * Processes the player's movement input and updates their position if the move is valid.
     *
@@ -28,26 +40,34 @@ public class MovementLogic {
     *             <li>{@code "right"}, {@code "move right"}, {@code "go right"} - Move right.</li>
     *             <li>{@code "look around"}, {@code "search"}, {@code "observe"} - Look around the room.</li>
     *             <li>{@code "inventory"}, {@code "bag"}, {@code "open inventory"} - Open the inventory.</li>
+    *             <li>{@code "map"}, {@code "show map"} - Show the explored part of the level.</li>
+    *             <li>{@code "walk to exit"}, {@code "goto exit"}, {@code "goto <room>"} (e.g. {@code "goto b3"}) -
+    *                 Walk along the shortest path to the exit or to the named room.</li>
+    *             <li>{@code "hint"} - Show the best thing to do next and the risk of every choice.</li>
     *         </ul>
     *     </li>
     *     <li><b>Consequences:</b>
     *         <ul>
     *             <li>If the move is invalid, a message is displayed, and no changes are made.</li>
-    *             <li>If valid, updates the player's position and deducts 5 power points.</li>
+    *             <li>If valid, updates the player's position and deducts {@value #MOVE_COST} power points.</li>
     *             <li>Triggers encounters if the player moves into an encounter room.</li>
     *         </ul>
     *     </li>
+    *     <li><b>Events:</b> Moves and searches are published to {@link GameServices#events()}.</li>
     * </ul>
     *
     * <b>Internal Method Calls:</b>
     * <ul>
     *     <li>{@link GameUtils#clearConsole()}</li>
+    *     <li>{@link #parseDirection(String)}</li>
     *     <li>{@link SearchActions#lookAround(PositionDataHolder, PlayerDataHolder)}</li>
     *     <li>{@link DisplayManager#displayCurrentRoom(PositionDataHolder, PlayerDataHolder)}</li>
     *     <li>{@link DisplayManager#displayInventory(PlayerDataHolder, PositionDataHolder)}</li>
+    *     <li>{@link DisplayManager#displayMapWithPlayerLocation(PositionDataHolder)}</li>
     *     <li>{@link #isValidMove(int, int)}</li>
-    *     <li>{@link PowerPointManager#deductPowerPoints(PlayerDataHolder, int)}</li>
-    *     <li>{@link EncounterManager#checkForEncounters(PositionDataHolder, PlayerDataHolder, InventoryManager)}</li>
+    *     <li>{@link #handleAutoWalk(PositionDataHolder, PlayerDataHolder, String, InventoryManager)}</li>
+    *     <li>{@link #completeMove(PositionDataHolder, PlayerDataHolder, int, int, String, InventoryManager)}</li>
+    *     <li>{@link #showHint(PositionDataHolder, PlayerDataHolder)}</li>
     * </ul>
     *
     * @param pm        the player's position manager
@@ -57,42 +77,19 @@ public class MovementLogic {
     */
    public boolean handleMovement(PositionDataHolder pm, PlayerDataHolder player, String userInput, InventoryManager inventoryManager) {
 
-      int newX = pm.getPlayerX();
-      int newY = pm.getPlayerY();
+      int direction = parseDirection(userInput);
+      if (direction != NO_DIRECTION) {
+         int newX = pm.getPlayerX() + ROW_STEP[direction];
+         int newY = pm.getPlayerY() + COLUMN_STEP[direction];
+         if (!isValidMove(newX, newY)) {
+            return false;
+         }
+         completeMove(pm, player, newX, newY, userInput, inventoryManager);
+         displayManager.displayCurrentRoom(pm, player);
+         return true;
+      }
 
       switch (userInput.toLowerCase()) {
-         case "up":
-         case "move up":
-         case "move forward":
-         case "forward":
-         case "go up":
-         case "upwards":
-         case "move upwards":
-            newX--;
-            break;
-
-         case "down":
-         case "go down":
-         case "below":
-         case "go below":
-         case "move below":
-         case "behind":
-         case "go behind":
-            newX++;
-            break;
-
-         case "left":
-         case "go left":
-         case "move left":
-            newY--;
-            break;
-
-         case "right":
-         case "go right":
-         case "move right":
-            newY++;
-            break;
-
          case "look around":
          case "search":
          case "around":
@@ -100,6 +97,8 @@ public class MovementLogic {
          case "observe":
             GameUtils.clearConsole();
             searchActions.lookAround(pm, player);
+            events.publishSearch(DungeonMap.getCurrentLevelNumber(), pm.getPlayerX(), pm.getPlayerY(),
+                    player.getPowerPoints());
             displayManager.displayCurrentRoom(pm, player);
             return false;
 
@@ -113,21 +112,246 @@ public class MovementLogic {
             displayManager.displayCurrentRoom(pm, player);
             return false;
 
+         case "map":
+         case "show map":
+            GameUtils.clearConsole();
+            displayManager.displayMapWithPlayerLocation(pm);
+            return false;
+
+         case "hint":
+            showHint(pm, player);
+            return false;
+
+         case "walk to exit":
+         case "go to exit":
+         case "goto exit":
+            return handleAutoWalk(pm, player, "exit", inventoryManager);
+
          default:
+            String command = userInput.toLowerCase();
+            if (command.startsWith("goto ")) {
+               return handleAutoWalk(pm, player, command.substring(5).trim(), inventoryManager);
+            }
+            if (command.startsWith("go to ")) {
+               return handleAutoWalk(pm, player, command.substring(6).trim(), inventoryManager);
+            }
             GameUtils.delayPrint("Invalid input!");
             return false;
       }
+   }
+
+   /**
+    * The power points every move into another room costs.
+    */
+   public static final int MOVE_COST = 3;
+
+   /**
+    * Returned by {@link #parseDirection(String)} for commands that are not moves.
+    */
+   public static final int NO_DIRECTION = -1;
+
+   // Change of row and column for each direction returned by parseDirection: up, down, left, right
+   private static final int[] ROW_STEP = {-1, 1, 0, 0};
+   private static final int[] COLUMN_STEP = {0, 0, -1, 1};
+
+   /**
+    * Returns how a move in a direction changes the player's row.
+    *
+    * @param direction a direction returned by {@link #parseDirection(String)}
+    * @return -1, 0 or 1
+    */
+   public static int rowStep(int direction) {
+      return ROW_STEP[direction];
+   }
 
-      if (!isValidMove(newX, newY)) {
+   /**
+    * Returns how a move in a direction changes the player's column.
+    *
+    * @param direction a direction returned by {@link #parseDirection(String)}
+    * @return -1, 0 or 1
+    */
+   public static int columnStep(int direction) {
+      return COLUMN_STEP[direction];
+   }
+
+   /**
+    * Recognises the movement commands, including their variants such as {@code "go up"} or {@code "behind"}.
+    *
+    * @param command the player's command
+    * @return 0 for up, 1 for down, 2 for left, 3 for right, or {@link #NO_DIRECTION} if the command is not a move
+    */
+   public static int parseDirection(String command) {
+      return switch (command.toLowerCase()) {
+         case "up", "move up", "move forward", "forward", "go up", "upwards", "move upwards" -> 0;
+         case "down", "go down", "below", "go below", "move below", "behind", "go behind" -> 1;
+         case "left", "go left", "move left" -> 2;
+         case "right", "go right", "move right" -> 3;
+         default -> NO_DIRECTION;
+      };
+   }
+
+   /**
+    * Walks the player along the shortest path to the exit or to a named room, one room at a time.
+    *
+    * <ul>
+    *     <li><b>Targets:</b> {@code "exit"}, or a room name as shown in the room description (e.g. {@code "b3"}
+    *         or {@code "ab12"}), or its row and column as numbers (e.g. {@code "28,12"}).</li>
+    *     <li><b>Consequences:</b>
+    *         <ul>
+    *             <li>Every step costs power points and can trigger encounters, exactly like a manual move.</li>
+    *             <li>The walk stops early if the player runs out of power points, steps onto an exit, or is
+    *                 moved by an encounter to a room the path does not lead on from.</li>
+    *             <li>If the target is unknown, a wall, or unreachable, a message is displayed and the player stays put.</li>
+    *         </ul>
+    *     </li>
+    * </ul>
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link Level#getDistanceField(int)}</li>
+    *     <li>{@link DistanceField#nextStep(int)}</li>
+    *     <li>{@link #completeMove(PositionDataHolder, PlayerDataHolder, int, int, String, InventoryManager)}</li>
+    *     <li>{@link DisplayManager#displayCurrentRoom(PositionDataHolder, PlayerDataHolder)}</li>
+    * </ul>
+    *
+    * @param pm               the player's position manager
+    * @param player           the player's data, including inventory and power points
+    * @param target           {@code "exit"} or a room name
+    * @param inventoryManager the inventory manager passed on to encounters
+    * @return {@code true} if the player moved at least one room, {@code false} otherwise
+    */
+   private boolean handleAutoWalk(PositionDataHolder pm, PlayerDataHolder player, String target, InventoryManager inventoryManager) {
+      Level level = DungeonMap.getCurrentLevel();
+      int targetCell = resolveTarget(level, target);
+      if (targetCell == -1) {
+         GameUtils.delayPrint("You don't know where \"" + target + "\" is.");
+         return false;
+      }
+
+      DistanceField field = level.getDistanceField(targetCell);
+      int cell = level.index(pm.getPlayerX(), pm.getPlayerY());
+      if (field.getDistance(cell) == DistanceField.UNREACHABLE) {
+         GameUtils.delayPrint("There is no way to get there from here.");
+         return false;
+      }
+      if (cell == targetCell) {
+         GameUtils.delayPrint("You are already there.");
          return false;
       }
 
+      boolean moved = false;
+      while (cell != targetCell && player.isAlive()) {
+         int next = field.nextStep(cell);
+         if (next == -1) {
+            break;
+         }
+         completeMove(pm, player, level.rowOf(next), level.columnOf(next), null, inventoryManager);
+         moved = true;
+         cell = level.index(pm.getPlayerX(), pm.getPlayerY());
+         if (level.getTileAt(cell) == Tile.EXIT) {
+            break;
+         }
+      }
+
+      displayManager.displayCurrentRoom(pm, player);
+      return moved;
+   }
+
+   /**
+    * Moves the player into a room that has already been validated, and applies the cost of moving.
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link PositionDataHolder#setCurrentPosition(int, int)}</li>
+    *     <li>{@link PowerPointManager#deductPowerPoints(PlayerDataHolder, int)}</li>
+    *     <li>{@link EventRing#publishMove(int, int, int, int)}</li>
+    *     <li>{@link EncounterManager#checkForEncounters(PositionDataHolder, PlayerDataHolder, InventoryManager)}</li>
+    * </ul>
+    *
+    * @param pm               the player's position manager
+    * @param player           the player's data, including inventory and power points
+    * @param newX             the target x-coordinate
+    * @param newY             the target y-coordinate
+    * @param description      how the move is described to the player (e.g. {@code "up"}), or {@code null} to
+    *                         name the room moved to (e.g. {@code "to Room B3"})
+    * @param inventoryManager the inventory manager passed on to encounters
+    */
+   private void completeMove(PositionDataHolder pm, PlayerDataHolder player, int newX, int newY, String description, InventoryManager inventoryManager) {
       pm.setCurrentPosition(newX, newY);
-      GameUtils.delayPrint("Player moved " + userInput + ".");
-      pointManager.deductPowerPoints(player, 3);
+      StringBuilder message = MESSAGE.get();
+      message.setLength(0);
+      message.append("Player moved ");
+      if (description != null) {
+         message.append(description);
+      } else {
+         // Named the same way as in DisplayManager#displayCurrentRoom
+         Level.appendRoomName(message.append("to Room "), newX, newY);
+      }
+      GameUtils.delayPrint(message.append('.'));
+      pointManager.deductPowerPoints(player, MOVE_COST);
+      events.publishMove(DungeonMap.getCurrentLevelNumber(), newX, newY, player.getPowerPoints());
       encounterManager.checkForEncounters(pm, player, inventoryManager);
-      displayManager.displayCurrentRoom(pm, player);
-      return true;
+   }
+
+   /**
+    * Tells the player what perfect play would do next, by solving the rest of the level from where they are.
+    *
+    * <ul>
+    *     <li><b>Output:</b> The best choice, then every choice with the power points it can be expected to leave
+    *         the level with and the risk of never getting out.</li>
+    *     <li><b>Large Levels:</b> If the level has too many states to solve, the player is told so.</li>
+    * </ul>
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link LevelSolver#solve(int, int, int, Inventory)}</li>
+    *     <li>{@link GameUtils#delayPrint(String)}</li>
+    *     <li>{@link GameUtils#printLine(CharSequence)}</li>
+    * </ul>
+    *
+    * @param pm     the player's position manager
+    * @param player the player's data, including inventory and power points
+    */
+   private void showHint(PositionDataHolder pm, PlayerDataHolder player) {
+      LevelSolver.Solution solution;
+      try {
+         solution = new LevelSolver(DungeonMap.getCurrentLevel(), encounterManager.getEncounterState().getEntities())
+                 .solve(pm.getPlayerX(), pm.getPlayerY(), player.getPowerPoints(), player.getInventory());
+      } catch (IllegalArgumentException | IllegalStateException e) {
+         GameUtils.delayPrint("This level is too large to think all the way through.");
+         return;
+      }
+
+      LevelSolver.Choice best = solution.best();
+      if (best == null || best.exitChance() == 0) {
+         GameUtils.delayPrint("Whatever you do, you will not find your way out of this level.");
+         return;
+      }
+      GameUtils.delayPrint(String.format("Hint: %s. Played perfectly, you leave this level with %.1f power points"
+              + " on average.", best.action(), best.expectedPowerPoints()));
+      for (LevelSolver.Choice choice : solution.choices()) {
+         GameUtils.printLine(String.format("  %-26s %5.1f power points, %3.0f%% risk of not getting out",
+                 choice.action(), choice.expectedPowerPoints(), (1 - choice.exitChance()) * 100));
+      }
+   }
+
+   /**
+    * Resolves an auto-walk target into a cell of the level.
+    *
+    * @param level  the current level
+    * @param target {@code "exit"} or a room name such as {@code "b3"}, {@code "ab12"} or {@code "28,12"}; see
+    *               {@link Level#parseRoomName(String)}
+    * @return the flat index of a walkable target cell, or {@code -1} if the target is unknown or not walkable
+    */
+   private int resolveTarget(Level level, String target) {
+      if (target.equals("exit")) {
+         return DungeonMap.getCurrentDescriptor().getExitCell();
+      }
+      int cell = level.parseRoomName(target);
+      if (cell == -1 || level.getTileAt(cell) == Tile.WALL) {
+         return -1;
+      }
+      return cell;
    }
 
    /**
@@ -154,12 +378,12 @@ public class MovementLogic {
     * @return {@code true} if the move is valid, {@code false} otherwise
     */
    private boolean isValidMove(int newX, int newY) {
-      char[][] level = DungeonMap.getCurrentLevel();
-      if (newX < 0 || newX >= level.length || newY < 0 || newY >= level[0].length) {
+      Level level = DungeonMap.getCurrentLevel();
+      if (!level.isInBounds(newX, newY)) {
          GameUtils.delayPrint("You cannot move outside the map!");
          return false;
       }
-      if (level[newX][newY] == 'W') {
+      if (level.getTile(newX, newY) == Tile.WALL) {
          GameUtils.delayPrint("You cannot move through a wall!");
          return false;
       }
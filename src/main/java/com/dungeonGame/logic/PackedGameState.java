@@ -0,0 +1,366 @@
+package com.dungeonGame.logic;
+
+import com.dungeonGame.encounter.EncounterEntities;
+
+/**
+ * A player's game state packed into two {@code long}s, for bots, simulations, solvers and replays that
+ * copy, hash and store many states.
+ *
+ * <p>
+ * A state is a plain value: copying it is an assignment, comparing it is {@code ==}, and an array of
+ * {@code long}s stores millions of them without a single object. This class only has static methods to
+ * build, read and change the two words; nothing is ever allocated.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Player Word:</b> From the lowest bit up: the row ({@value #COORDINATE_BITS} bits), the column
+ *         ({@value #COORDINATE_BITS} bits), the level number ({@value #LEVEL_BITS} bits), the power points
+ *         ({@value #POWER_BITS} bits) and the held items ({@value #ITEM_BITS} bits, one per {@link Item}, as in
+ *         {@link Item#mask()}).</li>
+ *     <li><b>Encounter Word:</b> Bit {@code i} is set if the encounter with id {@code i} in the level's
+ *         {@link EncounterEntities} is resolved; levels have at most {@value #MAX_ENCOUNTERS} encounters.</li>
+ *     <li><b>Items:</b> Only whether an item is held is kept; a stack counts as one item.</li>
+ *     <li><b>Range:</b> Values that do not fit are rejected with an {@link IllegalArgumentException} when a state
+ *         is built; power points are kept between 0 and {@value #MAX_POWER_POINTS} by the transitions.</li>
+ * </ul>
+ */
+public final class PackedGameState {
+
+   public static final int COORDINATE_BITS = 12;
+   public static final int LEVEL_BITS = 8;
+   public static final int POWER_BITS = 16;
+   public static final int ITEM_BITS = 16;
+
+   /**
+    * The largest row or column a state can hold.
+    */
+   public static final int MAX_COORDINATE = (1 << COORDINATE_BITS) - 1;
+
+   /**
+    * The largest level number a state can hold.
+    */
+   public static final int MAX_LEVEL = (1 << LEVEL_BITS) - 1;
+
+   /**
+    * The most power points a state can hold.
+    */
+   public static final int MAX_POWER_POINTS = (1 << POWER_BITS) - 1;
+
+   /**
+    * The most encounters the encounter word can track.
+    */
+   public static final int MAX_ENCOUNTERS = Long.SIZE;
+
+   private static final int Y_SHIFT = COORDINATE_BITS;
+   private static final int LEVEL_SHIFT = Y_SHIFT + COORDINATE_BITS;
+   private static final int POWER_SHIFT = LEVEL_SHIFT + LEVEL_BITS;
+   private static final int ITEM_SHIFT = POWER_SHIFT + POWER_BITS;
+
+   private static final long COORDINATE_MASK = MAX_COORDINATE;
+   private static final long LEVEL_MASK = MAX_LEVEL;
+   private static final long POWER_MASK = MAX_POWER_POINTS;
+   private static final long ITEM_MASK = (1L << ITEM_BITS) - 1;
+
+   private static final Item[] ITEMS = Item.values();
+
+   static {
+      if (ITEMS.length > ITEM_BITS) {
+         throw new ExceptionInInitializerError("A packed state holds at most " + ITEM_BITS + " items.");
+      }
+   }
+
+   /**
+    * Private constructor to prevent instantiation of the {@code PackedGameState} utility class.
+    */
+   private PackedGameState() {
+   }
+
+   // Building
+
+   /**
+    * Packs a player's situation into a player word.
+    *
+    * @param levelNumber the level the player is on
+    * @param x           the player's row
+    * @param y           the player's column
+    * @param powerPoints the player's power points
+    * @param items       the held items, as in {@link Inventory#getMask()}
+    * @return the player word
+    * @throws IllegalArgumentException if a value does not fit in its field
+    */
+   public static long pack(int levelNumber, int x, int y, int powerPoints, long items) {
+      check("level number", levelNumber, MAX_LEVEL);
+      check("row", x, MAX_COORDINATE);
+      check("column", y, MAX_COORDINATE);
+      check("power points", powerPoints, MAX_POWER_POINTS);
+      if ((items & ~ITEM_MASK) != 0) {
+         throw new IllegalArgumentException("Unknown item bits: " + Long.toBinaryString(items));
+      }
+      return x
+              | (long) y << Y_SHIFT
+              | (long) levelNumber << LEVEL_SHIFT
+              | (long) powerPoints << POWER_SHIFT
+              | items << ITEM_SHIFT;
+   }
+
+   private static void check(String name, int value, int max) {
+      if (value < 0 || value > max) {
+         throw new IllegalArgumentException("The " + name + " must be between 0 and " + max + ", got " + value + ".");
+      }
+   }
+
+   /**
+    * Packs a player into a player word.
+    *
+    * @param levelNumber the level the player is on
+    * @param player      the player's power points and inventory
+    * @param pm          the player's position
+    * @return the player word
+    * @throws IllegalArgumentException if a value does not fit in its field
+    */
+   public static long capture(int levelNumber, PlayerDataHolder player, PositionDataHolder pm) {
+      return pack(levelNumber, pm.getPlayerX(), pm.getPlayerY(), player.getPowerPoints(),
+              player.getInventory().getMask());
+   }
+
+   /**
+    * Packs which encounters of a level are resolved into an encounter word.
+    *
+    * @param entities the level's encounters
+    * @return the encounter word
+    * @throws IllegalArgumentException if the level has more than {@value #MAX_ENCOUNTERS} encounters
+    */
+   public static long captureEncounters(EncounterEntities entities) {
+      entities.getLock().lock();
+      try {
+         if (entities.size() > MAX_ENCOUNTERS) {
+            throw new IllegalArgumentException("A packed state tracks at most " + MAX_ENCOUNTERS
+                    + " encounters, not " + entities.size() + ".");
+         }
+         long flags = 0;
+         for (int id = 0; id < entities.size(); id++) {
+            if (entities.isResolved(id)) {
+               flags |= 1L << id;
+            }
+         }
+         return flags;
+      } finally {
+         entities.getLock().unlock();
+      }
+   }
+
+   /**
+    * Puts a player back into the state of a player word. The level is not changed: the player must already be
+    * on the word's level, or be moved there by the caller.
+    *
+    * @param state  the player word
+    * @param player receives the power points and one of every held item
+    * @param pm     receives the position
+    * @throws IllegalArgumentException if the position is not a room of the current level
+    */
+   public static void restore(long state, PlayerDataHolder player, PositionDataHolder pm) {
+      pm.setCurrentPosition(x(state), y(state));
+      player.setPowerPoints(powerPoints(state));
+      Inventory inventory = player.getInventory();
+      inventory.clear();
+      for (Item item : ITEMS) {
+         if (has(state, item)) {
+            inventory.add(item);
+         }
+      }
+   }
+
+   /**
+    * Marks the encounters of a level resolved or not, as an encounter word says.
+    *
+    * @param flags    the encounter word
+    * @param entities the level's encounters; ids the word does not cover stay as they are
+    */
+   public static void restoreEncounters(long flags, EncounterEntities entities) {
+      entities.getLock().lock();
+      try {
+         int count = Math.min(entities.size(), MAX_ENCOUNTERS);
+         for (int id = 0; id < count; id++) {
+            entities.setResolved(id, isResolved(flags, id));
+         }
+      } finally {
+         entities.getLock().unlock();
+      }
+   }
+
+   // Reading
+
+   public static int x(long state) {
+      return (int) (state & COORDINATE_MASK);
+   }
+
+   public static int y(long state) {
+      return (int) (state >>> Y_SHIFT & COORDINATE_MASK);
+   }
+
+   public static int levelNumber(long state) {
+      return (int) (state >>> LEVEL_SHIFT & LEVEL_MASK);
+   }
+
+   public static int powerPoints(long state) {
+      return (int) (state >>> POWER_SHIFT & POWER_MASK);
+   }
+
+   /**
+    * Returns the held items.
+    *
+    * @param state the player word
+    * @return the items' bits, as in {@link Item#mask()}
+    */
+   public static long items(long state) {
+      return state >>> ITEM_SHIFT & ITEM_MASK;
+   }
+
+   public static boolean has(long state, Item item) {
+      return (items(state) & item.mask()) != 0;
+   }
+
+   /**
+    * Checks whether the player is still alive, as {@link PlayerDataHolder#isAlive()} does.
+    *
+    * @param state the player word
+    * @return {@code true} if the player has power points left
+    */
+   public static boolean isAlive(long state) {
+      return powerPoints(state) > 0;
+   }
+
+   /**
+    * Checks whether an encounter is resolved.
+    *
+    * @param flags the encounter word
+    * @param id    the encounter's id in the level's {@link EncounterEntities}
+    * @return {@code true} if it is resolved
+    */
+   public static boolean isResolved(long flags, int id) {
+      return (flags & 1L << id) != 0;
+   }
+
+   // Transitions
+
+   /**
+    * Moves the player to another room.
+    *
+    * @param state the player word
+    * @param x     the new row
+    * @param y     the new column
+    * @return the changed player word
+    * @throws IllegalArgumentException if the coordinates do not fit
+    */
+   public static long withPosition(long state, int x, int y) {
+      check("row", x, MAX_COORDINATE);
+      check("column", y, MAX_COORDINATE);
+      return state & ~(COORDINATE_MASK | COORDINATE_MASK << Y_SHIFT) | x | (long) y << Y_SHIFT;
+   }
+
+   /**
+    * Moves the player to another level, keeping the position; the caller sets the new level's entrance.
+    *
+    * @param state       the player word
+    * @param levelNumber the new level
+    * @return the changed player word
+    * @throws IllegalArgumentException if the level number does not fit
+    */
+   public static long withLevel(long state, int levelNumber) {
+      check("level number", levelNumber, MAX_LEVEL);
+      return state & ~(LEVEL_MASK << LEVEL_SHIFT) | (long) levelNumber << LEVEL_SHIFT;
+   }
+
+   /**
+    * Sets the power points, kept between 0 and {@value #MAX_POWER_POINTS}.
+    *
+    * @param state       the player word
+    * @param powerPoints the new power points
+    * @return the changed player word
+    */
+   public static long withPowerPoints(long state, int powerPoints) {
+      long clamped = Math.clamp(powerPoints, 0, MAX_POWER_POINTS);
+      return state & ~(POWER_MASK << POWER_SHIFT) | clamped << POWER_SHIFT;
+   }
+
+   /**
+    * Adds or deducts power points; like {@link PowerPointManager}, they never drop below 0.
+    *
+    * @param state  the player word
+    * @param amount the change, negative to deduct
+    * @return the changed player word
+    */
+   public static long addPowerPoints(long state, int amount) {
+      return withPowerPoints(state, powerPoints(state) + amount);
+   }
+
+   /**
+    * Takes one step, as a move in the game does: the position changes by one room and
+    * {@link MovementLogic#MOVE_COST} power points are deducted. Whether the room is walkable is the caller's
+    * business.
+    *
+    * @param state     the player word
+    * @param direction a direction returned by {@link MovementLogic#parseDirection(String)}
+    * @return the changed player word
+    * @throws IllegalArgumentException if the step leaves the range of coordinates
+    */
+   public static long move(long state, int direction) {
+      long moved = withPosition(state, x(state) + MovementLogic.rowStep(direction),
+              y(state) + MovementLogic.columnStep(direction));
+      return addPowerPoints(moved, -MovementLogic.MOVE_COST);
+   }
+
+   public static long withItem(long state, Item item) {
+      return state | item.mask() << ITEM_SHIFT;
+   }
+
+   public static long withoutItem(long state, Item item) {
+      return state & ~(item.mask() << ITEM_SHIFT);
+   }
+
+   /**
+    * Removes every item, as losing the fight against the Lost Explorer does.
+    *
+    * @param state the player word
+    * @return the changed player word
+    */
+   public static long withoutItems(long state) {
+      return state & ~(ITEM_MASK << ITEM_SHIFT);
+   }
+
+   /**
+    * Marks an encounter resolved or not.
+    *
+    * @param flags    the encounter word
+    * @param id       the encounter's id
+    * @param resolved whether it is resolved
+    * @return the changed encounter word
+    */
+   public static long withResolved(long flags, int id, boolean resolved) {
+      return resolved ? flags | 1L << id : flags & ~(1L << id);
+   }
+
+   /**
+    * Describes a player word, for logs and test failures.
+    *
+    * @param state the player word
+    * @return for example {@code "level=1 x=2 y=3 powerPoints=97 items=[Cake]"}
+    */
+   public static String toString(long state) {
+      StringBuilder text = new StringBuilder(64);
+      text.append("level=").append(levelNumber(state))
+              .append(" x=").append(x(state))
+              .append(" y=").append(y(state))
+              .append(" powerPoints=").append(powerPoints(state))
+              .append(" items=[");
+      boolean first = true;
+      for (Item item : ITEMS) {
+         if (has(state, item)) {
+            text.append(first ? "" : ", ").append(item.getDisplayName());
+            first = false;
+         }
+      }
+      return text.append(']').toString();
+   }
+
+}
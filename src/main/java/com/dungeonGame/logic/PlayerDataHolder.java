@@ -1,6 +1,5 @@
 package com.dungeonGame.logic;
 
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -28,13 +27,18 @@ public class PlayerDataHolder {
    /**
     * The player's inventory, containing the items they have collected.
     */
-   private Set<String> inventory;
+   private Inventory inventory;
+
+   /**
+    * Whether the player has found the Relic, which then no longer turns up when looking around.
+    */
+   private boolean relicFound;
 
    /**
     * Initializes a new player with a default inventory and 100 power points.
     */
    public PlayerDataHolder() {
-      this.inventory = new HashSet<>();
+      this.inventory = new Inventory();
       this.powerPoints = 100;
    }
 
@@ -72,12 +76,25 @@ public class PlayerDataHolder {
       this.currentRoom = currentRoom;
    }
 
-   public Set<String> getInventory() {
+   public Inventory getInventory() {
       return inventory;
    }
 
+   public boolean isRelicFound() {
+      return relicFound;
+   }
+
+   public void setRelicFound(boolean relicFound) {
+      this.relicFound = relicFound;
+   }
+
+   /**
+    * Replaces the player's inventory with one of each of the named items.
+    *
+    * @param inventory the display names of the items
+    */
    public void setInventory(Set<String> inventory) {
-      this.inventory = inventory;
+      this.inventory = new Inventory(inventory);
    }
 
    /**
@@ -94,7 +111,21 @@ public class PlayerDataHolder {
       return powerPoints > 0;
    }
 
+   /**
+    * Replaces the player's inventory with one of each of the items in a comma-separated list, as stored in
+    * the users table. Empty names are skipped, so an empty or {@code null} list gives an empty inventory.
+    *
+    * @param inventory the display names of the items, separated by commas
+    */
    public void setInventory(String inventory) {
-      this.inventory = new HashSet<>(Set.of(inventory.split(",")));
+      this.inventory = new Inventory();
+      if (inventory == null) {
+         return;
+      }
+      for (String name : inventory.split(",")) {
+         if (!name.isBlank()) {
+            this.inventory.add(name.strip());
+         }
+      }
    }
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.dungeonGame.logic;
 
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import com.dungeonGame.logic.mapAndLevelHandler.VisibilityState;
 
 /**
  * Manages the player's position within the dungeon.
  * <p>
  * This class tracks the player's current coordinates and ensures that any movement updates
- * stay within valid bounds.
+ * stay within valid bounds. It also keeps what the player has seen of the current level
+ * (see {@link VisibilityState}).
  * </p>
  */
 public class PositionDataHolder {
@@ -21,6 +25,16 @@ public class PositionDataHolder {
     */
    private int playerY;
 
+   /**
+    * What the player has seen of the current level; replaced when the player enters another level.
+    */
+   private VisibilityState visibility;
+
+   /**
+    * The level the player stays on, or {@code null} to follow the game's current level.
+    */
+   private Level fixedLevel;
+
    /**
     * Initializes the player's position manager with the given level layout.
     *
@@ -31,11 +45,30 @@ public class PositionDataHolder {
     *
     * @param initialLevel the layout of the level where the player starts
     */
-   public PositionDataHolder(char[][] initialLevel) {
+   public PositionDataHolder(Level initialLevel) {
       DungeonMap.currentLevel = initialLevel;
       DungeonMap.currentLevelNumber = 1;
    }
 
+   private PositionDataHolder() {
+   }
+
+   /**
+    * Creates a position manager that stays on one level, such as the level of a
+    * {@link com.dungeonGame.GameSession}.
+    *
+    * <p>Unlike {@link #PositionDataHolder(Level)}, it leaves the game's current level and level number
+    * alone, so any number of them can be created at once on different threads.</p>
+    *
+    * @param level the level the player is on
+    * @return the position manager; its position must be set before it is used
+    */
+   public static PositionDataHolder onLevel(Level level) {
+      PositionDataHolder pm = new PositionDataHolder();
+      pm.fixedLevel = level;
+      return pm;
+   }
+
    // Getters
 
    public int getPlayerX() {
@@ -45,6 +78,19 @@ public class PositionDataHolder {
       return playerY;
    }
 
+   /**
+    * Returns what the player has seen of the current level.
+    *
+    * @return the visibility state, started afresh if the player is on a level they have not explored yet
+    */
+   public VisibilityState getVisibility() {
+      Level level = level();
+      if (visibility == null || visibility.getLevel() != level) {
+         visibility = new VisibilityState(level);
+      }
+      return visibility;
+   }
+
    /**
     * Updates the player's position on the dungeon map.
     *
@@ -55,7 +101,9 @@ public class PositionDataHolder {
     *             <li>The target cell must not be a wall ('W').</li>
     *         </ul>
     *     </li>
-    *     <li><b>Consequences:</b> Throws an {@link IllegalArgumentException} if the move is invalid.</li>
+    *     <li><b>Consequences:</b> Throws an {@link IllegalArgumentException} if the move is invalid.
+    *         Otherwise the level is told where the player stands (see {@link Level#focus(int, int)}) and the
+    *         player's field of view is updated.</li>
     * </ul>
     *
     * @param x the new x-coordinate
@@ -63,14 +111,21 @@ public class PositionDataHolder {
     * @throws IllegalArgumentException if the coordinates are out of bounds or target a wall
     */
    public void setCurrentPosition(int x, int y) {
-      if (x < 0 || x >= DungeonMap.currentLevel.length || y < 0 || y >= DungeonMap.currentLevel[0].length) {
+      Level level = level();
+      if (!level.isInBounds(x, y)) {
          throw new IllegalArgumentException("Invalid position: The coordinates are outside the map boundaries.");
       }
-      if (DungeonMap.currentLevel[x][y] == 'W') {
+      if (level.getTile(x, y) == Tile.WALL) {
          throw new IllegalArgumentException("Invalid position: You cannot set the position to a wall ('W').");
       }
       this.playerX = x;
       this.playerY = y;
+      level.focus(x, y);
+      getVisibility().update(x, y);
+   }
+
+   private Level level() {
+      return fixedLevel != null ? fixedLevel : DungeonMap.currentLevel;
    }
 
 }
@@ -1,11 +1,10 @@
 package com.dungeonGame.logic;
 
+import com.dungeonGame.GameServices;
 import com.dungeonGame.GameUtils;
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
 import com.dungeonGame.roomContents.PotionActions;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 import java.util.Scanner;
 
@@ -15,8 +14,57 @@ import java.util.Scanner;
  */
 public class SearchActions {
 
-   InventoryManager inventoryManager = new InventoryManager();
-   PotionActions potionActions = new PotionActions();
+   InventoryManager inventoryManager = GameServices.inventoryManager();
+   PotionActions potionActions = GameServices.potionActions();
+
+   /**
+    * The most things a single search can turn up.
+    */
+   public static final int MAX_FINDS = 2;
+
+   private final Random random;
+
+   /**
+    * What one search turned up, waiting for the player to pick from it. Each search returns its own, so the
+    * shared search actions hold nothing for any one player.
+    */
+   public static final class Finds {
+
+      private final LootTable<String> contents;
+      private final int relic;
+      private final int[] found = new int[MAX_FINDS];
+      private int count;
+
+      private Finds(LootTable<String> contents, int relic) {
+         this.contents = contents;
+         this.relic = relic;
+      }
+
+      /**
+       * Returns how many things are left to pick from.
+       *
+       * @return the number of things listed, or {@code 0} once one has been picked
+       */
+      public int count() {
+         return count;
+      }
+   }
+
+   /**
+    * Creates search actions that draw from the game's shared {@link GameServices#random()}.
+    */
+   public SearchActions() {
+      this(GameServices.random());
+   }
+
+   /**
+    * Creates search actions that draw from their own random source, for example a session's.
+    *
+    * @param random the source of the things found
+    */
+   public SearchActions(Random random) {
+      this.random = random;
+   }
 
    /**
     * Allows the player to search the current room for items or special objects.
@@ -30,9 +78,11 @@ public class SearchActions {
     *             <li>{@code "Sandwich"} - Restores 5 power points.</li>
     *             <li>{@code "Hammer"} - Disables traps.</li>
     *             <li>{@code "Potion"} - Applies a random effect.</li>
-    *             <li>{@code "Relic"} (Level 3 only) - Required to defeat the Guardian.</li>
+    *             <li>{@code "Relic"} (Level 3 only, until it has been found) - Required to defeat the Guardian.</li>
     *         </ul>
     *     </li>
+    *     <li><b>Choice:</b> One or two different things are drawn from the level's precompiled
+    *         {@link LootTables#searchTable(int)}, weighted by rarity.</li>
     *     <li><b>Options:</b> Players can pick up an item or ignore them.</li>
     *     <li><b>Consequences:</b>
     *         <ul>
@@ -46,10 +96,8 @@ public class SearchActions {
     * <ul>
     *     <li>{@link GameUtils#clearConsole()}</li>
     *     <li>{@link GameUtils#printHeader(String)}</li>
-    *     <li>{@link GameUtils#delayPrint(String)}</li>
-    *     <li>{@link PotionActions#drinkPotion(PositionDataHolder, PlayerDataHolder, String)}</li>
-    *     <li>{@link InventoryManager#addItem(PlayerDataHolder, String)}</li>
-    *     <li>{@link InventoryManager.RelicManager#markRelicFound()}</li>
+    *     <li>{@link #search(PlayerDataHolder)}</li>
+    *     <li>{@link #pick(PositionDataHolder, PlayerDataHolder, Finds, int)}</li>
     *     <li>{@link GameUtils#waitForEnter()}</li>
     * </ul>
     *
@@ -60,55 +108,87 @@ public class SearchActions {
 
       GameUtils.clearConsole();
       GameUtils.printHeader("Looking Around");
+      Finds finds = search(player);
 
-      List<String> baseContents = List.of("Teleportation Spell", "Freeze Spell", "Cake", "Sandwich", "Hammer", "Potion");
-      List<String> contents = new ArrayList<>(baseContents);
+      System.out.print("\nWhat do you want to pick? Enter the number: ");
+      Scanner scanner = new Scanner(System.in);
+      int choice = scanner.nextInt();
+      scanner.nextLine();
 
-      // If we are in level 3 and relic not found yet, include "Relic"
-      if (DungeonMap.getCurrentLevelNumber() == 3 && !InventoryManager.RelicManager.isRelicFound()) {
-         contents.add("Relic");
-      }
+      pick(pm, player, finds, choice);
+      GameUtils.waitForEnter();
+   }
 
-      Random random = new Random();
-      int itemCount = random.nextInt(2) + 1;
-      List<String> foundContents = new ArrayList<>();
-      while (foundContents.size() < itemCount) {
-         String item = contents.get(random.nextInt(contents.size()));
-         if (!foundContents.contains(item)) {
-            foundContents.add(item);
-         }
+   /**
+    * Draws what the player finds in the current room and lists it, followed by an "Ignore" option; the first
+    * half of {@link #lookAround(PositionDataHolder, PlayerDataHolder)}, for callers that read the choice themselves.
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link LootTable#sampleDistinct(Random, long, int[], int)}</li>
+    *     <li>{@link GameUtils#delayPrint(String)}</li>
+    * </ul>
+    *
+    * @param player the player, who finds the Relic only once
+    * @return what was found, to pass on to {@link #pick(PositionDataHolder, PlayerDataHolder, Finds, int)}
+    */
+   public Finds search(PlayerDataHolder player) {
+      LootTable<String> contents = LootTables.searchTable(DungeonMap.getCurrentLevelNumber());
+      Finds finds = new Finds(contents, contents.indexOf(Item.RELIC.getDisplayName()));
+
+      // Once found, the Relic is left out of the draw
+      long excluded = 0;
+      if (finds.relic >= 0 && player.isRelicFound()) {
+         excluded |= 1L << finds.relic;
       }
 
+      int[] found = finds.found;
+      finds.count = contents.sampleDistinct(random, excluded, found, random.nextInt(MAX_FINDS) + 1);
+
       GameUtils.delayPrint("You look around and find:");
-      for (int i = 0; i < foundContents.size(); i++) {
-         String found = foundContents.get(i);
-         if (found.equals("Potion")) {
+      for (int i = 0; i < finds.count; i++) {
+         String item = contents.get(found[i]);
+         if (item.equals(LootTables.POTION)) {
             GameUtils.delayPrint((i + 1) + ". A mysterious potion");
-         } else if (found.equals("Relic")) {
+         } else if (found[i] == finds.relic) {
             // Special item displayed once
             GameUtils.delayPrint((i + 1) + ". A strange glowing Relic");
          } else {
-            GameUtils.delayPrint((i + 1) + ". " + found);
+            GameUtils.delayPrint((i + 1) + ". " + item);
          }
       }
-      GameUtils.delayPrint((foundContents.size() + 1) + ". Ignore");
-
-      System.out.print("\nWhat do you want to pick? Enter the number: ");
-      Scanner scanner = new Scanner(System.in);
-      int choice = scanner.nextInt();
-      scanner.nextLine();
+      GameUtils.delayPrint((finds.count + 1) + ". Ignore");
+      return finds;
+   }
 
-      if (choice > 0 && choice <= foundContents.size()) {
-         String selectedItem = foundContents.get(choice - 1);
+   /**
+    * Picks up one of the things listed by a {@link #search(PlayerDataHolder)}; the second half of
+    * {@link #lookAround(PositionDataHolder, PlayerDataHolder)}. Whatever is not picked is left behind.
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link PotionActions#drinkPotion(PositionDataHolder, PlayerDataHolder, String)}</li>
+    *     <li>{@link InventoryManager#addItem(PlayerDataHolder, String)}</li>
+    *     <li>{@link InventoryManager#addItem(PlayerDataHolder, Item)}</li>
+    * </ul>
+    *
+    * @param pm     the player's position manager
+    * @param player the player's data, including inventory and power points
+    * @param finds  what the search found
+    * @param choice the number of the listed thing; any other number leaves everything behind
+    */
+   public void pick(PositionDataHolder pm, PlayerDataHolder player, Finds finds, int choice) {
+      if (choice > 0 && choice <= finds.count) {
+         String selectedItem = finds.contents.get(finds.found[choice - 1]);
 
-         if (selectedItem.equals("Potion")) {
+         if (selectedItem.equals(LootTables.POTION)) {
             // Handle random potion drinking
             String potionType = potionActions.getRandomPotion();
             potionActions.drinkPotion(pm, player, potionType);
-         } else if (selectedItem.equals("Relic")) {
+         } else if (selectedItem.equals(Item.RELIC.getDisplayName())) {
             // Player picks up the Relic
-            inventoryManager.addItem(player, "Relic");
-            InventoryManager.RelicManager.markRelicFound();
+            inventoryManager.addItem(player, Item.RELIC);
+            player.setRelicFound(true);
             GameUtils.delayPrint("You carefully pick up the Relic. It hums with ancient power...");
          } else if (inventoryManager.hasItem(player, selectedItem)) {
             GameUtils.delayPrint("You already have " + selectedItem + ". You leave it behind.");
@@ -119,8 +199,7 @@ public class SearchActions {
       } else {
          GameUtils.delayPrint("You decided to leave the items untouched.");
       }
-
-      GameUtils.waitForEnter();
+      finds.count = 0;
    }
 
 }
@@ -0,0 +1,297 @@
+package com.dungeonGame.logic.mapAndLevelHandler;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A precomputed list of the cells of a {@link Level} that belong to one {@link Category}.
+ *
+ * <p>
+ * The index is built with a single scan of the level and stores each matching cell as its flat
+ * row-major index, in ascending order. Picking a random cell is then a single array lookup, and
+ * excluding a few occupied cells costs time proportional to the number of exclusions, never to
+ * the size or sparseness of the map.
+ * </p>
+ *
+ * <p>
+ * On a level with several pages (see {@link PagedLevel}) the index only keeps how many matching cells
+ * come before each page. Cells are then numbered page by page, and finding the cell with a given number
+ * scans one page; memory grows with the number of pages, not with the number of cells.
+ * </p>
+ *
+ * <p>Indexes are obtained through {@link Level#getCellIndex(Category)}, which builds them once
+ * and rebuilds them only after the level has been edited.</p>
+ */
+public final class CellIndex {
+
+   /**
+    * The kinds of cells that can be indexed.
+    */
+   public enum Category {
+
+      /**
+       * Every cell the player can stand on (rooms, the entrance and the exit).
+       */
+      WALKABLE,
+
+      /**
+       * Walkable cells that are neither the entrance nor the exit; used for placing encounters
+       * and for teleporting.
+       */
+      ROOM;
+
+      boolean matches(Tile tile) {
+         return switch (this) {
+            case WALKABLE -> tile.isWalkable();
+            case ROOM -> tile == Tile.ROOM;
+         };
+      }
+   }
+
+   private final Level level;
+   private final Category category;
+
+   /**
+    * Flat indexes of the matching cells, sorted ascending, or {@code null} if the level has several pages.
+    */
+   private final int[] cells;
+
+   /**
+    * For a level with several pages, the number of matching cells before each page, plus the total at the end;
+    * otherwise {@code null}.
+    */
+   private final int[] pageStarts;
+
+   private CellIndex(Level level, Category category, int[] cells, int[] pageStarts) {
+      this.level = level;
+      this.category = category;
+      this.cells = cells;
+      this.pageStarts = pageStarts;
+   }
+
+   /**
+    * Scans a level and indexes every cell of the given category.
+    *
+    * @param level    the level to scan
+    * @param category the kind of cells to collect
+    * @return the built index
+    */
+   static CellIndex build(Level level, Category category) {
+      if (level.getPageCount() > 1) {
+         return buildPaged(level, category);
+      }
+      int size = level.size();
+      int[] found = new int[Math.min(size, 1024)];
+      int count = 0;
+      for (int i = 0; i < size; i++) {
+         if (category.matches(level.getTileAt(i))) {
+            if (count == found.length) {
+               found = Arrays.copyOf(found, Math.min(size, found.length * 2));
+            }
+            found[count++] = i;
+         }
+      }
+      return new CellIndex(level, category, Arrays.copyOf(found, count), null);
+   }
+
+   private static CellIndex buildPaged(Level level, Category category) {
+      int pages = level.getPageCount();
+      int pageSize = level.getPageSize();
+      int[] starts = new int[pages + 1];
+      for (int page = 0; page < pages; page++) {
+         int count = 0;
+         for (int offset = 0; offset < pageSize; offset++) {
+            int cell = level.cellAt(page, offset);
+            if (cell != -1 && category.matches(level.getTileAt(cell))) {
+               count++;
+            }
+         }
+         starts[page + 1] = starts[page] + count;
+      }
+      return new CellIndex(level, category, null, starts);
+   }
+
+   // Getters
+
+   public Category getCategory() {
+      return category;
+   }
+
+   /**
+    * Returns the number of indexed cells.
+    *
+    * @return the cell count
+    */
+   public int size() {
+      return cells != null ? cells.length : pageStarts[pageStarts.length - 1];
+   }
+
+   /**
+    * Checks whether a cell is part of this index.
+    *
+    * @param cell the flat cell index
+    * @return {@code true} if the cell belongs to the category
+    */
+   public boolean contains(int cell) {
+      return positionOf(cell) >= 0;
+   }
+
+   /**
+    * Picks a uniformly random cell from the index.
+    *
+    * @param random the random source
+    * @return the flat index of the chosen cell, or {@code -1} if the index is empty
+    */
+   public int sample(Random random) {
+      int size = size();
+      if (size == 0) {
+         return -1;
+      }
+      return cellAt(random.nextInt(size));
+   }
+
+   /**
+    * Picks a uniformly random cell from the index, skipping the given cells.
+    *
+    * <ul>
+    *     <li><b>Cost:</b> {@code O(k log n)} for {@code k} exclusions and {@code n} indexed cells,
+    *         with exactly one random draw; there is no retry loop.</li>
+    *     <li><b>Exclusions:</b> Cells that are not in the index, or repeated, are ignored.</li>
+    * </ul>
+    *
+    * @param random        the random source
+    * @param excludedCells flat indexes of cells that must not be chosen
+    * @return the flat index of the chosen cell, or {@code -1} if every cell is excluded
+    */
+   public int sampleExcluding(Random random, int... excludedCells) {
+      if (excludedCells.length == 0) {
+         return sample(random);
+      }
+
+      // Translate the excluded cells into their positions inside the index
+      int[] positions = new int[excludedCells.length];
+      int excluded = 0;
+      for (int cell : excludedCells) {
+         int position = positionOf(cell);
+         if (position >= 0) {
+            positions[excluded++] = position;
+         }
+      }
+      Arrays.sort(positions, 0, excluded);
+
+      int distinct = 0;
+      for (int i = 0; i < excluded; i++) {
+         if (i == 0 || positions[i] != positions[i - 1]) {
+            positions[distinct++] = positions[i];
+         }
+      }
+
+      int available = size() - distinct;
+      if (available <= 0) {
+         return -1;
+      }
+
+      // Draw among the remaining cells, then shift the draw past every excluded position before it
+      int position = random.nextInt(available);
+      for (int i = 0; i < distinct && positions[i] <= position; i++) {
+         position++;
+      }
+      return cellAt(position);
+   }
+
+   /**
+    * Picks several different cells at random, in random order.
+    *
+    * <ul>
+    *     <li><b>Cost:</b> {@code O(count)} expected time and space, using Floyd's sampling algorithm
+    *         followed by a shuffle; the size of the index does not matter.</li>
+    * </ul>
+    *
+    * @param random the random source
+    * @param count  how many cells to pick
+    * @return the flat indexes of the chosen cells, all different
+    * @throws IllegalArgumentException if {@code count} is negative or larger than {@link #size()}
+    */
+   public int[] sampleDistinct(Random random, int count) {
+      int size = size();
+      if (count < 0 || count > size) {
+         throw new IllegalArgumentException("Cannot pick " + count + " distinct cells from " + size + ".");
+      }
+      Set<Integer> chosen = new HashSet<>(count * 2);
+      int[] picked = new int[count];
+      int n = 0;
+      for (int j = size - count; j < size; j++) {
+         int position = random.nextInt(j + 1);
+         if (!chosen.add(position)) {
+            position = j;
+            chosen.add(position);
+         }
+         picked[n++] = cellAt(position);
+      }
+      for (int i = count - 1; i > 0; i--) {
+         int k = random.nextInt(i + 1);
+         int swap = picked[i];
+         picked[i] = picked[k];
+         picked[k] = swap;
+      }
+      return picked;
+   }
+
+   /**
+    * Returns the cell with the given number, counting the indexed cells from 0 in index order.
+    *
+    * @param position the number of the cell, below {@link #size()}
+    * @return the flat index of the cell
+    */
+   private int cellAt(int position) {
+      if (cells != null) {
+         return cells[position];
+      }
+      int page = Arrays.binarySearch(pageStarts, position);
+      // Pages without matching cells share their start with the next page; take the last of them
+      if (page < 0) {
+         page = -page - 2;
+      } else {
+         while (pageStarts[page + 1] == position) {
+            page++;
+         }
+      }
+      int remaining = position - pageStarts[page];
+      int pageSize = level.getPageSize();
+      for (int offset = 0; offset < pageSize; offset++) {
+         int cell = level.cellAt(page, offset);
+         if (cell != -1 && category.matches(level.getTileAt(cell)) && remaining-- == 0) {
+            return cell;
+         }
+      }
+      throw new IllegalStateException("The level changed while its cell index was in use.");
+   }
+
+   /**
+    * Returns the number of a cell in index order.
+    *
+    * @param cell the flat index of the cell
+    * @return the number of the cell, or a negative value if it is not indexed
+    */
+   private int positionOf(int cell) {
+      if (cells != null) {
+         return Arrays.binarySearch(cells, cell);
+      }
+      if (cell < 0 || cell >= level.size() || !category.matches(level.getTileAt(cell))) {
+         return -1;
+      }
+      int page = level.pageOf(cell);
+      int end = level.offsetInPage(cell);
+      int position = pageStarts[page];
+      for (int offset = 0; offset < end; offset++) {
+         int other = level.cellAt(page, offset);
+         if (other != -1 && category.matches(level.getTileAt(other))) {
+            position++;
+         }
+      }
+      return position;
+   }
+
+}
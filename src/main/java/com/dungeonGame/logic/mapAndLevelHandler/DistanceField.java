@@ -0,0 +1,233 @@
+package com.dungeonGame.logic.mapAndLevelHandler;
+
+import java.util.Arrays;
+
+/**
+ * Shortest walking distances from every cell of a {@link Level} to one target cell.
+ *
+ * <p>
+ * The field is computed with a single breadth-first search outward from the target, moving only
+ * up, down, left and right through walkable tiles. Following {@link #nextStep(int)} from any
+ * reachable cell therefore walks a shortest path to the target.
+ * </p>
+ *
+ * <p>
+ * Distances are stored page by page (see {@link Level#getPageCount()}), and a page is only allocated once
+ * the search reaches it. On an on-heap level that is the one page holding the whole level; on a
+ * {@link PagedLevel} it is the chunks connected to the target, while chunks cut off from it cost nothing.
+ * </p>
+ *
+ * <p>Fields are cached per level through {@link Level#getDistanceField(int)}, which drops them as
+ * soon as the layout changes.</p>
+ */
+public final class DistanceField {
+
+   /**
+    * Distance value for cells that cannot reach the target (walls, or walkable cells cut off from it).
+    */
+   public static final int UNREACHABLE = -1;
+
+   /**
+    * Marks walkable cells the search has not reached; reported as {@link #UNREACHABLE}.
+    */
+   private static final int PENDING = Integer.MAX_VALUE;
+
+   private final Level level;
+   private final int target;
+
+   /**
+    * Distances to the target by page and slot (see {@link Level#pageOf(int)}): {@link #UNREACHABLE} for walls
+    * and slots past the edge of the level, or {@link #PENDING} for walkable cells cut off from the target.
+    * {@code null} for pages the search never reached.
+    */
+   private final int[][] pages;
+
+   private DistanceField(Level level, int target, int[][] pages) {
+      this.level = level;
+      this.target = target;
+      this.pages = pages;
+   }
+
+   /**
+    * Runs a breadth-first search from the target over the walkable tiles of a level.
+    *
+    * <ul>
+    *     <li><b>Cost:</b> Every page the search reaches is read once when it is first entered, and every
+    *         walkable cell is queued at most once, so the search is linear in the size of the reached pages.
+    *         It uses one {@code int} per slot of those pages plus a queue that only holds the search's
+    *         frontier.</li>
+    * </ul>
+    *
+    * @param level  the level to search
+    * @param target the flat index of the target cell
+    * @return the computed field
+    * @throws IllegalArgumentException if the target is outside the level or not walkable
+    */
+   static DistanceField compute(Level level, int target) {
+      int size = level.size();
+      if (target < 0 || target >= size || !level.getTileAt(target).isWalkable()) {
+         throw new IllegalArgumentException("Distance field target " + target + " is not a walkable cell.");
+      }
+
+      DistanceField field = new DistanceField(level, target, new int[level.getPageCount()][]);
+      int columns = level.getColumns();
+      int[] queue = new int[Math.min(size, 1024)];
+      int head = 0;
+      int tail = 0;
+
+      field.set(target, 0);
+      queue[tail++] = target;
+      while (head < tail) {
+         int cell = queue[head++];
+         int next = field.get(cell) + 1;
+         int y = cell % columns;
+         if (queue.length - tail < 4) {
+            // Keep only the frontier: slide it to the front, and grow only if it fills most of the queue
+            System.arraycopy(queue, head, queue, 0, tail - head);
+            tail -= head;
+            head = 0;
+            if (queue.length - tail < queue.length / 2) {
+               queue = Arrays.copyOf(queue, queue.length * 2);
+            }
+         }
+         int neighbour = cell - columns;
+         if (neighbour >= 0 && field.get(neighbour) == PENDING) {
+            field.set(neighbour, next);
+            queue[tail++] = neighbour;
+         }
+         neighbour = cell + columns;
+         if (neighbour < size && field.get(neighbour) == PENDING) {
+            field.set(neighbour, next);
+            queue[tail++] = neighbour;
+         }
+         neighbour = cell - 1;
+         if (y > 0 && field.get(neighbour) == PENDING) {
+            field.set(neighbour, next);
+            queue[tail++] = neighbour;
+         }
+         neighbour = cell + 1;
+         if (y < columns - 1 && field.get(neighbour) == PENDING) {
+            field.set(neighbour, next);
+            queue[tail++] = neighbour;
+         }
+      }
+      return field;
+   }
+
+   /**
+    * Reads the stored value of a cell during the search, entering its page if the search has not yet.
+    */
+   private int get(int cell) {
+      return page(level.pageOf(cell))[level.offsetInPage(cell)];
+   }
+
+   private void set(int cell, int distance) {
+      page(level.pageOf(cell))[level.offsetInPage(cell)] = distance;
+   }
+
+   /**
+    * Returns a page's distances, allocating it on first use. One sequential pass marks walls as unreachable
+    * and walkable cells as not yet visited, so the search never has to look at the tiles again.
+    */
+   private int[] page(int page) {
+      int[] distances = pages[page];
+      if (distances == null) {
+         distances = new int[level.getPageSize()];
+         byte wall = Tile.WALL.getCode();
+         for (int offset = 0; offset < distances.length; offset++) {
+            int cell = level.cellAt(page, offset);
+            distances[offset] = cell == -1 || level.readCode(cell) == wall ? UNREACHABLE : PENDING;
+         }
+         pages[page] = distances;
+      }
+      return distances;
+   }
+
+   /**
+    * Reads the distance of a cell once the search is done; pages it never reached are unreachable.
+    */
+   private int stored(int cell) {
+      int[] distances = pages[level.pageOf(cell)];
+      return distances == null ? UNREACHABLE : distances[level.offsetInPage(cell)];
+   }
+
+   // Getters
+
+   public Level getLevel() {
+      return level;
+   }
+
+   public int getTarget() {
+      return target;
+   }
+
+   /**
+    * Returns how much memory the field's distances take.
+    *
+    * @return the bytes of the allocated pages
+    */
+   public long getByteSize() {
+      long bytes = 0;
+      for (int[] distances : pages) {
+         if (distances != null) {
+            bytes += (long) Integer.BYTES * distances.length;
+         }
+      }
+      return bytes;
+   }
+
+   /**
+    * Returns the walking distance from a cell to the target.
+    *
+    * @param cell the flat index of the cell
+    * @return the number of steps to the target, or {@link #UNREACHABLE}
+    */
+   public int getDistance(int cell) {
+      int distance = stored(cell);
+      return distance == PENDING ? UNREACHABLE : distance;
+   }
+
+   /**
+    * Returns the walking distance from a coordinate to the target.
+    *
+    * @param x the row
+    * @param y the column
+    * @return the number of steps to the target, or {@link #UNREACHABLE} (also for coordinates outside the level)
+    */
+   public int getDistance(int x, int y) {
+      if (!level.isInBounds(x, y)) {
+         return UNREACHABLE;
+      }
+      return getDistance(level.index(x, y));
+   }
+
+   /**
+    * Returns the neighbouring cell that is one step closer to the target.
+    *
+    * @param cell the flat index of the current cell
+    * @return the flat index of the next cell on a shortest path, or {@code -1} if the cell is the
+    *         target itself or cannot reach it
+    */
+   public int nextStep(int cell) {
+      int distance = stored(cell);
+      if (distance <= 0 || distance == PENDING) {
+         return -1;
+      }
+      int columns = level.getColumns();
+      int y = cell % columns;
+      if (cell >= columns && stored(cell - columns) == distance - 1) {
+         return cell - columns;
+      }
+      if (cell + columns < level.size() && stored(cell + columns) == distance - 1) {
+         return cell + columns;
+      }
+      if (y > 0 && stored(cell - 1) == distance - 1) {
+         return cell - 1;
+      }
+      if (y < columns - 1 && stored(cell + 1) == distance - 1) {
+         return cell + 1;
+      }
+      return -1;
+   }
+
+}
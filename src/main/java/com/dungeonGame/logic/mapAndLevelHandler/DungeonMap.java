@@ -1,12 +1,13 @@
 package com.dungeonGame.logic.mapAndLevelHandler;
 
 import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.logging.GameLog;
 import com.dungeonGame.logic.PositionDataHolder;
 
 /**
  * Manages the dungeon map and its levels in the Dungeon Game.
  * <p>
- * The dungeon consists of three levels, each represented as a 2D character array.
+ * The levels are loaded from level files through a {@link LevelRegistry}, each represented as a {@link Level}.
  * The class provides methods to retrieve specific levels and initialize the map layout.
  * </p>
  */
@@ -14,17 +15,19 @@ public class DungeonMap {
 
    static EncounterManager encounterManager = new EncounterManager();
 
+   private static final System.Logger LOG = GameLog.getLogger(DungeonMap.class);
+
    /**
-    * Array containing the layouts for all dungeon levels.
-    * Each level is a 2D character array.
+    * Registry holding the layouts for all dungeon levels.
+    * Each level is a {@link Level} made of {@link Tile}s:
     * <ul>
-    *     <li>{@code 'W'} - Wall</li>
-    *     <li>{@code ' '} - Walkable room</li>
-    *     <li>{@code 'E'} - Entrance</li>
-    *     <li>{@code 'X'} - Exit</li>
+    *     <li>{@link Tile#WALL} - Wall</li>
+    *     <li>{@link Tile#ROOM} - Walkable room</li>
+    *     <li>{@link Tile#ENTRANCE} - Entrance</li>
+    *     <li>{@link Tile#EXIT} - Exit</li>
     * </ul>
     */
-   public static char[][][] levels;
+   public static LevelRegistry levels;
 
    /**
     * Tracks the number of the currently active level.
@@ -35,7 +38,12 @@ public class DungeonMap {
    /**
     * Stores the map of the currently active level.
     */
-   public static char[][] currentLevel;
+   public static Level currentLevel;
+
+   /**
+    * Descriptor of the currently active level; see {@link #getCurrentDescriptor()}.
+    */
+   private static LevelDescriptor currentDescriptor;
 
 
    /**
@@ -54,66 +62,126 @@ public class DungeonMap {
    }
 
    /**
-    * Initializes the dungeon map by creating layouts for all levels.
-    * The layouts are generated using the {@link LevelFactory} inner class.
+    * Initializes the dungeon map by setting up the level registry.
+    *
+    * <ul>
+    *     <li><b>Level Files:</b> Read from the directory named by the {@code dungeon.levels.dir} system property,
+    *         or from the files bundled with the game. Edited files in that directory are picked up while playing.</li>
+    * </ul>
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link LevelRegistry#createDefault()}</li>
+    *     <li>{@link LevelRegistry#startWatching()}</li>
+    *     <li>{@link EncounterManager#assignEncounters(Level)}</li>
+    * </ul>
     */
    public static void initialize() {
-      // Initialize the dungeon levels using LevelFactory
-      levels = new char[3][][];
-      levels[0] = LevelFactory.createLevel1();
-      levels[1] = LevelFactory.createLevel2();
-      levels[2] = LevelFactory.createLevel3();
+      levels = LevelRegistry.createDefault();
+      levels.startWatching();
 
-      currentLevel = levels[0];
+      currentLevel = levels.get(1);
       currentLevelNumber = 1;
       encounterManager.assignEncounters(currentLevel);
 
    }
 
+   /**
+    * Replaces the level registry with a fixed set of in-memory levels, numbered from 1.
+    *
+    * @param layouts the levels, in order
+    */
+   public static void useLevels(Level... layouts) {
+      levels = LevelRegistry.of(layouts);
+   }
+
    /**
     * Retrieves the layout of a specified dungeon level.
     *
     * <ul>
-    *     <li><b>Valid Input:</b> Levels 1 through 3.</li>
+    *     <li><b>Valid Input:</b> Levels 1 through {@link #getLevelCount()}.</li>
     *     <li><b>Error Handling:</b> Throws {@link IllegalArgumentException} for invalid level numbers.</li>
     * </ul>
     *
     * @param levelNumber the number of the level to retrieve
-    * @return the 2D character array representing the level's layout
-    * @throws IllegalArgumentException if the level number is not in the range 1 to 3
+    * @return the {@link Level} representing the level's layout
+    * @throws IllegalArgumentException if there is no level with that number
     */
-   public static char[][] getLevel(int levelNumber) {
-      // Retrieve a specific level
-      if (levelNumber < 1 || levelNumber > 3) {
-         throw new IllegalArgumentException("Invalid level number. Levels range from 1 to 3.");
-      }
-      return levels[levelNumber - 1];
+   public static Level getLevel(int levelNumber) {
+      return levels.get(levelNumber);
    }
 
+   /**
+    * Retrieves the number of levels in the dungeon.
+    *
+    * @return the number of levels
+    */
+   public static int getLevelCount() { return levels.getLevelCount(); }
+
    /**
     * Retrieves the layout of the current level.
     *
-    * @return the 2D character array representing the current level's layout
+    * @return the {@link Level} representing the current level's layout
+    */
+   public static Level getCurrentLevel() { return currentLevel; }
+
+   /**
+    * Retrieves the descriptor of the current level.
+    *
+    * <ul>
+    *     <li><b>Cost:</b> Constant time while the current level stays the same. The descriptor is only
+    *         rebuilt if the current level was replaced or edited without going through
+    *         {@link #setCurrentLevel(PositionDataHolder, Level, int, LevelTransitionHandler)}.</li>
+    * </ul>
+    *
+    * @return the {@link LevelDescriptor} of the current level
     */
-   public static char[][] getCurrentLevel() { return currentLevel; }
+   public static LevelDescriptor getCurrentDescriptor() {
+      LevelDescriptor descriptor = currentDescriptor;
+      if (descriptor == null || !descriptor.describes(currentLevel) || descriptor.getLevelNumber() != currentLevelNumber) {
+         descriptor = describe(currentLevel, currentLevelNumber);
+         currentDescriptor = descriptor;
+      }
+      return descriptor;
+   }
+
+   /**
+    * Returns the registry's descriptor for a level, or describes the level directly if it is not the
+    * registry's copy (for example a level that was edited in place).
+    *
+    * @param level       the level
+    * @param levelNumber the level's number
+    * @return the level's descriptor
+    */
+   public static LevelDescriptor describe(Level level, int levelNumber) {
+      if (levels != null && levels.hasLevel(levelNumber)) {
+         LevelDescriptor registered = levels.getDescriptor(levelNumber);
+         if (registered.describes(level)) {
+            return registered;
+         }
+      }
+      int next = levels != null && levels.hasLevel(levelNumber + 1) ? levelNumber + 1 : LevelDescriptor.NO_NEXT_LEVEL;
+      return LevelDescriptor.describe(level, levelNumber, next);
+   }
 
    /**
     * Sets the current level to a new layout and level number.
     * <p>
     * <b>Internal Method Calls:</b>
     * <ul>
-    *     <li>{@link EncounterManager#assignEncounters(char[][])}</li>
+    *     <li>{@link EncounterManager#assignEncounters(Level)}</li>
     * </ul>
     *  @param pm the player's position manager
     *
     * @param newLevel               the new level's layout
     * @param levelNumber            the number of the new level
     */
-   public static void setCurrentLevel(PositionDataHolder pm, char[][] newLevel, int levelNumber, LevelTransitionHandler levelTransitionHandler) {
+   public static void setCurrentLevel(PositionDataHolder pm, Level newLevel, int levelNumber, LevelTransitionHandler levelTransitionHandler) {
       currentLevel = newLevel;
       currentLevelNumber = levelNumber;
+      currentDescriptor = describe(newLevel, levelNumber);
       levelTransitionHandler.setCurrentLevelDirectly(newLevel, levelNumber);
-      System.out.println("Initializing Level: " + levelNumber);
+      LOG.log(System.Logger.Level.DEBUG, "Level initialized level={0}", levelNumber);
 
       // Initialize player position after setting the new level
       levelTransitionHandler.initializePlayerPosition(pm);
@@ -133,8 +201,9 @@ public class DungeonMap {
    /**
     * Inner class responsible for creating the layouts of each dungeon level.
     *
-    * <p>Each level is represented as a 2D character array. This class
-    * provides methods to define the static layout for each level.</p>
+    * <p>Each layout is written as a 2D character array for readability and converted
+    * into a compact {@link Level} with {@link Level#fromRows(char[][])}. The game itself loads
+    * the same layouts from the bundled level files; these copies are kept for tests and tools.</p>
     */
    public static class LevelFactory {
 
@@ -146,16 +215,16 @@ public class DungeonMap {
        *     <li>{@code 'W'} - Walls surrounding and dividing rooms.</li>
        * </ul>
        *
-       * @return a 2D character array representing Level 1
+       * @return a {@link Level} representing Level 1
        */
-      public static char[][] createLevel1() {
-         return new char[][]{
+      public static Level createLevel1() {
+         return Level.fromRows(new char[][]{
                  {'W', 'W', 'W', 'W', 'W'},
                  {'W', ' ', ' ', ' ', 'W'},
                  {'W', ' ', 'W', ' ', 'W'},
                  {'W', ' ', 'W', 'X', 'W'},
                  {'W', 'E', 'W', 'W', 'W'}
-         };
+         });
       }
 
       /**
@@ -166,16 +235,16 @@ public class DungeonMap {
        *     <li>{@code 'W'} - Walls dividing rooms.</li>
        * </ul>
        *
-       * @return a 2D character array representing Level 2
+       * @return a {@link Level} representing Level 2
        */
-      public static char[][] createLevel2() {
-         return new char[][]{
+      public static Level createLevel2() {
+         return Level.fromRows(new char[][]{
                  {'W', 'W', 'W', 'W', 'W'},
                  {'W', 'E', ' ', ' ', 'W'},
                  {'W', ' ', 'W', ' ', 'W'},
                  {'W', ' ', ' ', ' ', 'X'},
                  {'W', 'W', ' ', ' ', 'W'}
-         };
+         });
       }
 
       /**
@@ -186,16 +255,16 @@ public class DungeonMap {
        *     <li>{@code 'W'} - Walls forming challenging paths.</li>
        * </ul>
        *
-       * @return a 2D character array representing Level 3
+       * @return a {@link Level} representing Level 3
        */
-      public static char[][] createLevel3() {
-         return new char[][]{
+      public static Level createLevel3() {
+         return Level.fromRows(new char[][]{
                  {'W', 'W', ' ', ' ', 'X'},
                  {'W', ' ', ' ', 'W', ' '},
                  {'W', ' ', ' ', ' ', ' '},
                  {'W', ' ', 'E', 'W', 'W'},
                  {'W', 'W', 'W', 'W', 'W'}
-         };
+         });
       }
 
    }
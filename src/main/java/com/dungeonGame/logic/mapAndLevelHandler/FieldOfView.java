@@ -0,0 +1,116 @@
+package com.dungeonGame.logic.mapAndLevelHandler;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Computes which cells of a {@link Level} can be seen from a point, using recursive shadowcasting.
+ *
+ * <p>
+ * The area around the viewer is split into eight octants. Each octant is scanned row by row moving
+ * away from the viewer, and walls narrow the range of slopes that later rows can still see. Only
+ * cells within the sight radius are ever looked at, so the cost depends on the radius and not on
+ * the size of the level.
+ * </p>
+ *
+ * <p>Walls and cells outside the level block sight. Walls that are seen are reported as visible,
+ * so the player sees the edges of the rooms around them.</p>
+ */
+public final class FieldOfView {
+
+   /**
+    * Transformation from octant-local coordinates to level coordinates: {@code {xx, xy, yx, yy}} per octant.
+    */
+   private static final int[][] OCTANTS = {
+           {1, 0, 0, 1},
+           {0, 1, 1, 0},
+           {0, -1, 1, 0},
+           {-1, 0, 0, 1},
+           {-1, 0, 0, -1},
+           {0, -1, -1, 0},
+           {0, 1, -1, 0},
+           {1, 0, 0, -1}
+   };
+
+   /**
+    * Private constructor to prevent instantiation of the {@code FieldOfView} utility class.
+    */
+   private FieldOfView() {
+   }
+
+   /**
+    * Reports every cell visible from a point within a radius.
+    *
+    * <ul>
+    *     <li><b>Cost:</b> Proportional to the number of cells within {@code radius}; cells on the border
+    *         between two octants may be reported twice.</li>
+    * </ul>
+    *
+    * @param level   the level to look at
+    * @param originX the viewer's row
+    * @param originY the viewer's column
+    * @param radius  the sight radius in cells
+    * @param visible receives the flat index of every visible cell, including the viewer's own cell
+    * @throws IndexOutOfBoundsException if the viewer is outside the level
+    */
+   public static void compute(Level level, int originX, int originY, int radius, IntConsumer visible) {
+      if (!level.isInBounds(originX, originY)) {
+         throw new IndexOutOfBoundsException("Viewer (" + originX + ", " + originY + ") is outside the level.");
+      }
+      visible.accept(level.index(originX, originY));
+      for (int[] octant : OCTANTS) {
+         castLight(level, originX, originY, radius, 1, 1.0, 0.0, octant, visible);
+      }
+   }
+
+   /**
+    * Scans one octant from row {@code startRow} outward, between two slopes, recursing past each wall run.
+    */
+   private static void castLight(Level level, int originX, int originY, int radius, int startRow,
+                                 double startSlope, double endSlope, int[] octant, IntConsumer visible) {
+      if (startSlope < endSlope) {
+         return;
+      }
+      int radiusSquared = radius * radius;
+      double nextStartSlope = startSlope;
+      for (int distance = startRow; distance <= radius; distance++) {
+         boolean blocked = false;
+         int deltaY = -distance;
+         for (int deltaX = -distance; deltaX <= 0; deltaX++) {
+            double leftSlope = (deltaX - 0.5) / (deltaY + 0.5);
+            double rightSlope = (deltaX + 0.5) / (deltaY - 0.5);
+            if (startSlope < rightSlope) {
+               continue;
+            }
+            if (endSlope > leftSlope) {
+               break;
+            }
+
+            int x = originX + deltaX * octant[0] + deltaY * octant[1];
+            int y = originY + deltaX * octant[2] + deltaY * octant[3];
+            boolean inBounds = level.isInBounds(x, y);
+            if (inBounds && deltaX * deltaX + deltaY * deltaY <= radiusSquared) {
+               visible.accept(level.index(x, y));
+            }
+
+            boolean opaque = !inBounds || !level.isWalkable(x, y);
+            if (blocked) {
+               if (opaque) {
+                  nextStartSlope = rightSlope;
+               } else {
+                  blocked = false;
+                  startSlope = nextStartSlope;
+               }
+            } else if (opaque && distance < radius) {
+               // A wall run starts here: the part of the octant beyond it is scanned separately
+               blocked = true;
+               castLight(level, originX, originY, radius, distance + 1, startSlope, leftSlope, octant, visible);
+               nextStartSlope = rightSlope;
+            }
+         }
+         if (blocked) {
+            break;
+         }
+      }
+   }
+
+}
@@ -0,0 +1,517 @@
+package com.dungeonGame.logic.mapAndLevelHandler;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The layout of a single dungeon level.
+ *
+ * <p>
+ * Tiles are kept in one flat {@code byte} array in row-major order, so a level costs one byte per
+ * tile and scanning a row walks contiguous memory. Coordinates follow the rest of the game:
+ * {@code x} is the row (top to bottom) and {@code y} is the column (left to right).
+ * </p>
+ * <p>
+ * Levels too large to keep on the heap use {@link PagedLevel}, which stores the same codes in a
+ * chunked file and only maps in the chunks around the player. Everything derived from a level
+ * ({@link CellIndex}, {@link DistanceField}, {@link LevelDescriptor}, {@link VisibilityState}) works
+ * page by page: a page is a whole on-heap level, or one chunk of a paged level, and pages that are
+ * never needed are never allocated.
+ * </p>
+ */
+public class Level {
+
+   private final int rows;
+   private final int columns;
+
+   /**
+    * Tile codes (see {@link Tile#getCode()}), indexed by {@link #index(int, int)}.
+    * {@code null} for levels that keep their tiles elsewhere.
+    */
+   private final byte[] tiles;
+
+   /**
+    * Lazily built cell indexes, one slot per {@link CellIndex.Category}; cleared whenever a tile changes.
+    */
+   private volatile CellIndex[] cellIndexes = new CellIndex[CellIndex.Category.values().length];
+
+   /**
+    * Bytes of distance fields kept per level: the exit field plus a few recent {@code goto} targets on the
+    * shipped levels, but never more than one field of a very large level.
+    */
+   private static final long DISTANCE_FIELD_CACHE_BYTES = 8L << 20;
+
+   /**
+    * Recently used distance fields by target cell, least recently used first; cleared whenever a tile changes.
+    */
+   private final Map<Integer, DistanceField> distanceFields = new LinkedHashMap<>(16, 0.75f, true);
+
+   /**
+    * Bytes held by the fields in {@link #distanceFields}. Guarded by {@code distanceFields}.
+    */
+   private long cachedFieldBytes;
+
+   /**
+    * Incremented on every tile change, so caches derived from the layout can tell they are stale.
+    */
+   private volatile int version;
+
+   /**
+    * The first exit in row-major order, in the low half, and the {@link #version} it was found at, in the
+    * high half; {@code -1} until known. Filled by {@link LevelDescriptor#describe} or the first exit lookup.
+    */
+   private volatile long exitCell = -1L;
+
+   /**
+    * Creates a level of the given size where every tile is a {@link Tile#WALL}.
+    *
+    * @param rows    the number of rows
+    * @param columns the number of columns
+    * @throws IllegalArgumentException if either dimension is not positive
+    */
+   public Level(int rows, int columns) {
+      this(rows, columns, true);
+   }
+
+   /**
+    * Creates a level of the given size, optionally without on-heap tile storage.
+    *
+    * <p>Subclasses that pass {@code false} must override {@link #readCode(int)}, {@link #writeCode(int, byte)}
+    * and the page geometry ({@link #getPageCount()} and the methods next to it).</p>
+    *
+    * @param rows     the number of rows
+    * @param columns  the number of columns
+    * @param allocate whether to allocate the on-heap tile array
+    * @throws IllegalArgumentException if either dimension is not positive, or the level has more than
+    *                                  {@link Integer#MAX_VALUE} cells
+    */
+   Level(int rows, int columns, boolean allocate) {
+      if (rows <= 0 || columns <= 0) {
+         throw new IllegalArgumentException("Level dimensions must be positive: " + rows + "x" + columns);
+      }
+      if ((long) rows * columns > Integer.MAX_VALUE) {
+         throw new IllegalArgumentException("Level is too large: " + rows + "x" + columns);
+      }
+      this.rows = rows;
+      this.columns = columns;
+      this.tiles = allocate ? new byte[rows * columns] : null;
+   }
+
+   /**
+    * Builds a level from a rectangular layout of map symbols.
+    *
+    * @param layout the layout, one array of symbols per row
+    * @return the parsed level
+    * @throws IllegalArgumentException if the layout is empty, ragged, or contains unknown symbols
+    */
+   public static Level fromRows(char[][] layout) {
+      if (layout.length == 0) {
+         throw new IllegalArgumentException("Level layout must not be empty.");
+      }
+      Level level = new Level(layout.length, layout[0].length);
+      for (int x = 0; x < layout.length; x++) {
+         if (layout[x].length != level.columns) {
+            throw new IllegalArgumentException("Level layout row " + x + " has " + layout[x].length
+                    + " columns, expected " + level.columns + ".");
+         }
+         for (int y = 0; y < level.columns; y++) {
+            level.writeCode(x * level.columns + y, Tile.fromSymbol(layout[x][y]).getCode());
+         }
+      }
+      return level;
+   }
+
+   // Getters
+
+   public int getRows() {
+      return rows;
+   }
+
+   public int getColumns() {
+      return columns;
+   }
+
+   /**
+    * Returns the total number of tiles in the level.
+    *
+    * @return {@code rows * columns}
+    */
+   public int size() {
+      return rows * columns;
+   }
+
+   /**
+    * Checks whether a coordinate lies inside the level.
+    *
+    * @param x the row
+    * @param y the column
+    * @return {@code true} if the coordinate is inside the level bounds
+    */
+   public boolean isInBounds(int x, int y) {
+      return x >= 0 && x < rows && y >= 0 && y < columns;
+   }
+
+   /**
+    * Converts a coordinate into its row-major tile index.
+    * The coordinate is not bounds-checked; use {@link #isInBounds(int, int)} first.
+    *
+    * @param x the row
+    * @param y the column
+    * @return the flat index of the tile
+    */
+   public int index(int x, int y) {
+      return x * columns + y;
+   }
+
+   /**
+    * Returns the row of a flat tile index.
+    *
+    * @param index the row-major index
+    * @return the row ({@code x})
+    */
+   public int rowOf(int index) {
+      return index / columns;
+   }
+
+   /**
+    * Returns the column of a flat tile index.
+    *
+    * @param index the row-major index
+    * @return the column ({@code y})
+    */
+   public int columnOf(int index) {
+      return index % columns;
+   }
+
+   /**
+    * Appends the name players know a room by: the row as letters, then the column counted from 1.
+    *
+    * <ul>
+    *     <li><b>Rows:</b> {@code A} to {@code Z}, then {@code AA}, {@code AB} and so on, like spreadsheet
+    *         columns, so every row of a large level has a name (e.g. row 27 is {@code AB}).</li>
+    * </ul>
+    *
+    * @param out where to append the name
+    * @param x   the row
+    * @param y   the column
+    * @return {@code out}
+    */
+   public static StringBuilder appendRoomName(StringBuilder out, int x, int y) {
+      int start = out.length();
+      for (int n = x + 1; n > 0; n = (n - 1) / 26) {
+         out.insert(start, (char) ('A' + (n - 1) % 26));
+      }
+      return out.append(y + 1);
+   }
+
+   /**
+    * Finds the room a player named, as {@link #appendRoomName(StringBuilder, int, int)} writes it or as two
+    * numbers.
+    *
+    * <ul>
+    *     <li><b>Forms:</b> Row letters then the column ({@code "b3"}, {@code "ab12"}), or the row and column
+    *         counted from 1 and separated by a comma or spaces ({@code "28,12"}). Letters may be in either case.</li>
+    * </ul>
+    *
+    * @param name the room name
+    * @return the flat index of the room, or {@code -1} if the name is malformed or outside the level
+    */
+   public int parseRoomName(String name) {
+      String text = name.trim();
+      long row = 0;
+      int split = 0;
+      while (split < text.length()) {
+         char letter = Character.toLowerCase(text.charAt(split));
+         if (letter < 'a' || letter > 'z') {
+            break;
+         }
+         row = row * 26 + (letter - 'a' + 1);
+         if (row > rows) {
+            return -1;
+         }
+         split++;
+      }
+      int column;
+      try {
+         if (split > 0) {
+            column = Integer.parseInt(text.substring(split).trim());
+         } else {
+            int separator = text.indexOf(',');
+            if (separator == -1) {
+               separator = text.indexOf(' ');
+            }
+            if (separator == -1) {
+               return -1;
+            }
+            row = Integer.parseInt(text.substring(0, separator).trim());
+            column = Integer.parseInt(text.substring(separator + 1).trim());
+         }
+      } catch (NumberFormatException e) {
+         return -1;
+      }
+      int x = (int) row - 1;
+      int y = column - 1;
+      return row > 0 && isInBounds(x, y) ? index(x, y) : -1;
+   }
+
+   /**
+    * Returns the tile at the given coordinate.
+    *
+    * @param x the row
+    * @param y the column
+    * @return the tile at that position
+    * @throws IndexOutOfBoundsException if the coordinate is outside the level
+    */
+   public Tile getTile(int x, int y) {
+      checkBounds(x, y);
+      return Tile.fromCode(readCode(x * columns + y));
+   }
+
+   /**
+    * Returns the tile stored at a flat index.
+    *
+    * @param index the row-major index, see {@link #index(int, int)}
+    * @return the tile at that index
+    */
+   public Tile getTileAt(int index) {
+      return Tile.fromCode(readCode(index));
+   }
+
+   /**
+    * Replaces the tile at the given coordinate.
+    *
+    * @param x    the row
+    * @param y    the column
+    * @param tile the new tile
+    * @throws IndexOutOfBoundsException if the coordinate is outside the level
+    */
+   public void setTile(int x, int y, Tile tile) {
+      checkBounds(x, y);
+      writeCode(x * columns + y, tile.getCode());
+      version++;
+      cellIndexes = new CellIndex[CellIndex.Category.values().length];
+      synchronized (distanceFields) {
+         distanceFields.clear();
+         cachedFieldBytes = 0;
+      }
+   }
+
+   /**
+    * Returns the layout version, which changes every time a tile is replaced.
+    *
+    * @return the current version
+    */
+   public int getVersion() {
+      return version;
+   }
+
+   /**
+    * Returns the index of all cells in the given category, building it on first use.
+    *
+    * <ul>
+    *     <li><b>Cost:</b> The first call scans the level once; later calls return the cached index
+    *         until a tile is changed with {@link #setTile(int, int, Tile)}.</li>
+    * </ul>
+    *
+    * @param category the kind of cells to index
+    * @return the cell index for this level
+    */
+   public CellIndex getCellIndex(CellIndex.Category category) {
+      CellIndex[] indexes = cellIndexes;
+      CellIndex index = indexes[category.ordinal()];
+      if (index == null) {
+         index = CellIndex.build(this, category);
+         indexes[category.ordinal()] = index;
+      }
+      return index;
+   }
+
+   /**
+    * Checks whether the player may stand on the given coordinate.
+    *
+    * @param x the row
+    * @param y the column
+    * @return {@code true} if the coordinate is inside the level and not a wall
+    */
+   public boolean isWalkable(int x, int y) {
+      return isInBounds(x, y) && readCode(x * columns + y) != Tile.WALL.getCode();
+   }
+
+   /**
+    * Finds the first tile of the given kind in row-major order.
+    *
+    * @param tile the tile to look for
+    * @return the flat index of the first match, or {@code -1} if there is none
+    */
+   public int find(Tile tile) {
+      byte code = tile.getCode();
+      int found = -1;
+      int pageSize = getPageSize();
+      for (int page = 0; page < getPageCount(); page++) {
+         for (int offset = 0; offset < pageSize; offset++) {
+            int cell = cellAt(page, offset);
+            if (cell != -1 && readCode(cell) == code) {
+               // Cells within a page are in row-major order, so the first match is the page's smallest
+               found = found == -1 ? cell : Math.min(found, cell);
+               break;
+            }
+         }
+      }
+      return found;
+   }
+
+   /**
+    * Returns the shortest-path distances from every cell to the given target, computing them on first use.
+    *
+    * <ul>
+    *     <li><b>Cost:</b> The first request for a target runs one breadth-first search over the level;
+    *         later requests return the cached field until a tile is changed with {@link #setTile(int, int, Tile)}.</li>
+    *     <li><b>Memory:</b> Fields are kept while they fit in {@value #DISTANCE_FIELD_CACHE_BYTES} bytes, counting
+    *         only the pages each field allocated, least recently used first out.</li>
+    * </ul>
+    *
+    * @param targetCell the flat index of the target cell
+    * @return the distance field towards the target
+    * @throws IllegalArgumentException if the target is not a walkable cell
+    */
+   public DistanceField getDistanceField(int targetCell) {
+      synchronized (distanceFields) {
+         DistanceField field = distanceFields.get(targetCell);
+         if (field == null) {
+            field = DistanceField.compute(this, targetCell);
+            cachedFieldBytes += field.getByteSize();
+            distanceFields.put(targetCell, field);
+            // The field just added is always kept
+            Iterator<DistanceField> eldest = distanceFields.values().iterator();
+            while (distanceFields.size() > 1 && cachedFieldBytes > DISTANCE_FIELD_CACHE_BYTES) {
+               cachedFieldBytes -= eldest.next().getByteSize();
+               eldest.remove();
+            }
+         }
+         return field;
+      }
+   }
+
+   /**
+    * Returns the distance field towards the level's exit.
+    *
+    * <ul>
+    *     <li><b>Cost:</b> The exit is the one its {@link LevelDescriptor} records, so the level is only
+    *         scanned for it if it has not been described since its last edit.</li>
+    * </ul>
+    *
+    * @return the distance field, or {@code null} if the level has no exit
+    */
+   public DistanceField getExitDistanceField() {
+      long known = exitCell;
+      int exit;
+      if (known != -1L && (int) (known >>> 32) == version) {
+         exit = (int) known;
+      } else {
+         int atVersion = version;
+         exit = find(Tile.EXIT);
+         rememberExit(exit, atVersion);
+      }
+      return exit == -1 ? null : getDistanceField(exit);
+   }
+
+   /**
+    * Records where the first exit is, so {@link #getExitDistanceField()} does not scan the level for it.
+    *
+    * @param cell      the cell index of the first exit, or {@code -1} if there is none
+    * @param atVersion the layout version the exit was found at
+    */
+   void rememberExit(int cell, int atVersion) {
+      exitCell = ((long) atVersion << 32) | (cell & 0xFFFFFFFFL);
+   }
+
+   /**
+    * Tells the level that the player is now standing at the given coordinate.
+    *
+    * <p>On-heap levels ignore this; {@link PagedLevel} uses it to map in the area around the player
+    * ahead of time.</p>
+    *
+    * @param x the row
+    * @param y the column
+    */
+   public void focus(int x, int y) {
+      // Everything is already in memory
+   }
+
+   /**
+    * Returns how many pages the level's cells are split into; an on-heap level is a single page.
+    *
+    * @return the number of pages
+    */
+   public int getPageCount() {
+      return 1;
+   }
+
+   /**
+    * Returns the number of slots in every page. Slots past the edge of the level hold no cell.
+    *
+    * @return the slots per page
+    */
+   public int getPageSize() {
+      return size();
+   }
+
+   /**
+    * Returns the page a cell belongs to.
+    *
+    * @param cell the flat index of the cell
+    * @return the page number
+    */
+   int pageOf(int cell) {
+      return 0;
+   }
+
+   /**
+    * Returns the slot of a cell within its page. Within a page, slots follow the row-major order of their cells.
+    *
+    * @param cell the flat index of the cell
+    * @return the slot within {@link #pageOf(int)}
+    */
+   int offsetInPage(int cell) {
+      return cell;
+   }
+
+   /**
+    * Returns the cell in a slot of a page.
+    *
+    * @param page   the page number
+    * @param offset the slot within the page
+    * @return the flat index of the cell, or {@code -1} if the slot lies past the edge of the level
+    */
+   int cellAt(int page, int offset) {
+      return offset;
+   }
+
+   /**
+    * Reads the raw tile code stored at a flat index.
+    *
+    * @param index the row-major index
+    * @return the stored tile code
+    */
+   byte readCode(int index) {
+      return tiles[index];
+   }
+
+   /**
+    * Writes a raw tile code at a flat index.
+    *
+    * @param index the row-major index
+    * @param code  the tile code to store
+    */
+   void writeCode(int index, byte code) {
+      tiles[index] = code;
+   }
+
+   private void checkBounds(int x, int y) {
+      if (!isInBounds(x, y)) {
+         throw new IndexOutOfBoundsException("(" + x + ", " + y + ") is outside the " + rows + "x" + columns + " level.");
+      }
+   }
+
+}
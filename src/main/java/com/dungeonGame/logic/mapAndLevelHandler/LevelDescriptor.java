@@ -0,0 +1,192 @@
+package com.dungeonGame.logic.mapAndLevelHandler;
+
+/**
+ * Facts about a level that the game needs on every transition, computed once when the level is loaded.
+ *
+ * <p>
+ * A descriptor records where the entrance and exit are, how many cells can be walked on, the level's
+ * number and the number of the level that follows it. Entering a level, checking for the exit and
+ * moving on to the next level therefore never scan the map.
+ * </p>
+ *
+ * <p>Descriptors are immutable. They belong to one version of one {@link Level}; use
+ * {@link #describes(Level)} to check whether a descriptor still matches a level that may have been edited.</p>
+ */
+public final class LevelDescriptor {
+
+   /**
+    * Value of {@link #getNextLevelNumber()} for the final level of the dungeon.
+    */
+   public static final int NO_NEXT_LEVEL = -1;
+
+   private final Level level;
+   private final int layoutVersion;
+   private final int levelNumber;
+   private final int nextLevelNumber;
+   private final int entranceCell;
+   private final int exitCell;
+   private final int walkableCount;
+
+   private LevelDescriptor(Level level, int layoutVersion, int levelNumber, int nextLevelNumber,
+                           int entranceCell, int exitCell, int walkableCount) {
+      this.level = level;
+      this.layoutVersion = layoutVersion;
+      this.levelNumber = levelNumber;
+      this.nextLevelNumber = nextLevelNumber;
+      this.entranceCell = entranceCell;
+      this.exitCell = exitCell;
+      this.walkableCount = walkableCount;
+   }
+
+   /**
+    * Scans a level once and records its entrance, exit and walkable cell count.
+    *
+    * <ul>
+    *     <li><b>Markers:</b> If a level has several entrances or exits, the first one in row-major order is
+    *         recorded; {@link #isExit(int, int)} still accepts every exit.</li>
+    * </ul>
+    *
+    * @param level           the level to describe
+    * @param levelNumber     the number of the level, starting at 1
+    * @param nextLevelNumber the number of the following level, or {@link #NO_NEXT_LEVEL}
+    * @return the descriptor
+    */
+   public static LevelDescriptor describe(Level level, int levelNumber, int nextLevelNumber) {
+      int version = level.getVersion();
+      byte wall = Tile.WALL.getCode();
+      byte entranceCode = Tile.ENTRANCE.getCode();
+      byte exitCode = Tile.EXIT.getCode();
+      int entrance = -1;
+      int exit = -1;
+      int walkable = 0;
+      int pageSize = level.getPageSize();
+      // Read page by page so a paged level maps each chunk once; slots run in row-major order within a page
+      for (int page = 0; page < level.getPageCount(); page++) {
+         int pageEntrance = -1;
+         int pageExit = -1;
+         for (int offset = 0; offset < pageSize; offset++) {
+            int cell = level.cellAt(page, offset);
+            if (cell == -1) {
+               continue;
+            }
+            byte code = level.readCode(cell);
+            if (code == wall) {
+               continue;
+            }
+            walkable++;
+            if (code == entranceCode && pageEntrance == -1) {
+               pageEntrance = cell;
+            } else if (code == exitCode && pageExit == -1) {
+               pageExit = cell;
+            }
+         }
+         entrance = first(entrance, pageEntrance);
+         exit = first(exit, pageExit);
+      }
+      level.rememberExit(exit, version);
+      return new LevelDescriptor(level, version, levelNumber, nextLevelNumber, entrance, exit, walkable);
+   }
+
+   private static int first(int cell, int candidate) {
+      return cell == -1 || (candidate != -1 && candidate < cell) ? candidate : cell;
+   }
+
+   /**
+    * Returns a copy of this descriptor that links to a different next level.
+    *
+    * @param nextLevelNumber the number of the following level, or {@link #NO_NEXT_LEVEL}
+    * @return the relinked descriptor, or this descriptor if the link is unchanged
+    */
+   LevelDescriptor withNextLevelNumber(int nextLevelNumber) {
+      if (nextLevelNumber == this.nextLevelNumber) {
+         return this;
+      }
+      return new LevelDescriptor(level, layoutVersion, levelNumber, nextLevelNumber, entranceCell, exitCell, walkableCount);
+   }
+
+   /**
+    * Checks whether this descriptor was computed from the given level in its current state.
+    *
+    * @param candidate the level to check
+    * @return {@code true} if the descriptor belongs to that level and the level has not been edited since
+    */
+   public boolean describes(Level candidate) {
+      return candidate == level && candidate.getVersion() == layoutVersion;
+   }
+
+   // Getters
+
+   public Level getLevel() {
+      return level;
+   }
+
+   public int getLevelNumber() {
+      return levelNumber;
+   }
+
+   public int getNextLevelNumber() {
+      return nextLevelNumber;
+   }
+
+   public boolean hasNextLevel() {
+      return nextLevelNumber != NO_NEXT_LEVEL;
+   }
+
+   public int getWalkableCount() {
+      return walkableCount;
+   }
+
+   /**
+    * @return the flat index of the entrance, or {@code -1} if the level has none
+    */
+   public int getEntranceCell() {
+      return entranceCell;
+   }
+
+   /**
+    * @return the flat index of the first exit, or {@code -1} if the level has none
+    */
+   public int getExitCell() {
+      return exitCell;
+   }
+
+   public int getEntranceX() {
+      return entranceCell == -1 ? -1 : level.rowOf(entranceCell);
+   }
+
+   public int getEntranceY() {
+      return entranceCell == -1 ? -1 : level.columnOf(entranceCell);
+   }
+
+   public int getExitX() {
+      return exitCell == -1 ? -1 : level.rowOf(exitCell);
+   }
+
+   public int getExitY() {
+      return exitCell == -1 ? -1 : level.columnOf(exitCell);
+   }
+
+   /**
+    * Checks whether a coordinate is one of the level's exits.
+    *
+    * <ul>
+    *     <li><b>Several Exits:</b> The tile itself is checked, so every exit counts, not only the one
+    *         {@link #getExitCell()} records.</li>
+    * </ul>
+    *
+    * @param x the row
+    * @param y the column
+    * @return {@code true} if the coordinate is an exit
+    */
+   public boolean isExit(int x, int y) {
+      return level.isInBounds(x, y) && level.readCode(level.index(x, y)) == Tile.EXIT.getCode();
+   }
+
+   @Override
+   public String toString() {
+      return "Level " + levelNumber + " (entrance " + getEntranceX() + "," + getEntranceY()
+              + ", exit " + getExitX() + "," + getExitY() + ", " + walkableCount + " walkable cells, next "
+              + (hasNextLevel() ? nextLevelNumber : "none") + ")";
+   }
+
+}
@@ -0,0 +1,156 @@
+package com.dungeonGame.logic.mapAndLevelHandler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Reads and writes the plain-text level file format.
+ *
+ * <p><b>Format:</b></p>
+ * <ul>
+ *     <li>Lines starting with {@code #} and blank lines before the header are ignored.</li>
+ *     <li>The header line: {@code DLEVEL <version> <rows> <columns> <entranceX> <entranceY> <exitX> <exitY>}.</li>
+ *     <li>Then exactly {@code rows} lines of {@code columns} symbols each:
+ *         {@code W} wall, {@code .} (or a space) room, {@code E} entrance, {@code X} exit.</li>
+ * </ul>
+ *
+ * <p>Example (Level 1):</p>
+ * <pre>
+ * DLEVEL 1 5 5 4 1 3 3
+ * WWWWW
+ * W...W
+ * W.W.W
+ * W.WXW
+ * WEWWW
+ * </pre>
+ */
+public final class LevelFile {
+
+   /**
+    * First token of the header line.
+    */
+   static final String MAGIC = "DLEVEL";
+
+   /**
+    * Current version of the text format.
+    */
+   static final int VERSION = 1;
+
+   /**
+    * Symbol used for rooms in level files, so that rows survive editors that strip trailing spaces.
+    */
+   static final char ROOM_SYMBOL = '.';
+
+   /**
+    * Private constructor to prevent instantiation of the {@code LevelFile} utility class.
+    */
+   private LevelFile() {
+   }
+
+   /**
+    * Parses a level file.
+    *
+    * <ul>
+    *     <li><b>Validation:</b> The header must be present, the rows must match the declared size, and the
+    *         declared entrance and exit coordinates must point at the first {@code E} and the first {@code X}
+    *         tile in row-major order, which are the ones the game starts and ends the level on.</li>
+    * </ul>
+    *
+    * @param reader the file contents
+    * @param source a name for the file, used in error messages
+    * @return the parsed level
+    * @throws IOException              if the file cannot be read
+    * @throws IllegalArgumentException if the file is malformed
+    */
+   public static Level read(BufferedReader reader, String source) throws IOException {
+      String line = reader.readLine();
+      while (line != null && (line.isBlank() || line.startsWith("#"))) {
+         line = reader.readLine();
+      }
+      if (line == null) {
+         throw new IllegalArgumentException(source + ": missing " + MAGIC + " header.");
+      }
+
+      String[] header = line.trim().split("\\s+");
+      if (header.length != 8 || !header[0].equals(MAGIC)) {
+         throw new IllegalArgumentException(source + ": expected '" + MAGIC
+                 + " <version> <rows> <columns> <entranceX> <entranceY> <exitX> <exitY>', found '" + line + "'.");
+      }
+      int[] values = new int[7];
+      for (int i = 0; i < values.length; i++) {
+         try {
+            values[i] = Integer.parseInt(header[i + 1]);
+         } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(source + ": header value '" + header[i + 1] + "' is not a number.");
+         }
+      }
+      if (values[0] != VERSION) {
+         throw new IllegalArgumentException(source + ": unsupported level file version " + values[0] + ".");
+      }
+
+      int rows = values[1];
+      int columns = values[2];
+      if (rows <= 0 || columns <= 0 || (long) rows * columns > Integer.MAX_VALUE) {
+         throw new IllegalArgumentException(source + ": a level of " + rows + "x" + columns + " cells is not supported.");
+      }
+      Level level = new Level(rows, columns);
+      for (int x = 0; x < rows; x++) {
+         String row = reader.readLine();
+         if (row == null || row.length() != columns) {
+            throw new IllegalArgumentException(source + ": row " + x + " should have " + columns + " symbols.");
+         }
+         for (int y = 0; y < columns; y++) {
+            char symbol = row.charAt(y);
+            Tile tile = symbol == ROOM_SYMBOL ? Tile.ROOM : Tile.fromSymbol(symbol);
+            level.writeCode(x * columns + y, tile.getCode());
+         }
+      }
+
+      checkMarker(level, values[3], values[4], Tile.ENTRANCE, source);
+      checkMarker(level, values[5], values[6], Tile.EXIT, source);
+      return level;
+   }
+
+   /**
+    * Writes a level in the text format.
+    *
+    * @param level  the level to write; it must contain an entrance and an exit
+    * @param writer where to write the file contents
+    * @throws IOException              if writing fails
+    * @throws IllegalArgumentException if the level has no entrance or no exit
+    */
+   public static void write(Level level, Writer writer) throws IOException {
+      int entrance = level.find(Tile.ENTRANCE);
+      int exit = level.find(Tile.EXIT);
+      if (entrance == -1 || exit == -1) {
+         throw new IllegalArgumentException("A level file needs both an entrance and an exit.");
+      }
+      writer.write(MAGIC + " " + VERSION + " " + level.getRows() + " " + level.getColumns() + " "
+              + level.rowOf(entrance) + " " + level.columnOf(entrance) + " "
+              + level.rowOf(exit) + " " + level.columnOf(exit) + "\n");
+      char[] row = new char[level.getColumns()];
+      for (int x = 0; x < level.getRows(); x++) {
+         for (int y = 0; y < row.length; y++) {
+            Tile tile = level.getTile(x, y);
+            row[y] = tile == Tile.ROOM ? ROOM_SYMBOL : tile.getSymbol();
+         }
+         writer.write(row);
+         writer.write('\n');
+      }
+   }
+
+   private static void checkMarker(Level level, int x, int y, Tile expected, String source) {
+      if (!level.isInBounds(x, y) || level.getTile(x, y) != expected) {
+         throw new IllegalArgumentException(source + ": header says the " + expected.name().toLowerCase()
+                 + " is at (" + x + ", " + y + "), but there is no '" + expected.getSymbol() + "' there.");
+      }
+      int first = level.find(expected);
+      if (first != level.index(x, y)) {
+         throw new IllegalArgumentException(source + ": header says the " + expected.name().toLowerCase()
+                 + " is at (" + x + ", " + y + "), but the first '" + expected.getSymbol() + "' is at ("
+                 + level.rowOf(first) + ", " + level.columnOf(first) + ").");
+      }
+   }
+
+}
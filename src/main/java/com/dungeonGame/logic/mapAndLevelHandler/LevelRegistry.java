@@ -0,0 +1,443 @@
+package com.dungeonGame.logic.mapAndLevelHandler;
+
+import com.dungeonGame.logging.GameLog;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Looks up dungeon levels by number, loading them from level files on demand.
+ *
+ * <p>
+ * Levels are stored as {@code level-<number>.lvl} files (see {@link LevelFile}) either in a directory on
+ * disk or on the classpath under {@code levels/}. A level is only parsed the first time it is requested,
+ * and at most {@code cacheSize} parsed levels are kept; the least recently used one is dropped first.
+ * A directory may also hold a level as a {@code level-<number>.dlvl} file (see {@link PagedLevel}), which is
+ * opened read-only and paged in around the player instead of being parsed; it takes precedence over a
+ * {@code .lvl} file of the same number.
+ * Any number of levels is supported: the dungeon ends at the first missing level number.
+ * Each loaded level is described once by a {@link LevelDescriptor}, which links it to the level after it.
+ * </p>
+ *
+ * <p>
+ * For directory-backed registries, {@link #reloadChangedLevels()} and {@link #startWatching()} pick up edited
+ * files. A changed file is parsed in full before it replaces the cached level, so callers always see either
+ * the old or the new layout, never a half-loaded one. Sessions already playing a level keep their copy and
+ * see the new layout the next time they enter it.
+ * </p>
+ */
+public class LevelRegistry {
+
+   /**
+    * Default number of parsed levels kept in memory.
+    */
+   public static final int DEFAULT_CACHE_SIZE = 16;
+
+   private static final System.Logger LOG = GameLog.getLogger(LevelRegistry.class);
+
+   private static final Pattern FILE_NAME = Pattern.compile("level-(\\d+)\\.d?lvl");
+
+   /**
+    * Where level files come from.
+    */
+   private interface LevelSource {
+
+      /**
+       * @return a readable description of the level's location, for messages
+       */
+      String describe(int levelNumber);
+
+      boolean exists(int levelNumber);
+
+      /**
+       * @return a stamp that changes when the level's file changes, or {@code 0} if it never changes
+       */
+      long lastModified(int levelNumber) throws IOException;
+
+      Level load(int levelNumber) throws IOException;
+   }
+
+   /**
+    * A parsed level together with its descriptor and the file stamp it was parsed from.
+    */
+   private record Entry(Level level, LevelDescriptor descriptor, long lastModified) {
+
+      Entry relinked(int nextLevelNumber) {
+         LevelDescriptor relinked = descriptor.withNextLevelNumber(nextLevelNumber);
+         return relinked == descriptor ? this : new Entry(level, relinked, lastModified);
+      }
+   }
+
+   private final LevelSource source;
+
+   /**
+    * The directory level files are read from, or {@code null} if the registry is not backed by a directory.
+    */
+   private final Path directory;
+
+   /**
+    * Parsed levels by number, least recently used first. Guarded by {@code this}.
+    */
+   private final LinkedHashMap<Integer, Entry> cache;
+
+   /**
+    * Number of levels in the dungeon, or {@code -1} until it has been counted. Guarded by {@code this}.
+    */
+   private int levelCount = -1;
+
+   private Thread watcher;
+
+   private LevelRegistry(LevelSource source, Path directory, int cacheSize) {
+      if (cacheSize < 1) {
+         throw new IllegalArgumentException("The level cache must hold at least one level.");
+      }
+      this.source = source;
+      this.directory = directory;
+      this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+            return size() > cacheSize;
+         }
+      };
+   }
+
+   /**
+    * Creates a registry that reads {@code level-<number>.lvl} and {@code level-<number>.dlvl} files from a directory.
+    *
+    * @param directory the directory holding the level files
+    * @param cacheSize the number of parsed levels kept in memory
+    * @return the registry
+    */
+   public static LevelRegistry fromDirectory(Path directory, int cacheSize) {
+      return new LevelRegistry(new LevelSource() {
+         @Override
+         public String describe(int levelNumber) {
+            return file(levelNumber).toString();
+         }
+
+         @Override
+         public boolean exists(int levelNumber) {
+            return Files.isRegularFile(file(levelNumber));
+         }
+
+         @Override
+         public long lastModified(int levelNumber) throws IOException {
+            return Files.getLastModifiedTime(file(levelNumber)).toMillis();
+         }
+
+         @Override
+         public Level load(int levelNumber) throws IOException {
+            Path file = file(levelNumber);
+            if (file.getFileName().toString().endsWith(".dlvl")) {
+               return PagedLevel.open(file, PagedLevel.DEFAULT_RESIDENT_CHUNKS);
+            }
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+               return LevelFile.read(reader, describe(levelNumber));
+            }
+         }
+
+         private Path file(int levelNumber) {
+            Path paged = directory.resolve("level-" + levelNumber + ".dlvl");
+            return Files.isRegularFile(paged) ? paged : directory.resolve("level-" + levelNumber + ".lvl");
+         }
+      }, directory, cacheSize);
+   }
+
+   /**
+    * Creates a registry that reads the level files bundled with the game under {@code levels/} on the classpath.
+    *
+    * @param cacheSize the number of parsed levels kept in memory
+    * @return the registry
+    */
+   public static LevelRegistry fromClasspath(int cacheSize) {
+      return new LevelRegistry(new LevelSource() {
+         @Override
+         public String describe(int levelNumber) {
+            return resource(levelNumber);
+         }
+
+         @Override
+         public boolean exists(int levelNumber) {
+            return LevelRegistry.class.getClassLoader().getResource(resource(levelNumber)) != null;
+         }
+
+         @Override
+         public long lastModified(int levelNumber) {
+            return 0;
+         }
+
+         @Override
+         public Level load(int levelNumber) throws IOException {
+            InputStream in = LevelRegistry.class.getClassLoader().getResourceAsStream(resource(levelNumber));
+            if (in == null) {
+               throw new NoSuchFileException(resource(levelNumber));
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+               return LevelFile.read(reader, describe(levelNumber));
+            }
+         }
+
+         private String resource(int levelNumber) {
+            return "levels/level-" + levelNumber + ".lvl";
+         }
+      }, null, cacheSize);
+   }
+
+   /**
+    * Creates a registry over levels that are already in memory; level {@code n} is {@code levels[n - 1]}.
+    *
+    * @param levels the levels, in order
+    * @return the registry
+    */
+   public static LevelRegistry of(Level... levels) {
+      Level[] copy = levels.clone();
+      return new LevelRegistry(new LevelSource() {
+         @Override
+         public String describe(int levelNumber) {
+            return "in-memory level " + levelNumber;
+         }
+
+         @Override
+         public boolean exists(int levelNumber) {
+            return levelNumber >= 1 && levelNumber <= copy.length;
+         }
+
+         @Override
+         public long lastModified(int levelNumber) {
+            return 0;
+         }
+
+         @Override
+         public Level load(int levelNumber) {
+            return copy[levelNumber - 1];
+         }
+      }, null, Math.max(1, copy.length));
+   }
+
+   /**
+    * Creates the registry the game uses: the directory named by the {@code dungeon.levels.dir} system property
+    * if it is set, otherwise the level files bundled on the classpath.
+    *
+    * @return the registry
+    */
+   public static LevelRegistry createDefault() {
+      String directory = System.getProperty("dungeon.levels.dir");
+      int cacheSize = Integer.getInteger("dungeon.levels.cache", DEFAULT_CACHE_SIZE);
+      if (directory != null && !directory.isBlank()) {
+         return fromDirectory(Path.of(directory), cacheSize);
+      }
+      return fromClasspath(cacheSize);
+   }
+
+   /**
+    * Returns a level, parsing its file on first access.
+    *
+    * @param levelNumber the number of the level, starting at 1
+    * @return the level
+    * @throws IllegalArgumentException if there is no such level or its file is malformed
+    * @throws UncheckedIOException     if the level file cannot be read
+    */
+   public Level get(int levelNumber) {
+      return entry(levelNumber).level();
+   }
+
+   /**
+    * Returns the descriptor of a level, parsing its file on first access.
+    *
+    * @param levelNumber the number of the level, starting at 1
+    * @return the descriptor computed when the level was loaded
+    * @throws IllegalArgumentException if there is no such level or its file is malformed
+    * @throws UncheckedIOException     if the level file cannot be read
+    */
+   public LevelDescriptor getDescriptor(int levelNumber) {
+      return entry(levelNumber).descriptor();
+   }
+
+   private synchronized Entry entry(int levelNumber) {
+      Entry entry = cache.get(levelNumber);
+      if (entry == null) {
+         if (levelNumber < 1 || !source.exists(levelNumber)) {
+            throw new IllegalArgumentException("Invalid level number " + levelNumber
+                    + ". Levels range from 1 to " + getLevelCount() + ".");
+         }
+         entry = load(levelNumber);
+         cache.put(levelNumber, entry);
+      }
+      return entry;
+   }
+
+   /**
+    * Checks whether a level exists, without parsing it.
+    *
+    * @param levelNumber the number of the level
+    * @return {@code true} if the level is part of the dungeon
+    */
+   public synchronized boolean hasLevel(int levelNumber) {
+      return levelNumber >= 1 && levelNumber <= getLevelCount();
+   }
+
+   /**
+    * Returns the number of levels in the dungeon: level numbers run from 1 up to the first missing file.
+    *
+    * @return the number of levels
+    */
+   public synchronized int getLevelCount() {
+      if (levelCount == -1) {
+         int count = 0;
+         while (source.exists(count + 1)) {
+            count++;
+         }
+         levelCount = count;
+      }
+      return levelCount;
+   }
+
+   /**
+    * Re-parses every cached level whose file changed since it was loaded, and swaps in the new layout.
+    *
+    * <ul>
+    *     <li><b>Failure Handling:</b> If an edited file is malformed or unreadable, the previous layout stays
+    *         in use and a message is printed.</li>
+    * </ul>
+    *
+    * @return the number of levels that were replaced
+    */
+   public int reloadChangedLevels() {
+      Map<Integer, Entry> snapshot;
+      synchronized (this) {
+         recount();
+         snapshot = Map.copyOf(cache);
+      }
+      int reloaded = 0;
+      for (Map.Entry<Integer, Entry> cached : snapshot.entrySet()) {
+         try {
+            if (source.lastModified(cached.getKey()) != cached.getValue().lastModified()) {
+               reloaded += reload(cached.getKey()) ? 1 : 0;
+            }
+         } catch (IOException e) {
+            LOG.log(System.Logger.Level.WARNING, "Could not check " + source.describe(cached.getKey()), e);
+         }
+      }
+      return reloaded;
+   }
+
+   /**
+    * Re-parses one level file and, if it parses, atomically replaces the cached level.
+    * Levels that are not cached are left to be loaded lazily.
+    *
+    * @param levelNumber the number of the level
+    * @return {@code true} if a cached level was replaced
+    */
+   public boolean reload(int levelNumber) {
+      synchronized (this) {
+         recount();
+         if (!cache.containsKey(levelNumber)) {
+            return false;
+         }
+      }
+      Entry fresh;
+      try {
+         if (!source.exists(levelNumber)) {
+            synchronized (this) {
+               cache.remove(levelNumber);
+               recount();
+            }
+            return true;
+         }
+         fresh = load(levelNumber);
+      } catch (RuntimeException e) {
+         LOG.log(System.Logger.Level.WARNING, "Keeping the previous version of level " + levelNumber + ": "
+                 + e.getMessage());
+         return false;
+      }
+      synchronized (this) {
+         cache.put(levelNumber, fresh);
+      }
+      LOG.log(System.Logger.Level.INFO, "Reloaded level {0} from {1}", levelNumber, source.describe(levelNumber));
+      return true;
+   }
+
+   /**
+    * Starts a background thread that reloads level files as soon as they are edited.
+    * Only directory-backed registries can be watched; for others this does nothing.
+    *
+    * @throws UncheckedIOException if the directory cannot be watched
+    */
+   public synchronized void startWatching() {
+      if (watcher != null || directory == null) {
+         return;
+      }
+      WatchService watchService;
+      try {
+         watchService = directory.getFileSystem().newWatchService();
+         directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                 StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+      } catch (IOException e) {
+         throw new UncheckedIOException("Could not watch level directory " + directory, e);
+      }
+      watcher = new Thread(() -> watch(watchService), "level-watcher");
+      watcher.setDaemon(true);
+      watcher.start();
+   }
+
+   private void watch(WatchService watchService) {
+      try (watchService) {
+         while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key = watchService.take();
+            for (WatchEvent<?> event : key.pollEvents()) {
+               Matcher matcher = FILE_NAME.matcher(String.valueOf(event.context()));
+               if (matcher.matches()) {
+                  reload(Integer.parseInt(matcher.group(1)));
+               }
+            }
+            if (!key.reset()) {
+               return;
+            }
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (IOException | ClosedWatchServiceException e) {
+         LOG.log(System.Logger.Level.WARNING, "Stopped watching level files", e);
+      }
+   }
+
+   /**
+    * Counts the levels again and updates the next-level links of the cached descriptors to match.
+    * Must be called while holding the lock.
+    */
+   private void recount() {
+      levelCount = -1;
+      cache.replaceAll((number, entry) -> entry.relinked(nextLevelNumber(number)));
+   }
+
+   private int nextLevelNumber(int levelNumber) {
+      return hasLevel(levelNumber + 1) ? levelNumber + 1 : LevelDescriptor.NO_NEXT_LEVEL;
+   }
+
+   private Entry load(int levelNumber) {
+      try {
+         long stamp = source.lastModified(levelNumber);
+         Level level = source.load(levelNumber);
+         return new Entry(level, LevelDescriptor.describe(level, levelNumber, nextLevelNumber(levelNumber)), stamp);
+      } catch (IOException e) {
+         throw new UncheckedIOException("Could not read " + source.describe(levelNumber), e);
+      }
+   }
+
+}
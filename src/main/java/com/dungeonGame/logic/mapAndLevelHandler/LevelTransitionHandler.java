@@ -1,8 +1,10 @@
 package com.dungeonGame.logic.mapAndLevelHandler;
 
+import com.dungeonGame.GameServices;
 import com.dungeonGame.GameUtils;
 import com.dungeonGame.encounter.EncounterManager;
 import com.dungeonGame.logic.*;
+import com.dungeonGame.telemetry.EventRing;
 
 /**
  * Handles transitions between dungeon levels and manages level-related game states.
@@ -13,18 +15,18 @@ import com.dungeonGame.logic.*;
  */
 public class LevelTransitionHandler {
 
-   DisplayManager displayManager = new DisplayManager();
-   PlayerDataHolder player = new PlayerDataHolder();
+   DisplayManager displayManager = GameServices.displayManager();
+   EventRing events = GameServices.events();
    //EncounterManager encounterManager = new EncounterManager();
 
    /**
-    * Checks if the player is on an exit tile.
+    * Checks if the player is on the exit of the current level.
     *
     * @param pm the player's position manager
-    * @return {@code true} if the player is on an exit tile, {@code false} otherwise
+    * @return {@code true} if the player is on the exit tile, {@code false} otherwise
     */
    public boolean isOnExit(PositionDataHolder pm) {
-      return DungeonMap.currentLevel[pm.getPlayerX()][pm.getPlayerY()] == 'X';
+      return DungeonMap.getCurrentDescriptor().isExit(pm.getPlayerX(), pm.getPlayerY());
    }
 
    /**
@@ -33,11 +35,13 @@ public class LevelTransitionHandler {
     * <ul>
     *     <li><b>Success Condition:</b> The player reaches the next level or completes the game if on the final level.</li>
     *     <li><b>Failure Condition:</b> None, as this method assumes, the player has successfully reached the exit.</li>
+    *     <li><b>Events:</b> The transition is published to {@link GameServices#events()}.</li>
     * </ul>
     *
     * <b>Internal Method Calls:</b>
     * <ul>
-    *     <li>{@link DungeonMap#setCurrentLevel(PositionDataHolder, char[][], int, LevelTransitionHandler)}</li>
+    *     <li>{@link EventRing#publishLevelTransition(int, int, int, int, int)}</li>
+    *     <li>{@link DungeonMap#setCurrentLevel(PositionDataHolder, Level, int, LevelTransitionHandler)}</li>
     *     <li>{@link GameUtils#clearConsole()}</li>
     *     <li>{@link GameUtils#printHeader(String)}</li>
     *     <li>{@link DisplayManager#displayCurrentRoom(PositionDataHolder, PlayerDataHolder)}</li>
@@ -51,12 +55,14 @@ public class LevelTransitionHandler {
       GameUtils.printHeader("Level Exit");
       GameUtils.delayPrint("You found the exit! Moving to the next level...\n");
 
-      int nextLevel = findNextLevel(DungeonMap.currentLevel);
+      int nextLevel = findNextLevel(DungeonMap.getCurrentDescriptor());
+      events.publishLevelTransition(DungeonMap.getCurrentLevelNumber(), nextLevel, pm.getPlayerX(), pm.getPlayerY(),
+              player.getPowerPoints());
       if (nextLevel == -1) {
          GameUtils.delayPrint("Congratulations! You have completed the game!\n");
          return false; // End the game
       } else {
-         char[][] newLevel = DungeonMap.getLevel(nextLevel);
+         Level newLevel = DungeonMap.getLevel(nextLevel);
          DungeonMap.setCurrentLevel(pm, newLevel, nextLevel, this);
 
          GameUtils.clearConsole();
@@ -80,16 +86,11 @@ public class LevelTransitionHandler {
    /**
     * Determines the next level to transition to based on the current level.
     *
-    * @param currentLevel the current level's layout
+    * @param current the descriptor of the current level
     * @return the number of the next level, or {@code -1} if there is no next level
     */
-   private int findNextLevel(char[][] currentLevel) {
-      if (currentLevel == DungeonMap.getLevel(1)) {
-         return 2;
-      } else if (currentLevel == DungeonMap.getLevel(2)) {
-         return 3;
-      }
-      return -1; // No next level
+   private int findNextLevel(LevelDescriptor current) {
+      return current.getNextLevelNumber();
    }
 
    /**
@@ -99,15 +100,11 @@ public class LevelTransitionHandler {
     * @throws IllegalStateException if no entrance ('E') is found in the level
     */
    public void initializePlayerPosition(PositionDataHolder pm) {
-      for (int i = 0; i < DungeonMap.currentLevel.length; i++) {
-         for (int j = 0; j < DungeonMap.currentLevel[i].length; j++) {
-            if (DungeonMap.currentLevel[i][j] == 'E') {
-               pm.setCurrentPosition(i, j);
-               return;
-            }
-         }
+      LevelDescriptor descriptor = DungeonMap.getCurrentDescriptor();
+      if (descriptor.getEntranceCell() == -1) {
+         throw new IllegalStateException("Entrance ('E') not found in the provided level.");
       }
-      throw new IllegalStateException("Entrance ('E') not found in the provided level.");
+      pm.setCurrentPosition(descriptor.getEntranceX(), descriptor.getEntranceY());
    }
 
    /**
@@ -119,16 +116,17 @@ public class LevelTransitionHandler {
     *
     * <b>Internal Method Calls:</b>
     * <ul>
-    *     <li>{@link DungeonMap#setCurrentLevel(PositionDataHolder, char[][], int, LevelTransitionHandler)}</li>
+    *     <li>{@link DungeonMap#setCurrentLevel(PositionDataHolder, Level, int, LevelTransitionHandler)}</li>
     *     <li>{@link #initializePlayerPosition(PositionDataHolder)}</li>
-    *     <li>{@link EncounterManager#assignEncounters(char[][])}</li>
+    *     <li>{@link EncounterManager#assignEncounters(Level)}</li>
     * </ul>
     *
     * @param initialLevel the layout of the first level
     * @return an array containing the initialized {@link PlayerDataHolder} and {@link PositionDataHolder}
     */
-   public Object[] initializeGame(char[][] initialLevel) {
+   public Object[] initializeGame(Level initialLevel) {
 
+      PlayerDataHolder player = new PlayerDataHolder();
       PositionDataHolder pm = new PositionDataHolder(initialLevel);
 
       DungeonMap.setCurrentLevel(pm, initialLevel, 1, this);
@@ -147,7 +145,7 @@ public class LevelTransitionHandler {
     * Retrieves the layout of a level based on its number.
     *
     * <ul>
-    *     <li><b>Valid Input:</b> Levels 1 to 3.</li>
+    *     <li><b>Valid Input:</b> Levels 1 to {@link DungeonMap#getLevelCount()}.</li>
     *     <li><b>Error Handling:</b> Throws {@link IllegalArgumentException} for invalid level numbers.</li>
     * </ul>
     *
@@ -155,10 +153,7 @@ public class LevelTransitionHandler {
     * @return the layout of the specified level
     * @throws IllegalArgumentException if the level number is invalid
     */
-   public char[][] getLevelByNumber(int levelNumber) {
-      if (levelNumber < 1 || levelNumber > 3) {
-         throw new IllegalArgumentException("Invalid level number. Levels range from 1 to 3.");
-      }
+   public Level getLevelByNumber(int levelNumber) {
       return DungeonMap.getLevel(levelNumber);
    }
 
@@ -170,10 +165,10 @@ public class LevelTransitionHandler {
     * level state needs to be set manually without triggering other level-related
     * processes.</p>
     *
-    * @param newLevel the layout of the new level as a 2D character array
+    * @param newLevel the layout of the new level
     * @param levelNumber the number of the new level
     */
-   public void setCurrentLevelDirectly(char[][] newLevel, int levelNumber) {
+   public void setCurrentLevelDirectly(Level newLevel, int levelNumber) {
       DungeonMap.currentLevel = newLevel;
       DungeonMap.currentLevelNumber = levelNumber;
    }
@@ -0,0 +1,359 @@
+package com.dungeonGame.logic.mapAndLevelHandler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link Level} whose tiles live in a chunked, memory-mapped file instead of on the heap.
+ *
+ * <p>
+ * The level is split into square chunks that are mapped in on first access and kept in a small
+ * least-recently-used cache. When the cache is full the coldest chunk is dropped, so the memory a
+ * session uses depends on the area being explored rather than on the size of the level. Each chunk is
+ * one page of the level, so the structures derived from it only allocate for the chunks they touch.
+ * </p>
+ *
+ * <p><b>File Layout:</b></p>
+ * <ul>
+ *     <li>A {@value #HEADER_SIZE}-byte header: magic, format version, rows, columns and the chunk size shift.</li>
+ *     <li>The chunks, row by row, each holding {@code chunkSize * chunkSize} tile codes in row-major order.
+ *         Chunks on the right and bottom edges are padded with walls.</li>
+ * </ul>
+ *
+ * <p>
+ * No file stays open: a chunk is mapped through a channel that is closed right away, and a mapping stays
+ * valid until the chunk is dropped and collected. Levels opened with {@link #open(Path, int)} are read-only.
+ * </p>
+ */
+public class PagedLevel extends Level {
+
+   /**
+    * Identifies a paged level file ({@code "DLVL"}).
+    */
+   static final int MAGIC = 0x444C564C;
+
+   /**
+    * Current version of the file layout.
+    */
+   static final int VERSION = 1;
+
+   /**
+    * Size of the file header in bytes.
+    */
+   static final int HEADER_SIZE = 32;
+
+   /**
+    * Default chunk edge length as a power of two (64 x 64 tiles, 4 KiB per chunk).
+    */
+   public static final int DEFAULT_CHUNK_SHIFT = 6;
+
+   /**
+    * Default number of chunks kept mapped at once.
+    */
+   public static final int DEFAULT_RESIDENT_CHUNKS = 64;
+
+   private final Path file;
+   private final boolean writable;
+   private final int chunkShift;
+   private final int chunkMask;
+   private final int chunksPerRow;
+   private final int chunksPerColumn;
+   private final int chunkBytes;
+
+   /**
+    * Mapped chunks by chunk id, in access order so the eldest entry is the coldest chunk.
+    */
+   private final LinkedHashMap<Integer, MappedByteBuffer> residentChunks;
+
+   /**
+    * The most recently used chunk, checked before taking the cache lock.
+    */
+   private volatile Chunk lastChunk = new Chunk(-1, null);
+
+   /**
+    * A mapped chunk paired with its id, so both can be published in one volatile write.
+    */
+   private record Chunk(int id, MappedByteBuffer buffer) {
+   }
+
+   private PagedLevel(Path file, boolean writable, int rows, int columns, int chunkShift, int maxResidentChunks) {
+      super(rows, columns, false);
+      if (maxResidentChunks < 1) {
+         throw new IllegalArgumentException("At least one chunk must be allowed to stay resident.");
+      }
+      this.file = file;
+      this.writable = writable;
+      this.chunkShift = chunkShift;
+      this.chunkMask = (1 << chunkShift) - 1;
+      this.chunksPerRow = chunkCount(columns, chunkShift);
+      this.chunksPerColumn = chunkCount(rows, chunkShift);
+      this.chunkBytes = 1 << (2 * chunkShift);
+      this.residentChunks = new LinkedHashMap<>(16, 0.75f, true) {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<Integer, MappedByteBuffer> eldest) {
+            // Dropping the last reference lets the mapping be released
+            return size() > maxResidentChunks;
+         }
+      };
+   }
+
+   /**
+    * Creates a new paged level file where every tile is a {@link Tile#WALL}, and opens it for writing.
+    *
+    * <p>The file is sized up front but written lazily, so most file systems store it sparsely
+    * until tiles are actually carved out with {@link #setTile(int, int, Tile)}.</p>
+    *
+    * @param file              the file to create (replaced if it exists)
+    * @param rows              the number of rows
+    * @param columns           the number of columns
+    * @param chunkShift        the chunk edge length as a power of two
+    * @param maxResidentChunks the number of chunks kept mapped at once
+    * @return the opened level
+    * @throws IllegalArgumentException if a dimension, the shift or the chunk count is out of range
+    * @throws UncheckedIOException     if the file cannot be created
+    */
+   public static PagedLevel create(Path file, int rows, int columns, int chunkShift, int maxResidentChunks) {
+      validateShift(chunkShift);
+      if (rows <= 0 || columns <= 0 || (long) rows * columns > Integer.MAX_VALUE) {
+         throw new IllegalArgumentException("Unsupported level size " + rows + "x" + columns + ".");
+      }
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+         ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+         header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(columns).putInt(chunkShift).rewind();
+         channel.write(header, 0);
+         long chunks = (long) chunkCount(rows, chunkShift) * chunkCount(columns, chunkShift);
+         long length = HEADER_SIZE + (chunks << (2 * chunkShift));
+         // Extend the file by writing its last byte; Tile.WALL is code 0 so the gap reads as walls
+         channel.write(ByteBuffer.wrap(new byte[]{Tile.WALL.getCode()}), length - 1);
+      } catch (IOException e) {
+         throw new UncheckedIOException("Could not create paged level " + file, e);
+      }
+      return new PagedLevel(file, true, rows, columns, chunkShift, maxResidentChunks);
+   }
+
+   /**
+    * Copies an existing level into a new paged level file, and opens it for writing.
+    *
+    * @param source            the level to copy
+    * @param file              the file to create (replaced if it exists)
+    * @param chunkShift        the chunk edge length as a power of two
+    * @param maxResidentChunks the number of chunks kept mapped at once
+    * @return the opened level
+    * @throws UncheckedIOException if the file cannot be written
+    */
+   public static PagedLevel copyOf(Level source, Path file, int chunkShift, int maxResidentChunks) {
+      PagedLevel level = create(file, source.getRows(), source.getColumns(), chunkShift, maxResidentChunks);
+      // Chunk by chunk, so each chunk is mapped once
+      for (int page = 0; page < level.getPageCount(); page++) {
+         for (int offset = 0; offset < level.chunkBytes; offset++) {
+            int cell = level.cellAt(page, offset);
+            if (cell != -1 && source.readCode(cell) != Tile.WALL.getCode()) {
+               level.writeCode(cell, source.readCode(cell));
+            }
+         }
+      }
+      return level;
+   }
+
+   /**
+    * Opens an existing paged level file for reading.
+    *
+    * @param file              the file written by {@link #create} or {@link #copyOf}
+    * @param maxResidentChunks the number of chunks kept mapped at once
+    * @return the opened level
+    * @throws UncheckedIOException     if the file cannot be read
+    * @throws IllegalArgumentException if the file is not a paged level, or is shorter than its header says
+    */
+   public static PagedLevel open(Path file, int maxResidentChunks) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      long length;
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+         channel.read(header, 0);
+         length = channel.size();
+      } catch (IOException e) {
+         throw new UncheckedIOException("Could not open paged level " + file, e);
+      }
+      header.flip();
+      if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+         throw new IllegalArgumentException(file + " is not a paged level file.");
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+         throw new IllegalArgumentException("Unsupported paged level version " + version + " in " + file);
+      }
+      int rows = header.getInt();
+      int columns = header.getInt();
+      int chunkShift = header.getInt();
+      validateShift(chunkShift);
+      if (rows <= 0 || columns <= 0 || (long) rows * columns > Integer.MAX_VALUE) {
+         throw new IllegalArgumentException(file + ": unsupported level size " + rows + "x" + columns + ".");
+      }
+      long chunks = (long) chunkCount(rows, chunkShift) * chunkCount(columns, chunkShift);
+      if (length < HEADER_SIZE + (chunks << (2 * chunkShift))) {
+         throw new IllegalArgumentException(file + " is cut short.");
+      }
+      return new PagedLevel(file, false, rows, columns, chunkShift, maxResidentChunks);
+   }
+
+   /**
+    * Converts a text level file into a paged level file.
+    *
+    * <p>Usage: {@code PagedLevel <level-n.lvl> <level-n.dlvl> [chunkShift]}</p>
+    *
+    * @param args the text file, the paged file to write, and optionally the chunk shift
+    * @throws IOException if a file cannot be read or written
+    */
+   public static void main(String[] args) throws IOException {
+      if (args.length < 2) {
+         System.out.println("Usage: PagedLevel <level-n.lvl> <level-n.dlvl> [chunkShift]");
+         return;
+      }
+      Path source = Path.of(args[0]);
+      Level level;
+      try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+         level = LevelFile.read(reader, source.toString());
+      }
+      int chunkShift = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CHUNK_SHIFT;
+      PagedLevel paged = copyOf(level, Path.of(args[1]), chunkShift, DEFAULT_RESIDENT_CHUNKS);
+      System.out.println("Wrote " + paged.getRows() + "x" + paged.getColumns() + " level in "
+              + paged.getPageCount() + " chunks to " + args[1]);
+   }
+
+   /**
+    * Maps in the chunks surrounding the player's chunk so the next few moves do not wait on disk.
+    *
+    * @param x the row
+    * @param y the column
+    */
+   @Override
+   public void focus(int x, int y) {
+      if (!isInBounds(x, y)) {
+         return;
+      }
+      int chunkRow = x >> chunkShift;
+      int chunkColumn = y >> chunkShift;
+      for (int r = Math.max(0, chunkRow - 1); r <= Math.min(chunksPerColumn - 1, chunkRow + 1); r++) {
+         for (int c = Math.max(0, chunkColumn - 1); c <= Math.min(chunksPerRow - 1, chunkColumn + 1); c++) {
+            chunk(r * chunksPerRow + c);
+         }
+      }
+      // Keep the player's own chunk as the fast-path chunk
+      chunk(chunkRow * chunksPerRow + chunkColumn);
+   }
+
+   /**
+    * Returns how many chunks are currently mapped.
+    *
+    * @return the number of resident chunks
+    */
+   public int getResidentChunkCount() {
+      synchronized (residentChunks) {
+         return residentChunks.size();
+      }
+   }
+
+   @Override
+   public int getPageCount() {
+      return chunksPerRow * chunksPerColumn;
+   }
+
+   @Override
+   public int getPageSize() {
+      return chunkBytes;
+   }
+
+   @Override
+   int pageOf(int cell) {
+      return chunkId(rowOf(cell), columnOf(cell));
+   }
+
+   @Override
+   int offsetInPage(int cell) {
+      return offsetInChunk(rowOf(cell), columnOf(cell));
+   }
+
+   @Override
+   int cellAt(int page, int offset) {
+      int x = ((page / chunksPerRow) << chunkShift) + (offset >> chunkShift);
+      int y = ((page % chunksPerRow) << chunkShift) + (offset & chunkMask);
+      return isInBounds(x, y) ? index(x, y) : -1;
+   }
+
+   @Override
+   byte readCode(int index) {
+      int x = rowOf(index);
+      int y = index - x * getColumns();
+      return chunk(chunkId(x, y)).get(offsetInChunk(x, y));
+   }
+
+   @Override
+   void writeCode(int index, byte code) {
+      if (!writable) {
+         throw new UnsupportedOperationException(file + " is opened read-only.");
+      }
+      int x = rowOf(index);
+      int y = index - x * getColumns();
+      chunk(chunkId(x, y)).put(offsetInChunk(x, y), code);
+   }
+
+   private int chunkId(int x, int y) {
+      return (x >> chunkShift) * chunksPerRow + (y >> chunkShift);
+   }
+
+   private int offsetInChunk(int x, int y) {
+      return ((x & chunkMask) << chunkShift) | (y & chunkMask);
+   }
+
+   /**
+    * Returns the mapped buffer for a chunk, mapping it in if it is not resident.
+    */
+   private MappedByteBuffer chunk(int id) {
+      Chunk last = lastChunk;
+      if (last.id() == id) {
+         return last.buffer();
+      }
+      synchronized (residentChunks) {
+         MappedByteBuffer buffer = residentChunks.get(id);
+         if (buffer == null) {
+            buffer = map(id);
+            residentChunks.put(id, buffer);
+         }
+         lastChunk = new Chunk(id, buffer);
+         return buffer;
+      }
+   }
+
+   private MappedByteBuffer map(int id) {
+      long offset = HEADER_SIZE + ((long) id << (2 * chunkShift));
+      try (FileChannel channel = writable
+              ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+              : FileChannel.open(file, StandardOpenOption.READ)) {
+         return channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                 offset, chunkBytes);
+      } catch (IOException e) {
+         throw new UncheckedIOException("Could not map chunk " + id + " of " + file, e);
+      }
+   }
+
+   private static int chunkCount(int tiles, int chunkShift) {
+      return (tiles + (1 << chunkShift) - 1) >> chunkShift;
+   }
+
+   private static void validateShift(int chunkShift) {
+      if (chunkShift < 2 || chunkShift > 12) {
+         throw new IllegalArgumentException("Chunk shift must be between 2 and 12, was " + chunkShift);
+      }
+   }
+
+}
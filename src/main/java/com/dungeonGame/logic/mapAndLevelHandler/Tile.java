@@ -0,0 +1,85 @@
+package com.dungeonGame.logic.mapAndLevelHandler;
+
+/**
+ * The kinds of tile a dungeon level is made of.
+ *
+ * <p>Each tile is stored in a {@link Level} as a single byte (its {@link #getCode() code}),
+ * and keeps the map symbol that is used when parsing or printing a layout.</p>
+ * <ul>
+ *     <li>{@link #WALL} - {@code 'W'}, cannot be entered.</li>
+ *     <li>{@link #ROOM} - {@code ' '}, an ordinary walkable room.</li>
+ *     <li>{@link #ENTRANCE} - {@code 'E'}, where the player starts the level.</li>
+ *     <li>{@link #EXIT} - {@code 'X'}, leads to the next level.</li>
+ * </ul>
+ */
+public enum Tile {
+
+   WALL('W', false),
+   ROOM(' ', true),
+   ENTRANCE('E', true),
+   EXIT('X', true);
+
+   /**
+    * Lookup table from byte code to tile, avoiding the array copy made by {@link #values()}.
+    */
+   private static final Tile[] BY_CODE = values();
+
+   private final char symbol;
+   private final boolean walkable;
+
+   Tile(char symbol, boolean walkable) {
+      this.symbol = symbol;
+      this.walkable = walkable;
+   }
+
+   // Getters
+
+   public char getSymbol() {
+      return symbol;
+   }
+
+   public boolean isWalkable() {
+      return walkable;
+   }
+
+   /**
+    * Returns the byte used to store this tile in a {@link Level}.
+    *
+    * @return the tile's storage code
+    */
+   public byte getCode() {
+      return (byte) ordinal();
+   }
+
+   /**
+    * Resolves a storage code back into its tile.
+    *
+    * @param code the byte read from a {@link Level}
+    * @return the matching tile
+    * @throws IllegalArgumentException if the code does not belong to any tile
+    */
+   public static Tile fromCode(byte code) {
+      if (code < 0 || code >= BY_CODE.length) {
+         throw new IllegalArgumentException("Unknown tile code: " + code);
+      }
+      return BY_CODE[code];
+   }
+
+   /**
+    * Resolves a map symbol into its tile.
+    *
+    * @param symbol the map symbol (e.g. {@code 'W'})
+    * @return the matching tile
+    * @throws IllegalArgumentException if the symbol does not belong to any tile
+    */
+   public static Tile fromSymbol(char symbol) {
+      return switch (symbol) {
+         case 'W' -> WALL;
+         case ' ' -> ROOM;
+         case 'E' -> ENTRANCE;
+         case 'X' -> EXIT;
+         default -> throw new IllegalArgumentException("Unknown tile symbol: '" + symbol + "'");
+      };
+   }
+
+}
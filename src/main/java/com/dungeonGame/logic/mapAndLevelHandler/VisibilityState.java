@@ -0,0 +1,265 @@
+package com.dungeonGame.logic.mapAndLevelHandler;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * What one player has seen of one level: the cells visible right now and every cell explored so far.
+ *
+ * <p>
+ * Both sets are kept as one bitset per page of the level (see {@link Level#getPageCount()}), created when
+ * the first cell of the page is seen. The cells that are currently visible are also listed, so that a
+ * move only clears and recomputes the cells around the old and new positions; the cost of
+ * {@link #update(int, int)} depends on the sight radius, never on the size of the level.
+ * </p>
+ *
+ * <p>On a {@link PagedLevel} a player who explores one corner of a huge map therefore only holds the
+ * bits of the chunks they have seen, not bits up to the furthest cell.</p>
+ */
+public class VisibilityState {
+
+   /**
+    * How far the player can normally see, in cells.
+    */
+   public static final int DEFAULT_SIGHT_RADIUS = 3;
+
+   /**
+    * How far around the player the Vision Potion reveals the map, in cells.
+    */
+   public static final int VISION_POTION_RADIUS = 8;
+
+   private final Level level;
+   private final int sightRadius;
+
+   /**
+    * Cells the player has ever seen or had revealed, by page and slot; {@code null} for pages with none.
+    */
+   private final BitSet[] explored;
+
+   /**
+    * Cells in the player's field of view at the current position, by page and slot.
+    */
+   private final BitSet[] visible;
+
+   /**
+    * The set bits of {@link #visible}, so they can be cleared without scanning the bitset.
+    */
+   private int[] visibleCells;
+   private int visibleCount;
+
+   /**
+    * {@link #markVisible(int)} as a callback, created once rather than on every {@link #update(int, int)}.
+    */
+   private final IntConsumer markVisible;
+
+   /**
+    * Creates an empty visibility state with the default sight radius.
+    *
+    * @param level the level being explored
+    */
+   public VisibilityState(Level level) {
+      this(level, DEFAULT_SIGHT_RADIUS);
+   }
+
+   /**
+    * Creates an empty visibility state.
+    *
+    * @param level       the level being explored
+    * @param sightRadius how far the player can see, in cells
+    * @throws IllegalArgumentException if the radius is negative
+    */
+   public VisibilityState(Level level, int sightRadius) {
+      if (sightRadius < 0) {
+         throw new IllegalArgumentException("Sight radius must not be negative: " + sightRadius);
+      }
+      this.level = level;
+      this.sightRadius = sightRadius;
+      this.explored = new BitSet[level.getPageCount()];
+      this.visible = new BitSet[level.getPageCount()];
+      int diameter = 2 * sightRadius + 1;
+      this.visibleCells = new int[diameter * diameter];
+      this.markVisible = this::markVisible;
+   }
+
+   // Getters
+
+   public Level getLevel() {
+      return level;
+   }
+
+   public int getSightRadius() {
+      return sightRadius;
+   }
+
+   /**
+    * Recomputes the field of view after the player moved, and adds it to the explored cells.
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link FieldOfView#compute(Level, int, int, int, IntConsumer)}</li>
+    * </ul>
+    *
+    * @param x the player's row
+    * @param y the player's column
+    */
+   public void update(int x, int y) {
+      for (int i = 0; i < visibleCount; i++) {
+         int cell = visibleCells[i];
+         visible[level.pageOf(cell)].clear(level.offsetInPage(cell));
+      }
+      visibleCount = 0;
+      FieldOfView.compute(level, x, y, sightRadius, markVisible);
+   }
+
+   /**
+    * Marks every cell within a radius as explored, whether or not it is in line of sight.
+    *
+    * @param x      the centre row
+    * @param y      the centre column
+    * @param radius the radius in cells
+    */
+   public void reveal(int x, int y, int radius) {
+      int radiusSquared = radius * radius;
+      for (int row = Math.max(0, x - radius); row <= Math.min(level.getRows() - 1, x + radius); row++) {
+         for (int column = Math.max(0, y - radius); column <= Math.min(level.getColumns() - 1, y + radius); column++) {
+            int dx = row - x;
+            int dy = column - y;
+            if (dx * dx + dy * dy <= radiusSquared) {
+               set(explored, level.index(row, column));
+            }
+         }
+      }
+   }
+
+   /**
+    * Checks whether a cell is in the player's current field of view.
+    *
+    * @param x the row
+    * @param y the column
+    * @return {@code true} if the cell is visible right now
+    */
+   public boolean isVisible(int x, int y) {
+      return level.isInBounds(x, y) && get(visible, level.index(x, y));
+   }
+
+   /**
+    * Checks whether the player has seen a cell at any point.
+    *
+    * @param x the row
+    * @param y the column
+    * @return {@code true} if the cell has been explored
+    */
+   public boolean isExplored(int x, int y) {
+      return level.isInBounds(x, y) && get(explored, level.index(x, y));
+   }
+
+   /**
+    * Returns the number of cells in the current field of view.
+    *
+    * @return the visible cell count
+    */
+   public int getVisibleCount() {
+      return visibleCount;
+   }
+
+   /**
+    * Returns the number of cells explored so far.
+    *
+    * @return the explored cell count
+    */
+   public int getExploredCount() {
+      int count = 0;
+      for (BitSet bits : explored) {
+         if (bits != null) {
+            count += bits.cardinality();
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Returns the number of pages the explored cells are kept in, for saving the game.
+    *
+    * @return the level's page count
+    */
+   public int getPageCount() {
+      return explored.length;
+   }
+
+   /**
+    * Returns the explored cells of one page, one bit per slot of the page, for saving the game.
+    *
+    * @param page the page, from {@code 0} to {@link #getPageCount()}
+    * @return the bits in {@link BitSet#toLongArray()} form; empty if nothing on the page was explored
+    */
+   public long[] getExploredPage(int page) {
+      BitSet bits = explored[page];
+      return bits == null ? new long[0] : bits.toLongArray();
+   }
+
+   /**
+    * Marks the cells of one saved page as explored, when a saved game is loaded.
+    *
+    * @param page the page, from {@code 0} to {@link #getPageCount()}
+    * @param bits the bits returned by {@link #getExploredPage(int)}
+    * @throws IllegalArgumentException if the bits reach past the end of the page
+    */
+   public void addExploredPage(int page, long[] bits) {
+      BitSet saved = BitSet.valueOf(bits);
+      if (saved.length() > level.getPageSize()) {
+         throw new IllegalArgumentException("Explored bits reach past page " + page + ".");
+      }
+      if (saved.isEmpty()) {
+         return;
+      }
+      if (explored[page] == null) {
+         explored[page] = saved;
+      } else {
+         explored[page].or(saved);
+      }
+   }
+
+   /**
+    * Marks the cells of saved explored bits as explored, when a game saved with one bit per flat cell
+    * index is loaded.
+    *
+    * @param bits the bits, in {@link BitSet#toLongArray()} form
+    * @throws IllegalArgumentException if the bits reach past the end of the level
+    */
+   public void addExploredBits(long[] bits) {
+      BitSet saved = BitSet.valueOf(bits);
+      if (saved.length() > level.size()) {
+         throw new IllegalArgumentException("Explored bits reach past the end of the level.");
+      }
+      for (int cell = saved.nextSetBit(0); cell >= 0; cell = saved.nextSetBit(cell + 1)) {
+         set(explored, cell);
+      }
+   }
+
+   private void markVisible(int cell) {
+      if (get(visible, cell)) {
+         return;
+      }
+      set(visible, cell);
+      set(explored, cell);
+      if (visibleCount == visibleCells.length) {
+         visibleCells = Arrays.copyOf(visibleCells, visibleCount * 2);
+      }
+      visibleCells[visibleCount++] = cell;
+   }
+
+   private boolean get(BitSet[] pages, int cell) {
+      BitSet bits = pages[level.pageOf(cell)];
+      return bits != null && bits.get(level.offsetInPage(cell));
+   }
+
+   private void set(BitSet[] pages, int cell) {
+      int page = level.pageOf(cell);
+      if (pages[page] == null) {
+         pages[page] = new BitSet();
+      }
+      pages[page].set(level.offsetInPage(cell));
+   }
+
+}
@@ -0,0 +1,169 @@
+package com.dungeonGame.logic.solver;
+
+import com.dungeonGame.encounter.EncounterCatalog;
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.logic.GameRandom;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Rates how hard the levels are by solving them exactly with a {@link LevelSolver}.
+ *
+ * <p>
+ * {@code java -cp <classpath> com.dungeonGame.logic.solver.DifficultyRating [layouts=20] [seed=<number>]
+ * [riddle=0.5]} places the encounters of every level of the {@link DungeonMap} the way a new game does, once
+ * per layout, and solves each layout from the entrance for a new player. The layouts are solved in parallel,
+ * one per core.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Report:</b> For every level: the power points a perfect player can expect to spend and to leave
+ *         with, the chance of getting out, the worst layout's chance, and a rating.</li>
+ *     <li><b>Ratings:</b> "easy", "medium" and "hard" by the power points spent, or "deadly" if some layouts
+ *         cannot be left even with perfect play.</li>
+ * </ul>
+ */
+public final class DifficultyRating {
+
+   /**
+    * The solved layouts of one level.
+    *
+    * @param levelNumber         the level's number
+    * @param layouts             how many encounter layouts were solved
+    * @param startPowerPoints    the power points a new player starts with
+    * @param expectedPowerPoints the power points a perfect player leaves with, averaged over the layouts
+    * @param exitChance          the chance of leaving the level, averaged over the layouts
+    * @param worstExitChance     the chance of leaving the level in the hardest layout
+    * @param states              the most states one layout needed
+    */
+   public record Rating(int levelNumber, int layouts, int startPowerPoints, double expectedPowerPoints,
+                        double exitChance, double worstExitChance, int states) {
+
+      /**
+       * Returns the power points a perfect player can expect to spend on the level.
+       *
+       * @return the start minus the expected power points at the exit
+       */
+      public double getPowerPointsSpent() {
+         return startPowerPoints - expectedPowerPoints;
+      }
+
+      /**
+       * Returns the level's rating.
+       *
+       * @return {@code "easy"}, {@code "medium"}, {@code "hard"} or {@code "deadly"}
+       */
+      public String getLabel() {
+         // Sums of chances may miss 1 by rounding
+         if (worstExitChance < 1 - 1e-9) {
+            return "deadly";
+         }
+         double spent = getPowerPointsSpent();
+         return spent < 25 ? "easy" : spent < 50 ? "medium" : "hard";
+      }
+
+      /**
+       * Formats the rating as one line of the report.
+       *
+       * @return the line, ending with a line break
+       */
+      public String format() {
+         return String.format("Level %d: %s - %.1f power points spent, %.1f left, %.0f%% chance to get out"
+                         + " (worst layout %.0f%%), %d layouts, up to %d states%n",
+                 levelNumber, getLabel(), getPowerPointsSpent(), expectedPowerPoints, exitChance * 100,
+                 worstExitChance * 100, layouts, states);
+      }
+   }
+
+   /**
+    * Private constructor to prevent instantiation of the {@code DifficultyRating} utility class.
+    */
+   private DifficultyRating() {
+   }
+
+   public static void main(String[] args) {
+      int layouts = 20;
+      long seed = System.nanoTime();
+      double riddleSuccess = LevelSolver.DEFAULT_RIDDLE_SUCCESS;
+
+      for (String arg : args) {
+         int split = arg.indexOf('=');
+         if (split < 0) {
+            throw new IllegalArgumentException("Expected key=value, got \"" + arg + "\".");
+         }
+         String value = arg.substring(split + 1);
+         switch (arg.substring(0, split)) {
+            case "layouts" -> layouts = Integer.parseInt(value);
+            case "seed" -> seed = Long.parseLong(value);
+            case "riddle" -> riddleSuccess = Double.parseDouble(value);
+            default -> throw new IllegalArgumentException("Unknown option \"" + arg + "\".");
+         }
+      }
+
+      DungeonMap.initialize();
+      for (int levelNumber = 1; levelNumber <= DungeonMap.getLevelCount(); levelNumber++) {
+         Rating rating = rate(DungeonMap.getLevel(levelNumber), levelNumber, layouts, seed, riddleSuccess);
+         System.out.print(rating.format());
+      }
+   }
+
+   /**
+    * Solves a number of encounter layouts of a level from its entrance, in parallel.
+    *
+    * <b>Internal Method Calls:</b>
+    * <ul>
+    *     <li>{@link EncounterManager#spawnEncounters(Level, int, EncounterEntities, java.util.Random)}</li>
+    *     <li>{@link LevelSolver#solve(int, int, int, com.dungeonGame.logic.Inventory)}</li>
+    * </ul>
+    *
+    * @param level         the level
+    * @param levelNumber   the level's number, which decides its encounters
+    * @param layouts       how many layouts to solve
+    * @param seed          the seed of the first layout; layout {@code i} uses {@code seed + i}
+    * @param riddleSuccess the chance of answering a riddle correctly
+    * @return the rating
+    * @throws IllegalArgumentException if there are no layouts, or the level has no entrance
+    * @throws IllegalStateException    if a layout has more states than a {@link LevelSolver} may visit
+    */
+   public static Rating rate(Level level, int levelNumber, int layouts, long seed, double riddleSuccess) {
+      if (layouts <= 0) {
+         throw new IllegalArgumentException("At least one layout is needed, got " + layouts + ".");
+      }
+      int entrance = level.find(Tile.ENTRANCE);
+      if (entrance == -1) {
+         throw new IllegalArgumentException("Level " + levelNumber + " has no entrance.");
+      }
+      EncounterCatalog catalog = EncounterCatalog.getDefault();
+      int startPowerPoints = new PlayerDataHolder().getPowerPoints();
+
+      List<LevelSolver.Solution> solutions = IntStream.range(0, layouts).parallel()
+              .mapToObj(layout -> {
+                 EncounterEntities entities = new EncounterEntities();
+                 EncounterManager.spawnEncounters(level, levelNumber, entities, new GameRandom(seed + layout));
+                 PlayerDataHolder player = new PlayerDataHolder();
+                 return new LevelSolver(level, entities, catalog, riddleSuccess, LevelSolver.DEFAULT_MAX_STATES)
+                         .solve(level.rowOf(entrance), level.columnOf(entrance), player.getPowerPoints(),
+                                 player.getInventory());
+              })
+              .toList();
+
+      double expected = 0;
+      double exitChance = 0;
+      double worst = 1;
+      int states = 0;
+      for (LevelSolver.Solution solution : solutions) {
+         expected += solution.expectedPowerPoints();
+         exitChance += solution.exitChance();
+         worst = Math.min(worst, solution.exitChance());
+         states = Math.max(states, solution.states());
+      }
+      return new Rating(levelNumber, layouts, startPowerPoints, expected / layouts, exitChance / layouts, worst, states);
+   }
+
+}
@@ -0,0 +1,508 @@
+package com.dungeonGame.logic.solver;
+
+import com.dungeonGame.encounter.EncounterCatalog;
+import com.dungeonGame.encounter.EncounterDefinition;
+import com.dungeonGame.encounter.EncounterEffect;
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterOption;
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.logic.Inventory;
+import com.dungeonGame.logic.Item;
+import com.dungeonGame.logic.LootTable;
+import com.dungeonGame.logic.LootTables;
+import com.dungeonGame.logic.MovementLogic;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.PagedLevel;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Works out the best way through a level: for every choice the player has, the power points they can expect
+ * to leave the level with, and how likely they are to get there at all, if they play perfectly afterwards.
+ *
+ * <p>
+ * A state is the player's room, their power points, how many of each item they hold, and which encounters
+ * are over. The solver visits every state reachable from the player's and takes, in each one, the choice
+ * with the highest expected power points at the exit; chance (riddles, loot, where a spell teleports to) is
+ * averaged over. States are packed into a {@code long} and their values kept in a
+ * {@link TranspositionTable}, so every state is solved once however many ways lead to it. The player's first
+ * choices are solved in parallel and share the table.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Values:</b> Reaching the exit is worth the power points left; running out of them, or losing to
+ *         the Guardian, is worth nothing.</li>
+ *     <li><b>Choices:</b> Moving into a neighbouring room ({@value MovementLogic#MOVE_COST} power points),
+ *         eating, using a Teleportation Spell, and the options of every encounter that is triggered.
+ *         Looking around is left out: it is free and can be repeated forever, and food found that way
+ *         could be eaten forever, so with it no plan would ever be best. The values are what the player can
+ *         get from the items they hold.</li>
+ *     <li><b>Encounters:</b> Play as in {@link com.dungeonGame.encounter.EncounterDialog}, from the
+ *         {@link EncounterCatalog}. They are taken to stay where they are when the solver starts, and to be
+ *         ready to trigger; a riddle is answered correctly with a fixed chance.</li>
+ *     <li><b>Termination:</b> Every choice either resolves an encounter, uses up an item or spends power
+ *         points, so no state can lead back to itself and the search needs no cycle checks.</li>
+ *     <li><b>Limits:</b> A solve stops with an {@link IllegalStateException} after a set number of states.</li>
+ * </ul>
+ */
+public final class LevelSolver {
+
+   /**
+    * The chance of answering a riddle correctly, unless the constructor says otherwise.
+    */
+   public static final double DEFAULT_RIDDLE_SUCCESS = 0.5;
+
+   /**
+    * The number of states a solve may visit, unless the constructor says otherwise.
+    */
+   public static final int DEFAULT_MAX_STATES = 4_000_000;
+
+   private static final Item[] ITEMS = Item.values();
+   private static final String[] DIRECTIONS = {"up", "down", "left", "right"};
+   private static final int DIRECTION_COUNT = DIRECTIONS.length;
+   private static final Value DEAD = new Value(0, 0);
+
+   /**
+    * One choice the player has and where it leads under perfect play.
+    *
+    * @param action              the command, for example {@code "up"} or {@code "use Cake"}
+    * @param expectedPowerPoints the power points the player can expect to leave the level with
+    * @param exitChance          the chance of leaving the level at all
+    */
+   public record Choice(String action, double expectedPowerPoints, double exitChance) {
+   }
+
+   /**
+    * What a solve found.
+    *
+    * @param expectedPowerPoints the power points the player can expect to leave the level with, playing perfectly
+    * @param exitChance          the chance of leaving the level when playing that way
+    * @param choices             every choice the player has now, best first
+    * @param states              the number of states that were solved
+    */
+   public record Solution(double expectedPowerPoints, double exitChance, List<Choice> choices, int states) {
+
+      /**
+       * Returns the best choice.
+       *
+       * @return the choice with the most expected power points, or {@code null} if the player has none
+       */
+      public Choice best() {
+         return choices.isEmpty() ? null : choices.get(0);
+      }
+   }
+
+   private record Value(double expected, double exitChance) {
+   }
+
+   private final Level level;
+   private final Tile[] tiles;
+
+   /**
+    * For every cell and direction, the cell a move leads to, or {@code -1} if it is blocked.
+    */
+   private final int[] neighbours;
+   private final EncounterCatalog catalog;
+   private final double riddleSuccess;
+   private final int maxStates;
+
+   /**
+    * For every cell, the number of the encounter there, or {@code -1}.
+    */
+   private final int[] encounterAt;
+   private final EncounterType[] encounterTypes;
+   private final long initiallyResolved;
+
+   /**
+    * The rooms a Teleportation Spell can take the player to.
+    */
+   private final int[] rooms;
+   private final LootTable<Item> rewards = LootTables.explorerRewards();
+
+   /**
+    * Creates a solver for a level and its encounters as they are placed now, with the default riddle
+    * chance and state limit.
+    *
+    * @param level    the level
+    * @param entities the level's encounters
+    */
+   public LevelSolver(Level level, EncounterEntities entities) {
+      this(level, entities, EncounterCatalog.getDefault(), DEFAULT_RIDDLE_SUCCESS, DEFAULT_MAX_STATES);
+   }
+
+   /**
+    * Creates a solver for a level and its encounters as they are placed now.
+    *
+    * @param level         the level
+    * @param entities      the level's encounters; they are copied, so they may move on afterwards
+    * @param catalog       the encounters' options
+    * @param riddleSuccess the chance of answering a riddle correctly
+    * @param maxStates     the number of states a solve may visit
+    * @throws IllegalArgumentException if the chance is not between 0 and 1, the limit is not positive, or
+    *                                  the level has more encounters than a state can track, or the level is a
+    *                                  {@link PagedLevel}, which is too large to solve in memory
+    */
+   public LevelSolver(Level level, EncounterEntities entities, EncounterCatalog catalog,
+                      double riddleSuccess, int maxStates) {
+      if (!(riddleSuccess >= 0 && riddleSuccess <= 1)) {
+         throw new IllegalArgumentException("The riddle chance must be between 0 and 1, got " + riddleSuccess + ".");
+      }
+      if (maxStates <= 0) {
+         throw new IllegalArgumentException("The state limit must be positive, got " + maxStates + ".");
+      }
+      if (level instanceof PagedLevel) {
+         throw new IllegalArgumentException("The level is too large to solve.");
+      }
+      this.level = level;
+      this.catalog = Objects.requireNonNull(catalog);
+      this.riddleSuccess = riddleSuccess;
+      this.maxStates = maxStates;
+
+      encounterAt = new int[level.size()];
+      Arrays.fill(encounterAt, -1);
+      entities.getLock().lock();
+      try {
+         int count = entities.size();
+         if (count > Long.SIZE - 1) {
+            throw new IllegalArgumentException("A solve tracks at most " + (Long.SIZE - 1) + " encounters, not " + count + ".");
+         }
+         encounterTypes = new EncounterType[count];
+         long resolved = 0;
+         for (int id = 0; id < count; id++) {
+            encounterTypes[id] = entities.getType(id);
+            encounterAt[level.index(entities.getRoomX(id), entities.getRoomY(id))] = id;
+            if (entities.isResolved(id)) {
+               resolved |= 1L << id;
+            }
+         }
+         initiallyResolved = resolved;
+      } finally {
+         entities.getLock().unlock();
+      }
+
+      // Copied once, so the search never touches the level, which may be read by several solves at once
+      tiles = new Tile[level.size()];
+      neighbours = new int[level.size() * DIRECTION_COUNT];
+      for (int cell = 0; cell < tiles.length; cell++) {
+         tiles[cell] = level.getTileAt(cell);
+         for (int direction = 0; direction < DIRECTION_COUNT; direction++) {
+            int x = level.rowOf(cell) + MovementLogic.rowStep(direction);
+            int y = level.columnOf(cell) + MovementLogic.columnStep(direction);
+            neighbours[cell * DIRECTION_COUNT + direction] = level.isWalkable(x, y) ? level.index(x, y) : -1;
+         }
+      }
+      rooms = IntStream.range(0, tiles.length).filter(cell -> tiles[cell] == Tile.ROOM).toArray();
+   }
+
+   /**
+    * Solves the level from the player's situation.
+    *
+    * @param x           the player's row
+    * @param y           the player's column
+    * @param powerPoints the player's power points
+    * @param inventory   the player's items
+    * @return the value of every choice the player has, best first
+    * @throws IllegalArgumentException if the state of this level does not fit in a {@code long}
+    * @throws IllegalStateException    if the level has more reachable states than the solver may visit
+    */
+   public Solution solve(int x, int y, int powerPoints, Inventory inventory) {
+      Search search = new Search(inventory, powerPoints);
+      int cell = level.index(x, y);
+      if (tiles[cell] == Tile.EXIT) {
+         return new Solution(powerPoints, 1, List.of(), 0);
+      }
+      if (powerPoints <= 0) {
+         return new Solution(0, 0, List.of(), 0);
+      }
+      long items = search.itemsOf(inventory);
+      List<Choice> choices = IntStream.range(0, DIRECTION_COUNT + ITEMS.length).parallel()
+              .mapToObj(action -> {
+                 Value value = search.act(action, cell, powerPoints, items, initiallyResolved);
+                 return value == null ? null
+                         : new Choice(labelOf(action), value.expected(), value.exitChance());
+              })
+              .filter(Objects::nonNull)
+              .sorted(Comparator.comparingDouble(Choice::expectedPowerPoints)
+                      .thenComparingDouble(Choice::exitChance).reversed())
+              .toList();
+      Choice best = choices.isEmpty() ? null : choices.get(0);
+      return best == null
+              ? new Solution(0, 0, choices, search.table.size())
+              : new Solution(best.expectedPowerPoints(), best.exitChance(), choices, search.table.size());
+   }
+
+   private static String labelOf(int action) {
+      return action < DIRECTION_COUNT ? DIRECTIONS[action] : "use " + ITEMS[action - DIRECTION_COUNT].getDisplayName();
+   }
+
+   private static Value better(Value a, Value b) {
+      if (b == null) {
+         return a;
+      }
+      return b.expected() > a.expected() || (b.expected() == a.expected() && b.exitChance() > a.exitChance()) ? b : a;
+   }
+
+   private static int bitsFor(long largest) {
+      return Math.max(1, Long.SIZE - Long.numberOfLeadingZeros(largest));
+   }
+
+   /**
+    * One solve: how states are packed, and the table of solved states.
+    *
+    * <p>
+    * A packed state holds, from the lowest bit up: the cell, the power points, the count of each item, and
+    * one bit per encounter that is over. Each field is only as wide as the solve needs. Item counts travel
+    * through the search packed the same way.
+    * </p>
+    */
+   private final class Search {
+
+      private final TranspositionTable table = new TranspositionTable(maxStates);
+      private final int cellBits;
+      private final int powerBits;
+      private final int itemBits;
+      private final int[] countShift = new int[ITEMS.length];
+      private final int[] countBits = new int[ITEMS.length];
+
+      Search(Inventory inventory, int powerPoints) {
+         // Rewards only hand out items the player lacks, so no stack grows past max(held, 1)
+         int rewardDraws = 0;
+         for (EncounterType type : encounterTypes) {
+            int most = 0;
+            for (EncounterOption option : catalog.get(type).getOptions()) {
+               most = Math.max(most, option.getReward());
+            }
+            rewardDraws += most;
+         }
+         long mostPower = Math.max(powerPoints, 0);
+         int shift = 0;
+         for (Item item : ITEMS) {
+            int held = inventory.count(item);
+            countShift[item.ordinal()] = shift;
+            countBits[item.ordinal()] = bitsFor(Math.max(held, 1));
+            shift += countBits[item.ordinal()];
+            // Every item eaten, plus one more of each food for every reward
+            mostPower += (long) item.getPowerPointEffect() * (held + rewardDraws);
+         }
+         cellBits = bitsFor(tiles.length - 1);
+         powerBits = bitsFor(mostPower);
+         itemBits = shift;
+         int total = cellBits + powerBits + itemBits + encounterTypes.length;
+         if (total > Long.SIZE - 1) {
+            throw new IllegalArgumentException("A state of this level needs " + total + " bits, more than a long holds.");
+         }
+      }
+
+      long itemsOf(Inventory inventory) {
+         long items = 0;
+         for (Item item : ITEMS) {
+            items = withCount(items, item, inventory.count(item));
+         }
+         return items;
+      }
+
+      private int count(long items, Item item) {
+         return (int) (items >>> countShift[item.ordinal()]) & ((1 << countBits[item.ordinal()]) - 1);
+      }
+
+      private long withCount(long items, Item item, int count) {
+         int shift = countShift[item.ordinal()];
+         long mask = ((1L << countBits[item.ordinal()]) - 1) << shift;
+         return (items & ~mask) | ((long) count << shift);
+      }
+
+      private long pack(int cell, int powerPoints, long items, long resolved) {
+         return cell
+                 | (long) powerPoints << cellBits
+                 | items << (cellBits + powerBits)
+                 | resolved << (cellBits + powerBits + itemBits);
+      }
+
+      /**
+       * The value of standing in a room with nothing left to settle, when playing perfectly from there.
+       */
+      Value decide(int cell, int powerPoints, long items, long resolved) {
+         long key = pack(cell, powerPoints, items, resolved);
+         double[] cached = new double[2];
+         if (table.get(key, cached)) {
+            return new Value(cached[0], cached[1]);
+         }
+         Value best = DEAD;
+         for (int action = 0; action < DIRECTION_COUNT + ITEMS.length; action++) {
+            best = better(best, act(action, cell, powerPoints, items, resolved));
+         }
+         table.put(key, best.expected(), best.exitChance());
+         return best;
+      }
+
+      /**
+       * The value of one choice: a direction, or using an item.
+       *
+       * @return the value, or {@code null} if the player cannot make that choice
+       */
+      Value act(int action, int cell, int powerPoints, long items, long resolved) {
+         if (action < DIRECTION_COUNT) {
+            int next = neighbours[cell * DIRECTION_COUNT + action];
+            return next == -1 ? null : move(next, powerPoints, items, resolved);
+         }
+         Item item = ITEMS[action - DIRECTION_COUNT];
+         int held = count(items, item);
+         if (!item.isUsable() || held == 0) {
+            return null;
+         }
+         long left = withCount(items, item, held - 1);
+         if (item != Item.TELEPORTATION_SPELL) {
+            return decide(cell, powerPoints + item.getPowerPointEffect(), left, resolved);
+         }
+         return teleport(cell, powerPoints, left, resolved);
+      }
+
+      private Value move(int cell, int powerPoints, long items, long resolved) {
+         int left = powerPoints - MovementLogic.MOVE_COST;
+         if (left <= 0) {
+            return DEAD;
+         }
+         if (tiles[cell] == Tile.EXIT) {
+            return new Value(left, 1);
+         }
+         int encounter = encounterAt[cell];
+         if (encounter >= 0 && (resolved & 1L << encounter) == 0) {
+            return encounter(encounter, cell, left, items, resolved);
+         }
+         return decide(cell, left, items, resolved);
+      }
+
+      /**
+       * A Teleportation Spell takes the player to any other plain room with the same chance, without
+       * triggering what is there; with nowhere to go, it fizzles.
+       */
+      private Value teleport(int cell, int powerPoints, long items, long resolved) {
+         int targets = rooms.length - (tiles[cell] == Tile.ROOM ? 1 : 0);
+         if (targets == 0) {
+            return decide(cell, powerPoints, items, resolved);
+         }
+         double expected = 0;
+         double exitChance = 0;
+         for (int room : rooms) {
+            if (room != cell) {
+               Value value = decide(room, powerPoints, items, resolved);
+               expected += value.expected();
+               exitChance += value.exitChance();
+            }
+         }
+         return new Value(expected / targets, exitChance / targets);
+      }
+
+      /**
+       * An encounter offers its listed options only if one of those the player can afford needs items;
+       * otherwise, and for any other answer, its default option plays.
+       */
+      private Value encounter(int encounter, int cell, int powerPoints, long items, long resolved) {
+         EncounterDefinition definition = catalog.get(encounterTypes[encounter]);
+         Value best = play(encounter, definition.getDefaultOption(), cell, powerPoints, items, resolved);
+         List<EncounterOption> offered = new ArrayList<>();
+         boolean itemOption = false;
+         for (EncounterOption option : definition.getOptions()) {
+            if (option.isListed() && affords(option, items)) {
+               offered.add(option);
+               itemOption |= option.needsItems();
+            }
+         }
+         if (itemOption) {
+            for (EncounterOption option : offered) {
+               best = better(best, play(encounter, option, cell, powerPoints, items, resolved));
+            }
+         }
+         return best;
+      }
+
+      private boolean affords(EncounterOption option, long items) {
+         for (String name : option.getRequiredItems()) {
+            Item item = Item.fromName(name);
+            if (item == null || count(items, item) == 0) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      /**
+       * Plays an option, weighing a riddle's two answers by the riddle chance.
+       *
+       * <b>Internal Method Calls:</b>
+       * <ul>
+       *     <li>{@link EncounterOption#outcome(int, boolean)}</li>
+       *     <li>{@link EncounterOption#resolves(EncounterType)}</li>
+       * </ul>
+       */
+      private Value play(int encounter, EncounterOption option, int cell, int powerPoints, long items, long resolved) {
+         for (String name : option.getConsumedItems()) {
+            Item item = Item.fromName(name);
+            if (item != null && count(items, item) > 0) {
+               items = withCount(items, item, count(items, item) - 1);
+            }
+         }
+         long after = option.resolves(encounterTypes[encounter]) ? resolved | 1L << encounter : resolved;
+
+         Value right = apply(option.outcome(powerPoints, true), cell, powerPoints, items, after);
+         if (option.getEffect() != EncounterEffect.RIDDLE) {
+            return right;
+         }
+         Value wrong = apply(option.outcome(powerPoints, false), cell, powerPoints, items, after);
+         return new Value(riddleSuccess * right.expected() + (1 - riddleSuccess) * wrong.expected(),
+                 riddleSuccess * right.exitChance() + (1 - riddleSuccess) * wrong.exitChance());
+      }
+
+      private Value apply(EncounterOption.Outcome outcome, int cell, int powerPoints, long items, long resolved) {
+         if (outcome.losesGame()) {
+            return DEAD;
+         }
+         powerPoints += outcome.powerPoints();
+         if (outcome.losesAllItems()) {
+            items = 0;
+         }
+         return outcome.rewardDraws() > 0
+                 ? reward(cell, powerPoints, items, resolved, outcome.rewardDraws())
+                 : settle(cell, powerPoints, items, resolved);
+      }
+
+      private Value settle(int cell, int powerPoints, long items, long resolved) {
+         return powerPoints <= 0 ? DEAD : decide(cell, powerPoints, items, resolved);
+      }
+
+      /**
+       * Averages over every way the reward table can hand out {@code draws} items the player lacks, one at
+       * a time and in proportion to their weights, as {@link LootTable#sampleDistinct} draws them.
+       */
+      private Value reward(int cell, int powerPoints, long items, long resolved, int draws) {
+         double total = 0;
+         for (int i = 0; i < rewards.size(); i++) {
+            if (count(items, rewards.get(i)) == 0) {
+               total += rewards.getWeight(i);
+            }
+         }
+         if (draws == 0 || total == 0) {
+            return settle(cell, powerPoints, items, resolved);
+         }
+         double expected = 0;
+         double exitChance = 0;
+         for (int i = 0; i < rewards.size(); i++) {
+            Item item = rewards.get(i);
+            if (count(items, item) == 0 && rewards.getWeight(i) > 0) {
+               double chance = rewards.getWeight(i) / total;
+               Value value = reward(cell, powerPoints, withCount(items, item, 1), resolved, draws - 1);
+               expected += chance * value.expected();
+               exitChance += chance * value.exitChance();
+            }
+         }
+         return new Value(expected, exitChance);
+      }
+   }
+
+}
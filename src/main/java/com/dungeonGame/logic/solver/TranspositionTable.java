@@ -0,0 +1,151 @@
+package com.dungeonGame.logic.solver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers the value of every state a {@link LevelSolver} has worked out, so each state is solved once.
+ *
+ * <p>
+ * States are packed {@code long} keys. The table is split into segments, each an open-addressing hash table
+ * of plain arrays with a lock of its own, so threads solving different parts of a level rarely wait for
+ * each other and a stored value costs 24 bytes instead of a boxed key and value.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Values:</b> Two numbers per state: the expected power points at the exit and the chance of
+ *         reaching it.</li>
+ *     <li><b>Limit:</b> The table refuses to grow past its limit, so a level too large to solve fails with an
+ *         {@link IllegalStateException} instead of running out of memory.</li>
+ * </ul>
+ */
+final class TranspositionTable {
+
+   private static final int SEGMENTS = 64;
+   private static final int INITIAL_SEGMENT_CAPACITY = 256;
+
+   private final Segment[] segments = new Segment[SEGMENTS];
+   private final AtomicInteger size = new AtomicInteger();
+   private final int maxStates;
+
+   /**
+    * Creates an empty table.
+    *
+    * @param maxStates the largest number of states the table may hold
+    */
+   TranspositionTable(int maxStates) {
+      this.maxStates = maxStates;
+      for (int i = 0; i < SEGMENTS; i++) {
+         segments[i] = new Segment();
+      }
+   }
+
+   /**
+    * Looks up the value of a state.
+    *
+    * @param key   the packed state
+    * @param value receives the expected power points and the chance of reaching the exit
+    * @return {@code true} if the state has been stored
+    */
+   boolean get(long key, double[] value) {
+      long hash = mix(key);
+      return segments[(int) (hash >>> 58)].get(key, hash, value);
+   }
+
+   /**
+    * Stores the value of a state. Storing a state twice keeps the first value, which is the same.
+    *
+    * @param key        the packed state
+    * @param expected   the expected power points at the exit
+    * @param exitChance the chance of reaching the exit
+    * @throws IllegalStateException if the table is full
+    */
+   void put(long key, double expected, double exitChance) {
+      long hash = mix(key);
+      if (segments[(int) (hash >>> 58)].put(key, hash, expected, exitChance)
+              && size.incrementAndGet() > maxStates) {
+         throw new IllegalStateException("The level has more than " + maxStates + " reachable states.");
+      }
+   }
+
+   /**
+    * Returns the number of stored states.
+    *
+    * @return the state count
+    */
+   int size() {
+      return size.get();
+   }
+
+   /**
+    * Spreads the bits of a key, since packed states differ mostly in their low bits (the room).
+    */
+   private static long mix(long key) {
+      key ^= key >>> 33;
+      key *= 0xff51afd7ed558ccdL;
+      key ^= key >>> 33;
+      key *= 0xc4ceb9fe1a85ec53L;
+      return key ^ (key >>> 33);
+   }
+
+   /**
+    * One lock's worth of the table. Keys are stored plus one, so {@code 0} marks an empty slot.
+    */
+   private static final class Segment {
+
+      private long[] keys = new long[INITIAL_SEGMENT_CAPACITY];
+      private double[] expected = new double[INITIAL_SEGMENT_CAPACITY];
+      private double[] exitChance = new double[INITIAL_SEGMENT_CAPACITY];
+      private int size;
+
+      synchronized boolean get(long key, long hash, double[] value) {
+         int mask = keys.length - 1;
+         for (int slot = (int) hash & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key + 1) {
+               value[0] = expected[slot];
+               value[1] = exitChance[slot];
+               return true;
+            }
+         }
+         return false;
+      }
+
+      synchronized boolean put(long key, long hash, double expectedValue, double exitChanceValue) {
+         int mask = keys.length - 1;
+         int slot = (int) hash & mask;
+         for (; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key + 1) {
+               return false;
+            }
+         }
+         keys[slot] = key + 1;
+         expected[slot] = expectedValue;
+         exitChance[slot] = exitChanceValue;
+         if (++size * 2 > keys.length) {
+            grow();
+         }
+         return true;
+      }
+
+      private void grow() {
+         long[] oldKeys = keys;
+         double[] oldExpected = expected;
+         double[] oldExitChance = exitChance;
+         keys = new long[oldKeys.length * 2];
+         expected = new double[keys.length];
+         exitChance = new double[keys.length];
+         int mask = keys.length - 1;
+         for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+               int slot = (int) mix(oldKeys[i] - 1) & mask;
+               while (keys[slot] != 0) {
+                  slot = (slot + 1) & mask;
+               }
+               keys[slot] = oldKeys[i];
+               expected[slot] = oldExpected[i];
+               exitChance[slot] = oldExitChance[i];
+            }
+         }
+      }
+   }
+
+}
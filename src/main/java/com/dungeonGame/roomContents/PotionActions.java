@@ -1,10 +1,12 @@
 package com.dungeonGame.roomContents;
 
+import com.dungeonGame.GameServices;
 import com.dungeonGame.GameUtils;
 import com.dungeonGame.logic.DisplayManager;
 import com.dungeonGame.logic.PositionDataHolder;
 import com.dungeonGame.logic.PlayerDataHolder;
 import com.dungeonGame.logic.PowerPointManager;
+import com.dungeonGame.logic.mapAndLevelHandler.VisibilityState;
 
 import java.util.Random;
 
@@ -18,8 +20,8 @@ import java.util.Random;
  */
 public class PotionActions {
 
-   PowerPointManager pointManager = new PowerPointManager();
-   DisplayManager displayManager = new DisplayManager();
+   PowerPointManager pointManager = GameServices.powerPointManager();
+   DisplayManager displayManager = GameServices.displayManager();
 
    /**
     * List of available potions and their effects:
@@ -27,12 +29,14 @@ public class PotionActions {
     * <ul>
     *     <li>{@code "Sleeping Potion"} - Reduces power points by 5.</li>
     *     <li>{@code "Health Potion"} - Increases power points by 5.</li>
-    *     <li>{@code "Vision Potion"} - Enhances visibility by showing the player's current map layout.
+    *     <li>{@code "Vision Potion"} - Enhances visibility by revealing the map around the player and showing it.
     *     </li>
     * </ul>
     */
    static final String[] POTIONS = {"Sleeping Potion", "Health Potion", "Vision Potion"};
 
+   private static final Random random = GameServices.random();
+
    /**
     * Applies the effect of a specific potion to the player.
     *
@@ -41,7 +45,8 @@ public class PotionActions {
     *         <ul>
     *             <li>{@code "Sleeping Potion"} - Decreases power points by 5.</li>
     *             <li>{@code "Health Potion"} - Increases power points by 5.</li>
-    *             <li>{@code "Vision Potion"} - Displays the player's current map location.</li>
+    *             <li>{@code "Vision Potion"} - Reveals the map within {@link VisibilityState#VISION_POTION_RADIUS}
+    *                 cells and displays it with the player's location.</li>
     *         </ul>
     *     </li>
     *     <li><b>Consequences:</b> The player's power points or visibility are updated based on the potion's effect.</li>
@@ -52,6 +57,7 @@ public class PotionActions {
     *     <li>{@link GameUtils#delayPrint(String)}</li>
     *     <li>{@link PowerPointManager#deductPowerPoints(PlayerDataHolder, int)}</li>
     *     <li>{@link PowerPointManager#addPowerPoints(PlayerDataHolder, int)}</li>
+    *     <li>{@link VisibilityState#reveal(int, int, int)}</li>
     *     <li>{@link DisplayManager#displayMapWithPlayerLocation(PositionDataHolder)}</li>
     * </ul>
     *
@@ -71,6 +77,7 @@ public class PotionActions {
             break;
          case "Vision Potion":
             GameUtils.delayPrint("You drink the Vision Potion. Your surroundings become clearer...");
+            pm.getVisibility().reveal(pm.getPlayerX(), pm.getPlayerY(), VisibilityState.VISION_POTION_RADIUS);
             displayManager.displayMapWithPlayerLocation(pm);
             break;
          default:
@@ -90,7 +97,6 @@ public class PotionActions {
     * @return the name of a randomly selected potion
     */
    public String getRandomPotion() {
-      Random random = new Random();
       return POTIONS[random.nextInt(POTIONS.length)];
    }
 
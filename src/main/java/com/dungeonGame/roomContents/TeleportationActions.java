@@ -1,8 +1,11 @@
 package com.dungeonGame.roomContents;
 
+import com.dungeonGame.GameServices;
 import com.dungeonGame.GameUtils;
 import com.dungeonGame.logic.PositionDataHolder;
+import com.dungeonGame.logic.mapAndLevelHandler.CellIndex;
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
 
 import java.util.Random;
 
@@ -26,12 +29,14 @@ public class TeleportationActions {
     *         </ul>
     *     </li>
     *     <li><b>Consequences:</b> The player's position is updated to a new random location.
-    *         A message confirms the teleportation.</li>
+    *         A message confirms the teleportation. If there is no other valid location the spell fizzles
+    *         and the player stays put.</li>
     * </ul>
     *
     * <b>Internal Method Calls:</b>
     * <ul>
     *     <li>{@link GameUtils#delayPrint(String)}</li>
+    *     <li>{@link CellIndex#sampleExcluding(Random, int...)}</li>
     *     <li>{@link PositionDataHolder#setCurrentPosition(int, int)}</li>
     * </ul>
     *
@@ -40,20 +45,20 @@ public class TeleportationActions {
    public void useTeleportationSpell(PositionDataHolder pm) {
       GameUtils.delayPrint("You activate the Teleportation Spell...");
 
-      Random random = new Random();
-      char[][] currentLevel = DungeonMap.getCurrentLevel();
-      int levelSize = currentLevel.length;
-      int newX, newY;
+      Random random = GameServices.random();
+      Level currentLevel = DungeonMap.getCurrentLevel();
+      CellIndex rooms = currentLevel.getCellIndex(CellIndex.Category.ROOM);
 
-      // Find a valid location for teleportation
-      do {
-         newX = random.nextInt(levelSize);
-         newY = random.nextInt(levelSize);
-      } while ((currentLevel[newX][newY] == 'W' || currentLevel[newX][newY] == 'X' || currentLevel[newX][newY] == 'E')
-              || (newX == pm.getPlayerX() && newY == pm.getPlayerY()));
+      // Pick any plain room other than the one the player is standing in
+      int playerCell = currentLevel.index(pm.getPlayerX(), pm.getPlayerY());
+      int target = rooms.sampleExcluding(random, playerCell);
+      if (target == -1) {
+         GameUtils.delayPrint("The spell fizzles. There is nowhere else to go on this level.");
+         return;
+      }
 
       // Update the player's position
-      pm.setCurrentPosition(newX, newY);
+      pm.setCurrentPosition(currentLevel.rowOf(target), currentLevel.columnOf(target));
       GameUtils.delayPrint("The spell teleports you to a new location!");
    }
 
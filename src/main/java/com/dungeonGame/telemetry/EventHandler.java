@@ -0,0 +1,19 @@
+package com.dungeonGame.telemetry;
+
+/**
+ * Receives the game's events on a thread of its own; see {@link EventRing#subscribe(String, EventHandler)}.
+ */
+@FunctionalInterface
+public interface EventHandler {
+
+   /**
+    * Handles one event. Events arrive in the order they were published, in batches of everything published
+    * since the previous batch, so a handler that writes somewhere can flush once per batch.
+    *
+    * @param event      the event; overwritten by the game later, so copy what must be kept
+    * @param sequence   the event's position in the stream, counting from 0
+    * @param endOfBatch whether this is the last event of the batch
+    * @throws Exception if the event could not be handled; it is counted and the handler gets the next one
+    */
+   void onEvent(GameEvent event, long sequence, boolean endOfBatch) throws Exception;
+}
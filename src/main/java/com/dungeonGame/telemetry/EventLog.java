@@ -0,0 +1,46 @@
+package com.dungeonGame.telemetry;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends every event to a text file, one line each, as an audit trail of the game.
+ *
+ * <p>
+ * The game starts one with {@code -Ddungeon.events.log=<file>}. Lines are buffered and the file is flushed
+ * once per batch, so a busy game costs one write per batch rather than one per event.
+ * </p>
+ */
+public class EventLog implements EventHandler, Closeable {
+
+   private final BufferedWriter writer;
+
+   /**
+    * Opens the log, appending to the file if it already exists.
+    *
+    * @param file where the events are written
+    * @throws IOException if the file cannot be opened
+    */
+   public EventLog(Path file) throws IOException {
+      writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+   }
+
+   @Override
+   public void onEvent(GameEvent event, long sequence, boolean endOfBatch) throws IOException {
+      writer.write(event.toString());
+      writer.newLine();
+      if (endOfBatch) {
+         writer.flush();
+      }
+   }
+
+   @Override
+   public void close() throws IOException {
+      writer.close();
+   }
+
+}
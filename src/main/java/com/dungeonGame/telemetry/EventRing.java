@@ -0,0 +1,342 @@
+package com.dungeonGame.telemetry;
+
+import com.dungeonGame.encounter.EncounterType;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands the game's events to any number of consumers without ever holding up the game.
+ *
+ * <p>
+ * The ring is an array of preallocated {@link GameEvent}s. The game thread is the only producer: it fills
+ * the next slot and moves the published cursor past it. Every consumer runs on a daemon thread of its own,
+ * remembers how far it has read, and takes everything published since its last look as one batch. The
+ * producer only writes plain fields and one ordered store per event, so publishing neither allocates,
+ * locks nor waits.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>Producer:</b> Only one thread may publish, which is the thread that runs the game loop. The
+ *         per-player {@link com.dungeonGame.GameSession}s of the load generator do not publish.</li>
+ *     <li><b>Full Ring:</b> A slot is reused only once every consumer has read it. If the slowest consumer is
+ *         a whole ring behind, the new event is dropped and counted ({@link #getDroppedCount()}) instead of
+ *         waiting for it.</li>
+ *     <li><b>No Consumers:</b> Without consumers, publishing returns at once.</li>
+ *     <li><b>Idle Consumers:</b> A consumer that finds nothing new spins briefly, then yields, then parks for
+ *         a millisecond at a time, so an idle ring costs next to nothing.</li>
+ * </ul>
+ */
+public final class EventRing {
+
+   /**
+    * The number of slots used by the game unless {@code -Ddungeon.events.capacity} says otherwise.
+    */
+   public static final int DEFAULT_CAPACITY = 4096;
+
+   private static final int SPINS = 100;
+   private static final int YIELDS = 10;
+   private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+   private final GameEvent[] events;
+   private final int mask;
+
+   /**
+    * The sequence of the last published event.
+    */
+   private final AtomicLong cursor = new AtomicLong(-1);
+   private volatile Consumer[] consumers = new Consumer[0];
+
+   // Written by the producer only
+   private long next;
+   private long gate = -1;
+   private Consumer[] gatedBy = consumers;
+   private volatile long dropped;
+
+   /**
+    * Creates a ring with all of its events allocated up front.
+    *
+    * @param capacity the number of slots, a power of two
+    * @throws IllegalArgumentException if the capacity is not a positive power of two
+    */
+   public EventRing(int capacity) {
+      if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+         throw new IllegalArgumentException("The capacity must be a power of two, got " + capacity + ".");
+      }
+      events = new GameEvent[capacity];
+      for (int i = 0; i < capacity; i++) {
+         events[i] = new GameEvent();
+      }
+      mask = capacity - 1;
+   }
+
+   /**
+    * Creates a ring with {@code -Ddungeon.events.capacity} slots ({@value #DEFAULT_CAPACITY} by default).
+    *
+    * @return the ring
+    */
+   public static EventRing fromSystemProperties() {
+      return new EventRing(Integer.getInteger("dungeon.events.capacity", DEFAULT_CAPACITY));
+   }
+
+   // Publishing, from the game thread only
+
+   /**
+    * Publishes that the player moved into a room.
+    *
+    * @param level       the number of the current level
+    * @param x           the new room's row
+    * @param y           the new room's column
+    * @param powerPoints the power points left after the move
+    */
+   public void publishMove(int level, int x, int y, int powerPoints) {
+      GameEvent event = claim();
+      if (event != null) {
+         event.set(GameEvent.Type.MOVE, level, x, y, powerPoints);
+         publish();
+      }
+   }
+
+   /**
+    * Publishes that the player looked around a room.
+    *
+    * @param level       the number of the current level
+    * @param x           the room's row
+    * @param y           the room's column
+    * @param powerPoints the power points left after the search
+    */
+   public void publishSearch(int level, int x, int y, int powerPoints) {
+      GameEvent event = claim();
+      if (event != null) {
+         event.set(GameEvent.Type.SEARCH, level, x, y, powerPoints);
+         publish();
+      }
+   }
+
+   /**
+    * Publishes how an encounter ended.
+    *
+    * @param level       the number of the current level
+    * @param x           the encounter's row
+    * @param y           the encounter's column
+    * @param powerPoints the power points left after the encounter
+    * @param type        the encounter that ran
+    * @param resolved    whether the encounter is over for good
+    */
+   public void publishEncounter(int level, int x, int y, int powerPoints, EncounterType type, boolean resolved) {
+      GameEvent event = claim();
+      if (event != null) {
+         event.set(GameEvent.Type.ENCOUNTER, level, x, y, powerPoints);
+         event.setEncounter(type, resolved);
+         publish();
+      }
+   }
+
+   /**
+    * Publishes that the player left a level through its exit.
+    *
+    * @param level       the number of the level left
+    * @param nextLevel   the number of the level entered, or {@code -1} if the game was completed
+    * @param x           the exit's row
+    * @param y           the exit's column
+    * @param powerPoints the power points the player leaves with
+    */
+   public void publishLevelTransition(int level, int nextLevel, int x, int y, int powerPoints) {
+      GameEvent event = claim();
+      if (event != null) {
+         event.set(GameEvent.Type.LEVEL_TRANSITION, level, x, y, powerPoints);
+         event.setNextLevel(nextLevel);
+         publish();
+      }
+   }
+
+   /**
+    * Returns the slot of the next event, or {@code null} if nobody listens or the slowest consumer has not
+    * read it yet.
+    */
+   private GameEvent claim() {
+      Consumer[] current = consumers;
+      if (current.length == 0) {
+         return null;
+      }
+      if (current != gatedBy) {
+         gatedBy = current;
+         gate = minimumSequence(current);
+      }
+      long wrapPoint = next - events.length;
+      if (wrapPoint > gate) {
+         // Only look at the consumers again when the cached position is no longer enough
+         gate = minimumSequence(current);
+         if (wrapPoint > gate) {
+            dropped++;
+            return null;
+         }
+      }
+      return events[(int) next & mask];
+   }
+
+   private void publish() {
+      cursor.setRelease(next++);
+   }
+
+   private static long minimumSequence(Consumer[] consumers) {
+      long minimum = Long.MAX_VALUE;
+      for (Consumer consumer : consumers) {
+         minimum = Math.min(minimum, consumer.sequence.getAcquire());
+      }
+      return minimum;
+   }
+
+   // Consumers
+
+   /**
+    * Starts a consumer on a daemon thread of its own. It receives every event published from now on.
+    * Consumers are meant to be added before the game starts; one added while the game runs may miss the
+    * events of the first ring's worth of publishing.
+    *
+    * @param name    the consumer's name, also used for its thread
+    * @param handler what to do with each event
+    * @return the running consumer
+    */
+   public synchronized Consumer subscribe(String name, EventHandler handler) {
+      Consumer consumer = new Consumer(name, handler, cursor.get());
+      Consumer[] grown = Arrays.copyOf(consumers, consumers.length + 1);
+      grown[grown.length - 1] = consumer;
+      consumers = grown;
+      consumer.thread.start();
+      return consumer;
+   }
+
+   private synchronized void remove(Consumer consumer) {
+      consumers = Arrays.stream(consumers).filter(other -> other != consumer).toArray(Consumer[]::new);
+   }
+
+   // Statistics
+
+   /**
+    * Returns how many events have been published; events published while nobody listened do not count.
+    *
+    * @return the number of published events
+    */
+   public long getPublishedCount() {
+      return cursor.get() + 1;
+   }
+
+   /**
+    * Returns how many events were dropped because a consumer was a whole ring behind.
+    *
+    * @return the number of dropped events
+    */
+   public long getDroppedCount() {
+      return dropped;
+   }
+
+   public int getCapacity() {
+      return events.length;
+   }
+
+   /**
+    * One consumer of the ring and the thread it runs on.
+    */
+   public final class Consumer implements AutoCloseable {
+
+      private final String name;
+      private final EventHandler handler;
+      private final AtomicLong sequence;
+      private final Thread thread;
+      private volatile boolean running = true;
+      private volatile long failed;
+
+      private Consumer(String name, EventHandler handler, long sequence) {
+         this.name = name;
+         this.handler = handler;
+         this.sequence = new AtomicLong(sequence);
+         this.thread = new Thread(this::run, "events-" + name);
+         this.thread.setDaemon(true);
+      }
+
+      private void run() {
+         long nextSequence = sequence.get() + 1;
+         int idle = 0;
+         while (true) {
+            long available = cursor.getAcquire();
+            if (available < nextSequence) {
+               if (!running) {
+                  return;
+               }
+               idle = idle(idle);
+               continue;
+            }
+            idle = 0;
+            for (long s = nextSequence; s <= available; s++) {
+               try {
+                  handler.onEvent(events[(int) s & mask], s, s == available);
+               } catch (Exception e) {
+                  failed++;
+               }
+            }
+            // Only now may the producer reuse the slots of the batch
+            sequence.setRelease(available);
+            nextSequence = available + 1;
+         }
+      }
+
+      private static int idle(int idle) {
+         if (idle < SPINS) {
+            Thread.onSpinWait();
+         } else if (idle < SPINS + YIELDS) {
+            Thread.yield();
+         } else {
+            LockSupport.parkNanos(PARK_NANOS);
+         }
+         return idle + 1;
+      }
+
+      /**
+       * Returns the sequence of the last event this consumer has handled.
+       *
+       * @return the sequence, or {@code -1} if it has handled none
+       */
+      public long getSequence() {
+         return sequence.get();
+      }
+
+      /**
+       * Returns how many events the handler threw on.
+       *
+       * @return the number of failed events
+       */
+      public long getFailedCount() {
+         return failed;
+      }
+
+      public String getName() {
+         return name;
+      }
+
+      /**
+       * Handles what has been published so far, then stops the consumer and leaves the ring. A handler that
+       * is {@link AutoCloseable} is closed after its last event.
+       */
+      @Override
+      public void close() {
+         running = false;
+         try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         remove(this);
+         if (handler instanceof AutoCloseable closeable) {
+            try {
+               closeable.close();
+            } catch (Exception e) {
+               failed++;
+            }
+         }
+      }
+   }
+
+}
@@ -0,0 +1,138 @@
+package com.dungeonGame.telemetry;
+
+import com.dungeonGame.encounter.EncounterType;
+
+/**
+ * One thing that happened in the game, as handed to an {@link EventHandler}.
+ *
+ * <p>
+ * Events are not created per occurrence: every slot of the {@link EventRing} holds one event object, which
+ * the game overwrites each time the ring comes round. A handler must therefore copy whatever it wants to
+ * keep before {@link EventHandler#onEvent(GameEvent, long, boolean)} returns.
+ * </p>
+ *
+ * <ul>
+ *     <li><b>{@link Type#MOVE}:</b> The player's new room, and the power points left after the move.</li>
+ *     <li><b>{@link Type#SEARCH}:</b> The room the player looked around in.</li>
+ *     <li><b>{@link Type#ENCOUNTER}:</b> The encounter that ran, whether it is over for good, and the power
+ *         points left afterwards.</li>
+ *     <li><b>{@link Type#LEVEL_TRANSITION}:</b> The level left ({@link #getLevel()}) and the level entered
+ *         ({@link #getNextLevel()}), which is {@code -1} when the game was completed.</li>
+ * </ul>
+ */
+public final class GameEvent {
+
+   /**
+    * The kinds of events the game publishes.
+    */
+   public enum Type {
+      MOVE, SEARCH, ENCOUNTER, LEVEL_TRANSITION
+   }
+
+   private Type type;
+   private long timestamp;
+   private int level;
+   private int x;
+   private int y;
+   private int powerPoints;
+   private EncounterType encounterType;
+   private boolean resolved;
+   private int nextLevel;
+
+   GameEvent() {
+   }
+
+   /**
+    * Overwrites the fields every event has, and clears the others.
+    */
+   void set(Type type, int level, int x, int y, int powerPoints) {
+      this.type = type;
+      this.timestamp = System.nanoTime();
+      this.level = level;
+      this.x = x;
+      this.y = y;
+      this.powerPoints = powerPoints;
+      this.encounterType = null;
+      this.resolved = false;
+      this.nextLevel = 0;
+   }
+
+   void setEncounter(EncounterType encounterType, boolean resolved) {
+      this.encounterType = encounterType;
+      this.resolved = resolved;
+   }
+
+   void setNextLevel(int nextLevel) {
+      this.nextLevel = nextLevel;
+   }
+
+   public Type getType() {
+      return type;
+   }
+
+   /**
+    * Returns when the event was published, as a {@link System#nanoTime()} value.
+    *
+    * @return the time of the event in nanoseconds
+    */
+   public long getTimestamp() {
+      return timestamp;
+   }
+
+   public int getLevel() {
+      return level;
+   }
+
+   public int getX() {
+      return x;
+   }
+
+   public int getY() {
+      return y;
+   }
+
+   public int getPowerPoints() {
+      return powerPoints;
+   }
+
+   /**
+    * Returns the encounter that ran.
+    *
+    * @return the encounter's type, or {@code null} if this is not an {@link Type#ENCOUNTER} event
+    */
+   public EncounterType getEncounterType() {
+      return encounterType;
+   }
+
+   /**
+    * Returns whether the encounter is over for good; the Guardian, for example, stays until it is beaten.
+    *
+    * @return {@code true} if the encounter was resolved
+    */
+   public boolean isResolved() {
+      return resolved;
+   }
+
+   public int getNextLevel() {
+      return nextLevel;
+   }
+
+   /**
+    * Describes the event on one line, for logs and audits.
+    *
+    * @return the event as text
+    */
+   @Override
+   public String toString() {
+      StringBuilder text = new StringBuilder(64);
+      text.append(timestamp).append(' ').append(type).append(" level=").append(level)
+              .append(" room=").append(x).append(',').append(y).append(" points=").append(powerPoints);
+      if (type == Type.ENCOUNTER) {
+         text.append(" encounter=").append(encounterType).append(" resolved=").append(resolved);
+      } else if (type == Type.LEVEL_TRANSITION) {
+         text.append(" next=").append(nextLevel);
+      }
+      return text.toString();
+   }
+
+}
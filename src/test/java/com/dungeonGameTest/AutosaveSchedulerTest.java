@@ -0,0 +1,125 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.database.AutosaveScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutosaveSchedulerTest {
+
+   private final Map<String, byte[]> saved = new ConcurrentHashMap<>();
+   private final AtomicInteger saves = new AtomicInteger();
+
+   private void save(String name, byte[] snapshot) {
+      if (snapshot == null) {
+         saved.remove(name);
+      } else {
+         saved.put(name, snapshot);
+      }
+      saves.incrementAndGet();
+   }
+
+   @Test
+   void testSavesOnlyChangedGames() throws InterruptedException {
+      try (AutosaveScheduler autosave = new AutosaveScheduler(this::save, Duration.ofMillis(200), 1000, 8)) {
+         autosave.start();
+         AutosaveScheduler.Entry entry = autosave.register("Alice");
+
+         entry.update(new byte[]{1}, false);
+         awaitTrue(() -> saves.get() == 1);
+         assertFalse(entry.isDirty());
+
+         // The same snapshot again, as after looking at the map, is not a change
+         entry.update(new byte[]{1}, false);
+         Thread.sleep(600);
+         assertEquals(1, saves.get(), "An unchanged game is not saved again");
+
+         entry.update(new byte[]{2}, false);
+         awaitTrue(() -> saves.get() == 2);
+         assertArrayEquals(new byte[]{2}, saved.get("Alice"));
+      }
+   }
+
+   @Test
+   void testSavesEarlyAfterEnoughMoves() {
+      try (AutosaveScheduler autosave = new AutosaveScheduler(this::save, Duration.ofHours(1), 3, 8)) {
+         autosave.start();
+         AutosaveScheduler.Entry entry = autosave.register("Bob");
+
+         entry.update(new byte[]{1}, true);
+         entry.update(new byte[]{2}, true);
+         entry.update(new byte[]{3}, true);
+
+         awaitTrue(() -> saved.containsKey("Bob"));
+         assertArrayEquals(new byte[]{3}, saved.get("Bob"));
+      }
+   }
+
+   @Test
+   void testDefersSavesWhileTheStoreLagsAndSavesEveryGameOnClose() throws InterruptedException {
+      CountDownLatch release = new CountDownLatch(1);
+      AutosaveScheduler.Store slowStore = (name, snapshot) -> {
+         release.await(10, TimeUnit.SECONDS);
+         save(name, snapshot);
+      };
+      AutosaveScheduler autosave = new AutosaveScheduler(slowStore, Duration.ofMillis(200), 1000, 2);
+      autosave.start();
+      AutosaveScheduler.Entry[] entries = new AutosaveScheduler.Entry[50];
+      for (int i = 0; i < entries.length; i++) {
+         entries[i] = autosave.register("Player " + i);
+         entries[i].update(new byte[]{(byte) i}, false);
+      }
+
+      awaitTrue(() -> autosave.getDeferredCount() > 0);
+      assertEquals(0, saves.get());
+
+      // Games keep changing while they wait; only their newest snapshot matters
+      for (int i = 0; i < entries.length; i++) {
+         entries[i].update(new byte[]{(byte) i, 1}, false);
+      }
+      release.countDown();
+
+      assertTrue(autosave.close(Duration.ofSeconds(10)));
+      assertEquals(entries.length, saved.size());
+      for (int i = 0; i < entries.length; i++) {
+         assertArrayEquals(new byte[]{(byte) i, 1}, saved.get("Player " + i));
+         assertFalse(entries[i].isDirty());
+      }
+      assertEquals(0, autosave.getFailedCount());
+   }
+
+   @Test
+   void testAGameOverDeletesTheSnapshot() {
+      try (AutosaveScheduler autosave = new AutosaveScheduler(this::save, Duration.ofMillis(200), 1000, 8)) {
+         autosave.start();
+         AutosaveScheduler.Entry entry = autosave.register("Carol");
+         entry.update(new byte[]{1}, false);
+         awaitTrue(() -> saved.containsKey("Carol"));
+
+         // The player dies; the next game must not resume the lost one
+         entry.update(new byte[]{2}, true);
+         entry.discard();
+         awaitTrue(() -> !saved.containsKey("Carol") && !entry.isDirty());
+
+         entry.update(new byte[]{3}, false);
+      }
+      assertFalse(saved.containsKey("Carol"), "Nothing is saved for a discarded game");
+   }
+
+   private static void awaitTrue(BooleanSupplier condition) {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (!condition.getAsBoolean()) {
+         assertTrue(System.nanoTime() < deadline, "Timed out waiting for the autosave");
+         Thread.onSpinWait();
+      }
+   }
+
+}
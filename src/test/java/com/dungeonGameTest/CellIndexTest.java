@@ -0,0 +1,77 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.logic.mapAndLevelHandler.CellIndex;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CellIndexTest {
+
+   @Test
+   void testCategoriesOnLevel1() {
+      Level level = DungeonMap.LevelFactory.createLevel1();
+      // Level 1 has 6 plain rooms plus the entrance and the exit
+      assertEquals(8, level.getCellIndex(CellIndex.Category.WALKABLE).size());
+      assertEquals(6, level.getCellIndex(CellIndex.Category.ROOM).size());
+      assertFalse(level.getCellIndex(CellIndex.Category.ROOM).contains(level.find(Tile.EXIT)),
+              "The exit should not be indexed as a plain room");
+   }
+
+   @Test
+   void testSamplingSkipsExcludedCells() {
+      Level level = DungeonMap.LevelFactory.createLevel1();
+      CellIndex rooms = level.getCellIndex(CellIndex.Category.ROOM);
+      Random random = new Random(42);
+      int excludedA = level.index(1, 1);
+      int excludedB = level.index(2, 3);
+
+      Set<Integer> seen = new HashSet<>();
+      for (int i = 0; i < 500; i++) {
+         int cell = rooms.sampleExcluding(random, excludedA, excludedB, excludedA);
+         assertNotEquals(excludedA, cell);
+         assertNotEquals(excludedB, cell);
+         assertEquals(Tile.ROOM, level.getTileAt(cell));
+         seen.add(cell);
+      }
+      assertEquals(4, seen.size(), "Every remaining room should be reachable by sampling");
+   }
+
+   @Test
+   void testAllExcludedReturnsMinusOne() {
+      Level level = new Level(1, 3);
+      level.setTile(0, 1, Tile.ROOM);
+      CellIndex rooms = level.getCellIndex(CellIndex.Category.ROOM);
+      assertEquals(-1, rooms.sampleExcluding(new Random(), level.index(0, 1)));
+   }
+
+   @Test
+   void testIndexIsRebuiltAfterEdit() {
+      Level level = new Level(3, 3);
+      assertEquals(0, level.getCellIndex(CellIndex.Category.WALKABLE).size());
+      level.setTile(1, 1, Tile.ROOM);
+      assertEquals(1, level.getCellIndex(CellIndex.Category.WALKABLE).size(), "Editing a tile should invalidate the index");
+   }
+
+   @Test
+   void testSampleDistinctReturnsDifferentIndexedCells() {
+      Level level = DungeonMap.LevelFactory.createLevel2();
+      CellIndex rooms = level.getCellIndex(CellIndex.Category.ROOM);
+      Random random = new Random(7);
+      for (int round = 0; round < 100; round++) {
+         int[] picked = rooms.sampleDistinct(random, rooms.size());
+         Set<Integer> seen = new HashSet<>();
+         for (int cell : picked) {
+            assertTrue(rooms.contains(cell));
+            assertTrue(seen.add(cell), "Cells should not repeat");
+         }
+      }
+      assertThrows(IllegalArgumentException.class, () -> rooms.sampleDistinct(random, rooms.size() + 1));
+   }
+}
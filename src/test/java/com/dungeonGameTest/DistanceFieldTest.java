@@ -0,0 +1,66 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.logic.mapAndLevelHandler.DistanceField;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceFieldTest {
+
+   @Test
+   void testDistancesToExitOnLevel1() {
+      Level level = DungeonMap.LevelFactory.createLevel1();
+      DistanceField field = level.getExitDistanceField();
+      assertEquals(0, field.getDistance(3, 3), "The exit should be at distance 0");
+      assertEquals(7, field.getDistance(4, 1), "The entrance should be 7 steps from the exit");
+      assertEquals(DistanceField.UNREACHABLE, field.getDistance(0, 0), "Walls should be unreachable");
+   }
+
+   @Test
+   void testFollowingNextStepReachesTarget() {
+      Level level = DungeonMap.LevelFactory.createLevel2();
+      DistanceField field = level.getExitDistanceField();
+      int cell = level.find(Tile.ENTRANCE);
+      int steps = 0;
+      while (cell != field.getTarget()) {
+         int next = field.nextStep(cell);
+         assertEquals(field.getDistance(cell) - 1, field.getDistance(next), "Each step should get one room closer");
+         cell = next;
+         steps++;
+      }
+      assertEquals(field.getDistance(level.find(Tile.ENTRANCE)), steps);
+   }
+
+   @Test
+   void testFieldIsCachedUntilLevelChanges() {
+      Level level = DungeonMap.LevelFactory.createLevel1();
+      DistanceField first = level.getExitDistanceField();
+      assertSame(first, level.getExitDistanceField(), "The field should be computed once and cached");
+
+      // Opening the wall between B2 and C3 shortens the path from the entrance
+      level.setTile(2, 2, Tile.ROOM);
+      DistanceField second = level.getExitDistanceField();
+      assertNotSame(first, second, "Editing the level should invalidate the cached field");
+      assertEquals(5, second.getDistance(4, 1));
+   }
+
+   @Test
+   void testCacheIsBoundedByMemory() {
+      Level small = DungeonMap.LevelFactory.createLevel1();
+      DistanceField exit = small.getExitDistanceField();
+      small.getDistanceField(small.find(Tile.ENTRANCE));
+      assertSame(exit, small.getExitDistanceField(), "Fields of a small level should stay cached side by side");
+
+      // Each field of this level takes 9 MB, more than the cache may hold
+      Level large = new Level(1500, 1500);
+      large.setTile(0, 0, Tile.ROOM);
+      large.setTile(0, 1, Tile.ROOM);
+      DistanceField first = large.getDistanceField(0);
+      assertSame(first, large.getDistanceField(0), "The newest field is always kept");
+      large.getDistanceField(1);
+      assertNotSame(first, large.getDistanceField(0), "Older fields should be dropped to stay within the budget");
+   }
+}
@@ -0,0 +1,120 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.encounter.EncounterCatalog;
+import com.dungeonGame.encounter.EncounterDefinition;
+import com.dungeonGame.encounter.EncounterEffect;
+import com.dungeonGame.encounter.EncounterOption;
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.encounter.Encounters;
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.Item;
+import com.dungeonGame.logic.PlayerDataHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncounterCatalogTest {
+
+   private static final String MINIMAL = """
+           {
+             "encounters": {
+               "TRAP": {"defaultOption": "spikes", "options": [
+                 {"id": "hammer", "requires": ["Hammer"], "consumes": ["Hammer"]},
+                 {"id": "spikes", "effect": "DAMAGE", "amount": 3, "message": "Spikes! You lose {amount} power points."}
+               ]},
+               "MAD_SCIENTIST": {"defaultOption": "riddle", "options": [{"id": "riddle", "effect": "RIDDLE", "amount": 2}]},
+               "LOST_EXPLORER": {"defaultOption": "fight", "options": [{"id": "fight", "effect": "FIGHT", "threshold": 1}]},
+               "GUARDIAN": {"defaultOption": "lose", "options": [{"id": "lose", "effect": "LOSE", "listed": false}]}
+             },
+             "riddles": [{"question": "Q?", "answer": " Egg "}]
+           }
+           """;
+
+   @BeforeEach
+   void setUp() {
+      System.setProperty("test.mode", "true");
+   }
+
+   @Test
+   void testBundledCatalogDescribesEveryEncounter() {
+      EncounterCatalog catalog = EncounterCatalog.getDefault();
+      for (EncounterType type : EncounterType.values()) {
+         assertNotNull(catalog.get(type), type + " should be described");
+      }
+      assertEquals(7, catalog.get(EncounterType.TRAP).getOption("nothing").getAmount());
+      assertEquals(8, catalog.get(EncounterType.MAD_SCIENTIST).getOption("riddle").getAmount());
+      assertEquals(70, catalog.get(EncounterType.LOST_EXPLORER).getOption("fight").getThreshold());
+      assertEquals(10, catalog.getRiddles().size());
+      assertEquals("Oh no! You couldn't escape the trap! You lose 7 power points.",
+              catalog.get(EncounterType.TRAP).getDefaultOption().getMessage());
+   }
+
+   @Test
+   void testOutcomesFollowTheEffects() {
+      EncounterCatalog catalog = EncounterCatalog.getDefault();
+      EncounterOption riddle = catalog.get(EncounterType.MAD_SCIENTIST).getOption("riddle");
+      assertEquals(0, riddle.outcome(50, true).powerPoints());
+      assertEquals(-8, riddle.outcome(50, false).powerPoints());
+
+      EncounterOption fight = catalog.get(EncounterType.LOST_EXPLORER).getOption("fight");
+      assertEquals(3, fight.outcome(71, false).rewardDraws(), "More than the threshold wins the fight");
+      EncounterOption.Outcome lost = fight.outcome(70, false);
+      assertEquals(-fight.getAmount(), lost.powerPoints());
+      assertTrue(lost.losesAllItems());
+      assertEquals(0, lost.rewardDraws());
+
+      assertTrue(catalog.get(EncounterType.GUARDIAN).getOption("lose").outcome(100, true).losesGame());
+      assertTrue(fight.resolves(EncounterType.LOST_EXPLORER));
+      assertFalse(catalog.get(EncounterType.GUARDIAN).getOption("teleport").resolves(EncounterType.GUARDIAN),
+              "The Guardian keeps its room until it is beaten");
+      assertTrue(catalog.get(EncounterType.GUARDIAN).getOption("relic").resolves(EncounterType.GUARDIAN));
+   }
+
+   @Test
+   void testRebalancedCatalogChangesTheEncounter() {
+      EncounterCatalog catalog = EncounterCatalog.load(new StringReader(MINIMAL));
+      EncounterDefinition trap = catalog.get(EncounterType.TRAP);
+      assertEquals("spikes", trap.getDefaultOption().getId());
+      assertEquals("egg", catalog.getRiddles().get(0).answer(), "Answers are normalised when compiling");
+
+      PlayerDataHolder player = new PlayerDataHolder();
+      assertEquals(EncounterEffect.DAMAGE, Encounters.play(trap, player, new InventoryManager()));
+      assertEquals(97, player.getPowerPoints());
+   }
+
+   @Test
+   void testMenuChoiceUsesUpTheOptionItems() {
+      EncounterDefinition trap = EncounterCatalog.load(new StringReader(MINIMAL)).get(EncounterType.TRAP);
+      PlayerDataHolder player = new PlayerDataHolder();
+      InventoryManager inventoryManager = new InventoryManager();
+      inventoryManager.addItem(player, Item.HAMMER);
+
+      InputStream stdin = System.in;
+      System.setIn(new ByteArrayInputStream("1\n".getBytes()));
+      try {
+         assertEquals(EncounterEffect.NONE, Encounters.play(trap, player, inventoryManager));
+      } finally {
+         System.setIn(stdin);
+      }
+      assertFalse(inventoryManager.hasItem(player, Item.HAMMER));
+      assertEquals(100, player.getPowerPoints());
+   }
+
+   @Test
+   void testInvalidCatalogsFailWhenLoaded() {
+      String unknownItem = MINIMAL.replace("\"requires\": [\"Hammer\"]", "\"requires\": [\"Sword\"]");
+      assertThrows(IllegalStateException.class, () -> EncounterCatalog.load(new StringReader(unknownItem)));
+
+      String missingType = MINIMAL.replaceFirst("\"GUARDIAN\"", "\"NOT_A_TYPE\"");
+      assertThrows(IllegalStateException.class, () -> EncounterCatalog.load(new StringReader(missingType)));
+
+      String missingDefault = MINIMAL.replace("\"defaultOption\": \"fight\"", "\"defaultOption\": \"run\"");
+      assertThrows(IllegalStateException.class, () -> EncounterCatalog.load(new StringReader(missingDefault)));
+   }
+
+}
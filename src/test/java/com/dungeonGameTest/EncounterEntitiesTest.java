@@ -0,0 +1,84 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterIndex;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.encounter.EncounterSystems;
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.PlayerDataHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncounterEntitiesTest {
+
+   @BeforeEach
+   void setUp() {
+      System.setProperty("test.mode", "true");
+   }
+
+   @Test
+   void testDespawnMovesLastEntityIntoGap() {
+      EncounterEntities entities = new EncounterEntities(2);
+      int trap = entities.spawn(EncounterType.TRAP, 1, 1);
+      entities.spawn(EncounterType.MAD_SCIENTIST, 1, 2);
+      int guardian = entities.spawn(EncounterType.GUARDIAN, 3, 3);
+      entities.setResolved(guardian, true);
+
+      entities.despawn(trap);
+      assertEquals(2, entities.size());
+      assertEquals(EncounterIndex.NONE, entities.at(1, 1));
+      int moved = entities.at(3, 3);
+      assertEquals(trap, moved, "The last entity should take over the freed id");
+      assertEquals(EncounterType.GUARDIAN, entities.getType(moved));
+      assertTrue(entities.isResolved(moved), "Components should move with the entity");
+   }
+
+   @Test
+   void testSpawnIntoOccupiedRoomReplacesEncounter() {
+      EncounterEntities entities = new EncounterEntities();
+      entities.spawn(EncounterType.TRAP, 2, 2);
+      int scientist = entities.spawn(EncounterType.MAD_SCIENTIST, 2, 2);
+
+      assertEquals(1, entities.size());
+      assertEquals(EncounterType.MAD_SCIENTIST, entities.getType(entities.at(2, 2)));
+      assertEquals(0, scientist);
+   }
+
+   @Test
+   void testCooldownBlocksTriggerUntilItRunsOut() {
+      EncounterEntities entities = new EncounterEntities();
+      int trap = entities.spawn(EncounterType.TRAP, 0, 0);
+      entities.setCooldown(trap, 2);
+      PlayerDataHolder player = new PlayerDataHolder();
+      player.setPowerPoints(100);
+
+      assertFalse(EncounterSystems.triggerAt(entities, 0, 0, player, new InventoryManager()));
+      EncounterSystems.onPlayerMoved(entities);
+      EncounterSystems.onPlayerMoved(entities);
+      assertEquals(0, entities.getCooldown(trap));
+
+      assertTrue(EncounterSystems.triggerAt(entities, 0, 0, player, new InventoryManager()));
+      assertTrue(entities.isResolved(trap));
+      assertTrue(entities.hasFlag(trap, EncounterEntities.TRIGGERED));
+      assertTrue(player.getPowerPoints() < 100);
+      assertFalse(EncounterSystems.triggerAt(entities, 0, 0, player, new InventoryManager()), "A trap only triggers once");
+   }
+
+   @Test
+   void testNamedSettersKeepTheFirstEncounterOfEachType() {
+      EncounterManager.EncounterState state = new EncounterManager.EncounterState();
+      state.setTrapRoom(1, 1);
+      state.getEntities().spawn(EncounterType.TRAP, 4, 4);
+      state.setTrapEncountered(true);
+      state.setTrapRoom(2, 2);
+
+      assertEquals(2, state.getTrapRoomX());
+      assertEquals(2, state.getTrapRoomY());
+      assertTrue(state.isTrapEncountered(), "Moving an encounter should keep its state");
+      assertEquals(2, state.getEncounterCount());
+   }
+
+}
@@ -0,0 +1,93 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterIndex;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.logic.PositionDataHolder;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncounterIndexTest {
+
+   @Test
+   void testPutGetAndReplace() {
+      EncounterIndex index = new EncounterIndex();
+      assertEquals(EncounterIndex.NONE, index.put(2, 3, 7));
+      assertEquals(7, index.get(2, 3));
+      assertEquals(EncounterIndex.NONE, index.get(3, 2), "Swapped coordinates are a different room");
+
+      assertEquals(7, index.put(2, 3, 9));
+      assertEquals(9, index.get(2, 3));
+      assertEquals(1, index.size());
+   }
+
+   @Test
+   void testMatchesHashMapUnderRandomOperations() {
+      EncounterIndex index = new EncounterIndex(2);
+      Map<Long, Integer> expected = new HashMap<>();
+      Random random = new Random(42);
+      for (int i = 0; i < 20000; i++) {
+         int x = random.nextInt(60);
+         int y = random.nextInt(60);
+         long key = EncounterIndex.pack(x, y);
+         if (random.nextInt(3) == 0) {
+            assertEquals(expected.getOrDefault(key, EncounterIndex.NONE), index.remove(x, y));
+            expected.remove(key);
+         } else {
+            assertEquals(expected.getOrDefault(key, EncounterIndex.NONE), index.put(x, y, i));
+            expected.put(key, i);
+         }
+         assertEquals(expected.size(), index.size());
+      }
+      for (int x = 0; x < 60; x++) {
+         for (int y = 0; y < 60; y++) {
+            assertEquals(expected.getOrDefault(EncounterIndex.pack(x, y), EncounterIndex.NONE), index.get(x, y));
+         }
+      }
+   }
+
+   @Test
+   void testLargeLevelGetsManyTrapsInDistinctRooms() {
+      Level level = new Level(200, 200);
+      for (int x = 1; x < 199; x++) {
+         for (int y = 1; y < 199; y++) {
+            level.setTile(x, y, Tile.ROOM);
+         }
+      }
+      level.setTile(1, 1, Tile.ENTRANCE);
+      level.setTile(198, 198, Tile.EXIT);
+      new PositionDataHolder(level);
+
+      EncounterManager manager = new EncounterManager();
+      manager.assignEncounters(level);
+      EncounterManager.EncounterState state = manager.getEncounterState();
+      EncounterEntities entities = state.getEntities();
+
+      int rooms = 198 * 198 - 2;
+      assertEquals(2 + rooms / 64, state.getEncounterCount(), "One trap and the Mad Scientist, plus the extra traps");
+      int found = 0;
+      for (int x = 0; x < 200; x++) {
+         for (int y = 0; y < 200; y++) {
+            int id = entities.at(x, y);
+            if (id != EncounterIndex.NONE) {
+               assertEquals(Tile.ROOM, level.getTile(x, y));
+               assertEquals(x, entities.getRoomX(id));
+               assertEquals(y, entities.getRoomY(id));
+               found++;
+            }
+         }
+      }
+      assertEquals(state.getEncounterCount(), found);
+      assertSame(EncounterType.TRAP, entities.getType(entities.at(state.getTrapRoomX(), state.getTrapRoomY())));
+      assertEquals(1 + rooms / 64, entities.countUnresolved(EncounterType.TRAP));
+   }
+
+}
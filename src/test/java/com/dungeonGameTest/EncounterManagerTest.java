@@ -6,6 +6,8 @@ import com.dungeonGame.logic.InventoryManager;
 import com.dungeonGame.logic.PlayerDataHolder;
 import com.dungeonGame.logic.PositionDataHolder;
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -26,10 +28,9 @@ class EncounterManagerTest {
       System.setProperty("test.mode", "true"); // Enable test mode
 
       // Initialize DungeonMap levels
-      DungeonMap.levels = new char[3][][];
-      DungeonMap.levels[0] = DungeonMap.LevelFactory.createLevel1();
-      DungeonMap.levels[1] = DungeonMap.LevelFactory.createLevel2();
-      DungeonMap.levels[2] = DungeonMap.LevelFactory.createLevel3();
+      DungeonMap.useLevels(DungeonMap.LevelFactory.createLevel1(),
+              DungeonMap.LevelFactory.createLevel2(),
+              DungeonMap.LevelFactory.createLevel3());
 
       // Set current level
       DungeonMap.currentLevel = DungeonMap.getLevel(3);
@@ -53,16 +54,16 @@ class EncounterManagerTest {
    @Test
    void testEncountersAssignedToValidRooms() {
       // Validate Trap Room
-      char[][] currentLevel = DungeonMap.getCurrentLevel();
+      Level currentLevel = DungeonMap.getCurrentLevel();
       int trapX = encounterState.getTrapRoomX();
       int trapY = encounterState.getTrapRoomY();
       System.out.println("Assigned Trap Room: (" + trapX + ", " + trapY + ")");
-      assertTrue(currentLevel[trapX][trapY] == ' ', "Trap should be assigned to a valid room");
+      assertTrue(currentLevel.getTile(trapX, trapY) == Tile.ROOM, "Trap should be assigned to a valid room");
 
       // Validate Mad Scientist Room
       int madScientistX = encounterState.getMadScientistRoomX();
       int madScientistY = encounterState.getMadScientistRoomY();
-      assertTrue(currentLevel[madScientistX][madScientistY] == ' ', "Mad Scientist should be assigned to a valid room");
+      assertTrue(currentLevel.getTile(madScientistX, madScientistY) == Tile.ROOM, "Mad Scientist should be assigned to a valid room");
    }
 
    @Test
@@ -0,0 +1,130 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.GameServices;
+import com.dungeonGame.encounter.EncounterCatalog;
+import com.dungeonGame.encounter.EncounterDialog;
+import com.dungeonGame.encounter.EncounterEffect;
+import com.dungeonGame.encounter.EncounterSession;
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.logic.GameRandom;
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.Item;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.PowerPointManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncounterSessionTest {
+
+   private PlayerDataHolder player;
+   private InventoryManager inventoryManager;
+   private EncounterSession session;
+
+   @BeforeEach
+   void setUp() {
+      System.setProperty("test.mode", "true");
+      player = new PlayerDataHolder();
+      inventoryManager = new InventoryManager();
+      session = new EncounterSession(player, inventoryManager, new PowerPointManager(), new GameRandom(1));
+   }
+
+   @Test
+   void testTrapWaitsForTheChoiceInsteadOfBlocking() {
+      inventoryManager.addItem(player, Item.HAMMER);
+
+      String text = session.begin(EncounterType.TRAP);
+      assertTrue(text.contains("1. Use Hammer"));
+      assertTrue(text.endsWith("Enter the number: "));
+      assertTrue(session.isWaiting());
+      assertTrue(inventoryManager.hasItem(player, Item.HAMMER), "Nothing happens before the player answers");
+
+      text = session.handle("1");
+      assertTrue(text.contains("You used a Hammer"));
+      assertTrue(text.endsWith("Press Enter to continue..."));
+      assertFalse(inventoryManager.hasItem(player, Item.HAMMER));
+
+      assertEquals("", session.handle(""));
+      assertFalse(session.isWaiting());
+      assertEquals(100, player.getPowerPoints());
+      assertThrows(IllegalStateException.class, () -> session.handle("1"));
+   }
+
+   @Test
+   void testRiddleResumesWithTheAnswer() {
+      String text = session.begin(EncounterType.MAD_SCIENTIST);
+      assertTrue(text.endsWith("Your Answer: "), "Without a Freeze Spell the riddle is asked right away");
+
+      text = session.handle("certainly not the answer");
+      assertTrue(text.contains("Incorrect!"));
+      assertEquals(92, player.getPowerPoints());
+      session.handle("");
+      assertFalse(session.isWaiting());
+   }
+
+   @Test
+   void testSessionsAreIndependent() {
+      PlayerDataHolder other = new PlayerDataHolder();
+      EncounterSession otherSession = new EncounterSession(other, inventoryManager, new PowerPointManager(),
+              new GameRandom(2));
+      inventoryManager.addItem(player, Item.FREEZE_SPELL);
+      inventoryManager.addItem(other, Item.FREEZE_SPELL);
+
+      session.begin(EncounterType.TRAP);
+      otherSession.begin(EncounterType.TRAP);
+      otherSession.handle("9");
+      assertEquals(93, other.getPowerPoints(), "An invalid choice plays the default");
+      assertEquals(100, player.getPowerPoints());
+      assertTrue(session.isWaiting());
+
+      session.handle("1");
+      assertFalse(inventoryManager.hasItem(player, Item.FREEZE_SPELL));
+      assertTrue(inventoryManager.hasItem(other, Item.FREEZE_SPELL));
+   }
+
+   @Test
+   void testDrawsComeFromTheSessionsOwnRandom() {
+      EncounterSession first = new EncounterSession(new PlayerDataHolder(), inventoryManager, new PowerPointManager(),
+              new GameRandom(7));
+      String riddle = first.begin(EncounterType.MAD_SCIENTIST);
+
+      // Other sessions and the shared random source draw in between
+      EncounterSession busy = new EncounterSession(new PlayerDataHolder(), inventoryManager, new PowerPointManager(),
+              new GameRandom(8));
+      for (int i = 0; i < 5; i++) {
+         busy.begin(EncounterType.MAD_SCIENTIST);
+         busy.handle("wrong");
+         busy.handle("");
+      }
+      GameServices.random().nextInt();
+
+      EncounterSession replay = new EncounterSession(new PlayerDataHolder(), inventoryManager, new PowerPointManager(),
+              new GameRandom(7));
+      assertEquals(riddle, replay.begin(EncounterType.MAD_SCIENTIST), "The same seed asks the same riddle");
+   }
+
+   @Test
+   void testDialogStopsAtEachQuestion() {
+      EncounterDialog dialog = new EncounterDialog(
+              EncounterCatalog.getDefault().get(EncounterType.TRAP),
+              player, inventoryManager, new PowerPointManager(), new GameRandom(1), new EncounterDialog.Output() {
+                 @Override
+                 public void say(String line) {
+                 }
+
+                 @Override
+                 public void show(String line) {
+                 }
+              });
+      assertEquals(EncounterDialog.State.NEW, dialog.getState());
+      dialog.start();
+      assertEquals(EncounterDialog.State.CONTINUING, dialog.getState(), "Without tools the trap springs at once");
+      assertEquals(EncounterEffect.DAMAGE, dialog.getEffect());
+      assertEquals(93, player.getPowerPoints());
+      dialog.handle("");
+      assertTrue(dialog.isDone());
+      assertNull(dialog.getPrompt());
+   }
+
+}
@@ -0,0 +1,117 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.telemetry.EventRing;
+import com.dungeonGame.telemetry.GameEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventRingTest {
+
+   @Test
+   void testEveryConsumerSeesEveryEventInOrder() {
+      EventRing ring = new EventRing(1024);
+      List<String> analytics = Collections.synchronizedList(new ArrayList<>());
+      List<String> audit = Collections.synchronizedList(new ArrayList<>());
+      List<Boolean> batchEnds = Collections.synchronizedList(new ArrayList<>());
+      EventRing.Consumer first = ring.subscribe("analytics", (event, sequence, endOfBatch) -> {
+         analytics.add(event.getType() + " " + event.getX());
+         batchEnds.add(endOfBatch);
+      });
+      EventRing.Consumer second = ring.subscribe("audit", (event, sequence, endOfBatch) ->
+              audit.add(event.getType() + " " + event.getX()));
+
+      List<String> expected = new ArrayList<>();
+      for (int i = 0; i < 500; i++) {
+         ring.publishMove(1, i, 0, 100);
+         expected.add("MOVE " + i);
+      }
+      ring.publishEncounter(1, 500, 0, 90, EncounterType.TRAP, true);
+      expected.add("ENCOUNTER 500");
+
+      awaitSequence(first, 500);
+      awaitSequence(second, 500);
+      first.close();
+      second.close();
+
+      assertEquals(expected, analytics);
+      assertEquals(expected, audit);
+      assertTrue(batchEnds.get(batchEnds.size() - 1), "The last event ends a batch");
+      assertEquals(501, ring.getPublishedCount());
+      assertEquals(0, ring.getDroppedCount());
+   }
+
+   @Test
+   void testDropsEventsInsteadOfWaitingForASlowConsumer() throws InterruptedException {
+      EventRing ring = new EventRing(8);
+      CountDownLatch release = new CountDownLatch(1);
+      List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+      EventRing.Consumer slow = ring.subscribe("slow", (event, sequence, endOfBatch) -> {
+         if (sequence == 0) {
+            release.await(10, TimeUnit.SECONDS);
+         }
+         seen.add(event.getX());
+      });
+
+      for (int i = 0; i < 20; i++) {
+         ring.publishMove(1, i, 0, 100);
+      }
+      assertEquals(8, ring.getPublishedCount(), "Only a ring's worth of events fits");
+      assertEquals(12, ring.getDroppedCount());
+
+      release.countDown();
+      awaitSequence(slow, 7);
+      ring.publishLevelTransition(1, 2, 8, 0, 100);
+      awaitSequence(slow, 8);
+      slow.close();
+
+      assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8), seen, "Unread events are never overwritten");
+   }
+
+   @Test
+   void testPublishesNothingWithoutConsumers() {
+      EventRing ring = new EventRing(8);
+      for (int i = 0; i < 100; i++) {
+         ring.publishSearch(1, i, 0, 100);
+      }
+      assertEquals(0, ring.getPublishedCount());
+      assertEquals(0, ring.getDroppedCount());
+   }
+
+   @Test
+   void testAFailingHandlerKeepsReceivingEvents() {
+      EventRing ring = new EventRing(16);
+      List<GameEvent.Type> seen = Collections.synchronizedList(new ArrayList<>());
+      EventRing.Consumer consumer = ring.subscribe("failing", (event, sequence, endOfBatch) -> {
+         if (sequence == 1) {
+            throw new IllegalStateException("Analytics is down");
+         }
+         seen.add(event.getType());
+      });
+
+      ring.publishMove(1, 0, 0, 100);
+      ring.publishSearch(1, 0, 0, 100);
+      ring.publishMove(1, 1, 0, 97);
+      awaitSequence(consumer, 2);
+      consumer.close();
+
+      assertEquals(List.of(GameEvent.Type.MOVE, GameEvent.Type.MOVE), seen);
+      assertEquals(1, consumer.getFailedCount());
+   }
+
+   private static void awaitSequence(EventRing.Consumer consumer, long sequence) {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (consumer.getSequence() < sequence) {
+         assertTrue(System.nanoTime() < deadline, "Timed out waiting for " + consumer.getName());
+         Thread.onSpinWait();
+      }
+   }
+
+}
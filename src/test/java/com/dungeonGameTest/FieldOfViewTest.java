@@ -0,0 +1,92 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.FieldOfView;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import com.dungeonGame.logic.mapAndLevelHandler.VisibilityState;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldOfViewTest {
+
+   @Test
+   void testWallsBlockSight() {
+      Level level = Level.fromRows(new char[][]{
+              {'E', ' ', 'W', ' ', 'X'}
+      });
+      BitSet seen = new BitSet();
+      FieldOfView.compute(level, 0, 0, 10, seen::set);
+
+      assertTrue(seen.get(level.index(0, 1)));
+      assertTrue(seen.get(level.index(0, 2)), "The wall itself should be visible");
+      assertFalse(seen.get(level.index(0, 3)), "Cells behind the wall should be hidden");
+      assertFalse(seen.get(level.index(0, 4)));
+   }
+
+   @Test
+   void testOpenRoomIsSeenWithinRadius() {
+      Level level = new Level(21, 21);
+      for (int x = 0; x < 21; x++) {
+         for (int y = 0; y < 21; y++) {
+            level.setTile(x, y, Tile.ROOM);
+         }
+      }
+      BitSet seen = new BitSet();
+      FieldOfView.compute(level, 10, 10, 3, seen::set);
+
+      assertTrue(seen.get(level.index(13, 10)));
+      assertTrue(seen.get(level.index(10, 7)));
+      assertTrue(seen.get(level.index(12, 12)));
+      assertFalse(seen.get(level.index(14, 10)), "Cells beyond the radius should not be seen");
+      assertFalse(seen.get(level.index(13, 13)), "The view should be round, not square");
+   }
+
+   @Test
+   void testExploredCellsAreKeptAfterMoving() {
+      Level level = DungeonMap.LevelFactory.createLevel1();
+      VisibilityState visibility = new VisibilityState(level, 1);
+
+      visibility.update(4, 1);
+      assertTrue(visibility.isVisible(3, 1));
+      assertFalse(visibility.isExplored(1, 3));
+
+      visibility.update(1, 2);
+      assertFalse(visibility.isVisible(4, 1), "The entrance is out of sight now");
+      assertTrue(visibility.isExplored(4, 1), "But it stays explored");
+      assertTrue(visibility.isVisible(1, 3));
+   }
+
+   @Test
+   void testUpdateCostDoesNotDependOnLevelSize() {
+      Level level = new Level(2000, 2000);
+      for (int y = 0; y < 2000; y++) {
+         level.setTile(1000, y, Tile.ROOM);
+      }
+      VisibilityState visibility = new VisibilityState(level);
+      for (int y = 0; y < 2000; y++) {
+         visibility.update(1000, y);
+         assertTrue(visibility.getVisibleCount() <= 3 * (2 * VisibilityState.DEFAULT_SIGHT_RADIUS + 1));
+      }
+      // The corridor and the wall rows on either side of it
+      assertEquals(3 * 2000, visibility.getExploredCount());
+   }
+
+   @Test
+   void testRevealIgnoresWalls() {
+      Level level = Level.fromRows(new char[][]{
+              {'E', 'W', 'X'}
+      });
+      VisibilityState visibility = new VisibilityState(level, 1);
+      visibility.update(0, 0);
+      assertFalse(visibility.isExplored(0, 2));
+
+      visibility.reveal(0, 0, 2);
+      assertTrue(visibility.isExplored(0, 2));
+      assertFalse(visibility.isVisible(0, 2));
+   }
+
+}
@@ -0,0 +1,80 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.database.UserDAO;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.logging.AsyncHandler;
+import com.dungeonGame.logging.GameLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLogTest {
+
+   @Test
+   void testLevelsCanBeSetPerPackage() {
+      System.Logger encounters = GameLog.getLogger(EncounterManager.class);
+      System.Logger database = GameLog.getLogger(UserDAO.class);
+      assertTrue(encounters.isLoggable(System.Logger.Level.INFO));
+      assertFalse(encounters.isLoggable(System.Logger.Level.DEBUG), "Debug output is off by default");
+
+      try {
+         GameLog.setLevel("com.dungeonGame.encounter", System.Logger.Level.DEBUG);
+         assertTrue(encounters.isLoggable(System.Logger.Level.DEBUG));
+         assertFalse(database.isLoggable(System.Logger.Level.DEBUG), "Other packages keep their level");
+      } finally {
+         GameLog.setLevel("com.dungeonGame.encounter", null);
+      }
+      assertFalse(encounters.isLoggable(System.Logger.Level.DEBUG));
+   }
+
+   @Test
+   void testAsyncHandlerWritesInOrderAndDropsInsteadOfBlocking() throws InterruptedException {
+      CountDownLatch release = new CountDownLatch(1);
+      List<String> written = Collections.synchronizedList(new ArrayList<>());
+      Handler slowTarget = new Handler() {
+         @Override
+         public void publish(LogRecord record) {
+            try {
+               release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            }
+            written.add(record.getMessage());
+         }
+
+         @Override
+         public void flush() {
+         }
+
+         @Override
+         public void close() {
+         }
+      };
+      AsyncHandler handler = new AsyncHandler(slowTarget, 4);
+
+      long start = System.nanoTime();
+      for (int i = 0; i < 10; i++) {
+         handler.publish(new LogRecord(Level.INFO, "message " + i));
+      }
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "Logging never waits for the target");
+
+      release.countDown();
+      handler.close();
+
+      assertEquals(10, written.size() + handler.getDroppedCount());
+      assertTrue(handler.getDroppedCount() >= 5, "At most one record in flight and four queued");
+      List<String> sorted = new ArrayList<>(written);
+      sorted.sort((a, b) -> Integer.compare(Integer.parseInt(a.substring(8)), Integer.parseInt(b.substring(8))));
+      assertEquals(sorted, written, "Records are written in the order they were logged");
+   }
+
+}
@@ -0,0 +1,181 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.GameSession;
+import com.dungeonGame.LoadGenerator;
+import com.dungeonGame.logic.GameRandom;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.SearchActions;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionTest {
+
+   private static final String[] MOVES = {"up", "down", "left", "right"};
+
+   @BeforeEach
+   void setUp() {
+      System.setProperty("test.mode", "true");
+      DungeonMap.useLevels(DungeonMap.LevelFactory.createLevel1(),
+              DungeonMap.LevelFactory.createLevel2(),
+              DungeonMap.LevelFactory.createLevel3());
+      DungeonMap.currentLevel = DungeonMap.getLevel(1);
+      DungeonMap.currentLevelNumber = 1;
+   }
+
+   @Test
+   void testCommandsReturnTheTextInsteadOfPrintingIt() {
+      GameSession session = new GameSession(new GameRandom(1));
+
+      String text = session.start();
+      assertTrue(text.contains("You are in Level 1 Room "));
+      assertTrue(text.contains("Current Power Points: 100"));
+
+      assertEquals("Invalid input!\n", session.handle("dance"));
+      assertTrue(session.handle("inventory").contains("Your inventory is empty."));
+      assertTrue(session.handle("map").contains("[P]"));
+   }
+
+   @Test
+   void testStartingASessionLeavesTheCurrentLevelAlone() {
+      DungeonMap.currentLevel = DungeonMap.getLevel(2);
+      DungeonMap.currentLevelNumber = 2;
+      GameSession session = new GameSession(DungeonMap.getLevel(3), 3, new GameRandom(2));
+
+      assertSame(DungeonMap.getLevel(2), DungeonMap.getCurrentLevel());
+      assertEquals(2, DungeonMap.getCurrentLevelNumber());
+      assertEquals(DungeonMap.getLevel(3).find(Tile.ENTRANCE),
+              DungeonMap.getLevel(3).index(session.getPosition().getPlayerX(), session.getPosition().getPlayerY()),
+              "The session starts at the entrance of its own level");
+      assertSame(DungeonMap.getLevel(3), session.getPosition().getVisibility().getLevel());
+   }
+
+   @Test
+   void testTheRelicIsFoundPerPlayer() {
+      DungeonMap.currentLevel = DungeonMap.getLevel(3);
+      DungeonMap.currentLevelNumber = 3;
+      GameSession finder = new GameSession(new GameRandom(4));
+      GameSession other = new GameSession(new GameRandom(4));
+      finder.getPlayer().setRelicFound(true);
+
+      assertEquals(0, relicsSeen(finder), "The Relic is not found twice");
+      assertTrue(relicsSeen(other) > 0, "Another player can still find it");
+   }
+
+   private static int relicsSeen(GameSession session) {
+      session.start();
+      int seen = 0;
+      for (int i = 0; i < 200; i++) {
+         if (session.handle("look around").contains("Relic")) {
+            seen++;
+         }
+         if (session.isPicking()) {
+            session.handle("0");
+         }
+      }
+      return seen;
+   }
+
+   @Test
+   void testLookAroundWaitsForThePick() {
+      GameSession session = new GameSession(new GameRandom(2));
+      session.start();
+
+      String text = session.handle("look around");
+      assertTrue(text.startsWith("You look around and find:"));
+      assertTrue(session.isPicking());
+
+      text = session.handle("99");
+      assertTrue(text.contains("You decided to leave the items untouched."));
+      assertFalse(session.isPicking());
+   }
+
+   @Test
+   void testEachSearchKeepsItsOwnFinds() {
+      SearchActions searchActions = new SearchActions(new Random(4));
+      PlayerDataHolder first = new PlayerDataHolder();
+      PlayerDataHolder second = new PlayerDataHolder();
+      SearchActions.Finds firstFinds = searchActions.search(first);
+      SearchActions.Finds secondFinds = searchActions.search(second);
+      int listed = secondFinds.count();
+      assertTrue(firstFinds.count() > 0 && listed > 0);
+
+      searchActions.pick(null, first, firstFinds, 99);
+      assertEquals(0, firstFinds.count(), "Whatever is not picked is left behind");
+      assertEquals(listed, secondFinds.count(), "Another player's search is untouched");
+   }
+
+   @Test
+   void testMovesCostPowerPointsUntilTheGameEnds() {
+      GameSession session = new GameSession(new GameRandom(3));
+      session.start();
+      Random random = new Random(3);
+
+      int moves = 0;
+      while (!session.isOver() && moves < 10_000) {
+         int before = session.getPlayer().getPowerPoints();
+         String command = session.isInEncounter() ? "1" : MOVES[random.nextInt(MOVES.length)];
+         session.handle(command);
+         assertTrue(session.getPlayer().getPowerPoints() <= before, "Neither moves nor encounters add power points");
+         moves++;
+      }
+      assertTrue(session.isOver(), "Random moves end the game by exhaustion, a lost encounter or the exit");
+      assertThrows(IllegalStateException.class, () -> session.handle("up"));
+   }
+
+   @Test
+   void testSessionsPlayInParallelWithoutSharingState() throws Exception {
+      ExecutorService pool = Executors.newFixedThreadPool(4);
+      try {
+         List<Future<Integer>> results = new ArrayList<>();
+         for (int t = 0; t < 4; t++) {
+            long seed = t;
+            results.add(pool.submit(() -> {
+               GameRandom random = new GameRandom(seed);
+               int played = 0;
+               for (int game = 0; game < 20; game++) {
+                  GameSession session = new GameSession(random);
+                  session.start();
+                  while (!session.isOver()) {
+                     String command = session.isInEncounter() ? "2"
+                             : session.isPicking() ? "1"
+                             : random.nextInt(5) == 0 ? "look around" : MOVES[random.nextInt(MOVES.length)];
+                     assertNotNull(session.handle(command));
+                  }
+                  played++;
+               }
+               return played;
+            }));
+         }
+         for (Future<Integer> result : results) {
+            assertEquals(20, result.get());
+         }
+      } finally {
+         pool.shutdownNow();
+      }
+   }
+
+   @Test
+   void testLoadGeneratorReportsEveryKindOfCommand() throws Exception {
+      LoadGenerator.Result result = new LoadGenerator(1, 2, null, 42).run(4);
+
+      assertTrue(result.getCommands() > 0);
+      assertEquals(0, result.getErrors());
+      String report = result.format();
+      assertTrue(report.startsWith("4 clients: "));
+      for (String kind : new String[]{"MOVE", "LOOK_AROUND", "PICK", "INVENTORY", "ENCOUNTER"}) {
+         assertTrue(report.contains(kind), report);
+      }
+   }
+
+}
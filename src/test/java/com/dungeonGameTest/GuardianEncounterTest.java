@@ -6,6 +6,7 @@ import com.dungeonGame.logic.InventoryManager;
 import com.dungeonGame.logic.PlayerDataHolder;
 import com.dungeonGame.logic.PositionDataHolder;
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -28,10 +29,9 @@ public class GuardianEncounterTest {
       System.setProperty("test.mode", "true"); // Enable test mode
 
       // Initialize DungeonMap levels
-      DungeonMap.levels = new char[3][][];
-      DungeonMap.levels[0] = DungeonMap.LevelFactory.createLevel1();
-      DungeonMap.levels[1] = DungeonMap.LevelFactory.createLevel2();
-      DungeonMap.levels[2] = DungeonMap.LevelFactory.createLevel3();
+      DungeonMap.useLevels(DungeonMap.LevelFactory.createLevel1(),
+              DungeonMap.LevelFactory.createLevel2(),
+              DungeonMap.LevelFactory.createLevel3());
 
       // Set current level
       DungeonMap.currentLevel = DungeonMap.getLevel(3);
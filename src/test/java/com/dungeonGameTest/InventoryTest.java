@@ -0,0 +1,95 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.logic.Inventory;
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.Item;
+import com.dungeonGame.logic.PlayerDataHolder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryTest {
+
+   @Test
+   void testItemsStackAndAreUsedOneAtATime() {
+      PlayerDataHolder player = new PlayerDataHolder();
+      InventoryManager inventoryManager = new InventoryManager();
+      inventoryManager.addItem(player, Item.CAKE);
+      inventoryManager.addItem(player, Item.CAKE);
+
+      assertEquals(2, player.getInventory().count(Item.CAKE));
+      assertEquals(1, player.getInventory().size(), "A stack counts as one entry of the set view");
+
+      assertTrue(inventoryManager.useItem(player, "Cake"));
+      assertTrue(inventoryManager.hasItem(player, Item.CAKE), "One Cake should be left");
+      assertTrue(inventoryManager.useItem(player, Item.CAKE));
+      assertFalse(inventoryManager.hasItem(player, "Cake"));
+      assertFalse(inventoryManager.useItem(player, Item.CAKE));
+   }
+
+   @Test
+   void testStringViewFollowsTheSetContract() {
+      Inventory inventory = new Inventory();
+      assertTrue(inventory.add("Hammer"));
+      assertFalse(inventory.add("Hammer"), "Adding a held item by name should not stack it");
+      inventory.add(Item.HAMMER, 4);
+      assertEquals(5, inventory.count(Item.HAMMER));
+
+      assertTrue(inventory.remove("Hammer"));
+      assertEquals(0, inventory.count(Item.HAMMER), "Removing by name removes the whole stack");
+      assertTrue(inventory.isEmpty());
+   }
+
+   @Test
+   void testUnknownNamesAreKept() {
+      Inventory inventory = new Inventory(List.of("Sword", "Relic"));
+      assertTrue(inventory.contains("Sword"));
+      assertTrue(inventory.has(Item.RELIC));
+      assertEquals(Set.of("Sword", "Relic"), inventory);
+      assertEquals(Set.of("Sword", "Relic").hashCode(), inventory.hashCode());
+
+      assertTrue(inventory.remove("Sword"));
+      assertEquals(Set.of("Relic"), inventory);
+   }
+
+   @Test
+   void testIteratorRemovesKnownAndUnknownItems() {
+      Inventory inventory = new Inventory(List.of("Cake", "Sword", "Freeze Spell"));
+      Iterator<String> iterator = inventory.iterator();
+      assertEquals("Freeze Spell", iterator.next(), "Known items come first, in registry order");
+      iterator.remove();
+      assertEquals("Cake", iterator.next());
+      assertEquals("Sword", iterator.next());
+      iterator.remove();
+      assertFalse(iterator.hasNext());
+
+      assertEquals(Set.of("Cake"), inventory);
+      assertEquals(Item.CAKE.mask(), inventory.getMask());
+   }
+
+   @Test
+   void testUsableMaskOnlyHoldsUsableItems() {
+      Inventory inventory = new Inventory(List.of("Hammer", "Sandwich", "Teleportation Spell", "Relic"));
+      assertEquals(Item.SANDWICH.mask() | Item.TELEPORTATION_SPELL.mask(), inventory.getUsableMask());
+      assertEquals("Sandwich (+5 Power Points)", Item.SANDWICH.getMenuLabel());
+      assertEquals("Teleportation Spell", Item.TELEPORTATION_SPELL.getMenuLabel());
+   }
+
+   @Test
+   void testEatingFromTheMenuRestoresPowerPoints() {
+      System.setProperty("test.mode", "true");
+      PlayerDataHolder player = new PlayerDataHolder();
+      player.setPowerPoints(50);
+      InventoryManager inventoryManager = new InventoryManager();
+      inventoryManager.addItem(player, Item.SANDWICH);
+
+      inventoryManager.handleInventoryItemUse("Sandwich (+5 Power Points)", player, null);
+      assertEquals(55, player.getPowerPoints());
+      assertFalse(inventoryManager.hasItem(player, Item.SANDWICH));
+   }
+
+}
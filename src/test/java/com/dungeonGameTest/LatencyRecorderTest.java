@@ -0,0 +1,58 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.LoadGenerator.LatencyRecorder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+   @Test
+   void testSmallLatenciesAreExact() {
+      LatencyRecorder recorder = new LatencyRecorder();
+      for (int nanos = 1; nanos <= 60; nanos++) {
+         recorder.record(nanos);
+      }
+      assertEquals(60, recorder.count());
+      assertEquals(1, recorder.percentile(0));
+      assertEquals(30, recorder.percentile(50));
+      assertEquals(57, recorder.percentile(95));
+      assertEquals(60, recorder.percentile(100));
+   }
+
+   @Test
+   void testLargeLatenciesAreWithinThreePercent() {
+      LatencyRecorder recorder = new LatencyRecorder();
+      for (int i = 1; i <= 1000; i++) {
+         recorder.record(i * 1_000_000L);
+      }
+      long median = recorder.percentile(50);
+      assertTrue(median >= 500_000_000L && median <= 515_000_000L, "Median was " + median);
+      long p99 = recorder.percentile(99);
+      assertTrue(p99 >= 990_000_000L && p99 <= 1_000_000_000L, "99th percentile was " + p99);
+      assertEquals(1_000_000_000L, recorder.percentile(100), "The highest latency is kept exactly");
+   }
+
+   @Test
+   void testMergedRecordersCountEverything() {
+      LatencyRecorder fast = new LatencyRecorder();
+      LatencyRecorder slow = new LatencyRecorder();
+      for (int i = 0; i < 90; i++) {
+         fast.record(10);
+      }
+      for (int i = 0; i < 10; i++) {
+         slow.record(5_000);
+      }
+      slow.record(-3);
+
+      LatencyRecorder all = new LatencyRecorder();
+      all.addAll(fast);
+      all.addAll(slow);
+      assertEquals(101, all.count());
+      assertEquals(0, all.percentile(0), "Negative latencies count as 0");
+      assertEquals(10, all.percentile(90));
+      long p95 = all.percentile(95);
+      assertTrue(p95 >= 5_000 && p95 <= 5_000 * 103 / 100, "95th percentile was " + p95);
+      assertEquals(0, new LatencyRecorder().percentile(99), "Nothing recorded");
+   }
+}
@@ -0,0 +1,106 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.logic.PositionDataHolder;
+import com.dungeonGame.logic.mapAndLevelHandler.CellIndex;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.LevelDescriptor;
+import com.dungeonGame.logic.mapAndLevelHandler.LevelRegistry;
+import com.dungeonGame.logic.mapAndLevelHandler.LevelTransitionHandler;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelDescriptorTest {
+
+   @TempDir
+   Path tempDir;
+
+   @Test
+   void testDescribeFindsEntranceExitAndWalkableCount() {
+      Level level = DungeonMap.LevelFactory.createLevel2();
+      LevelDescriptor descriptor = LevelDescriptor.describe(level, 2, 3);
+
+      assertEquals(1, descriptor.getEntranceX());
+      assertEquals(1, descriptor.getEntranceY());
+      assertEquals(3, descriptor.getExitX());
+      assertEquals(4, descriptor.getExitY());
+      assertEquals(level.getCellIndex(CellIndex.Category.WALKABLE).size(),
+              descriptor.getWalkableCount());
+      assertTrue(descriptor.isExit(3, 4));
+      assertFalse(descriptor.isExit(1, 1));
+      assertEquals(3, descriptor.getNextLevelNumber());
+   }
+
+   @Test
+   void testEveryExitLeavesTheLevel() {
+      Level level = Level.fromRows(new char[][]{
+              {'X', ' ', 'E', ' ', 'X'}
+      });
+      LevelDescriptor descriptor = LevelDescriptor.describe(level, 1, LevelDescriptor.NO_NEXT_LEVEL);
+      assertEquals(0, descriptor.getExitCell(), "The first exit is recorded");
+      assertTrue(descriptor.isExit(0, 0));
+      assertTrue(descriptor.isExit(0, 4), "The second exit should work as well");
+      assertFalse(descriptor.isExit(0, 2));
+
+      DungeonMap.useLevels(level);
+      PositionDataHolder pm = new PositionDataHolder(level);
+      LevelTransitionHandler transitions = new LevelTransitionHandler();
+      pm.setCurrentPosition(0, 4);
+      assertTrue(transitions.isOnExit(pm));
+      pm.setCurrentPosition(0, 3);
+      assertFalse(transitions.isOnExit(pm));
+   }
+
+   @Test
+   void testDescriptorGoesStaleWhenLevelIsEdited() {
+      Level level = DungeonMap.LevelFactory.createLevel1();
+      LevelDescriptor descriptor = LevelDescriptor.describe(level, 1, LevelDescriptor.NO_NEXT_LEVEL);
+      assertTrue(descriptor.describes(level));
+
+      level.setTile(1, 1, Tile.WALL);
+      assertFalse(descriptor.describes(level));
+   }
+
+   @Test
+   void testRegistryLinksLevelsInOrder() {
+      LevelRegistry registry = LevelRegistry.of(DungeonMap.LevelFactory.createLevel1(),
+              DungeonMap.LevelFactory.createLevel2(), DungeonMap.LevelFactory.createLevel3());
+
+      assertEquals(2, registry.getDescriptor(1).getNextLevelNumber());
+      assertEquals(3, registry.getDescriptor(2).getNextLevelNumber());
+      assertFalse(registry.getDescriptor(3).hasNextLevel());
+      assertSame(registry.getDescriptor(2), registry.getDescriptor(2), "Descriptors should be computed once");
+   }
+
+   @Test
+   void testAddedLevelFileRelinksLastLevel() throws Exception {
+      Files.writeString(tempDir.resolve("level-1.lvl"), "DLEVEL 1 1 3 0 0 0 2\nE.X\n");
+      LevelRegistry registry = LevelRegistry.fromDirectory(tempDir, 4);
+      assertFalse(registry.getDescriptor(1).hasNextLevel());
+
+      Files.writeString(tempDir.resolve("level-2.lvl"), "DLEVEL 1 1 3 0 2 0 0\nX.E\n");
+      registry.reloadChangedLevels();
+      assertEquals(2, registry.getDescriptor(1).getNextLevelNumber());
+      assertEquals(0, registry.getDescriptor(2).getEntranceX());
+      assertEquals(2, registry.getDescriptor(2).getEntranceY());
+   }
+
+   @Test
+   void testCurrentDescriptorFollowsCurrentLevel() {
+      DungeonMap.useLevels(DungeonMap.LevelFactory.createLevel1(), DungeonMap.LevelFactory.createLevel2());
+      DungeonMap.currentLevel = DungeonMap.getLevel(2);
+      DungeonMap.currentLevelNumber = 2;
+
+      LevelDescriptor descriptor = DungeonMap.getCurrentDescriptor();
+      assertEquals(2, descriptor.getLevelNumber());
+      assertFalse(descriptor.hasNextLevel());
+      assertSame(descriptor, DungeonMap.getCurrentDescriptor());
+   }
+
+}
@@ -0,0 +1,136 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.LevelFile;
+import com.dungeonGame.logic.mapAndLevelHandler.LevelRegistry;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelRegistryTest {
+
+   @TempDir
+   Path tempDir;
+
+   @Test
+   void testBundledLevelsMatchLevelFactory() {
+      LevelRegistry registry = LevelRegistry.fromClasspath(LevelRegistry.DEFAULT_CACHE_SIZE);
+      Level[] expected = {
+              DungeonMap.LevelFactory.createLevel1(),
+              DungeonMap.LevelFactory.createLevel2(),
+              DungeonMap.LevelFactory.createLevel3()
+      };
+
+      assertEquals(3, registry.getLevelCount());
+      for (int n = 1; n <= expected.length; n++) {
+         assertSameLayout(expected[n - 1], registry.get(n));
+      }
+   }
+
+   @Test
+   void testWriteThenReadRoundTrips() throws Exception {
+      Level level = DungeonMap.LevelFactory.createLevel3();
+      StringWriter out = new StringWriter();
+      LevelFile.write(level, out);
+
+      Level parsed = LevelFile.read(new BufferedReader(new StringReader(out.toString())), "round trip");
+      assertSameLayout(level, parsed);
+   }
+
+   @Test
+   void testHeaderMustPointAtEntrance() {
+      String text = "DLEVEL 1 2 2 0 0 1 1\n.E\nWX\n";
+      assertThrows(IllegalArgumentException.class,
+              () -> LevelFile.read(new BufferedReader(new StringReader(text)), "bad header"));
+   }
+
+   @Test
+   void testHeaderMustPointAtTheFirstMarker() {
+      String text = "DLEVEL 1 1 4 0 2 0 3\nE.EX\n";
+      assertThrows(IllegalArgumentException.class,
+              () -> LevelFile.read(new BufferedReader(new StringReader(text)), "second entrance"));
+   }
+
+   @Test
+   void testOversizedHeaderIsRejected() {
+      String text = "DLEVEL 1 65536 65536 0 0 0 2\nE.X\n";
+      assertThrows(IllegalArgumentException.class,
+              () -> LevelFile.read(new BufferedReader(new StringReader(text)), "huge"));
+   }
+
+   @Test
+   void testLevelsAreParsedLazilyAndCountIsOpenEnded() throws Exception {
+      for (int n = 1; n <= 5; n++) {
+         writeLevel(n, "DLEVEL 1 1 3 0 0 0 2\nE.X\n");
+      }
+      Files.writeString(tempDir.resolve("level-7.lvl"), "not a level");
+      LevelRegistry registry = LevelRegistry.fromDirectory(tempDir, 2);
+
+      assertEquals(5, registry.getLevelCount(), "Counting should stop at the first missing level");
+      assertTrue(registry.hasLevel(5));
+      assertFalse(registry.hasLevel(6));
+      assertEquals(Tile.EXIT, registry.get(5).getTile(0, 2));
+      assertThrows(IllegalArgumentException.class, () -> registry.get(6));
+   }
+
+   @Test
+   void testEvictedLevelIsReloadedFromDisk() throws Exception {
+      writeLevel(1, "DLEVEL 1 1 3 0 0 0 2\nE.X\n");
+      writeLevel(2, "DLEVEL 1 1 3 0 0 0 2\nEWX\n");
+      writeLevel(3, "DLEVEL 1 1 3 0 2 0 0\nX.E\n");
+      LevelRegistry registry = LevelRegistry.fromDirectory(tempDir, 1);
+
+      Level first = registry.get(1);
+      assertSame(first, registry.get(1), "A cached level should be returned as-is");
+      registry.get(2);
+      registry.get(3);
+      assertNotSame(first, registry.get(1), "Level 1 should have been evicted and parsed again");
+   }
+
+   @Test
+   void testChangedFileIsSwappedInAndBrokenEditIsIgnored() throws Exception {
+      Path file = writeLevel(1, "DLEVEL 1 1 3 0 0 0 2\nE.X\n");
+      LevelRegistry registry = LevelRegistry.fromDirectory(tempDir, 4);
+      Level original = registry.get(1);
+
+      Files.writeString(file, "DLEVEL 1 1 3 0 0 0 2\nEWX\n");
+      Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 5000));
+      assertEquals(1, registry.reloadChangedLevels());
+      Level edited = registry.get(1);
+      assertEquals(Tile.WALL, edited.getTile(0, 1));
+      assertEquals(Tile.ROOM, original.getTile(0, 1), "Sessions holding the old level keep its layout");
+
+      Files.writeString(file, "DLEVEL 1 1 3 0 0 0 2\nE.\n");
+      Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10000));
+      assertEquals(0, registry.reloadChangedLevels());
+      assertSame(edited, registry.get(1), "A malformed edit should keep the previous layout");
+
+      Files.writeString(file, "DLEVEL 1 65536 65536 0 0 0 2\nE.X\n");
+      Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 15000));
+      assertEquals(0, registry.reloadChangedLevels());
+      assertSame(edited, registry.get(1), "An oversized header should keep the previous layout");
+   }
+
+   private Path writeLevel(int levelNumber, String contents) throws Exception {
+      return Files.writeString(tempDir.resolve("level-" + levelNumber + ".lvl"), contents);
+   }
+
+   private static void assertSameLayout(Level expected, Level actual) {
+      assertEquals(expected.getRows(), actual.getRows());
+      assertEquals(expected.getColumns(), actual.getColumns());
+      for (int i = 0; i < expected.size(); i++) {
+         assertEquals(expected.getTileAt(i), actual.getTileAt(i), "Tile " + i + " should match");
+      }
+   }
+
+}
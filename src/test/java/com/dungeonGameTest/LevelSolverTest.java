@@ -0,0 +1,120 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.encounter.EncounterCatalog;
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.logic.Inventory;
+import com.dungeonGame.logic.Item;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.solver.DifficultyRating;
+import com.dungeonGame.logic.solver.LevelSolver;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelSolverTest {
+
+   // Entrance, two plain rooms, exit
+   private static final Level CORRIDOR = Level.fromRows(new char[][]{
+           {'E', ' ', ' ', 'X'}
+   });
+
+   @Test
+   void testWalksStraightToTheExitAndEatsOnTheWay() {
+      LevelSolver solver = new LevelSolver(CORRIDOR, new EncounterEntities());
+
+      LevelSolver.Solution empty = solver.solve(0, 0, 100, new Inventory());
+      assertEquals(91, empty.expectedPowerPoints(), 1e-9, "Three moves of 3 power points");
+      assertEquals(1, empty.exitChance(), 1e-9);
+      assertEquals("right", empty.best().action());
+      assertEquals(1, empty.choices().size(), "Only one direction is open");
+
+      Inventory food = new Inventory();
+      food.add(Item.CAKE, 2);
+      food.add(Item.SANDWICH);
+      assertEquals(102, solver.solve(0, 0, 100, food).expectedPowerPoints(), 1e-9, "Every item is eaten");
+   }
+
+   @Test
+   void testPlaysEncounterOptionsLikeTheGame() {
+      EncounterEntities trap = new EncounterEntities();
+      trap.spawn(EncounterType.TRAP, 0, 1);
+      LevelSolver trapSolver = new LevelSolver(CORRIDOR, trap);
+      assertEquals(84, trapSolver.solve(0, 0, 100, new Inventory()).expectedPowerPoints(), 1e-9,
+              "The trap takes 7 power points");
+      Inventory hammer = new Inventory();
+      hammer.add(Item.HAMMER);
+      assertEquals(91, trapSolver.solve(0, 0, 100, hammer).expectedPowerPoints(), 1e-9, "The Hammer disarms it");
+
+      EncounterEntities scientist = new EncounterEntities();
+      scientist.spawn(EncounterType.MAD_SCIENTIST, 0, 1);
+      LevelSolver riddles = new LevelSolver(CORRIDOR, scientist, EncounterCatalog.getDefault(), 0.25,
+              LevelSolver.DEFAULT_MAX_STATES);
+      assertEquals(91 - 0.75 * 8, riddles.solve(0, 0, 100, new Inventory()).expectedPowerPoints(), 1e-9,
+              "A wrong answer costs 8 power points");
+
+      // A resolved encounter does not trigger again
+      trap.setResolved(0, true);
+      assertEquals(91, new LevelSolver(CORRIDOR, trap).solve(0, 0, 100, new Inventory()).expectedPowerPoints(), 1e-9);
+   }
+
+   @Test
+   void testWeighsTheRiskOfEveryChoice() {
+      EncounterEntities guardian = new EncounterEntities();
+      guardian.spawn(EncounterType.GUARDIAN, 0, 2);
+      LevelSolver solver = new LevelSolver(CORRIDOR, guardian);
+
+      LevelSolver.Solution blocked = solver.solve(0, 0, 100, new Inventory());
+      assertEquals(0, blocked.exitChance(), "Without the Relic or a spell the Guardian cannot be passed");
+
+      Inventory relic = new Inventory();
+      relic.add(Item.RELIC);
+      assertEquals(91, solver.solve(0, 0, 100, relic).expectedPowerPoints(), 1e-9);
+
+      // Teleporting from the first room always lands past the Guardian, teleporting at once only half the time
+      Inventory spell = new Inventory();
+      spell.add(Item.TELEPORTATION_SPELL);
+      LevelSolver.Solution solution = solver.solve(0, 0, 100, spell);
+      assertEquals("right", solution.best().action());
+      assertEquals(94, solution.expectedPowerPoints(), 1e-9);
+      assertEquals(1, solution.exitChance(), 1e-9);
+      LevelSolver.Choice teleport = solution.choices().get(1);
+      assertEquals("use Teleportation Spell", teleport.action());
+      assertEquals(97 / 2.0, teleport.expectedPowerPoints(), 1e-9);
+      assertEquals(0.5, teleport.exitChance(), 1e-9);
+   }
+
+   @Test
+   void testRunsOutOfPowerPoints() {
+      LevelSolver solver = new LevelSolver(CORRIDOR, new EncounterEntities());
+      assertEquals(0, solver.solve(0, 0, 9, new Inventory()).exitChance(), "The last move would use up every point");
+      assertEquals(1, solver.solve(0, 0, 10, new Inventory()).expectedPowerPoints(), 1e-9);
+   }
+
+   @Test
+   void testStopsAtTheStateLimit() {
+      Level open = Level.fromRows(new char[][]{
+              {'E', ' ', ' ', ' ', ' '},
+              {' ', ' ', ' ', ' ', ' '},
+              {' ', ' ', ' ', ' ', 'X'}
+      });
+      LevelSolver solver = new LevelSolver(open, new EncounterEntities(), EncounterCatalog.getDefault(),
+              LevelSolver.DEFAULT_RIDDLE_SUCCESS, 10);
+      assertThrows(IllegalStateException.class, () -> solver.solve(0, 0, 100, new Inventory()));
+   }
+
+   @Test
+   void testRatesLevelsOverManyLayouts() {
+      Level level = Level.fromRows(new char[][]{
+              {'E', ' ', ' ', ' '},
+              {'W', ' ', 'W', ' '},
+              {' ', ' ', ' ', 'X'}
+      });
+      DifficultyRating.Rating rating = DifficultyRating.rate(level, 1, 8, 42, LevelSolver.DEFAULT_RIDDLE_SUCCESS);
+      assertEquals(1, rating.worstExitChance(), 1e-9, "A trap and a riddle cannot stop a new player");
+      assertTrue(rating.expectedPowerPoints() <= 100 - 5 * 3, "The exit is five moves away");
+      assertTrue(rating.expectedPowerPoints() >= 100 - 5 * 3 - 7 - 8);
+      assertEquals("easy", rating.getLabel());
+   }
+
+}
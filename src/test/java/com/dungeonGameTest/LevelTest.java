@@ -0,0 +1,74 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelTest {
+
+   @Test
+   void testFromRowsKeepsLayout() {
+      Level level = DungeonMap.LevelFactory.createLevel1();
+      assertEquals(5, level.getRows(), "Level 1 should have 5 rows");
+      assertEquals(5, level.getColumns(), "Level 1 should have 5 columns");
+      assertEquals(Tile.ENTRANCE, level.getTile(4, 1), "Entrance should be in the bottom-left corner");
+      assertEquals(Tile.EXIT, level.getTile(3, 3), "Exit should be next to the top-right corner");
+      assertEquals(Tile.WALL, level.getTile(0, 0), "Corners should be walls");
+      assertEquals(Tile.ROOM, level.getTile(1, 1), "Inner cells should be rooms");
+   }
+
+   @Test
+   void testBoundsHelpers() {
+      Level level = new Level(3, 7);
+      assertTrue(level.isInBounds(2, 6), "Last cell should be inside the level");
+      assertFalse(level.isInBounds(3, 0), "Row past the end should be outside the level");
+      assertFalse(level.isInBounds(0, -1), "Negative column should be outside the level");
+      assertFalse(level.isWalkable(0, 0), "A new level should be all walls");
+      assertThrows(IndexOutOfBoundsException.class, () -> level.getTile(-1, 0));
+   }
+
+   @Test
+   void testSetTileAndFind() {
+      Level level = new Level(4, 6);
+      level.setTile(2, 5, Tile.EXIT);
+      assertTrue(level.isWalkable(2, 5), "Exit should be walkable");
+      assertEquals(level.index(2, 5), level.find(Tile.EXIT), "Exit should be found at its row-major index");
+      assertEquals(-1, level.find(Tile.ENTRANCE), "Missing tiles should not be found");
+   }
+
+   @Test
+   void testRoomNamesGoPastZ() {
+      Level level = new Level(800, 40);
+      assertEquals("B3", Level.appendRoomName(new StringBuilder(), 1, 2).toString());
+      assertEquals("Z1", Level.appendRoomName(new StringBuilder(), 25, 0).toString());
+      assertEquals("AA1", Level.appendRoomName(new StringBuilder(), 26, 0).toString());
+      assertEquals("ADD40", Level.appendRoomName(new StringBuilder(), 783, 39).toString());
+      for (int x = 0; x < level.getRows(); x++) {
+         String name = Level.appendRoomName(new StringBuilder(), x, 7).toString();
+         assertEquals(level.index(x, 7), level.parseRoomName(name.toLowerCase()), name);
+      }
+   }
+
+   @Test
+   void testRoomNamesCanBeNumbers() {
+      Level level = new Level(30, 12);
+      assertEquals(level.index(27, 11), level.parseRoomName("28,12"));
+      assertEquals(level.index(27, 11), level.parseRoomName(" 28 12 "));
+      assertEquals(level.index(27, 11), level.parseRoomName("AB12"));
+      assertEquals(-1, level.parseRoomName("31,1"), "Rows past the end are not rooms");
+      assertEquals(-1, level.parseRoomName("b13"), "Columns past the end are not rooms");
+      assertEquals(-1, level.parseRoomName("zzzzzzzz1"), "Long names must not overflow");
+      assertEquals(-1, level.parseRoomName("0,1"));
+      assertEquals(-1, level.parseRoomName("b"));
+      assertEquals(-1, level.parseRoomName("3"));
+   }
+
+   @Test
+   void testRaggedLayoutIsRejected() {
+      char[][] ragged = {{'W', 'W'}, {'W'}};
+      assertThrows(IllegalArgumentException.class, () -> Level.fromRows(ragged));
+   }
+}
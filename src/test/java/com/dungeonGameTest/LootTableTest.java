@@ -0,0 +1,86 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.Item;
+import com.dungeonGame.logic.LootTable;
+import com.dungeonGame.logic.LootTables;
+import com.dungeonGame.logic.PlayerDataHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LootTableTest {
+
+   @BeforeEach
+   void setUp() {
+      System.setProperty("test.mode", "true");
+   }
+
+   @Test
+   void testSamplesFollowTheWeights() {
+      LootTable<String> table = new LootTable<>(List.of("a", "b", "c", "d"), 1, 2, 0, 5);
+      Random random = new Random(7);
+      int[] counts = new int[table.size()];
+      int draws = 80_000;
+      for (int i = 0; i < draws; i++) {
+         counts[table.sample(random)]++;
+      }
+      assertEquals(0, counts[2], "An entry with no weight must never be drawn");
+      assertEquals(draws / 8.0, counts[0], draws * 0.01);
+      assertEquals(draws * 2 / 8.0, counts[1], draws * 0.01);
+      assertEquals(draws * 5 / 8.0, counts[3], draws * 0.01);
+   }
+
+   @Test
+   void testExcludedEntriesAreNeverDrawnAndTheRestKeepTheirOdds() {
+      LootTable<String> table = new LootTable<>(List.of("a", "b", "c"), 6, 1, 3);
+      Random random = new Random(8);
+      long excluded = 1L; // "a", the heaviest entry
+      int[] counts = new int[table.size()];
+      int draws = 40_000;
+      for (int i = 0; i < draws; i++) {
+         counts[table.sample(random, excluded)]++;
+      }
+      assertEquals(0, counts[0]);
+      assertEquals(draws / 4.0, counts[1], draws * 0.015);
+      assertEquals(draws * 3 / 4.0, counts[2], draws * 0.015);
+      assertEquals(-1, table.sample(random, 0b111));
+   }
+
+   @Test
+   void testSampleDistinctStopsWhenTheTableRunsOut() {
+      LootTable<String> table = new LootTable<>(List.of("a", "b", "c"), 1, 1, 1);
+      int[] out = new int[5];
+      assertEquals(2, table.sampleDistinct(new Random(9), 1L << 1, out, 5));
+      assertNotEquals(out[0], out[1]);
+      assertNotEquals(1, out[0]);
+      assertNotEquals(1, out[1]);
+   }
+
+   @Test
+   void testRelicOnlyAppearsOnLevelThree() {
+      assertEquals(-1, LootTables.searchTable(1).indexOf(Item.RELIC.getDisplayName()));
+      assertEquals(-1, LootTables.searchTable(2).indexOf(Item.RELIC.getDisplayName()));
+      assertTrue(LootTables.searchTable(3).indexOf(Item.RELIC.getDisplayName()) >= 0);
+      assertTrue(LootTables.searchTable(1).indexOf(LootTables.POTION) >= 0);
+   }
+
+   @Test
+   void testGiveRandomItemsFinishesWhenThePlayerHasEverything() {
+      InventoryManager inventoryManager = new InventoryManager();
+      PlayerDataHolder player = new PlayerDataHolder();
+      for (Item item : List.of(Item.TELEPORTATION_SPELL, Item.FREEZE_SPELL, Item.CAKE, Item.HAMMER)) {
+         inventoryManager.addItem(player, item);
+      }
+
+      assertEquals(1, inventoryManager.giveRandomItems(player, 3, new Random(10)), "Only the Sandwich is left to give");
+      assertTrue(inventoryManager.hasItem(player, Item.SANDWICH));
+      assertEquals(0, inventoryManager.giveRandomItems(player, 3, new Random(11)));
+      assertEquals(5, player.getInventory().size());
+   }
+
+}
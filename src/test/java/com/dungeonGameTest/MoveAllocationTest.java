@@ -0,0 +1,158 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.GameServices;
+import com.dungeonGame.GameUtils;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.logic.DisplayManager;
+import com.dungeonGame.logic.InventoryManager;
+import com.dungeonGame.logic.MovementLogic;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.PositionDataHolder;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.telemetry.EventRing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation regression harness for the steady-state move loop.
+ *
+ * <p>
+ * Drives scripted moves through a headless game and reads the bytes the test thread allocated from
+ * {@link com.sun.management.ThreadMXBean}. The build fails if a move allocates more than the budget, in
+ * bytes, given by {@code -Ddungeon.alloc.budget} (0 by default). A per-method breakdown is written to
+ * {@code target/allocation-report.txt}.
+ * </p>
+ *
+ * <p>
+ * A consumer listens to the game's events throughout, so publishing them is part of what is measured.
+ * </p>
+ */
+class MoveAllocationTest {
+
+   private static final String[] SCRIPT = {"right", "left", "down", "up"};
+   private static final int WARM_UP_MOVES = 20_000;
+   private static final int MEASURED_MOVES = 5_000;
+   private static final int ROUNDS = 3;
+   private static final Path REPORT = Path.of("target", "allocation-report.txt");
+
+   private final com.sun.management.ThreadMXBean threads =
+           (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+   private MovementLogic movementLogic;
+   private EncounterManager encounterManager;
+   private DisplayManager displayManager;
+   private PositionDataHolder position;
+   private PlayerDataHolder player;
+   private InventoryManager inventoryManager;
+   private boolean wasHeadless;
+   private EventRing.Consumer telemetry;
+
+   @BeforeEach
+   void setUp() {
+      assumeAllocationCounting();
+      wasHeadless = GameUtils.isHeadless();
+      GameUtils.setHeadless(true);
+
+      DungeonMap.useLevels(DungeonMap.LevelFactory.createLevel1(),
+              DungeonMap.LevelFactory.createLevel2(),
+              DungeonMap.LevelFactory.createLevel3());
+      DungeonMap.currentLevel = DungeonMap.getLevel(1);
+      DungeonMap.currentLevelNumber = 1;
+
+      movementLogic = new MovementLogic();
+      encounterManager = new EncounterManager();
+      displayManager = new DisplayManager();
+      encounterManager.getEncounterState().getEntities().clear(0);
+
+      position = new PositionDataHolder(DungeonMap.currentLevel);
+      position.setCurrentPosition(1, 1);
+      player = new PlayerDataHolder();
+      inventoryManager = new InventoryManager();
+      telemetry = GameServices.events().subscribe("allocation-test", (event, sequence, endOfBatch) -> {
+      });
+   }
+
+   @AfterEach
+   void tearDown() {
+      GameUtils.setHeadless(wasHeadless);
+      if (telemetry != null) {
+         telemetry.close();
+      }
+   }
+
+   private void assumeAllocationCounting() {
+      assumeTrue(threads.isThreadAllocatedMemorySupported(),
+              "This JVM cannot count allocated bytes per thread");
+      threads.setThreadAllocatedMemoryEnabled(true);
+   }
+
+   @Test
+   void testSteadyStateMovesStayWithinTheAllocationBudget() throws IOException {
+      long budget = Long.getLong("dungeon.alloc.budget", 0L);
+      for (int i = 0; i < WARM_UP_MOVES; i++) {
+         move(i);
+         player.setPowerPoints(100);
+      }
+
+      Map<String, Double> perCall = new LinkedHashMap<>();
+      perCall.put("MovementLogic.handleMovement", measure(this::move));
+      perCall.put("PositionDataHolder.setCurrentPosition", measure(i -> position.setCurrentPosition(1 + (i & 1), 1)));
+      perCall.put("EncounterManager.checkForEncounters",
+              measure(i -> encounterManager.checkForEncounters(position, player, inventoryManager)));
+      perCall.put("DisplayManager.displayCurrentRoom", measure(i -> displayManager.displayCurrentRoom(position, player)));
+      writeReport(perCall, budget);
+
+      double perMove = perCall.get("MovementLogic.handleMovement");
+      assertTrue(perMove <= budget, String.format(
+              "A move allocates %.1f bytes, over the budget of %d bytes; see %s", perMove, budget, REPORT));
+   }
+
+   private void move(int i) {
+      assertTrue(movementLogic.handleMovement(position, player, SCRIPT[i & 3], inventoryManager));
+   }
+
+   /**
+    * Runs an action repeatedly and returns the bytes it allocated per call, less the cost of measuring.
+    * The best of a few rounds counts, so a one-off allocation elsewhere in the JVM, such as a lock queue
+    * node when another test's simulation holds the encounter lock, does not fail the build.
+    */
+   private double measure(IntConsumer action) {
+      long overhead = -threads.getCurrentThreadAllocatedBytes();
+      overhead += threads.getCurrentThreadAllocatedBytes();
+
+      long best = Long.MAX_VALUE;
+      for (int round = 0; round < ROUNDS; round++) {
+         long before = threads.getCurrentThreadAllocatedBytes();
+         for (int i = 0; i < MEASURED_MOVES; i++) {
+            action.accept(i);
+            player.setPowerPoints(100);
+         }
+         best = Math.min(best, threads.getCurrentThreadAllocatedBytes() - before - overhead);
+      }
+      return Math.max(0, best) / (double) MEASURED_MOVES;
+   }
+
+   private void writeReport(Map<String, Double> perCall, long budget) throws IOException {
+      StringBuilder report = new StringBuilder();
+      report.append(String.format("Allocation per call, best of %d rounds of %d calls (budget per move: %d bytes)%n",
+              ROUNDS, MEASURED_MOVES, budget));
+      for (Map.Entry<String, Double> entry : perCall.entrySet()) {
+         report.append(String.format("%-40s %10.1f bytes%n", entry.getKey(), entry.getValue()));
+      }
+      Files.createDirectories(REPORT.getParent());
+      Files.writeString(REPORT, report);
+   }
+
+}
@@ -5,6 +5,8 @@ import com.dungeonGame.logic.MovementLogic;
 import com.dungeonGame.logic.PlayerDataHolder;
 import com.dungeonGame.logic.PositionDataHolder;
 import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -19,22 +21,21 @@ class MovementLogicTest {
    @BeforeEach
    void setup() {
       // Initialize DungeonMap levels
-      DungeonMap.levels = new char[3][][];
-      DungeonMap.levels[0] = DungeonMap.LevelFactory.createLevel1();
-      DungeonMap.levels[1] = DungeonMap.LevelFactory.createLevel2();
-      DungeonMap.levels[2] = DungeonMap.LevelFactory.createLevel3();
+      DungeonMap.useLevels(DungeonMap.LevelFactory.createLevel1(),
+              DungeonMap.LevelFactory.createLevel2(),
+              DungeonMap.LevelFactory.createLevel3());
 
       // Set the current level
       DungeonMap.currentLevel = DungeonMap.getLevel(1);
       DungeonMap.currentLevelNumber = 1;
 
       // Find the entrance ('E') in the map
-      char[][] level = DungeonMap.getLevel(1);
+      Level level = DungeonMap.getLevel(1);
       int entranceX = -1, entranceY = -1;
 
-      for (int i = 0; i < level.length; i++) {
-         for (int j = 0; j < level[i].length; j++) {
-            if (level[i][j] == 'E') {
+      for (int i = 0; i < level.getRows(); i++) {
+         for (int j = 0; j < level.getColumns(); j++) {
+            if (level.getTile(i, j) == Tile.ENTRANCE) {
                entranceX = i;
                entranceY = j;
                break;
@@ -65,6 +66,15 @@ class MovementLogicTest {
       assertFalse(movementLogic.handleMovement(position, player, "left", inventoryManager), "Player should not move into a wall");
    }
 
+   @Test
+   void testGotoAcceptsNumberedRooms() {
+      assertTrue(movementLogic.handleMovement(position, player, "goto 2,3", inventoryManager), "Player should walk to B3");
+      assertEquals(1, position.getPlayerX());
+      assertEquals(2, position.getPlayerY());
+      assertFalse(movementLogic.handleMovement(position, player, "goto b3", inventoryManager), "B3 is the same room");
+      assertFalse(movementLogic.handleMovement(position, player, "goto 1,1", inventoryManager), "A1 is a wall");
+   }
+
    @Test
    void testPowerPointDeductionOnMove() {
       movementLogic.handleMovement(position, player, "up", inventoryManager);
@@ -0,0 +1,112 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.logic.Item;
+import com.dungeonGame.logic.PackedGameState;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.PositionDataHolder;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedGameStateTest {
+
+   @Test
+   void testPacksEveryFieldIndependently() {
+      long state = PackedGameState.pack(3, 4095, 17, 65535, Item.CAKE.mask() | Item.RELIC.mask());
+      assertEquals(3, PackedGameState.levelNumber(state));
+      assertEquals(4095, PackedGameState.x(state));
+      assertEquals(17, PackedGameState.y(state));
+      assertEquals(65535, PackedGameState.powerPoints(state));
+      assertTrue(PackedGameState.has(state, Item.CAKE));
+      assertTrue(PackedGameState.has(state, Item.RELIC));
+      assertFalse(PackedGameState.has(state, Item.HAMMER));
+
+      long moved = PackedGameState.withPosition(state, 0, 4095);
+      assertEquals(0, PackedGameState.x(moved));
+      assertEquals(4095, PackedGameState.y(moved));
+      assertEquals(3, PackedGameState.levelNumber(moved), "Other fields are untouched");
+      assertEquals(65535, PackedGameState.powerPoints(moved));
+      assertEquals(PackedGameState.items(state), PackedGameState.items(moved));
+
+      assertThrows(IllegalArgumentException.class, () -> PackedGameState.pack(256, 0, 0, 100, 0));
+      assertThrows(IllegalArgumentException.class, () -> PackedGameState.pack(1, -1, 0, 100, 0));
+      assertThrows(IllegalArgumentException.class, () -> PackedGameState.pack(1, 0, 0, 100, 1L << 20));
+   }
+
+   @Test
+   void testTransitionsFollowTheGameRules() {
+      long state = PackedGameState.pack(1, 2, 2, 5, 0);
+      long right = PackedGameState.move(state, 3);
+      assertEquals(2, PackedGameState.x(right));
+      assertEquals(3, PackedGameState.y(right));
+      assertEquals(2, PackedGameState.powerPoints(right), "A move costs 3 power points");
+
+      long dead = PackedGameState.move(right, 0);
+      assertEquals(1, PackedGameState.x(dead));
+      assertEquals(0, PackedGameState.powerPoints(dead), "Power points never drop below zero");
+      assertFalse(PackedGameState.isAlive(dead));
+
+      long armed = PackedGameState.withItem(PackedGameState.withItem(state, Item.HAMMER), Item.FREEZE_SPELL);
+      assertEquals(Item.HAMMER.mask() | Item.FREEZE_SPELL.mask(), PackedGameState.items(armed));
+      assertEquals(Item.FREEZE_SPELL.mask(), PackedGameState.items(PackedGameState.withoutItem(armed, Item.HAMMER)));
+      assertEquals(0, PackedGameState.items(PackedGameState.withoutItems(armed)));
+      assertEquals(5, PackedGameState.powerPoints(armed));
+
+      long flags = PackedGameState.withResolved(0, 63, true);
+      assertTrue(PackedGameState.isResolved(flags, 63));
+      assertFalse(PackedGameState.isResolved(flags, 0));
+      assertEquals(0, PackedGameState.withResolved(flags, 63, false));
+   }
+
+   @Test
+   void testStatesAreValuesThatHashAndCompare() {
+      Set<Long> seen = new HashSet<>();
+      for (int x = 0; x < 20; x++) {
+         for (int powerPoints = 0; powerPoints < 100; powerPoints++) {
+            assertTrue(seen.add(PackedGameState.pack(2, x, x, powerPoints, Item.CAKE.mask())));
+         }
+      }
+      assertEquals(PackedGameState.pack(2, 5, 5, 50, Item.CAKE.mask()),
+              PackedGameState.addPowerPoints(PackedGameState.pack(2, 5, 5, 47, Item.CAKE.mask()), 3));
+   }
+
+   @Test
+   void testCapturesAndRestoresAPlayer() {
+      Level level = Level.fromRows(new char[][]{
+              {'E', ' ', ' ', 'X'}
+      });
+      PositionDataHolder pm = new PositionDataHolder(level);
+      pm.setCurrentPosition(0, 1);
+      PlayerDataHolder player = new PlayerDataHolder();
+      player.setPowerPoints(42);
+      player.getInventory().add(Item.SANDWICH);
+      player.getInventory().add(Item.TELEPORTATION_SPELL);
+      long state = PackedGameState.capture(1, player, pm);
+
+      PlayerDataHolder other = new PlayerDataHolder();
+      other.getInventory().add(Item.HAMMER);
+      PositionDataHolder otherPosition = new PositionDataHolder(level);
+      PackedGameState.restore(state, other, otherPosition);
+      assertEquals(1, otherPosition.getPlayerY());
+      assertEquals(42, other.getPowerPoints());
+      assertEquals(Set.of("Sandwich", "Teleportation Spell"), Set.copyOf(other.getInventory()));
+      assertEquals(state, PackedGameState.capture(1, other, otherPosition));
+
+      EncounterEntities entities = new EncounterEntities();
+      entities.spawn(EncounterType.TRAP, 0, 1);
+      entities.spawn(EncounterType.MAD_SCIENTIST, 0, 2);
+      entities.setResolved(1, true);
+      long flags = PackedGameState.captureEncounters(entities);
+      assertEquals(0b10, flags);
+      PackedGameState.restoreEncounters(0b01, entities);
+      assertTrue(entities.isResolved(0));
+      assertFalse(entities.isResolved(1));
+   }
+
+}
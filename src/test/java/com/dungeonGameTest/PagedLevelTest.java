@@ -0,0 +1,180 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.logic.mapAndLevelHandler.CellIndex;
+import com.dungeonGame.logic.mapAndLevelHandler.DistanceField;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.LevelDescriptor;
+import com.dungeonGame.logic.mapAndLevelHandler.LevelRegistry;
+import com.dungeonGame.logic.mapAndLevelHandler.PagedLevel;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import com.dungeonGame.logic.mapAndLevelHandler.VisibilityState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedLevelTest {
+
+   @TempDir
+   Path tempDir;
+
+   @Test
+   void testCopyReadsBackTheSameTiles() {
+      Level source = DungeonMap.LevelFactory.createLevel3();
+      PagedLevel paged = PagedLevel.copyOf(source, tempDir.resolve("level-3.dlvl"), 2, 2);
+      assertSameLayout(source, paged);
+
+      PagedLevel reopened = PagedLevel.open(tempDir.resolve("level-3.dlvl"), 2);
+      assertSameLayout(source, reopened);
+      assertThrows(UnsupportedOperationException.class, () -> reopened.setTile(0, 0, Tile.ROOM),
+              "A level opened from disk is read-only");
+   }
+
+   @Test
+   void testOnlyABoundedNumberOfChunksStaysMapped() {
+      Level source = cave(256, 256, 11);
+      PagedLevel paged = PagedLevel.copyOf(source, tempDir.resolve("cave.dlvl"), 4, 4);
+      for (int cell = 0; cell < paged.size(); cell++) {
+         assertEquals(source.getTileAt(cell), paged.getTileAt(cell));
+      }
+      assertTrue(paged.getResidentChunkCount() <= 4, "Chunks beyond the limit should be dropped");
+   }
+
+   @Test
+   void testRejectsFilesThatAreNotPagedLevels() throws Exception {
+      Path file = tempDir.resolve("level-1.dlvl");
+      Files.writeString(file, "DLEVEL 1 1 3 0 0 0 2\nE.X\n");
+      assertThrows(IllegalArgumentException.class, () -> PagedLevel.open(file, 4));
+      assertThrows(IllegalArgumentException.class,
+              () -> PagedLevel.create(tempDir.resolve("huge.dlvl"), 65536, 65536, 6, 4));
+   }
+
+   @Test
+   void testCellIndexMatchesTheOnHeapLevel() {
+      Level source = cave(100, 70, 3);
+      PagedLevel paged = PagedLevel.copyOf(source, tempDir.resolve("cave.dlvl"), 3, 8);
+      for (CellIndex.Category category : CellIndex.Category.values()) {
+         CellIndex expected = source.getCellIndex(category);
+         CellIndex actual = paged.getCellIndex(category);
+         assertEquals(expected.size(), actual.size(), category.name());
+         for (int cell = 0; cell < source.size(); cell++) {
+            assertEquals(expected.contains(cell), actual.contains(cell), category + " cell " + cell);
+         }
+
+         Random random = new Random(5);
+         Set<Integer> all = new HashSet<>();
+         for (int cell : actual.sampleDistinct(random, actual.size())) {
+            assertTrue(all.add(cell), "Distinct picks should not repeat");
+            assertTrue(expected.contains(cell));
+         }
+         assertEquals(expected.size(), all.size(), "Every cell should be drawn");
+      }
+   }
+
+   @Test
+   void testDistanceFieldMatchesTheOnHeapLevel() {
+      Level source = cave(100, 70, 3);
+      PagedLevel paged = PagedLevel.copyOf(source, tempDir.resolve("cave.dlvl"), 3, 8);
+      int target = source.getCellIndex(CellIndex.Category.WALKABLE).sample(new Random(9));
+
+      DistanceField expected = source.getDistanceField(target);
+      DistanceField actual = paged.getDistanceField(target);
+      for (int cell = 0; cell < source.size(); cell++) {
+         assertEquals(expected.getDistance(cell), actual.getDistance(cell), "cell " + cell);
+         assertEquals(expected.nextStep(cell), actual.nextStep(cell), "cell " + cell);
+      }
+   }
+
+   @Test
+   void testDistanceFieldOnlyAllocatesReachedChunks() {
+      PagedLevel paged = PagedLevel.create(tempDir.resolve("empty.dlvl"), 512, 512, 4, 8);
+      paged.setTile(0, 0, Tile.ROOM);
+      paged.setTile(0, 1, Tile.ROOM);
+      DistanceField field = paged.getDistanceField(0);
+      assertEquals(1, field.getDistance(0, 1));
+      assertEquals((long) Integer.BYTES * paged.getPageSize(), field.getByteSize(),
+              "Only the chunk holding the two rooms should be allocated");
+   }
+
+   @Test
+   void testDescriptorFindsTheFirstMarkerInRowMajorOrder() {
+      Level source = new Level(40, 40);
+      // (5, 2) is in an earlier chunk than (1, 30), but later in row-major order
+      source.setTile(5, 2, Tile.ENTRANCE);
+      source.setTile(1, 30, Tile.ENTRANCE);
+      source.setTile(30, 3, Tile.EXIT);
+      PagedLevel paged = PagedLevel.copyOf(source, tempDir.resolve("markers.dlvl"), 3, 4);
+
+      LevelDescriptor expected = LevelDescriptor.describe(source, 1, 2);
+      LevelDescriptor actual = LevelDescriptor.describe(paged, 1, 2);
+      assertEquals(source.index(1, 30), actual.getEntranceCell());
+      assertEquals(expected.getEntranceCell(), actual.getEntranceCell());
+      assertEquals(expected.getExitCell(), actual.getExitCell());
+      assertEquals(expected.getWalkableCount(), actual.getWalkableCount());
+      assertEquals(source.find(Tile.ENTRANCE), paged.find(Tile.ENTRANCE));
+   }
+
+   @Test
+   void testVisibilityOnlyKeepsExploredChunks() {
+      Level source = cave(100, 70, 3);
+      PagedLevel paged = PagedLevel.copyOf(source, tempDir.resolve("cave.dlvl"), 3, 8);
+      VisibilityState expected = new VisibilityState(source);
+      VisibilityState actual = new VisibilityState(paged);
+      expected.reveal(50, 30, 5);
+      actual.reveal(50, 30, 5);
+
+      assertEquals(expected.getExploredCount(), actual.getExploredCount());
+      for (int x = 0; x < source.getRows(); x++) {
+         for (int y = 0; y < source.getColumns(); y++) {
+            assertEquals(expected.isExplored(x, y), actual.isExplored(x, y));
+         }
+      }
+      assertEquals(0, actual.getExploredPage(0).length, "A chunk far from the player holds no bits");
+   }
+
+   @Test
+   void testRegistryOpensPagedLevelFiles() {
+      Level source = DungeonMap.LevelFactory.createLevel2();
+      PagedLevel.copyOf(source, tempDir.resolve("level-1.dlvl"), 2, 4);
+      LevelRegistry registry = LevelRegistry.fromDirectory(tempDir, 2);
+
+      assertEquals(1, registry.getLevelCount());
+      Level loaded = registry.get(1);
+      assertInstanceOf(PagedLevel.class, loaded);
+      assertSameLayout(source, loaded);
+   }
+
+   /**
+    * A level of rooms scattered at random, so chunks hold different amounts of each tile.
+    */
+   private static Level cave(int rows, int columns, long seed) {
+      Random random = new Random(seed);
+      Level level = new Level(rows, columns);
+      Tile[] tiles = {Tile.ROOM, Tile.ROOM, Tile.ROOM, Tile.EXIT};
+      for (int x = 0; x < rows; x++) {
+         for (int y = 0; y < columns; y++) {
+            if (random.nextInt(10) < 6) {
+               level.setTile(x, y, tiles[random.nextInt(tiles.length)]);
+            }
+         }
+      }
+      level.setTile(1, 1, Tile.ENTRANCE);
+      level.setTile(rows - 2, columns - 2, Tile.EXIT);
+      return level;
+   }
+
+   private static void assertSameLayout(Level expected, Level actual) {
+      assertEquals(expected.getRows(), actual.getRows());
+      assertEquals(expected.getColumns(), actual.getColumns());
+      for (int cell = 0; cell < expected.size(); cell++) {
+         assertEquals(expected.getTileAt(cell), actual.getTileAt(cell), "cell " + cell);
+      }
+   }
+}
@@ -35,4 +35,16 @@ class PlayerDataHolderTest {
       player.setPowerPoints(0);
       assertFalse(player.isAlive(), "Player should be dead when power points are zero or less");
    }
+
+   @Test
+   void testSetInventoryFromSavedList() {
+      PlayerDataHolder player = new PlayerDataHolder();
+      player.setInventory("Hammer,Cake,,Sword");
+      assertEquals(3, player.getInventory().size(), "Each saved item should be its own inventory entry");
+      assertTrue(player.getInventory().contains("Hammer"));
+      assertTrue(player.getInventory().contains("Sword"));
+
+      player.setInventory("");
+      assertTrue(player.getInventory().isEmpty(), "An empty saved list should give an empty inventory");
+   }
 }
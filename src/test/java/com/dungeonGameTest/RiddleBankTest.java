@@ -0,0 +1,86 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.encounter.EncounterCatalog;
+import com.dungeonGame.encounter.RiddleBank;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiddleBankTest {
+
+   private static final List<EncounterCatalog.Riddle> RIDDLES = List.of(
+           new EncounterCatalog.Riddle("What has to be broken before you can use it?", "egg", List.of()),
+           new EncounterCatalog.Riddle("What has a head and a tail but no legs?", "penny", List.of("coin")));
+
+   @Test
+   void testNormalizeIgnoresArticlesPunctuationAndPlurals() {
+      assertEquals("egg", RiddleBank.normalize("An Egg."));
+      assertEquals("egg", RiddleBank.normalize("  the eggs! "));
+      assertEquals("penny", RiddleBank.normalize("pennies"));
+      assertEquals("glass", RiddleBank.normalize("Glass"));
+      assertEquals("glass", RiddleBank.normalize("glasses"));
+      assertEquals("box", RiddleBank.normalize("boxes"));
+      assertEquals(RiddleBank.normalize("horse"), RiddleBank.normalize("horses"));
+      assertEquals(RiddleBank.normalize("shoe"), RiddleBank.normalize("Shoes"));
+      assertEquals("the", RiddleBank.normalize("The"), "An answer made only of articles is kept");
+   }
+
+   @Test
+   void testAcceptsEquivalentAnswersOnly() {
+      RiddleBank bank = RiddleBank.of(RIDDLES);
+      assertTrue(bank.accepts(0, "egg"));
+      assertTrue(bank.accepts(0, "an egg"));
+      assertTrue(bank.accepts(0, "Egg."));
+      assertTrue(bank.accepts(1, "A coin"));
+      assertFalse(bank.accepts(0, "coin"), "Answers belong to their own riddle");
+      assertFalse(bank.accepts(1, "egg"));
+      assertFalse(bank.accepts(0, ""));
+      assertEquals("penny", bank.getAnswer(1));
+   }
+
+   @Test
+   void testPluralsMatchAnswersEndingInE() {
+      RiddleBank bank = RiddleBank.of(List.of(
+              new EncounterCatalog.Riddle("What runs but has no legs, and wears iron shoes?", "horse", List.of()),
+              new EncounterCatalog.Riddle("What has a tongue but cannot talk?", "shoes", List.of())));
+      assertTrue(bank.accepts(0, "horses"));
+      assertTrue(bank.accepts(0, "A horse"));
+      assertTrue(bank.accepts(1, "shoe"));
+      assertTrue(bank.accepts(1, "the shoes"));
+      assertFalse(bank.accepts(1, "sho"));
+   }
+
+   @Test
+   void testMappedBankMatchesTheRiddles(@TempDir Path dir) throws IOException {
+      List<EncounterCatalog.Riddle> riddles = new ArrayList<>();
+      for (int i = 0; i < 5000; i++) {
+         riddles.add(new EncounterCatalog.Riddle("Riddle number " + i + "?", "answer " + i, List.of("alt " + i)));
+      }
+      Path file = dir.resolve("riddles.bank");
+      RiddleBank.write(riddles, file);
+
+      RiddleBank bank = RiddleBank.open(file);
+      assertEquals(5000, bank.size());
+      assertEquals("Riddle number 4321?", bank.getQuestion(4321));
+      assertEquals("answer 4321", bank.getAnswer(4321));
+      assertTrue(bank.accepts(4321, "The answer 4321"));
+      assertTrue(bank.accepts(17, "alts 17"));
+      assertFalse(bank.accepts(4321, "answer 4320"));
+   }
+
+   @Test
+   void testBundledRiddlesAreInTheDefaultBank() {
+      RiddleBank bank = RiddleBank.getDefault();
+      assertEquals(EncounterCatalog.getDefault().getRiddles().size(), bank.size());
+      for (int i = 0; i < bank.size(); i++) {
+         assertTrue(bank.accepts(i, bank.getAnswer(i).toUpperCase() + "!"));
+      }
+   }
+
+}
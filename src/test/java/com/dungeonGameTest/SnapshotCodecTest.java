@@ -0,0 +1,184 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.GameServices;
+import com.dungeonGame.database.SnapshotCodec;
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.encounter.WorldSimulation;
+import com.dungeonGame.logic.Item;
+import com.dungeonGame.logic.PlayerDataHolder;
+import com.dungeonGame.logic.PositionDataHolder;
+import com.dungeonGame.logic.mapAndLevelHandler.DungeonMap;
+import com.dungeonGame.logic.mapAndLevelHandler.LevelDescriptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotCodecTest {
+
+   private final EncounterManager encounterManager = new EncounterManager();
+   private PlayerDataHolder player;
+   private PositionDataHolder pm;
+
+   @BeforeEach
+   void setUp() {
+      DungeonMap.useLevels(DungeonMap.LevelFactory.createLevel1(),
+              DungeonMap.LevelFactory.createLevel2(),
+              DungeonMap.LevelFactory.createLevel3());
+      pm = new PositionDataHolder(DungeonMap.getLevel(2));
+      GameServices.levelTransitionHandler().setCurrentLevelDirectly(DungeonMap.getLevel(2), 2);
+      encounterManager.assignEncounters(DungeonMap.getLevel(2));
+
+      LevelDescriptor descriptor = DungeonMap.getCurrentDescriptor();
+      pm.setCurrentPosition(descriptor.getEntranceX(), descriptor.getEntranceY());
+      pm.getVisibility().reveal(descriptor.getEntranceX(), descriptor.getEntranceY(), 4);
+
+      player = new PlayerDataHolder();
+      player.setName("Saver");
+      player.setPowerPoints(42);
+      player.getInventory().add(Item.CAKE, 3);
+      player.getInventory().add(Item.HAMMER);
+      player.getInventory().add("Lucky Coin");
+   }
+
+   @Test
+   void testRestoresTheSameGame() {
+      EncounterEntities entities = encounterManager.getEncounterState().getEntities();
+      entities.setResolved(0, true);
+      entities.setFlag(0, EncounterEntities.TRIGGERED, true);
+      entities.setCooldown(1, 4);
+      player.setRelicFound(true);
+      String encountersBefore = describe(entities);
+      int exploredBefore = pm.getVisibility().getExploredCount();
+
+      byte[] snapshot = SnapshotCodec.encode(player, pm);
+      int[] drawsAfterSave = draw();
+
+      // Play on, so everything differs from the snapshot
+      encounterManager.assignEncounters(DungeonMap.getLevel(2));
+      PlayerDataHolder restored = new PlayerDataHolder();
+      restored.setName("Saver");
+
+      PositionDataHolder resumed = SnapshotCodec.decode(snapshot, restored);
+
+      assertEquals(2, DungeonMap.getCurrentLevelNumber());
+      assertEquals(pm.getPlayerX(), resumed.getPlayerX());
+      assertEquals(pm.getPlayerY(), resumed.getPlayerY());
+      assertEquals(42, restored.getPowerPoints());
+      assertEquals(3, restored.getInventory().count(Item.CAKE), "Stack sizes survive");
+      assertTrue(restored.getInventory().has(Item.HAMMER));
+      assertTrue(restored.getInventory().contains("Lucky Coin"));
+      assertEquals(exploredBefore, resumed.getVisibility().getExploredCount());
+      assertEquals(encountersBefore, describe(entities));
+      assertTrue(restored.isRelicFound());
+      assertArrayEquals(drawsAfterSave, draw(), "The random source continues where it was saved");
+   }
+
+   @Test
+   void testMovingEncountersReplayAfterARestore() {
+      EncounterEntities entities = encounterManager.getEncounterState().getEntities();
+      WorldSimulation simulation = new WorldSimulation();
+      simulation.addLevel(2, DungeonMap.getLevel(2), entities);
+      byte[] snapshot = SnapshotCodec.encode(player, pm);
+
+      for (int i = 0; i < 10; i++) {
+         simulation.tick();
+      }
+      String movedBefore = describe(entities);
+
+      SnapshotCodec.decode(snapshot, new PlayerDataHolder());
+      for (int i = 0; i < 10; i++) {
+         simulation.tick();
+      }
+      assertEquals(movedBefore, describe(entities), "The wandering Lost Explorer should take the same steps again");
+   }
+
+   @Test
+   void testRejectsWhatIsNotASnapshot() {
+      byte[] snapshot = SnapshotCodec.encode(player, pm);
+
+      assertThrows(IllegalArgumentException.class,
+              () -> SnapshotCodec.decode(new byte[]{1, 2, 3, 4, 5}, new PlayerDataHolder()));
+
+      byte[] newer = snapshot.clone();
+      newer[4] = SnapshotCodec.VERSION + 1;
+      assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.decode(newer, new PlayerDataHolder()));
+
+      byte[] truncated = Arrays.copyOf(snapshot, snapshot.length - 3);
+      assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.decode(truncated, new PlayerDataHolder()));
+   }
+
+   @Test
+   void testADamagedSnapshotChangesNothing() {
+      byte[] snapshot = SnapshotCodec.encode(player, pm);
+      EncounterEntities entities = encounterManager.getEncounterState().getEntities();
+      entities.setResolved(0, true);
+      player.setPowerPoints(17);
+      player.getInventory().add(Item.HAMMER);
+      String encountersBefore = describe(entities);
+      String inventoryBefore = String.join(",", player.getInventory());
+      GameServices.levelTransitionHandler().setCurrentLevelDirectly(DungeonMap.getLevel(1), 1);
+
+      byte[] truncated = Arrays.copyOf(snapshot, snapshot.length - 3);
+      assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.decode(truncated, player));
+
+      assertEquals(1, DungeonMap.getCurrentLevelNumber());
+      assertEquals(17, player.getPowerPoints());
+      assertEquals(inventoryBefore, String.join(",", player.getInventory()));
+      assertEquals(encountersBefore, describe(entities));
+   }
+
+   @Test
+   void testADeadPlayerIsNotResumed() {
+      player.setPowerPoints(0);
+      byte[] snapshot = SnapshotCodec.encode(player, pm);
+
+      PlayerDataHolder returning = new PlayerDataHolder();
+      assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.decode(snapshot, returning));
+      assertTrue(returning.isAlive(), "The player starts again instead of coming back dead");
+   }
+
+   @Test
+   void testDecodesTheFlatExploredMapOfVersion1() {
+      int exploredBefore = pm.getVisibility().getExploredCount();
+      byte[] snapshot = SnapshotCodec.encode(player, pm);
+
+      // Header, inventory mask, one count per item, and the "Lucky Coin" entry
+      int explored = 28 + 8 + Item.values().length + 1 + 2 + "Lucky Coin".length();
+      ByteBuffer in = ByteBuffer.wrap(snapshot);
+      assertEquals(1, in.getInt(explored), "A single-page level saves one explored page");
+      assertEquals(0, in.getInt(explored + 4));
+      // Version 1 had just the word count and words, one bit per cell of the level
+      byte[] flat = new byte[snapshot.length - 8];
+      System.arraycopy(snapshot, 0, flat, 0, explored);
+      System.arraycopy(snapshot, explored + 8, flat, explored, snapshot.length - explored - 8);
+      flat[4] = 1;
+
+      PositionDataHolder resumed = SnapshotCodec.decode(flat, new PlayerDataHolder());
+      assertEquals(exploredBefore, resumed.getVisibility().getExploredCount());
+   }
+
+   private static int[] draw() {
+      int[] draws = new int[8];
+      for (int i = 0; i < draws.length; i++) {
+         draws[i] = GameServices.random().nextInt(1000);
+      }
+      return draws;
+   }
+
+   private static String describe(EncounterEntities entities) {
+      StringBuilder text = new StringBuilder();
+      for (int id = 0; id < entities.size(); id++) {
+         text.append(entities.getType(id)).append('@').append(entities.getRoomX(id)).append(',')
+                 .append(entities.getRoomY(id)).append(' ').append(entities.isResolved(id))
+                 .append(entities.hasFlag(id, EncounterEntities.TRIGGERED)).append(' ')
+                 .append(entities.getCooldown(id)).append(' ').append(entities.getHeading(id)).append('\n');
+      }
+      return text.toString();
+   }
+
+}
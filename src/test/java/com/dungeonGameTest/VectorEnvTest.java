@@ -0,0 +1,126 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.env.VectorEnv;
+import com.dungeonGame.logic.GameRandom;
+import com.dungeonGame.logic.PackedGameState;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorEnvTest {
+
+   // Entrance, two plain rooms, exit
+   private static final Level CORRIDOR = Level.fromRows(new char[][]{
+           {'E', ' ', ' ', 'X'}
+   });
+
+   // Riddles are always answered, so the trap is the only cost besides the moves
+   private static final VectorEnv.Settings SURE = new VectorEnv.Settings(1, 500, 1);
+
+   @Test
+   void testResetWritesTheFirstObservation() {
+      try (VectorEnv env = new VectorEnv(CORRIDOR, 1, 3, 1, 7, SURE)) {
+         env.reset();
+         assertEquals(3, env.getWindowSide());
+         byte[] window = Arrays.copyOfRange(env.tiles(), 9, 18);
+         assertArrayEquals(new byte[]{
+                 VectorEnv.OUTSIDE, VectorEnv.OUTSIDE, VectorEnv.OUTSIDE,
+                 VectorEnv.OUTSIDE, Tile.ENTRANCE.getCode(), Tile.ROOM.getCode(),
+                 VectorEnv.OUTSIDE, VectorEnv.OUTSIDE, VectorEnv.OUTSIDE
+         }, window, "The second player stands in the middle of their window");
+         for (int i = 0; i < 3; i++) {
+            assertEquals(100, env.powerPoints()[i]);
+            assertEquals(0, env.items()[i]);
+            assertEquals(VectorEnv.EXPLORING, env.phases()[i]);
+            assertFalse(env.done()[i]);
+         }
+      }
+   }
+
+   @Test
+   void testRewardsThePowerPointsLeftAtTheExit() {
+      try (VectorEnv env = new VectorEnv(CORRIDOR, 1, 1, 1, 7, SURE)) {
+         env.reset();
+         int[] right = {VectorEnv.RIGHT};
+         env.step(right);
+         env.step(right);
+         assertFalse(env.done()[0]);
+         assertEquals(0, env.rewards()[0]);
+         assertEquals(100 - 2 * 3 - 7, env.powerPoints()[0], "Both rooms hold an encounter, and the trap costs 7");
+
+         env.step(right);
+         assertTrue(env.done()[0]);
+         assertFalse(env.isTruncated(0));
+         assertEquals(84, env.rewards()[0]);
+         assertEquals(100, env.powerPoints()[0], "The next game has already started");
+         assertEquals(0, PackedGameState.y(env.getState(0)));
+      }
+   }
+
+   @Test
+   void testWallsAndMissingItemsCostNothing() {
+      try (VectorEnv env = new VectorEnv(CORRIDOR, 1, 1, 1, 7, SURE)) {
+         env.reset();
+         long start = env.getState(0);
+         for (int action : new int[]{VectorEnv.UP, VectorEnv.LEFT, VectorEnv.DOWN, VectorEnv.EAT_CAKE,
+                 VectorEnv.TELEPORT, VectorEnv.CHOOSE_1}) {
+            env.step(new int[]{action});
+            assertEquals(start, env.getState(0), "Action " + action);
+         }
+         assertThrows(IllegalArgumentException.class, () -> env.step(new int[]{VectorEnv.ACTION_COUNT}));
+         assertThrows(IllegalArgumentException.class, () -> env.step(new int[2]));
+      }
+   }
+
+   @Test
+   void testCutsLongGamesShort() {
+      try (VectorEnv env = new VectorEnv(CORRIDOR, 1, 1, 1, 7, new VectorEnv.Settings(1, 3, 1))) {
+         env.reset();
+         int[] up = {VectorEnv.UP};
+         env.step(up);
+         env.step(up);
+         assertFalse(env.done()[0]);
+         env.step(up);
+         assertTrue(env.done()[0]);
+         assertTrue(env.isTruncated(0));
+         assertEquals(0, env.rewards()[0]);
+      }
+   }
+
+   @Test
+   void testThreadsDoNotChangeTheGames() {
+      Level level = Level.fromRows(new char[][]{
+              {'E', ' ', ' ', ' ', ' '},
+              {' ', 'W', ' ', 'W', ' '},
+              {' ', ' ', ' ', ' ', 'X'}
+      });
+      int count = 64;
+      long[] single = play(level, count, 1);
+      long[] parallel = play(level, count, 4);
+      assertArrayEquals(single, parallel);
+   }
+
+   private static long[] play(Level level, int count, int threads) {
+      long[] trace = new long[count];
+      GameRandom policy = new GameRandom(3);
+      int[] actions = new int[count];
+      try (VectorEnv env = new VectorEnv(level, 2, count, threads, 11, VectorEnv.Settings.DEFAULT)) {
+         env.reset();
+         for (int step = 0; step < 200; step++) {
+            for (int i = 0; i < count; i++) {
+               actions[i] = policy.nextInt(VectorEnv.ACTION_COUNT);
+            }
+            env.step(actions);
+            for (int i = 0; i < count; i++) {
+               trace[i] = trace[i] * 31 + env.getState(i) + (long) env.rewards()[i];
+            }
+         }
+      }
+      return trace;
+   }
+
+}
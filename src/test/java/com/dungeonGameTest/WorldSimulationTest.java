@@ -0,0 +1,191 @@
+package com.dungeonGameTest;
+
+import com.dungeonGame.encounter.EncounterEntities;
+import com.dungeonGame.encounter.EncounterManager;
+import com.dungeonGame.encounter.EncounterType;
+import com.dungeonGame.encounter.WorldSimulation;
+import com.dungeonGame.logic.mapAndLevelHandler.CellIndex;
+import com.dungeonGame.logic.mapAndLevelHandler.Level;
+import com.dungeonGame.logic.mapAndLevelHandler.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldSimulationTest {
+
+   @Test
+   void testGuardianPatrolsBetweenWalls() {
+      Level level = Level.fromRows(new char[][]{
+              {'W', 'W', 'W', 'W', 'W'},
+              {'E', ' ', ' ', ' ', 'W'},
+              {'W', 'W', 'W', 'W', 'W'}
+      });
+      EncounterEntities entities = new EncounterEntities();
+      int guardian = entities.spawn(EncounterType.GUARDIAN, 1, 1);
+      entities.setHeading(guardian, 1); // east
+      WorldSimulation simulation = new WorldSimulation(new Random(1));
+      simulation.addLevel(3, level, entities);
+
+      int[] expectedColumns = {2, 3, 3, 2, 1, 1, 2};
+      for (int column : expectedColumns) {
+         simulation.tick();
+         assertEquals(1, entities.getRoomX(guardian));
+         assertEquals(column, entities.getRoomY(guardian), "The Guardian should turn around at walls and never enter the entrance");
+      }
+   }
+
+   @Test
+   void testEncountersDoNotStepOntoThePlayer() {
+      Level level = Level.fromRows(new char[][]{
+              {'E', ' ', ' ', ' ', 'X'}
+      });
+      EncounterEntities entities = new EncounterEntities();
+      int guardian = entities.spawn(EncounterType.GUARDIAN, 0, 1);
+      entities.setHeading(guardian, 1); // east
+      WorldSimulation simulation = new WorldSimulation(new Random(1));
+      simulation.addLevel(3, level, entities);
+      simulation.setPlayerPosition(3, 0, 2);
+
+      simulation.tick();
+      assertEquals(1, entities.getRoomY(guardian), "The player's room is occupied");
+      simulation.tick();
+      assertEquals(1, entities.getRoomY(guardian), "The Guardian turned around and the entrance is not a room");
+
+      // A player on another level does not block this one
+      simulation.setPlayerPosition(2, 0, 2);
+      entities.setHeading(guardian, 1);
+      simulation.tick();
+      assertEquals(2, entities.getRoomY(guardian));
+   }
+
+   @Test
+   void testOnlyLargeLevelsMoveTheirEncountersByDefault() {
+      Level small = Level.fromRows(new char[][]{
+              {'E', ' ', ' ', ' ', 'X'}
+      });
+      EncounterManager.simulateLevel(1, small, new EncounterEntities());
+      assertEquals(0, EncounterManager.getWorldSimulation().getLevelCount(),
+              "Encounters on small levels should stay where the player saw them");
+
+      Level large = new Level(40, 40);
+      for (int x = 0; x < 40; x++) {
+         for (int y = 0; y < 40; y++) {
+            large.setTile(x, y, Tile.ROOM);
+         }
+      }
+      EncounterManager.simulateLevel(2, large, new EncounterEntities());
+      assertEquals(1, EncounterManager.getWorldSimulation().getLevelCount());
+      EncounterManager.getWorldSimulation().clearLevels();
+   }
+
+   @Test
+   void testStaticAndResolvedEncountersStayPut() {
+      Level level = Level.fromRows(new char[][]{
+              {'E', ' ', ' ', ' ', 'X'}
+      });
+      EncounterEntities entities = new EncounterEntities();
+      int trap = entities.spawn(EncounterType.TRAP, 0, 1);
+      int explorer = entities.spawn(EncounterType.LOST_EXPLORER, 0, 3);
+      entities.setResolved(explorer, true);
+      WorldSimulation simulation = new WorldSimulation(new Random(2));
+      simulation.addLevel(2, level, entities);
+
+      for (int i = 0; i < 20; i++) {
+         simulation.tick();
+      }
+      assertEquals(1, entities.getRoomY(trap));
+      assertEquals(3, entities.getRoomY(explorer));
+   }
+
+   @Test
+   void testTensOfThousandsOfWanderersStayOnRoomsWithoutCollisions() {
+      int size = 400;
+      Level level = new Level(size, size);
+      Random layout = new Random(3);
+      for (int x = 1; x < size - 1; x++) {
+         for (int y = 1; y < size - 1; y++) {
+            level.setTile(x, y, layout.nextInt(5) == 0 ? Tile.WALL : Tile.ROOM);
+         }
+      }
+      level.setTile(1, 1, Tile.ENTRANCE);
+      level.setTile(size - 2, size - 2, Tile.EXIT);
+
+      int npcs = 30_000;
+      int[] cells = level.getCellIndex(CellIndex.Category.ROOM).sampleDistinct(new Random(4), npcs);
+      EncounterEntities entities = new EncounterEntities(npcs);
+      for (int i = 0; i < npcs; i++) {
+         EncounterType type = i % 2 == 0 ? EncounterType.LOST_EXPLORER : EncounterType.GUARDIAN;
+         entities.spawn(type, level.rowOf(cells[i]), level.columnOf(cells[i]));
+      }
+      WorldSimulation simulation = new WorldSimulation(new Random(5));
+      simulation.addLevel(1, level, entities);
+
+      int ticks = 50;
+      for (int i = 0; i < ticks; i++) {
+         simulation.tick();
+      }
+
+      assertEquals(npcs, entities.size());
+      for (int id = 0; id < npcs; id++) {
+         int x = entities.getRoomX(id);
+         int y = entities.getRoomY(id);
+         assertEquals(Tile.ROOM, level.getTile(x, y), "Encounters may only stand in plain rooms");
+         assertEquals(id, entities.at(x, y), "Each room should hold at most one encounter");
+      }
+
+      WorldSimulation.Stats stats = simulation.getStats();
+      assertEquals(ticks, stats.ticks());
+      assertTrue(stats.maxTickNanos() >= stats.averageTickNanos());
+      assertTrue(stats.averageTickNanos() > 0);
+      assertEquals(0, stats.skippedBatches());
+   }
+
+   @Test
+   void testTickSkipsLevelWhilePlayerHoldsTheLock() throws InterruptedException {
+      Level level = Level.fromRows(new char[][]{
+              {'E', ' ', ' ', ' ', 'X'}
+      });
+      EncounterEntities entities = new EncounterEntities();
+      int guardian = entities.spawn(EncounterType.GUARDIAN, 0, 1);
+      entities.setHeading(guardian, 1);
+      WorldSimulation simulation = new WorldSimulation();
+      simulation.addLevel(3, level, entities);
+
+      entities.getLock().lock();
+      try {
+         Thread ticker = new Thread(simulation::tick);
+         ticker.start();
+         ticker.join();
+      } finally {
+         entities.getLock().unlock();
+      }
+      assertEquals(1, entities.getRoomY(guardian), "The Guardian must not move during an encounter");
+      assertEquals(1, simulation.getStats().skippedBatches());
+
+      simulation.tick();
+      assertEquals(2, entities.getRoomY(guardian));
+   }
+
+   @Test
+   void testScheduledTicksRunInTheBackground() throws InterruptedException {
+      WorldSimulation simulation = new WorldSimulation();
+      EncounterEntities entities = new EncounterEntities();
+      simulation.addLevel(1, Level.fromRows(new char[][]{{'E', ' ', 'X'}}), entities);
+
+      simulation.start(200);
+      try {
+         assertTrue(simulation.isRunning());
+         long deadline = System.currentTimeMillis() + 5000;
+         while (simulation.getStats().ticks() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+         }
+         assertTrue(simulation.getStats().ticks() >= 3);
+      } finally {
+         simulation.stop();
+      }
+      assertFalse(simulation.isRunning());
+   }
+
+}